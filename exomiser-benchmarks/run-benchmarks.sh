@@ -0,0 +1,81 @@
+#!/bin/bash
+#
+# Builds and runs the JMH benchmarks, writing the results as JSON to results/<git commit>.json so that the results of
+# different commits can be compared. Any arguments are passed to JMH, e.g. a regex to select the benchmarks to run or
+# '-p numVariants=1000' to restrict the parameters.
+#
+#   ./run-benchmarks.sh
+#   ./run-benchmarks.sh ResultsWriterBenchmark -p outputFormat=TSV_GENE
+#
+# To compare two sets of results, listing the benchmarks which differ by more than the threshold percentage (default 10):
+#
+#   ./run-benchmarks.sh --compare results/<baseline>.json results/<candidate>.json [threshold]
+#
+set -euo pipefail
+
+BENCHMARKS_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+PROJECT_DIR="$(dirname "${BENCHMARKS_DIR}")"
+RESULTS_DIR="${BENCHMARKS_DIR}/results"
+
+compare() {
+  python3 - "$@" <<'PYTHON'
+import json
+import sys
+
+baseline_file, candidate_file = sys.argv[1], sys.argv[2]
+threshold = float(sys.argv[3]) if len(sys.argv) > 3 else 10.0
+
+
+def load(path):
+    with open(path) as f:
+        results = {}
+        for result in json.load(f):
+            params = ','.join(f'{k}={v}' for k, v in sorted(result.get('params', {}).items()))
+            name = result['benchmark'].rsplit('.', 2)
+            key = f"{name[-2]}.{name[-1]}" + (f" [{params}]" if params else '')
+            metric = result['primaryMetric']
+            results[key] = (metric['score'], metric['scoreError'], metric['scoreUnit'])
+        return results
+
+
+baseline = load(baseline_file)
+candidate = load(candidate_file)
+regressions = 0
+print(f"{'benchmark':<90} {'baseline':>16} {'candidate':>16} {'change':>8}")
+for key in sorted(baseline.keys() & candidate.keys()):
+    base_score, _, unit = baseline[key]
+    cand_score, _, _ = candidate[key]
+    change = (cand_score - base_score) / base_score * 100 if base_score else 0.0
+    # all the benchmarks measure time per operation, so higher is slower
+    flag = ''
+    if change > threshold:
+        flag = ' SLOWER'
+        regressions += 1
+    elif change < -threshold:
+        flag = ' faster'
+    print(f"{key:<90} {base_score:>10.3f} {unit:<3} {cand_score:>10.3f} {unit:<3} {change:>+7.1f}%{flag}")
+for key in sorted(baseline.keys() - candidate.keys()):
+    print(f"{key:<90} missing from {candidate_file}")
+print(f"{regressions} benchmark(s) more than {threshold}% slower")
+sys.exit(1 if regressions else 0)
+PYTHON
+}
+
+if [[ "${1:-}" == "--compare" ]]; then
+  shift
+  compare "$@"
+  exit $?
+fi
+
+cd "${PROJECT_DIR}"
+./mvnw -B -P benchmarks -pl exomiser-benchmarks -am package -DskipTests
+
+COMMIT="$(git rev-parse --short HEAD)"
+if [[ -n "$(git status --porcelain --untracked-files=no)" ]]; then
+  COMMIT="${COMMIT}-dirty"
+fi
+mkdir -p "${RESULTS_DIR}"
+RESULTS_FILE="${RESULTS_DIR}/${COMMIT}.json"
+
+java -jar "${BENCHMARKS_DIR}/target/benchmarks.jar" -rf json -rff "${RESULTS_FILE}" "$@"
+echo "Results written to ${RESULTS_FILE}"
@@ -0,0 +1,202 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.benchmarks;
+
+import de.charite.compbio.jannovar.annotation.VariantEffect;
+import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
+import org.monarchinitiative.exomiser.core.genome.VariantAnnotator;
+import org.monarchinitiative.exomiser.core.model.Gene;
+import org.monarchinitiative.exomiser.core.model.VariantAnnotation;
+import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
+import org.monarchinitiative.exomiser.core.pedigree.Pedigree;
+import org.monarchinitiative.exomiser.core.pedigree.Pedigree.Individual;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto;
+import org.monarchinitiative.svart.GenomicVariant;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Small, deterministic synthetic fixtures shared by the benchmarks. These avoid the need for any Exomiser data release
+ * so that the benchmarks can be run on any machine and the results compared between commits.
+ * <p>
+ * The synthetic VCF contains a trio of PROBAND, MOTHER and FATHER with variants spread evenly across the autosomes.
+ * Every {@link #VARIANTS_PER_GENE} consecutive variants on a contig are assigned to the same gene by the
+ * {@link #variantAnnotator()} and the genotypes cycle through inherited heterozygous, homozygous and <i>de novo</i>
+ * patterns so that all the inheritance modes have some compatible variants.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+public final class BenchmarkData {
+
+    public static final String PROBAND = "PROBAND";
+    public static final String MOTHER = "MOTHER";
+    public static final String FATHER = "FATHER";
+
+    public static final int VARIANTS_PER_GENE = 4;
+
+    private static final int NUM_CONTIGS = 22;
+    private static final int FIRST_POSITION = 10_000;
+    private static final int VARIANT_SPACING = 1_000;
+
+    private static final String[] REF = {"A", "C", "G", "T"};
+    private static final String[] ALT = {"G", "T", "A", "C"};
+    // proband, mother, father
+    private static final String[] GENOTYPES = {
+            "0/1\t0/1\t0/0",
+            "0/1\t0/0\t0/1",
+            "1/1\t0/1\t0/1",
+            "0/1\t0/0\t0/0",
+    };
+    private static final VariantEffect[] VARIANT_EFFECTS = {
+            VariantEffect.MISSENSE_VARIANT,
+            VariantEffect.SYNONYMOUS_VARIANT,
+            VariantEffect.STOP_GAINED,
+            VariantEffect.SPLICE_REGION_VARIANT,
+            VariantEffect.INTRON_VARIANT,
+    };
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Writes a VCF file of numVariants SNVs genotyped for the {@link #pedigree()} to the given path.
+     */
+    public static Path writeVcf(Path vcfPath, int numVariants) {
+        int variantsPerContig = Math.ceilDiv(numVariants, NUM_CONTIGS);
+        try (BufferedWriter writer = Files.newBufferedWriter(vcfPath, StandardCharsets.UTF_8)) {
+            writer.write("##fileformat=VCFv4.2\n");
+            writer.write("##FORMAT=<ID=GT,Number=1,Type=String,Description=\"Genotype\">\n");
+            writer.write("#CHROM\tPOS\tID\tREF\tALT\tQUAL\tFILTER\tINFO\tFORMAT\t" + PROBAND + "\t" + MOTHER + "\t" + FATHER + "\n");
+            for (int i = 0; i < numVariants; i++) {
+                int contig = 1 + i / variantsPerContig;
+                int position = FIRST_POSITION + (i % variantsPerContig) * VARIANT_SPACING;
+                writer.write(contig + "\t" + position + "\t.\t" + REF[i % 4] + "\t" + ALT[i % 4] + "\t100\tPASS\t.\tGT\t" + GENOTYPES[i % GENOTYPES.length] + "\n");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return vcfPath;
+    }
+
+    /**
+     * @return an affected proband with unaffected parents matching the samples in the VCF written by
+     * {@link #writeVcf(Path, int)}.
+     */
+    public static Pedigree pedigree() {
+        return Pedigree.of(
+                new Individual("FAM", PROBAND, MOTHER, FATHER, Individual.Sex.FEMALE, Individual.Status.AFFECTED),
+                new Individual("FAM", MOTHER, "", "", Individual.Sex.FEMALE, Individual.Status.UNAFFECTED),
+                new Individual("FAM", FATHER, "", "", Individual.Sex.MALE, Individual.Status.UNAFFECTED)
+        );
+    }
+
+    /**
+     * @return a {@link VariantAnnotator} which assigns genes and variant effects from the variant position alone, so
+     * that benchmarks measure the cost of the Exomiser code rather than the cost of transcript annotation.
+     */
+    public static VariantAnnotator variantAnnotator() {
+        return new SyntheticVariantAnnotator();
+    }
+
+    /**
+     * Groups the variants into genes using the gene identifiers assigned by the {@link #variantAnnotator()}.
+     */
+    public static List<Gene> groupIntoGenes(List<VariantEvaluation> variantEvaluations) {
+        Map<String, Gene> genes = new LinkedHashMap<>();
+        for (VariantEvaluation variantEvaluation : variantEvaluations) {
+            Gene gene = genes.computeIfAbsent(variantEvaluation.geneId(), geneId -> new Gene(variantEvaluation.geneSymbol(), Integer.parseInt(geneId)));
+            gene.addVariant(variantEvaluation);
+        }
+        return new ArrayList<>(genes.values());
+    }
+
+    public static AlleleProto.AlleleKey alleleKey(int chr, int position, String ref, String alt) {
+        return AlleleProto.AlleleKey.newBuilder()
+                .setChr(chr)
+                .setPosition(position)
+                .setRef(ref)
+                .setAlt(alt)
+                .build();
+    }
+
+    /**
+     * @return typical {@link AlleleProto.AlleleProperties} for a rare missense variant with a handful of population
+     * frequencies and pathogenicity scores.
+     */
+    public static AlleleProto.AlleleProperties alleleProperties(int i) {
+        return AlleleProto.AlleleProperties.newBuilder()
+                .setRsId("rs" + (1_000_000 + i))
+                .addFrequencies(frequency(AlleleProto.FrequencySource.UK10K, 1 + i % 5, 7_562, 0))
+                .addFrequencies(frequency(AlleleProto.FrequencySource.GNOMAD_E_AFR, 2 + i % 7, 15_304, i % 2))
+                .addFrequencies(frequency(AlleleProto.FrequencySource.GNOMAD_E_NFE, 3 + i % 11, 64_420, 0))
+                .addFrequencies(frequency(AlleleProto.FrequencySource.GNOMAD_G_NFE, 1 + i % 3, 32_268, 0))
+                .addPathogenicityScores(pathogenicityScore(AlleleProto.PathogenicitySource.REVEL, (i % 100) / 100f))
+                .addPathogenicityScores(pathogenicityScore(AlleleProto.PathogenicitySource.MVP, ((i + 50) % 100) / 100f))
+                .addPathogenicityScores(pathogenicityScore(AlleleProto.PathogenicitySource.ALPHA_MISSENSE, ((i + 25) % 100) / 100f))
+                .build();
+    }
+
+    private static AlleleProto.Frequency frequency(AlleleProto.FrequencySource frequencySource, int ac, int an, int hom) {
+        return AlleleProto.Frequency.newBuilder()
+                .setFrequencySource(frequencySource)
+                .setAc(ac)
+                .setAn(an)
+                .setHom(hom)
+                .build();
+    }
+
+    private static AlleleProto.PathogenicityScore pathogenicityScore(AlleleProto.PathogenicitySource pathogenicitySource, float score) {
+        return AlleleProto.PathogenicityScore.newBuilder()
+                .setPathogenicitySource(pathogenicitySource)
+                .setScore(score)
+                .build();
+    }
+
+    private static class SyntheticVariantAnnotator implements VariantAnnotator {
+
+        @Override
+        public GenomeAssembly genomeAssembly() {
+            return GenomeAssembly.HG19;
+        }
+
+        @Override
+        public List<VariantAnnotation> annotate(GenomicVariant variant) {
+            if (variant == null) {
+                return List.of();
+            }
+            int geneIndex = (variant.start() - FIRST_POSITION) / (VARIANT_SPACING * VARIANTS_PER_GENE);
+            int geneId = variant.contigId() * 100_000 + geneIndex + 1;
+            VariantEffect variantEffect = VARIANT_EFFECTS[(variant.start() / VARIANT_SPACING) % VARIANT_EFFECTS.length];
+            return List.of(VariantAnnotation.of("GENE" + geneId, String.valueOf(geneId), variantEffect, List.of()));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.core.analysis.score;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creation of the bootstrapped population of combined scores and the calculation of the p-value for the combined score
+ * of every gene in a typical exome against it.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CombinedScorePvalueCalculatorBenchmark {
+
+    private static final int NUM_GENES = 20_000;
+
+    @Param({"20000"})
+    private long numScores;
+
+    private CombinedScorePvalueCalculator pvalueCalculator;
+    private double[] combinedScores;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pvalueCalculator = CombinedScorePvalueCalculator.withRandomScores(0, numScores, NUM_GENES);
+        combinedScores = new double[NUM_GENES];
+        for (int i = 0; i < NUM_GENES; i++) {
+            combinedScores[i] = (double) i / NUM_GENES;
+        }
+    }
+
+    @Benchmark
+    public CombinedScorePvalueCalculator withRandomScores() {
+        return CombinedScorePvalueCalculator.withRandomScores(0, numScores, NUM_GENES);
+    }
+
+    @Benchmark
+    public void calculatePvalueFromCombinedScore(Blackhole blackhole) {
+        for (double combinedScore : combinedScores) {
+            blackhole.consume(pvalueCalculator.calculatePvalueFromCombinedScore(combinedScore));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.core.analysis.score;
+
+import org.monarchinitiative.exomiser.benchmarks.BenchmarkData;
+import org.monarchinitiative.exomiser.core.analysis.InheritanceModeOptions;
+import org.monarchinitiative.exomiser.core.genome.VariantFactoryImpl;
+import org.monarchinitiative.exomiser.core.model.Gene;
+import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Computation of the compatible modes of inheritance for the variants of each gene in a trio, as performed for every
+ * gene in an analysis.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InheritanceModeAnnotatorBenchmark {
+
+    @Param({"1000", "10000"})
+    private int numVariants;
+
+    private InheritanceModeAnnotator inheritanceModeAnnotator;
+    private List<Gene> genes;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path vcfPath = BenchmarkData.writeVcf(Files.createTempFile("exomiser-benchmark", ".vcf"), numVariants);
+        try (Stream<VariantEvaluation> variants = new VariantFactoryImpl(BenchmarkData.variantAnnotator(), vcfPath).createVariantEvaluations()) {
+            genes = BenchmarkData.groupIntoGenes(variants.toList());
+        } finally {
+            Files.deleteIfExists(vcfPath);
+        }
+        inheritanceModeAnnotator = new InheritanceModeAnnotator(BenchmarkData.pedigree(), InheritanceModeOptions.defaults());
+    }
+
+    @Benchmark
+    public void computeCompatibleInheritanceModes(Blackhole blackhole) {
+        for (Gene gene : genes) {
+            blackhole.consume(inheritanceModeAnnotator.computeCompatibleInheritanceModes(gene.variantEvaluations()));
+        }
+    }
+
+    @Benchmark
+    public void computeCompatibleInheritanceSubModes(Blackhole blackhole) {
+        for (Gene gene : genes) {
+            blackhole.consume(inheritanceModeAnnotator.computeCompatibleInheritanceSubModes(gene.variantEvaluations()));
+        }
+    }
+}
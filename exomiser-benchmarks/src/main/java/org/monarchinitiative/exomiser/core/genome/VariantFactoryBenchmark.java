@@ -0,0 +1,76 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.core.genome;
+
+import org.monarchinitiative.exomiser.benchmarks.BenchmarkData;
+import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Reading, normalising and annotating a VCF file with a stub {@link VariantAnnotator}, so this measures the VCF parsing
+ * and {@link VariantEvaluation} creation only.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VariantFactoryBenchmark {
+
+    @Param({"1000", "10000"})
+    private int numVariants;
+
+    @Param({"false", "true"})
+    private boolean compactVariants;
+
+    private Path vcfPath;
+    private VariantFactory variantFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        vcfPath = BenchmarkData.writeVcf(Files.createTempFile("exomiser-benchmark", ".vcf"), numVariants);
+        variantFactory = new VariantFactoryImpl(BenchmarkData.variantAnnotator(), new VcfFileReader(vcfPath), compactVariants);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(vcfPath);
+    }
+
+    @Benchmark
+    public void createVariantEvaluations(Blackhole blackhole) {
+        try (Stream<VariantEvaluation> variantEvaluations = variantFactory.createVariantEvaluations()) {
+            variantEvaluations.forEach(blackhole::consume);
+        }
+    }
+}
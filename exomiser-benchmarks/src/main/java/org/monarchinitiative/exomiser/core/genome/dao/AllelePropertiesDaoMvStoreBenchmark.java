@@ -0,0 +1,113 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.core.genome.dao;
+
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.monarchinitiative.exomiser.benchmarks.BenchmarkData;
+import org.monarchinitiative.exomiser.core.genome.VariantFactoryImpl;
+import org.monarchinitiative.exomiser.core.genome.dao.serialisers.MvStoreUtil;
+import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Look-up of the {@link AlleleProto.AlleleProperties} for the variants of a sample from a read-only, file-backed
+ * {@link MVStore}. The store contains the background alleles interleaved with half of the sample variants, so that both
+ * hits and misses are measured.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AllelePropertiesDaoMvStoreBenchmark {
+
+    private static final int BACKGROUND_ALLELES_PER_VARIANT = 10;
+
+    @Param({"1000", "10000"})
+    private int numVariants;
+
+    private Path vcfPath;
+    private Path mvStorePath;
+    private MVStore mvStore;
+    private AllelePropertiesDaoMvStore allelePropertiesDao;
+    private List<VariantEvaluation> variantEvaluations;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        vcfPath = BenchmarkData.writeVcf(Files.createTempFile("exomiser-benchmark", ".vcf"), numVariants);
+        try (Stream<VariantEvaluation> variants = new VariantFactoryImpl(BenchmarkData.variantAnnotator(), vcfPath).createVariantEvaluations()) {
+            variantEvaluations = variants.toList();
+        }
+
+        mvStorePath = Files.createTempFile("exomiser-benchmark", ".mv.db");
+        try (MVStore writableStore = new MVStore.Builder().fileName(mvStorePath.toString()).compress().open()) {
+            MVMap<AlleleProto.AlleleKey, AlleleProto.AlleleProperties> alleles = MvStoreUtil.openAlleleMVMap(writableStore);
+            int i = 0;
+            for (VariantEvaluation variantEvaluation : variantEvaluations) {
+                if (i % 2 == 0) {
+                    alleles.put(variantEvaluation.alleleKey(), BenchmarkData.alleleProperties(i));
+                }
+                // background SNVs between the sample variants
+                for (int j = 1; j <= BACKGROUND_ALLELES_PER_VARIANT; j++) {
+                    AlleleProto.AlleleKey alleleKey = BenchmarkData.alleleKey(variantEvaluation.contigId(), variantEvaluation.start() + j * 7, "A", "T");
+                    alleles.put(alleleKey, BenchmarkData.alleleProperties(i + j));
+                }
+                i++;
+            }
+        }
+        mvStore = new MVStore.Builder().fileName(mvStorePath.toString()).readOnly().open();
+        allelePropertiesDao = new AllelePropertiesDaoMvStore(mvStore);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        mvStore.close();
+        Files.deleteIfExists(mvStorePath);
+        Files.deleteIfExists(vcfPath);
+    }
+
+    @Benchmark
+    public void getAlleleProperties(Blackhole blackhole) {
+        for (VariantEvaluation variantEvaluation : variantEvaluations) {
+            blackhole.consume(allelePropertiesDao.getAlleleProperties(variantEvaluation));
+        }
+    }
+
+    @Benchmark
+    public List<AlleleProto.AlleleProperties> getAllelePropertiesBatch() {
+        return allelePropertiesDao.getAlleleProperties(variantEvaluations);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.core.model;
+
+import org.monarchinitiative.exomiser.benchmarks.BenchmarkData;
+import org.monarchinitiative.exomiser.core.model.frequency.Frequency;
+import org.monarchinitiative.exomiser.core.model.frequency.FrequencyData;
+import org.monarchinitiative.exomiser.core.model.frequency.FrequencySource;
+import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicityData;
+import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicityScore;
+import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicitySource;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction of the {@link FrequencyData} and {@link PathogenicityData} for each variant, both directly and from the
+ * {@link AlleleProto.AlleleProperties} stored in the allele database.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VariantDataBenchmark {
+
+    private static final int NUM_ALLELES = 1024;
+
+    private AlleleProto.AlleleProperties[] alleleProperties;
+    private List<Frequency> frequencies;
+    private List<PathogenicityScore> pathogenicityScores;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        alleleProperties = new AlleleProto.AlleleProperties[NUM_ALLELES];
+        for (int i = 0; i < NUM_ALLELES; i++) {
+            alleleProperties[i] = BenchmarkData.alleleProperties(i);
+        }
+        frequencies = List.of(
+                Frequency.of(FrequencySource.UK10K, 3, 7_562, 0),
+                Frequency.of(FrequencySource.GNOMAD_E_AFR, 5, 15_304, 1),
+                Frequency.of(FrequencySource.GNOMAD_E_NFE, 7, 64_420, 0),
+                Frequency.of(FrequencySource.GNOMAD_G_NFE, 2, 32_268, 0)
+        );
+        pathogenicityScores = List.of(
+                PathogenicityScore.of(PathogenicitySource.REVEL, 0.8f),
+                PathogenicityScore.of(PathogenicitySource.MVP, 0.7f),
+                PathogenicityScore.of(PathogenicitySource.ALPHA_MISSENSE, 0.9f)
+        );
+    }
+
+    private AlleleProto.AlleleProperties nextAlleleProperties() {
+        index = (index + 1) & (NUM_ALLELES - 1);
+        return alleleProperties[index];
+    }
+
+    @Benchmark
+    public FrequencyData frequencyDataOf() {
+        return FrequencyData.of("rs12345", frequencies);
+    }
+
+    @Benchmark
+    public PathogenicityData pathogenicityDataOf() {
+        return PathogenicityData.of(pathogenicityScores);
+    }
+
+    @Benchmark
+    public FrequencyData toFrequencyData() {
+        return AlleleProtoAdaptor.toFrequencyData(nextAlleleProperties());
+    }
+
+    @Benchmark
+    public PathogenicityData toPathogenicityData() {
+        return AlleleProtoAdaptor.toPathogenicityData(nextAlleleProperties());
+    }
+}
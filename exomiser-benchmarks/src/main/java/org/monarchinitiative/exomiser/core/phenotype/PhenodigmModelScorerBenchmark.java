@@ -0,0 +1,119 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.core.phenotype;
+
+import org.monarchinitiative.exomiser.core.prioritisers.model.Disease;
+import org.monarchinitiative.exomiser.core.prioritisers.model.GeneDiseaseModel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scoring disease models against a synthetic set of query phenotype matches using the {@link PhenodigmModelScorer}
+ * backed by each of the {@link PhenotypeMatcher} implementations. This is the inner loop of the phenotype prioritisers.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PhenodigmModelScorerBenchmark {
+
+    private static final int NUM_MODELS = 5_000;
+    private static final int NUM_ORGANISM_TERMS = 2_000;
+    private static final int MATCHES_PER_QUERY_TERM = 200;
+    private static final int PHENOTYPES_PER_MODEL = 15;
+
+    @Param({"5", "20"})
+    private int numQueryTerms;
+
+    @Param({"CROSS_SPECIES", "INDEXED"})
+    private String phenotypeMatcher;
+
+    private PhenodigmModelScorer<GeneDiseaseModel> modelScorer;
+    private List<GeneDiseaseModel> models;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        Map<PhenotypeTerm, Set<PhenotypeMatch>> queryTermPhenotypeMatches = new LinkedHashMap<>();
+        for (int i = 0; i < numQueryTerms; i++) {
+            PhenotypeTerm queryTerm = PhenotypeTerm.of(hpoId(i), "query term " + i);
+            Set<PhenotypeMatch> matches = new LinkedHashSet<>();
+            for (int j = 0; j < MATCHES_PER_QUERY_TERM; j++) {
+                int organismTerm = random.nextInt(NUM_ORGANISM_TERMS);
+                double simJ = random.nextDouble();
+                double ic = 1 + random.nextDouble() * 9;
+                matches.add(PhenotypeMatch.builder()
+                        .query(queryTerm)
+                        .match(PhenotypeTerm.of(hpoId(100_000 + organismTerm), "organism term " + organismTerm))
+                        .lcs(queryTerm)
+                        .simj(simJ)
+                        .ic(ic)
+                        .score(Math.sqrt(simJ * ic))
+                        .build());
+            }
+            queryTermPhenotypeMatches.put(queryTerm, matches);
+        }
+
+        QueryPhenotypeMatch queryPhenotypeMatch = new QueryPhenotypeMatch(Organism.HUMAN, queryTermPhenotypeMatches);
+        PhenotypeMatcher matcher = switch (phenotypeMatcher) {
+            case "CROSS_SPECIES" -> CrossSpeciesPhenotypeMatcher.of(queryPhenotypeMatch);
+            case "INDEXED" -> IndexedPhenotypeMatcher.of(queryPhenotypeMatch);
+            default -> throw new IllegalArgumentException("Unknown phenotypeMatcher " + phenotypeMatcher);
+        };
+        modelScorer = PhenodigmModelScorer.forSameSpecies(matcher);
+
+        models = new ArrayList<>(NUM_MODELS);
+        for (int i = 0; i < NUM_MODELS; i++) {
+            List<String> phenotypeIds = new ArrayList<>(PHENOTYPES_PER_MODEL);
+            for (int j = 0; j < PHENOTYPES_PER_MODEL; j++) {
+                phenotypeIds.add(hpoId(100_000 + random.nextInt(NUM_ORGANISM_TERMS)));
+            }
+            Disease disease = Disease.builder()
+                    .diseaseId("OMIM:" + (100_000 + i))
+                    .diseaseName("disease " + i)
+                    .associatedGeneId(i + 1)
+                    .associatedGeneSymbol("GENE" + (i + 1))
+                    .phenotypeIds(phenotypeIds)
+                    .build();
+            models.add(new GeneDiseaseModel("MODEL:" + i, Organism.HUMAN, disease));
+        }
+    }
+
+    private static String hpoId(int id) {
+        return String.format("HP:%07d", id);
+    }
+
+    @Benchmark
+    public void scoreModels(Blackhole blackhole) {
+        for (GeneDiseaseModel model : models) {
+            blackhole.consume(modelScorer.scoreModel(model));
+        }
+    }
+}
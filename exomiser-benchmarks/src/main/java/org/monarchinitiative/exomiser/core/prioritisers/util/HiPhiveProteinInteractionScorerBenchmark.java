@@ -0,0 +1,101 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.core.prioritisers.util;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import org.monarchinitiative.exomiser.core.phenotype.Organism;
+import org.monarchinitiative.exomiser.core.prioritisers.model.GeneModelPhenotypeMatch;
+import org.monarchinitiative.exomiser.core.prioritisers.model.GeneOrthologModel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction of the {@link HiPhiveProteinInteractionScorer} from a synthetic protein interaction {@link DataMatrix}
+ * and the best phenotype matched models for each gene, and the subsequent look-up of the closest phenotype matched gene
+ * in the interaction network for each gene in the matrix.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HiPhiveProteinInteractionScorerBenchmark {
+
+    private static final double HIGH_QUALITY_PHENO_SCORE_CUT_OFF = 0.6;
+
+    @Param({"1000", "4000"})
+    private int numGenes;
+
+    private DataMatrix dataMatrix;
+    private ListMultimap<Integer, GeneModelPhenotypeMatch> bestGeneModels;
+    private HiPhiveProteinInteractionScorer proteinInteractionScorer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        Map<Integer, Integer> entrezIdToRowIndex = new LinkedHashMap<>();
+        Map<Integer, float[]> columns = new HashMap<>();
+        for (int i = 0; i < numGenes; i++) {
+            entrezIdToRowIndex.put(i + 1, i);
+        }
+        for (int i = 0; i < numGenes; i++) {
+            float[] column = new float[numGenes];
+            for (int j = 0; j < numGenes; j++) {
+                // interaction matrices are mostly very small values with a few strong interactions
+                column[j] = random.nextFloat() < 0.01f ? random.nextFloat() : random.nextFloat() * 0.001f;
+            }
+            columns.put(i + 1, column);
+        }
+        dataMatrix = InMemoryDataMatrix.fromMap(columns, entrezIdToRowIndex);
+
+        bestGeneModels = ArrayListMultimap.create();
+        for (int i = 0; i < numGenes; i++) {
+            int entrezGeneId = i + 1;
+            // roughly a third of the genes will have a model above the high quality cut-off
+            for (Organism organism : List.of(Organism.HUMAN, Organism.MOUSE, Organism.FISH)) {
+                GeneOrthologModel model = new GeneOrthologModel(organism + ":" + entrezGeneId, organism, entrezGeneId, "GENE" + entrezGeneId, "MODEL" + entrezGeneId, "MODEL" + entrezGeneId, List.of());
+                bestGeneModels.put(entrezGeneId, new GeneModelPhenotypeMatch(random.nextDouble() * 0.75, model, List.of()));
+            }
+        }
+        proteinInteractionScorer = new HiPhiveProteinInteractionScorer(dataMatrix, bestGeneModels, HIGH_QUALITY_PHENO_SCORE_CUT_OFF);
+    }
+
+    @Benchmark
+    public HiPhiveProteinInteractionScorer construct() {
+        return new HiPhiveProteinInteractionScorer(dataMatrix, bestGeneModels, HIGH_QUALITY_PHENO_SCORE_CUT_OFF);
+    }
+
+    @Benchmark
+    public void getClosestPhenoMatchInNetwork(Blackhole blackhole) {
+        for (int entrezGeneId = 1; entrezGeneId <= numGenes; entrezGeneId++) {
+            blackhole.consume(proteinInteractionScorer.getClosestPhenoMatchInNetwork(entrezGeneId));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.core.writers;
+
+import de.charite.compbio.jannovar.mendel.ModeOfInheritance;
+import org.monarchinitiative.exomiser.benchmarks.BenchmarkData;
+import org.monarchinitiative.exomiser.core.analysis.Analysis;
+import org.monarchinitiative.exomiser.core.analysis.AnalysisResults;
+import org.monarchinitiative.exomiser.core.analysis.InheritanceModeOptions;
+import org.monarchinitiative.exomiser.core.analysis.sample.Sample;
+import org.monarchinitiative.exomiser.core.analysis.score.InheritanceModeAnalyser;
+import org.monarchinitiative.exomiser.core.analysis.score.InheritanceModeAnnotator;
+import org.monarchinitiative.exomiser.core.genome.VariantFactoryImpl;
+import org.monarchinitiative.exomiser.core.model.Gene;
+import org.monarchinitiative.exomiser.core.model.GeneScore;
+import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Writing the {@link AnalysisResults} for a trio to a file in each of the {@link OutputFormat}.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultsWriterBenchmark {
+
+    @Param({"1000", "10000"})
+    private int numVariants;
+
+    @Param({"HTML", "VCF", "TSV_GENE", "TSV_VARIANT", "JSON", "PARQUET"})
+    private OutputFormat outputFormat;
+
+    private Path outputDirectory;
+    private Path vcfPath;
+    private ResultsWriter resultsWriter;
+    private AnalysisResults analysisResults;
+    private OutputSettings outputSettings;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        outputDirectory = Files.createTempDirectory("exomiser-benchmark");
+        vcfPath = BenchmarkData.writeVcf(outputDirectory.resolve("input.vcf"), numVariants);
+        List<Gene> genes;
+        try (Stream<VariantEvaluation> variants = new VariantFactoryImpl(BenchmarkData.variantAnnotator(), vcfPath).createVariantEvaluations()) {
+            genes = BenchmarkData.groupIntoGenes(variants.toList());
+        }
+        InheritanceModeOptions inheritanceModeOptions = InheritanceModeOptions.defaults();
+        InheritanceModeAnalyser inheritanceModeAnalyser = new InheritanceModeAnalyser(new InheritanceModeAnnotator(BenchmarkData.pedigree(), inheritanceModeOptions));
+        inheritanceModeAnalyser.analyseInheritanceModes(genes);
+        scoreGenes(genes);
+
+        Sample sample = Sample.builder()
+                .vcfPath(vcfPath)
+                .probandSampleName(BenchmarkData.PROBAND)
+                .pedigree(BenchmarkData.pedigree())
+                .build();
+        analysisResults = AnalysisResults.builder()
+                .sample(sample)
+                .analysis(Analysis.builder().inheritanceModeOptions(inheritanceModeOptions).build())
+                .genes(genes)
+                .build();
+        outputSettings = OutputSettings.builder()
+                .outputFormats(EnumSet.of(outputFormat))
+                .outputDirectory(outputDirectory)
+                .outputFileName("results")
+                .build();
+        resultsWriter = ResultsWriterFactory.getResultsWriter(outputFormat);
+    }
+
+    /**
+     * Adds a random {@link GeneScore} for each compatible mode of inheritance with the first compatible variant as the
+     * contributing variant, which is sufficient for the writers to output every gene and variant.
+     */
+    private static void scoreGenes(List<Gene> genes) {
+        Random random = new Random(42);
+        for (Gene gene : genes) {
+            for (ModeOfInheritance modeOfInheritance : gene.compatibleInheritanceModes()) {
+                List<VariantEvaluation> contributingVariants = gene.variantEvaluations().stream()
+                        .filter(variantEvaluation -> variantEvaluation.isCompatibleWith(modeOfInheritance))
+                        .limit(1)
+                        .toList();
+                contributingVariants.forEach(variantEvaluation -> variantEvaluation.setContributesToGeneScoreUnderMode(modeOfInheritance));
+                double phenotypeScore = random.nextDouble();
+                double variantScore = random.nextDouble();
+                gene.addGeneScore(GeneScore.builder()
+                        .geneIdentifier(gene.geneIdentifier())
+                        .modeOfInheritance(modeOfInheritance)
+                        .phenotypeScore(phenotypeScore)
+                        .variantScore(variantScore)
+                        .combinedScore((phenotypeScore + variantScore) / 2)
+                        .pValue(random.nextDouble())
+                        .contributingVariants(contributingVariants)
+                        .build());
+            }
+        }
+        genes.sort(Comparator.naturalOrder());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(outputDirectory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void writeFile() {
+        resultsWriter.writeFile(analysisResults, outputSettings);
+    }
+}
@@ -32,7 +32,8 @@ public Integer run(AnalyseCommand analyseCommand) {
         }
         AnalysisResults analysisResults = exomiser.run(job);
         logger.info("Writing results...");
-        AnalysisResultsWriter.writeToFile(analysisResults, job.getOutputOptions());
+        // nothing else is running, so use all the available cores to write the output formats
+        AnalysisResultsWriter.writeToFile(analysisResults, job.getOutputOptions(), Runtime.getRuntime().availableProcessors());
         return 0;
     }
 
@@ -1,5 +1,7 @@
 package org.monarchinitiative.exomiser.cli.commands;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import picocli.CommandLine;
 
 import java.nio.file.Path;
@@ -10,6 +12,8 @@
                                                    " samples, in parallel jobs on several independent nodes.")
 public final class BatchCommand implements ExomiserCommand {
 
+    private static final Logger logger = LoggerFactory.getLogger(BatchCommand.class);
+
     @CommandLine.Option(names = {"-h", "--help"}, usageHelp = true, description = "Display this help and exit" )
     boolean help;
 
@@ -19,9 +23,17 @@ public final class BatchCommand implements ExomiserCommand {
     @CommandLine.Option(names = "--dry-run", description = "Runs initial checks on the commands specified in the batch file to ensure the file paths are valid and the sample names are correctly linked to any provided pedigree.")
     boolean dryRun;
 
+    @CommandLine.Option(names = "--concurrent-jobs", description = "Maximum number of analyses to run at the same time. Set to 0 to use the number of available processors." +
+                                                                  " The number of concurrent analyses is further limited by an estimate of the heap required for each sample, so ensure the JVM is started with a suitably large -Xmx. (default: ${DEFAULT-VALUE})", defaultValue = "1")
+    int concurrentJobs = 1;
+
     @Override
     public boolean validate() {
-        // nothing to validate, or should this perform the dry-run?
+        // nothing else to validate, or should this perform the dry-run?
+        if (concurrentJobs < 0) {
+            logger.error("--concurrent-jobs must not be negative");
+            return false;
+        }
         return true;
     }
 
@@ -30,6 +42,7 @@ public String toString() {
         return "BatchCommand{" +
                "batchFilePath=" + batchFilePath +
                ", dryRun=" + dryRun +
+               ", concurrentJobs=" + concurrentJobs +
                '}';
     }
 }
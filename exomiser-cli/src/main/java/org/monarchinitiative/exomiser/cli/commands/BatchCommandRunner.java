@@ -4,10 +4,11 @@
 import org.monarchinitiative.exomiser.cli.CommandLineParseError;
 import org.monarchinitiative.exomiser.cli.commands.batch.BatchFileReader;
 import org.monarchinitiative.exomiser.cli.commands.batch.BatchFileValidationResults;
+import org.monarchinitiative.exomiser.cli.commands.batch.BatchJobResult;
+import org.monarchinitiative.exomiser.cli.commands.batch.BatchJobScheduler;
 import org.monarchinitiative.exomiser.cli.commands.batch.SampleValidationError;
 import org.monarchinitiative.exomiser.core.Exomiser;
 import org.monarchinitiative.exomiser.core.analysis.AnalysisDurationFormatter;
-import org.monarchinitiative.exomiser.core.analysis.AnalysisResults;
 import org.monarchinitiative.exomiser.core.analysis.JobParser;
 import org.monarchinitiative.exomiser.core.analysis.sample.PedigreeSampleValidator;
 import org.monarchinitiative.exomiser.core.analysis.sample.Sample;
@@ -16,7 +17,6 @@
 import org.monarchinitiative.exomiser.core.genome.VcfReader;
 import org.monarchinitiative.exomiser.core.pedigree.Pedigree;
 import org.monarchinitiative.exomiser.core.model.SampleIdentifiers;
-import org.monarchinitiative.exomiser.core.writers.AnalysisResultsWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -59,25 +59,37 @@ public Integer run(BatchCommand batchCommand) {
             } else {
                 List<JobProto.Job> jobs = BatchFileReader.readJobsFromBatchFile(batchCommand.batchFilePath);
                 Instant timeStart = Instant.now();
-                int counter = 0;
-                for (JobProto.Job job : jobs) {
-                    logger.info("Running job {} of {}", ++counter, jobs.size());
-                    AnalysisResults analysisResults = exomiser.run(job);
-                    logger.info("Writing results...");
-                    AnalysisResultsWriter.writeToFile(analysisResults, job.getOutputOptions());
-                }
+                BatchJobScheduler batchJobScheduler = BatchJobScheduler.withAvailableHeap(exomiser, batchCommand.concurrentJobs);
+                List<BatchJobResult> results = batchJobScheduler.run(jobs);
                 Duration duration = Duration.between(timeStart, Instant.now());
                 long ms = duration.toMillis();
                 String formatted = AnalysisDurationFormatter.format(duration);
                 logger.info("Finished batch of {} samples in {} ({} ms)", jobs.size(), formatted, ms);
+                return reportResults(results);
             }
-            return 0;
         } catch (Exception e) {
             System.err.println(e.getMessage());
         }
         return 1;
     }
 
+    private int reportResults(List<BatchJobResult> results) {
+        int failed = 0;
+        for (BatchJobResult result : results) {
+            if (result.succeeded()) {
+                logger.info("Job {}: analysis {}, writing results {}", result.jobNumber(), AnalysisDurationFormatter.format(result.analysisDuration()), AnalysisDurationFormatter.format(result.writeDuration()));
+            } else {
+                failed++;
+                logger.error("Job {}: FAILED after {} - {}", result.jobNumber(), AnalysisDurationFormatter.format(result.analysisDuration()), result.errorMessage());
+            }
+        }
+        if (failed > 0) {
+            logger.error("{} of {} jobs failed", failed, results.size());
+            return 1;
+        }
+        return 0;
+    }
+
     private int doDryRun(BatchCommand batchCommand) {
         BatchValidator batchValidator = new BatchValidator(jobParser);
         BatchFileValidationResults validationResults = batchValidator.validateBatchFile(batchCommand.batchFilePath);
@@ -0,0 +1,109 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.monarchinitiative.exomiser.cli.commands.batch;
+
+import org.monarchinitiative.exomiser.api.v1.AnalysisProto;
+import org.monarchinitiative.exomiser.api.v1.JobProto;
+import org.monarchinitiative.exomiser.core.analysis.sample.Sample;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Provides a rough estimate of the heap required to run a {@link JobProto.Job}, based on the size of the input VCF
+ * and how many of its variants the analysis is likely to retain in memory. This is used by the
+ * {@link BatchJobScheduler} to avoid running more analyses at once than will fit in the heap. The estimates are
+ * deliberately on the generous side - under-estimating will lead to an {@link OutOfMemoryError}, over-estimating will
+ * only reduce the number of concurrent analyses.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+public class BatchJobHeapEstimator {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchJobHeapEstimator.class);
+
+    private static final long MEGABYTE = 1024L * 1024L;
+    // Fixed cost of an analysis, regardless of the input - prioritiser results, output writers etc.
+    static final long BASE_HEAP_BYTES = 256 * MEGABYTE;
+    // Rough compression ratio of a bgzipped VCF
+    static final int GZIP_COMPRESSION_RATIO = 8;
+    // Bytes of heap used per byte of (uncompressed) VCF. A FULL analysis retains every variant, an exome PASS_ONLY
+    // analysis retains a good proportion of the coding variants, whereas a genome PASS_ONLY analysis discards the vast
+    // majority of the non-coding variants as they are read.
+    static final int FULL_HEAP_PER_VCF_BYTE = 10;
+    static final int EXOME_HEAP_PER_VCF_BYTE = 4;
+    static final int GENOME_HEAP_PER_VCF_BYTE = 1;
+
+    public long estimateHeapBytes(JobProto.Job job) {
+        long vcfBytes = uncompressedVcfBytes(job);
+        return BASE_HEAP_BYTES + vcfBytes * heapPerVcfByte(job);
+    }
+
+    private int heapPerVcfByte(JobProto.Job job) {
+        // n.b. analysis and preset are a oneof so the analysis must be checked first as the preset defaults to EXOME
+        if (job.hasAnalysis()) {
+            return job.getAnalysis().getAnalysisMode() == AnalysisProto.AnalysisMode.FULL ? FULL_HEAP_PER_VCF_BYTE : EXOME_HEAP_PER_VCF_BYTE;
+        }
+        return switch (job.getPreset()) {
+            case GENOME -> GENOME_HEAP_PER_VCF_BYTE;
+            case PHENOTYPE_ONLY -> 0;
+            default -> EXOME_HEAP_PER_VCF_BYTE;
+        };
+    }
+
+    private long uncompressedVcfBytes(JobProto.Job job) {
+        Path vcfPath = vcfPath(job);
+        if (vcfPath == null) {
+            return 0;
+        }
+        try {
+            long size = Files.size(vcfPath);
+            return vcfPath.toString().endsWith(".gz") ? size * GZIP_COMPRESSION_RATIO : size;
+        } catch (IOException e) {
+            // the analysis will fail when run, but that isn't the concern of the estimator
+            logger.debug("Unable to read size of {}", vcfPath, e);
+            return 0;
+        }
+    }
+
+    private Path vcfPath(JobProto.Job job) {
+        try {
+            if (job.hasSample()) {
+                return Sample.from(job.getSample()).vcfPath();
+            }
+            if (job.hasPhenopacket()) {
+                return Sample.from(job.getPhenopacket()).vcfPath();
+            }
+            if (job.hasFamily()) {
+                return Sample.from(job.getFamily()).vcfPath();
+            }
+            if (job.hasAnalysis() && !job.getAnalysis().getVcf().isEmpty()) {
+                return Path.of(job.getAnalysis().getVcf());
+            }
+        } catch (Exception e) {
+            logger.debug("Unable to determine VCF path for job", e);
+        }
+        return null;
+    }
+}
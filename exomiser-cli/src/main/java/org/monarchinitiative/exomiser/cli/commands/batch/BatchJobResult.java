@@ -0,0 +1,39 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.monarchinitiative.exomiser.cli.commands.batch;
+
+import java.time.Duration;
+
+/**
+ * The outcome of a single job run by the {@link BatchJobScheduler}.
+ *
+ * @param jobNumber        1-based position of the job in the batch file
+ * @param analysisDuration time taken to run the analysis
+ * @param writeDuration    time taken to write the results, zero if the analysis failed
+ * @param errorMessage     the cause of failure, or null if the job succeeded
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+public record BatchJobResult(int jobNumber, Duration analysisDuration, Duration writeDuration, String errorMessage) {
+
+    public boolean succeeded() {
+        return errorMessage == null;
+    }
+}
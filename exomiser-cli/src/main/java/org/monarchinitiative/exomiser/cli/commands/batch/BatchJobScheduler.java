@@ -0,0 +1,231 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.monarchinitiative.exomiser.cli.commands.batch;
+
+import org.monarchinitiative.exomiser.api.v1.JobProto;
+import org.monarchinitiative.exomiser.core.Exomiser;
+import org.monarchinitiative.exomiser.core.analysis.AnalysisDurationFormatter;
+import org.monarchinitiative.exomiser.core.analysis.AnalysisResults;
+import org.monarchinitiative.exomiser.core.writers.AnalysisResultsWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a batch of jobs concurrently against a shared {@link Exomiser} instance. All the genome and phenotype data used
+ * by the {@link Exomiser} is read-only, so the only limits on the number of concurrent analyses are the number of
+ * threads and the available heap.
+ * <p>
+ * Before an analysis is started the {@link BatchJobHeapEstimator} estimate of its heap requirement is reserved from
+ * the heap budget, and is only returned once its results have been written. Jobs will wait for enough of the budget to
+ * become free, so a few large genomes will run with lower concurrency than many small exomes. A job estimated to need
+ * more than the whole budget will wait for all other jobs to finish and then run alone.
+ * <p>
+ * Results are written on a separate pool of threads so that analysis threads can start the next job as soon as an
+ * analysis has finished. Any failure, either in running an analysis or writing its results, is reported for that job
+ * only and does not affect the rest of the batch. The exception to this is an {@link Error}, such as an
+ * {@link OutOfMemoryError}, which stops the whole batch and is re-thrown from {@link #run(List)}.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+public class BatchJobScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchJobScheduler.class);
+
+    private static final long MEGABYTE = 1024L * 1024L;
+
+    private final Exomiser exomiser;
+    private final int concurrentJobs;
+    private final long heapBudgetBytes;
+    private final BatchJobHeapEstimator heapEstimator;
+
+    /**
+     * @param exomiser        the {@link Exomiser} used to run each job
+     * @param concurrentJobs  the maximum number of analyses to run at once
+     * @param heapBudgetBytes the amount of heap which can be used by the running jobs
+     * @param heapEstimator   estimates the heap required by each job
+     */
+    public BatchJobScheduler(Exomiser exomiser, int concurrentJobs, long heapBudgetBytes, BatchJobHeapEstimator heapEstimator) {
+        this.exomiser = Objects.requireNonNull(exomiser);
+        if (concurrentJobs < 1) {
+            throw new IllegalArgumentException("concurrentJobs must be greater than 0");
+        }
+        this.concurrentJobs = concurrentJobs;
+        if (heapBudgetBytes < MEGABYTE) {
+            throw new IllegalArgumentException("heapBudgetBytes must be at least 1 MB");
+        }
+        this.heapBudgetBytes = heapBudgetBytes;
+        this.heapEstimator = Objects.requireNonNull(heapEstimator);
+    }
+
+    /**
+     * Creates a scheduler using 80% of the heap which is currently unused as the budget. This should be called after
+     * the application has started so that the memory used by the data caches is not included in the budget.
+     *
+     * @param exomiser       the {@link Exomiser} used to run each job
+     * @param concurrentJobs the maximum number of analyses to run at once, or 0 to use the number of available processors
+     */
+    public static BatchJobScheduler withAvailableHeap(Exomiser exomiser, int concurrentJobs) {
+        Runtime runtime = Runtime.getRuntime();
+        long usedBytes = runtime.totalMemory() - runtime.freeMemory();
+        long heapBudgetBytes = Math.max(MEGABYTE, (long) ((runtime.maxMemory() - usedBytes) * 0.8));
+        int threads = concurrentJobs == 0 ? runtime.availableProcessors() : concurrentJobs;
+        return new BatchJobScheduler(exomiser, threads, heapBudgetBytes, new BatchJobHeapEstimator());
+    }
+
+    /**
+     * Runs the jobs, returning once all have finished.
+     *
+     * @return the result of each job, in the order of the input jobs.
+     * @throws Error any {@link Error} thrown while running or writing a job. The remaining jobs are not run.
+     */
+    public List<BatchJobResult> run(List<JobProto.Job> jobs) {
+        logger.info("Running {} jobs with up to {} concurrent analyses and a heap budget of {} MB", jobs.size(), concurrentJobs, heapBudgetBytes / MEGABYTE);
+        // permits are in MB to keep well within the int range of the Semaphore
+        int budgetMb = (int) Math.min(Integer.MAX_VALUE, heapBudgetBytes / MEGABYTE);
+        // fair, so that large jobs are not starved by a stream of smaller ones
+        Semaphore heapBudget = new Semaphore(budgetMb, true);
+        ExecutorService analysisExecutor = Executors.newFixedThreadPool(concurrentJobs, new BatchThreadFactory("batch-analysis-"));
+        ExecutorService writerExecutor = Executors.newFixedThreadPool(concurrentJobs, new BatchThreadFactory("batch-writer-"));
+        try {
+            List<CompletableFuture<BatchJobResult>> futures = new ArrayList<>(jobs.size());
+            for (int i = 0; i < jobs.size(); i++) {
+                int jobNumber = i + 1;
+                JobProto.Job job = jobs.get(i);
+                int requiredMb = (int) Math.min(budgetMb, Math.max(1, heapEstimator.estimateHeapBytes(job) / MEGABYTE));
+                CompletableFuture<BatchJobResult> future = CompletableFuture
+                        .supplyAsync(() -> analyse(jobNumber, jobs.size(), job, heapBudget, requiredMb), analysisExecutor)
+                        .thenApplyAsync(analysedJob -> writeResults(analysedJob, heapBudget), writerExecutor);
+                futures.add(future);
+            }
+            awaitAll(futures);
+            List<BatchJobResult> results = new ArrayList<>(futures.size());
+            for (CompletableFuture<BatchJobResult> future : futures) {
+                results.add(future.join());
+            }
+            return results;
+        } finally {
+            analysisExecutor.shutdownNow();
+            writerExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Waits for all the futures to complete. Failures of individual jobs are caught and reported in their
+     * {@link BatchJobResult}, so any future completing exceptionally has thrown an {@link Error}. Rather than carry on
+     * running jobs in a JVM which may be out of memory, this is re-thrown as soon as it happens.
+     */
+    private static void awaitAll(List<CompletableFuture<BatchJobResult>> futures) {
+        CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+        for (CompletableFuture<BatchJobResult> future : futures) {
+            future.whenComplete((result, throwable) -> {
+                if (throwable != null) {
+                    firstFailure.completeExceptionally(throwable);
+                }
+            });
+        }
+        try {
+            CompletableFuture.anyOf(CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)), firstFailure).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Error error) {
+                logger.error("Stopping batch", error);
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private AnalysedJob analyse(int jobNumber, int numJobs, JobProto.Job job, Semaphore heapBudget, int requiredMb) {
+        try {
+            heapBudget.acquire(requiredMb);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // nothing was reserved, so nothing will be released once the job has been reported
+            return new AnalysedJob(jobNumber, job, 0, null, Duration.ZERO, "Interrupted waiting to run");
+        }
+        logger.info("Running job {} of {} (reserved {} MB)", jobNumber, numJobs, requiredMb);
+        Instant start = Instant.now();
+        try {
+            AnalysisResults analysisResults = exomiser.run(job);
+            return new AnalysedJob(jobNumber, job, requiredMb, analysisResults, Duration.between(start, Instant.now()), null);
+        } catch (Exception e) {
+            logger.error("Job {} failed", jobNumber, e);
+            return new AnalysedJob(jobNumber, job, requiredMb, null, Duration.between(start, Instant.now()), errorMessage(e));
+        } catch (Error e) {
+            // this job will not reach writeResults, so return the reservation here before stopping the batch
+            heapBudget.release(requiredMb);
+            throw e;
+        }
+    }
+
+    private BatchJobResult writeResults(AnalysedJob analysedJob, Semaphore heapBudget) {
+        try {
+            if (analysedJob.errorMessage() != null) {
+                return new BatchJobResult(analysedJob.jobNumber(), analysedJob.analysisDuration(), Duration.ZERO, analysedJob.errorMessage());
+            }
+            Instant start = Instant.now();
+            try {
+                AnalysisResultsWriter.writeToFile(analysedJob.analysisResults(), analysedJob.job().getOutputOptions());
+            } catch (Exception e) {
+                logger.error("Unable to write results of job {}", analysedJob.jobNumber(), e);
+                return new BatchJobResult(analysedJob.jobNumber(), analysedJob.analysisDuration(), Duration.between(start, Instant.now()), errorMessage(e));
+            }
+            BatchJobResult result = new BatchJobResult(analysedJob.jobNumber(), analysedJob.analysisDuration(), Duration.between(start, Instant.now()), null);
+            logger.info("Finished job {} - analysis {}, writing results {}", result.jobNumber(), AnalysisDurationFormatter.format(result.analysisDuration()), AnalysisDurationFormatter.format(result.writeDuration()));
+            return result;
+        } finally {
+            if (analysedJob.reservedMb() > 0) {
+                heapBudget.release(analysedJob.reservedMb());
+            }
+        }
+    }
+
+    private static String errorMessage(Throwable e) {
+        return e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+    }
+
+    private record AnalysedJob(int jobNumber, JobProto.Job job, int reservedMb, AnalysisResults analysisResults, Duration analysisDuration, String errorMessage) {
+    }
+
+    private static class BatchThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        private BatchThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
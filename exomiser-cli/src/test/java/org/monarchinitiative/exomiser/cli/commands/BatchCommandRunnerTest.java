@@ -46,6 +46,30 @@ void testRunBatch(@TempDir Path tempDir) throws IOException {
         assertThat(Files.exists(resultsDir.resolve("exomiser.parquet")), equalTo(true));
     }
 
+    @Test
+    void testRunConcurrentBatchWithFailedJob(@TempDir Path tempDir) throws IOException {
+        Exomiser exomiser = Mockito.mock(Exomiser.class);
+        BatchCommandRunner instance = new BatchCommandRunner(Mockito.mock(JobParser.class), exomiser);
+        BatchCommand batchCommand = new BatchCommand();
+        batchCommand.concurrentJobs = 2;
+        batchCommand.batchFilePath = Files.createFile(tempDir.resolve("batch.txt"));
+        Path resultsDir = tempDir.resolve("results");
+        writeToBatchFile(batchCommand.batchFilePath,
+                "--sample src/test/resources/pfeiffer-phenopacket.yml --vcf src/test/resources/Pfeiffer.vcf --assembly hg19 --output-directory " + resultsDir.toAbsolutePath() + " --output-filename sample1 --output-format TSV_GENE",
+                "--sample src/test/resources/pfeiffer-phenopacket.yml --vcf src/test/resources/Pfeiffer.vcf --assembly hg19 --output-directory " + resultsDir.toAbsolutePath() + " --output-filename sample2 --output-format TSV_GENE",
+                "--sample src/test/resources/pfeiffer-phenopacket.yml --vcf src/test/resources/Pfeiffer.vcf --assembly hg19 --output-directory " + resultsDir.toAbsolutePath() + " --output-filename sample3 --output-format TSV_GENE");
+        List<JobProto.Job> jobs = BatchFileReader.readJobsFromBatchFile(batchCommand.batchFilePath);
+        when(exomiser.run(jobs.get(0))).thenReturn(AnalysisResults.builder().build());
+        when(exomiser.run(jobs.get(1))).thenThrow(new IllegalStateException("Something went wrong"));
+        when(exomiser.run(jobs.get(2))).thenReturn(AnalysisResults.builder().build());
+        Integer exitCode = instance.run(batchCommand);
+        // the failed job is reported in the exit code, but does not stop the others from completing
+        assertThat(exitCode, equalTo(1));
+        assertThat(Files.exists(resultsDir.resolve("sample1.genes.tsv")), equalTo(true));
+        assertThat(Files.exists(resultsDir.resolve("sample2.genes.tsv")), equalTo(false));
+        assertThat(Files.exists(resultsDir.resolve("sample3.genes.tsv")), equalTo(true));
+    }
+
     @Test
     void testDryRunNoSuchInputFile(@TempDir Path tempDir) {
         BatchCommandRunner instance = new BatchCommandRunner(new JobParser(null, null, null), new Exomiser(null));
@@ -39,4 +39,23 @@ void dryRunOption() {
         commandLine.parseArgs("batch.txt", "--dry-run");
         assertThat(instance.dryRun, is(true));
     }
+
+    @Test
+    void concurrentJobsOptionDefault() {
+        commandLine.parseArgs("batch.txt");
+        assertThat(instance.concurrentJobs, equalTo(1));
+    }
+
+    @Test
+    void concurrentJobsOption() {
+        commandLine.parseArgs("batch.txt", "--concurrent-jobs", "8");
+        assertThat(instance.concurrentJobs, equalTo(8));
+        assertThat(instance.validate(), is(true));
+    }
+
+    @Test
+    void concurrentJobsOptionNegativeIsInvalid() {
+        commandLine.parseArgs("batch.txt", "--concurrent-jobs", "-1");
+        assertThat(instance.validate(), is(false));
+    }
 }
@@ -0,0 +1,97 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.cli.commands.batch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.monarchinitiative.exomiser.api.v1.AnalysisProto;
+import org.monarchinitiative.exomiser.api.v1.JobProto;
+import org.monarchinitiative.exomiser.api.v1.SampleProto;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class BatchJobHeapEstimatorTest {
+
+    private static final int VCF_SIZE = 1000;
+
+    private final BatchJobHeapEstimator instance = new BatchJobHeapEstimator();
+
+    private static JobProto.Job.Builder jobWithVcf(Path vcfPath) {
+        return JobProto.Job.newBuilder()
+                .setSample(SampleProto.Sample.newBuilder().setVcf(vcfPath.toString()));
+    }
+
+    private static Path writeVcf(Path dir, String fileName) throws IOException {
+        return Files.write(dir.resolve(fileName), new byte[VCF_SIZE]);
+    }
+
+    @Test
+    void noVcf() {
+        JobProto.Job job = JobProto.Job.newBuilder().setPreset(AnalysisProto.Preset.PHENOTYPE_ONLY).build();
+        assertThat(instance.estimateHeapBytes(job), equalTo(BatchJobHeapEstimator.BASE_HEAP_BYTES));
+    }
+
+    @Test
+    void missingVcf(@TempDir Path tempDir) {
+        JobProto.Job job = jobWithVcf(tempDir.resolve("missing.vcf")).build();
+        assertThat(instance.estimateHeapBytes(job), equalTo(BatchJobHeapEstimator.BASE_HEAP_BYTES));
+    }
+
+    @Test
+    void exomePreset(@TempDir Path tempDir) throws IOException {
+        JobProto.Job job = jobWithVcf(writeVcf(tempDir, "sample.vcf")).setPreset(AnalysisProto.Preset.EXOME).build();
+        assertThat(instance.estimateHeapBytes(job), equalTo(BatchJobHeapEstimator.BASE_HEAP_BYTES + VCF_SIZE * BatchJobHeapEstimator.EXOME_HEAP_PER_VCF_BYTE));
+    }
+
+    @Test
+    void genomePreset(@TempDir Path tempDir) throws IOException {
+        JobProto.Job job = jobWithVcf(writeVcf(tempDir, "sample.vcf")).setPreset(AnalysisProto.Preset.GENOME).build();
+        assertThat(instance.estimateHeapBytes(job), equalTo(BatchJobHeapEstimator.BASE_HEAP_BYTES + VCF_SIZE * BatchJobHeapEstimator.GENOME_HEAP_PER_VCF_BYTE));
+    }
+
+    @Test
+    void compressedVcf(@TempDir Path tempDir) throws IOException {
+        JobProto.Job job = jobWithVcf(writeVcf(tempDir, "sample.vcf.gz")).setPreset(AnalysisProto.Preset.GENOME).build();
+        assertThat(instance.estimateHeapBytes(job), equalTo(BatchJobHeapEstimator.BASE_HEAP_BYTES + VCF_SIZE * BatchJobHeapEstimator.GZIP_COMPRESSION_RATIO * BatchJobHeapEstimator.GENOME_HEAP_PER_VCF_BYTE));
+    }
+
+    @Test
+    void fullAnalysis(@TempDir Path tempDir) throws IOException {
+        JobProto.Job job = jobWithVcf(writeVcf(tempDir, "sample.vcf"))
+                .setAnalysis(AnalysisProto.Analysis.newBuilder().setAnalysisMode(AnalysisProto.AnalysisMode.FULL))
+                .build();
+        assertThat(instance.estimateHeapBytes(job), equalTo(BatchJobHeapEstimator.BASE_HEAP_BYTES + VCF_SIZE * BatchJobHeapEstimator.FULL_HEAP_PER_VCF_BYTE));
+    }
+
+    @Test
+    void legacyAnalysisVcf(@TempDir Path tempDir) throws IOException {
+        Path vcfPath = writeVcf(tempDir, "sample.vcf");
+        JobProto.Job job = JobProto.Job.newBuilder()
+                .setAnalysis(AnalysisProto.Analysis.newBuilder().setVcf(vcfPath.toString()).setAnalysisMode(AnalysisProto.AnalysisMode.PASS_ONLY))
+                .build();
+        assertThat(instance.estimateHeapBytes(job), equalTo(BatchJobHeapEstimator.BASE_HEAP_BYTES + VCF_SIZE * BatchJobHeapEstimator.EXOME_HEAP_PER_VCF_BYTE));
+    }
+}
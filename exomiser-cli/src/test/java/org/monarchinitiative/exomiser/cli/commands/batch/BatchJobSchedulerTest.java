@@ -0,0 +1,162 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.cli.commands.batch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.monarchinitiative.exomiser.api.v1.JobProto;
+import org.monarchinitiative.exomiser.api.v1.OutputProto;
+import org.monarchinitiative.exomiser.core.Exomiser;
+import org.monarchinitiative.exomiser.core.analysis.AnalysisResults;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BatchJobSchedulerTest {
+
+    private static final long MEGABYTE = 1024L * 1024L;
+
+    private final Exomiser exomiser = mock(Exomiser.class);
+
+    private static JobProto.Job job(Path outputDirectory, String fileName) {
+        return JobProto.Job.newBuilder()
+                .setOutputOptions(OutputProto.OutputOptions.newBuilder()
+                        .setOutputDirectory(outputDirectory.toString())
+                        .setOutputFileName(fileName)
+                        .addOutputFormats("TSV_GENE"))
+                .build();
+    }
+
+    private static BatchJobHeapEstimator fixedEstimate(long bytes) {
+        return new BatchJobHeapEstimator() {
+            @Override
+            public long estimateHeapBytes(JobProto.Job job) {
+                return bytes;
+            }
+        };
+    }
+
+    @Test
+    void throwsExceptionWithZeroConcurrentJobs() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchJobScheduler(exomiser, 0, 100 * MEGABYTE, new BatchJobHeapEstimator()));
+    }
+
+    @Test
+    void throwsExceptionWithTinyHeapBudget() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchJobScheduler(exomiser, 1, 1000, new BatchJobHeapEstimator()));
+    }
+
+    @Test
+    void failedJobDoesNotAffectOtherJobs(@TempDir Path tempDir) {
+        JobProto.Job job1 = job(tempDir, "job1");
+        JobProto.Job job2 = job(tempDir, "job2");
+        JobProto.Job job3 = job(tempDir, "job3");
+        when(exomiser.run(any(JobProto.Job.class))).thenReturn(AnalysisResults.builder().build());
+        when(exomiser.run(job2)).thenThrow(new IllegalStateException("Bad VCF"));
+
+        BatchJobScheduler instance = new BatchJobScheduler(exomiser, 2, 100 * MEGABYTE, fixedEstimate(MEGABYTE));
+        List<BatchJobResult> results = instance.run(List.of(job1, job2, job3));
+
+        assertThat(results.size(), equalTo(3));
+        assertThat(results.get(0).jobNumber(), equalTo(1));
+        assertThat(results.get(0).succeeded(), is(true));
+        assertThat(results.get(1).jobNumber(), equalTo(2));
+        assertThat(results.get(1).succeeded(), is(false));
+        assertThat(results.get(1).errorMessage(), equalTo("Bad VCF"));
+        assertThat(results.get(2).jobNumber(), equalTo(3));
+        assertThat(results.get(2).succeeded(), is(true));
+
+        assertThat(Files.exists(tempDir.resolve("job1.genes.tsv")), is(true));
+        assertThat(Files.exists(tempDir.resolve("job2.genes.tsv")), is(false));
+        assertThat(Files.exists(tempDir.resolve("job3.genes.tsv")), is(true));
+    }
+
+    @Test
+    void runsJobsConcurrently(@TempDir Path tempDir) {
+        // each analysis waits for the other to start, so this will only succeed if both run at the same time
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        when(exomiser.run(any(JobProto.Job.class))).thenAnswer(invocation -> {
+            bothRunning.countDown();
+            if (!bothRunning.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Jobs not run concurrently");
+            }
+            return AnalysisResults.builder().build();
+        });
+
+        BatchJobScheduler instance = new BatchJobScheduler(exomiser, 2, 100 * MEGABYTE, fixedEstimate(10 * MEGABYTE));
+        List<BatchJobResult> results = instance.run(List.of(job(tempDir, "job1"), job(tempDir, "job2")));
+
+        assertThat(results.stream().allMatch(BatchJobResult::succeeded), is(true));
+    }
+
+    @Test
+    void concurrencyIsLimitedByHeapBudget(@TempDir Path tempDir) {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(exomiser.run(any(JobProto.Job.class))).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return AnalysisResults.builder().build();
+        });
+
+        // each job needs 60% of the budget, so only one can run at a time despite there being four threads
+        BatchJobScheduler instance = new BatchJobScheduler(exomiser, 4, 100 * MEGABYTE, fixedEstimate(60 * MEGABYTE));
+        List<BatchJobResult> results = instance.run(List.of(job(tempDir, "job1"), job(tempDir, "job2"), job(tempDir, "job3"), job(tempDir, "job4")));
+
+        assertThat(results.stream().allMatch(BatchJobResult::succeeded), is(true));
+        assertThat(maxRunning.get(), equalTo(1));
+    }
+
+    @Test
+    void jobLargerThanHeapBudgetIsRunAlone(@TempDir Path tempDir) {
+        when(exomiser.run(any(JobProto.Job.class))).thenReturn(AnalysisResults.builder().build());
+
+        BatchJobScheduler instance = new BatchJobScheduler(exomiser, 2, 100 * MEGABYTE, fixedEstimate(1000 * MEGABYTE));
+        List<BatchJobResult> results = instance.run(List.of(job(tempDir, "job1"), job(tempDir, "job2")));
+
+        assertThat(results.stream().allMatch(BatchJobResult::succeeded), is(true));
+    }
+
+    @Test
+    void outOfMemoryErrorStopsBatch(@TempDir Path tempDir) {
+        JobProto.Job job1 = job(tempDir, "job1");
+        JobProto.Job job2 = job(tempDir, "job2");
+        when(exomiser.run(job1)).thenThrow(new OutOfMemoryError("Java heap space"));
+        // job2 can't start until job1 has released its reservation, which only happens once it has failed
+        when(exomiser.run(job2)).thenReturn(AnalysisResults.builder().build());
+
+        BatchJobScheduler instance = new BatchJobScheduler(exomiser, 2, 100 * MEGABYTE, fixedEstimate(60 * MEGABYTE));
+        OutOfMemoryError error = assertThrows(OutOfMemoryError.class, () -> instance.run(List.of(job1, job2)));
+        assertThat(error.getMessage(), equalTo("Java heap space"));
+    }
+}
@@ -26,9 +26,11 @@
 import org.monarchinitiative.exomiser.core.analysis.acmg.*;
 import org.monarchinitiative.exomiser.core.filters.*;
 import org.monarchinitiative.exomiser.core.genome.*;
+import org.monarchinitiative.exomiser.core.genome.dao.ClinVarDao;
 import org.monarchinitiative.exomiser.core.model.*;
 import org.monarchinitiative.exomiser.core.pedigree.Pedigree;
 import org.monarchinitiative.exomiser.core.prioritisers.Prioritiser;
+import org.monarchinitiative.exomiser.core.prioritisers.PriorityResultCache;
 import org.monarchinitiative.exomiser.core.prioritisers.PriorityType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,11 +60,14 @@ abstract class AbstractAnalysisRunner implements AnalysisRunner {
     protected final VariantFilterRunner variantFilterRunner;
     private final GeneFilterRunner geneFilterRunner;
 
-    protected AbstractAnalysisRunner(GenomeAnalysisService genomeAnalysisService, VariantFilterRunner variantFilterRunner, GeneFilterRunner geneFilterRunner) {
+    private final BootstrappedPopulationCache bootstrappedPopulationCache;
+
+    protected AbstractAnalysisRunner(GenomeAnalysisService genomeAnalysisService, VariantFilterRunner variantFilterRunner, GeneFilterRunner geneFilterRunner, BootstrappedPopulationCache bootstrappedPopulationCache) {
         this.genomeAnalysisService = genomeAnalysisService;
 
         this.variantFilterRunner = variantFilterRunner;
         this.geneFilterRunner = geneFilterRunner;
+        this.bootstrappedPopulationCache = Objects.requireNonNull(bootstrappedPopulationCache);
     }
 
     @Override
@@ -75,7 +80,7 @@ public AnalysisResults run(Sample sample, Analysis analysis) {
         Path vcfPath = sample.vcfPath();
         VcfReader vcfReader = vcfPath == null ? new NoOpVcfReader() : new VcfFileReader(vcfPath);
         // n.b. this next block will safely handle a null VCF file
-        VariantFactory variantFactory = new VariantFactoryImpl(genomeAnalysisService.getVariantAnnotator(), vcfReader);
+        VariantFactory variantFactory = new VariantFactoryImpl(genomeAnalysisService.getVariantAnnotator(), vcfReader, compactVariants());
 
         List<String> sampleNames = vcfReader.readSampleIdentifiers();
         String probandIdentifier = SampleIdentifiers.checkProbandIdentifier(sample.probandSampleName(), sampleNames);
@@ -95,6 +100,9 @@ public AnalysisResults run(Sample sample, Analysis analysis) {
         //soo many comments - this is a bad sign that this is too complicated.
         Map<String, Gene> allGenes = makeKnownGenes();
         List<VariantEvaluation> variantEvaluations = new ArrayList<>();
+        // The p-value background distribution is built from the main prioritiser scores across all known genes, which
+        // is exactly what the prioritiser step does, so share the results rather than scoring all the genes twice.
+        PriorityResultCache priorityResultCache = new PriorityResultCache();
 
         // How Exomiser uses the input sample data will depend on the analysis steps provided. These are grouped by
         // function (variant filter, gene filter, prioritiser) as an AnalysisGroup. Only a variant filter step/group
@@ -116,7 +124,7 @@ public AnalysisResults run(Sample sample, Analysis analysis) {
                 assignVariantsToGenes(variantEvaluations, allGenes);
                 variantsLoaded = true;
             } else {
-                runSteps(analysis, analysisGroup, sample.hpoIds(), new ArrayList<>(allGenes.values()), inheritanceModeAnnotator);
+                runSteps(analysis, analysisGroup, sample.hpoIds(), new ArrayList<>(allGenes.values()), inheritanceModeAnnotator, priorityResultCache);
             }
         }
 
@@ -130,7 +138,7 @@ public AnalysisResults run(Sample sample, Analysis analysis) {
 
         // If no variant steps have been run and there is a VCF present, don't load it here - See issues #129, #478
         List<Gene> genesToScore = variantsLoaded ? getGenesWithVariants(allGenes) : allGenes.values().stream().filter(genesToScore()).toList();
-        GeneScorer geneScorer = buildGeneScorer(sample, analysis, genesToScore, probandIdentifier, inheritanceModeAnnotator);
+        GeneScorer geneScorer = buildGeneScorer(sample, analysis, genesToScore, probandIdentifier, inheritanceModeAnnotator, priorityResultCache);
 
         logger.info("Scoring genes");
         List<Gene> genes = geneScorer.scoreGenes(genesToScore);
@@ -153,10 +161,19 @@ public AnalysisResults run(Sample sample, Analysis analysis) {
         return analysisResults;
     }
 
-    private GeneScorer buildGeneScorer(Sample sample, Analysis analysis, List<Gene> genesToScore, String probandIdentifier, InheritanceModeAnnotator inheritanceModeAnnotator) {
-        CombinedScorePvalueCalculator combinedScorePvalueCalculator = buildCombinedScorePvalueCalculator(sample, analysis, genesToScore.size());
-
-        AcmgEvidenceAssigner acmgEvidenceAssigner = new Acmg2015EvidenceAssigner(probandIdentifier, inheritanceModeAnnotator.getPedigree(), genomeAnalysisService);
+    private GeneScorer buildGeneScorer(Sample sample, Analysis analysis, List<Gene> genesToScore, String probandIdentifier, InheritanceModeAnnotator inheritanceModeAnnotator, PriorityResultCache priorityResultCache) {
+        CombinedScorePvalueCalculator combinedScorePvalueCalculator = buildCombinedScorePvalueCalculator(sample, analysis, genesToScore.size(), priorityResultCache);
+
+        ClinVarDao clinVarDao = genomeAnalysisService;
+        if (genomeAnalysisService.supportsBatchIntervalSearch()) {
+            // resolve the ClinVar neighbourhoods of all the variants which could be classified in one batch look-up.
+            // Otherwise, only the neighbourhoods of the contributing variants are searched for as these are classified.
+            List<VariantEvaluation> passedVariants = genesToScore.stream()
+                    .flatMap(gene -> gene.passedVariantEvaluations().stream())
+                    .toList();
+            clinVarDao = PrefetchedClinVarDao.of(genomeAnalysisService, passedVariants);
+        }
+        AcmgEvidenceAssigner acmgEvidenceAssigner = new Acmg2015EvidenceAssigner(probandIdentifier, inheritanceModeAnnotator.getPedigree(), clinVarDao);
         AcmgAssignmentCalculator acmgAssignmentCalculator = new AcmgAssignmentCalculator(acmgEvidenceAssigner, new Acmg2020PointsBasedClassifier());
 
         return new RawScoreGeneScorer(probandIdentifier, sample.sex(), inheritanceModeAnnotator, combinedScorePvalueCalculator, acmgAssignmentCalculator);
@@ -199,10 +216,10 @@ private void logWarningIfSubOptimalAnalysisSumbitted(List<AnalysisGroup> analysi
         }
     }
 
-    private CombinedScorePvalueCalculator buildCombinedScorePvalueCalculator(Sample sample, Analysis analysis, int numFilteredGenes) {
+    private CombinedScorePvalueCalculator buildCombinedScorePvalueCalculator(Sample sample, Analysis analysis, int numFilteredGenes, PriorityResultCache priorityResultCache) {
         var prioritiser = analysis.mainPrioritiser();
         List<Gene> knownGenes = genomeAnalysisService.getKnownGenes();
-        return prioritiser == null ? CombinedScorePvalueCalculator.withRandomScores(0, knownGenes.size(), numFilteredGenes) : CombinedScorePvalueCalculator.of(0, prioritiser, sample.hpoIds(), knownGenes, numFilteredGenes);
+        return prioritiser == null ? CombinedScorePvalueCalculator.withRandomScores(0, knownGenes.size(), numFilteredGenes) : CombinedScorePvalueCalculator.of(0, prioritiser, sample.hpoIds(), knownGenes, numFilteredGenes, priorityResultCache, bootstrappedPopulationCache);
     }
 
     /**
@@ -221,24 +238,48 @@ private List<VariantEvaluation> loadAndFilterVariants(VariantFactory variantFact
         List<VariantEvaluation> filteredVariants;
         VariantLogger variantLogger = new VariantLogger();
 
-        // this can be done using parallel which dramatically reduces runtime at the expense of RAM and
-        //  inability to scale past one job running on one machine
+        // Variants can be processed in parallel, in ordered and bounded chunks. This dramatically reduces runtime for
+        //  genomes at the expense of the extra RAM used by the chunks in-flight.
+        int numThreads = analysis.variantProcessingThreads();
         try (Stream<VariantEvaluation> variantStream = variantFactory.createVariantEvaluations()) {
-                    filteredVariants = variantStream
-//                        .parallel()
-                        .peek(variantLogger.logLoadedAndPassedVariants())
-                        .filter(isObservedInProband(probandIdentifier))
-                        .map(geneReassigner::reassignRegulatoryAndNonCodingVariantAnnotations)
-                        .map(flagWhiteListedVariants())
-                        .filter(isAssociatedWithKnownGene(allGenes))
+            Function<Stream<VariantEvaluation>, Stream<VariantEvaluation>> prepareVariants = variants -> variants
+                    .filter(isObservedInProband(probandIdentifier))
+                    .map(geneReassigner::reassignRegulatoryAndNonCodingVariantAnnotations)
+                    .map(flagWhiteListedVariants())
+                    .filter(isAssociatedWithKnownGene(allGenes));
+            if (numThreads > 1) {
+                logger.info("Loading and filtering variants using {} threads", numThreads);
+                ChunkedVariantProcessor chunkedVariantProcessor = new ChunkedVariantProcessor(numThreads);
+                filteredVariants = chunkedVariantProcessor.process(variantStream.peek(variantLogger.logLoadedAndPassedVariants()), chunk -> {
+                    List<VariantEvaluation> filtered = runVariantFiltersInBatch(variantFilters, prepareVariants.apply(chunk.stream()).toList());
+                    filtered.forEach(variantLogger.countPassedVariant());
+                    return filtered;
+                });
+            } else {
+                filteredVariants = prepareVariants.apply(variantStream.peek(variantLogger.logLoadedAndPassedVariants()))
                         .filter(runVariantFilters(variantFilters))
                         .peek(variantLogger.countPassedVariant())
                         .toList();
+            }
         }
         variantLogger.logResults();
         return filteredVariants;
     }
 
+    /**
+     * Batch equivalent of {@link #runVariantFilters(List)}. Each filter is run over the whole batch in turn, which allows
+     * the {@link VariantFilterDataProvider} to look-up the data for the whole batch in one go. The
+     * {@link VariantFilterRunner} determines whether failed variants are retained, or run through the subsequent filters,
+     * so the returned variants are identical to those passing the {@link #runVariantFilters(List)} predicate.
+     */
+    private List<VariantEvaluation> runVariantFiltersInBatch(List<VariantFilter> variantFilters, List<VariantEvaluation> variantEvaluations) {
+        List<VariantEvaluation> filtered = variantEvaluations;
+        for (VariantFilter variantFilter : variantFilters) {
+            filtered = variantFilterRunner.run(variantFilter, filtered);
+        }
+        return filtered;
+    }
+
     // TODO: might be worth pulling out into an AnalysisSupport class or adding to the GenomeAnalysisService?
     private GeneReassigner createNonCodingVariantGeneReassigner(Analysis analysis, Map<String, Gene> allGenes) {
         ChromosomalRegionIndex<TopologicalDomain> tadIndex = genomeAnalysisService.getTopologicallyAssociatedDomainIndex();
@@ -313,6 +354,17 @@ private UnaryOperator<VariantEvaluation> flagWhiteListedVariants() {
 
     protected abstract Predicate<Gene> genesToScore();
 
+    /**
+     * Defines whether the variants should be created without retaining the original HTSJDK VariantContext, in which case
+     * the original VCF records are re-read from the input VCF when writing the VCF results. Defaults to false.
+     *
+     * @return true if the runner should create compact variants.
+     * @since 15.0.0
+     */
+    protected boolean compactVariants() {
+        return false;
+    }
+
     private void assignVariantsToGenes(List<VariantEvaluation> variantEvaluations, Map<String, Gene> allGenes) {
         for (VariantEvaluation variantEvaluation : variantEvaluations) {
             Gene gene = allGenes.get(variantEvaluation.geneSymbol());
@@ -335,14 +387,14 @@ protected List<Gene> getGenesWithVariants(Map<String, Gene> allGenes) {
     abstract List<VariantEvaluation> getFinalVariantList(List<VariantEvaluation> variants);
 
     //might this be a nascent class waiting to get out here?
-    private void runSteps(Analysis analysis, AnalysisGroup analysisGroup, List<String> hpoIds, List<Gene> genes, InheritanceModeAnnotator inheritanceModeAnnotator) {
+    private void runSteps(Analysis analysis, AnalysisGroup analysisGroup, List<String> hpoIds, List<Gene> genes, InheritanceModeAnnotator inheritanceModeAnnotator, PriorityResultCache priorityResultCache) {
         boolean inheritanceModesCalculated = false;
         for (AnalysisStep analysisStep : analysisGroup.analysisSteps()) {
             if (!inheritanceModesCalculated && analysisStep.isInheritanceModeDependent()) {
                 analyseGeneCompatibilityWithInheritanceMode(genes, inheritanceModeAnnotator);
                 inheritanceModesCalculated = true;
             }
-            runStep(analysis, analysisStep, hpoIds, genes);
+            runStep(analysis, analysisStep, hpoIds, genes, priorityResultCache);
         }
     }
 
@@ -353,14 +405,14 @@ private void analyseGeneCompatibilityWithInheritanceMode(List<Gene> genes, Inher
         inheritanceModeAnalyser.analyseInheritanceModes(genes);
     }
 
-    private void runStep(Analysis analysis, AnalysisStep analysisStep, List<String> hpoIds, List<Gene> genes) {
+    private void runStep(Analysis analysis, AnalysisStep analysisStep, List<String> hpoIds, List<Gene> genes, PriorityResultCache priorityResultCache) {
         switch (analysisStep) {
             case VariantFilter variantFilter -> {
                 VariantFilter filter = wrapWithFilterDataProvider(variantFilter, analysis);
                 runVariantFilterStep(filter, genes);
             }
             case GeneFilter geneFilter -> runGeneFilterStep(geneFilter, genes);
-            case Prioritiser<?> prioritiser -> runPrioritiserStep(prioritiser, hpoIds, genes);
+            case Prioritiser<?> prioritiser -> runPrioritiserStep(prioritiser, hpoIds, genes, priorityResultCache);
             case null, default -> {
                 // do nothing
             }
@@ -379,9 +431,9 @@ private void runGeneFilterStep(GeneFilter geneFilter, List<Gene> genes) {
         geneFilterRunner.run(geneFilter, genes);
     }
 
-    private void runPrioritiserStep(Prioritiser<?> prioritiser, List<String> hpoIds, List<Gene> genes) {
+    private void runPrioritiserStep(Prioritiser<?> prioritiser, List<String> hpoIds, List<Gene> genes, PriorityResultCache priorityResultCache) {
         logger.info("Running Prioritiser: {}", prioritiser);
-        prioritiser.prioritizeGenes(hpoIds, genes);
+        priorityResultCache.prioritizeGenes(prioritiser, hpoIds, genes);
     }
 
     /**
@@ -27,6 +27,7 @@
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
@@ -54,13 +55,15 @@
  * @since 7.0.0
  */
 @JsonDeserialize(builder = Analysis.Builder.class)
-@JsonPropertyOrder({"analysisMode", "inheritanceModes", "frequencySources", "pathogenicitySources", "steps"})
+@JsonPropertyOrder({"analysisMode", "inheritanceModes", "frequencySources", "pathogenicitySources", "variantProcessingThreads", "steps"})
 public record Analysis(
         AnalysisMode analysisMode,
         @JsonProperty("inheritanceModes")
         InheritanceModeOptions inheritanceModeOptions,
         Set<FrequencySource> frequencySources,
         Set<PathogenicitySource> pathogenicitySources,
+        @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+        int variantProcessingThreads,
         @JsonProperty("steps")
         List<AnalysisStep> analysisSteps
 ) {
@@ -73,6 +76,9 @@ public record Analysis(
         Objects.requireNonNull(inheritanceModeOptions);
         frequencySources = (frequencySources == null || frequencySources.isEmpty()) ? Collections.emptySet() : Collections.unmodifiableSet(EnumSet.copyOf(frequencySources));
         pathogenicitySources = (pathogenicitySources == null || pathogenicitySources.isEmpty()) ? Collections.emptySet() : Collections.unmodifiableSet(EnumSet.copyOf(pathogenicitySources));
+        if (variantProcessingThreads < 0) {
+            throw new IllegalArgumentException("variantProcessingThreads must be 0 or greater, but was " + variantProcessingThreads);
+        }
         analysisSteps = List.copyOf(analysisSteps);
     }
 
@@ -127,6 +133,7 @@ public Builder copy() {
                 .analysisMode(analysisMode)
                 .frequencySources(frequencySources)
                 .pathogenicitySources(pathogenicitySources)
+                .variantProcessingThreads(variantProcessingThreads)
                 .steps(analysisSteps);
     }
 
@@ -136,6 +143,7 @@ public static class Builder {
         private InheritanceModeOptions inheritanceModeOptions = InheritanceModeOptions.empty();
         private Set<FrequencySource> frequencySources = EnumSet.noneOf(FrequencySource.class);
         private Set<PathogenicitySource> pathogenicitySources = EnumSet.noneOf(PathogenicitySource.class);
+        private int variantProcessingThreads = 0;
         private List<AnalysisStep> analysisSteps = new ArrayList<>();
 
         public Analysis build() {
@@ -144,6 +152,7 @@ public Analysis build() {
                     inheritanceModeOptions,
                     frequencySources,
                     pathogenicitySources,
+                    variantProcessingThreads,
                     analysisSteps
             );
         }
@@ -175,6 +184,19 @@ public Builder pathogenicitySources(Set<PathogenicitySource> pathogenicitySource
             return this;
         }
 
+        /**
+         * Sets the number of threads used to load and filter the variants from the VCF file. A value of 0 or 1 will
+         * run these sequentially on the calling thread, which is the default.
+         *
+         * @param variantProcessingThreads number of worker threads to use for loading and filtering variants
+         * @return the Builder
+         * @since 15.0.0
+         */
+        public Builder variantProcessingThreads(int variantProcessingThreads) {
+            this.variantProcessingThreads = variantProcessingThreads;
+            return this;
+        }
+
         public Builder addStep(AnalysisStep step) {
             this.analysisSteps.add(step);
             return this;
@@ -189,6 +211,6 @@ public Builder steps(List<AnalysisStep> analysisSteps) {
 
     @Override
     public String toString() {
-        return "Analysis{analysisMode=" + analysisMode + ", inheritanceModeOptions=" + inheritanceModeOptions + ", frequencySources=" + frequencySources + ", pathogenicitySources=" + pathogenicitySources + ", analysisSteps=" + analysisSteps + '}';
+        return "Analysis{analysisMode=" + analysisMode + ", inheritanceModeOptions=" + inheritanceModeOptions + ", frequencySources=" + frequencySources + ", pathogenicitySources=" + pathogenicitySources + ", variantProcessingThreads=" + variantProcessingThreads + ", analysisSteps=" + analysisSteps + '}';
     }
 }
@@ -102,6 +102,19 @@ public AnalysisBuilder pathogenicitySources(Set<PathogenicitySource> pathogenici
         return this;
     }
 
+    /**
+     * Sets the number of threads used to load and filter the variants in the VCF. Variants are processed in ordered,
+     * bounded chunks, so the results are identical to those of the default sequential mode.
+     *
+     * @param variantProcessingThreads number of threads to use. 0 or 1 will run sequentially.
+     * @return An {@link AnalysisBuilder} with the variantProcessingThreads set.
+     * @since 15.0.0
+     */
+    public AnalysisBuilder variantProcessingThreads(int variantProcessingThreads) {
+        builder.variantProcessingThreads(variantProcessingThreads);
+        return this;
+    }
+
     //Filters
 
     /**
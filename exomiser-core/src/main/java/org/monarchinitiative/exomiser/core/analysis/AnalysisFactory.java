@@ -21,6 +21,7 @@
 package org.monarchinitiative.exomiser.core.analysis;
 
 import org.monarchinitiative.exomiser.core.Exomiser;
+import org.monarchinitiative.exomiser.core.analysis.score.BootstrappedPopulationCache;
 import org.monarchinitiative.exomiser.core.genome.GenomeAnalysisService;
 import org.monarchinitiative.exomiser.core.genome.GenomeAnalysisServiceProvider;
 import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
@@ -29,6 +30,7 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -49,12 +51,35 @@ public class AnalysisFactory {
     private final GenomeAnalysisServiceProvider genomeAnalysisServiceProvider;
     private final PriorityFactory priorityFactory;
     private final OntologyService ontologyService;
+    // shared by all the AnalysisRunners created by this factory so that the bootstrapped p-value populations can be
+    // re-used between samples analysed with the same phenotype data
+    private final BootstrappedPopulationCache bootstrappedPopulationCache;
+    private final boolean compactVariants;
 
-    @Autowired
     public AnalysisFactory(GenomeAnalysisServiceProvider genomeAnalysisServiceProvider, PriorityFactory priorityFactory, OntologyService ontologyService) {
+        this(genomeAnalysisServiceProvider, priorityFactory, ontologyService, new BootstrappedPopulationCache(BootstrappedPopulationCache.DEFAULT_MAX_SIZE, ""));
+    }
+
+    /**
+     * @since 15.0.0
+     */
+    public AnalysisFactory(GenomeAnalysisServiceProvider genomeAnalysisServiceProvider, PriorityFactory priorityFactory, OntologyService ontologyService, BootstrappedPopulationCache bootstrappedPopulationCache) {
+        this(genomeAnalysisServiceProvider, priorityFactory, ontologyService, bootstrappedPopulationCache, true);
+    }
+
+    /**
+     * @param compactVariants if true, {@link AnalysisMode#PASS_ONLY} analyses create variants which don't retain the
+     *                        original VCF record, re-reading these from the input VCF when writing the VCF results. Set
+     *                        using the exomiser.compact-variants property.
+     * @since 15.0.0
+     */
+    @Autowired
+    public AnalysisFactory(GenomeAnalysisServiceProvider genomeAnalysisServiceProvider, PriorityFactory priorityFactory, OntologyService ontologyService, BootstrappedPopulationCache bootstrappedPopulationCache, @Value("${exomiser.compact-variants:true}") boolean compactVariants) {
         this.genomeAnalysisServiceProvider = genomeAnalysisServiceProvider;
         this.priorityFactory = priorityFactory;
         this.ontologyService = ontologyService;
+        this.bootstrappedPopulationCache = bootstrappedPopulationCache;
+        this.compactVariants = compactVariants;
     }
 
     public AnalysisRunner getAnalysisRunner(GenomeAssembly genomeAssembly, AnalysisMode analysisMode) {
@@ -64,9 +89,9 @@ public AnalysisRunner getAnalysisRunner(GenomeAssembly genomeAssembly, AnalysisM
         GenomeAnalysisService genomeAnalysisService = genomeAnalysisServiceProvider.get(genomeAssembly);
 
         return switch (analysisMode) {
-            case FULL -> new SimpleAnalysisRunner(genomeAnalysisService);
+            case FULL -> new SimpleAnalysisRunner(genomeAnalysisService, bootstrappedPopulationCache);
             // PASS_ONLY takes up the least RAM
-            case PASS_ONLY -> new PassOnlyAnalysisRunner(genomeAnalysisService);
+            case PASS_ONLY -> new PassOnlyAnalysisRunner(genomeAnalysisService, bootstrappedPopulationCache, compactVariants);
         };
     }
 
@@ -104,6 +104,11 @@ public AnalysisProtoBuilder pathogenicitySources(Set<PathogenicitySource> pathog
         return this;
     }
 
+    public AnalysisProtoBuilder variantProcessingThreads(int variantProcessingThreads) {
+        builder.setVariantProcessingThreads(variantProcessingThreads);
+        return this;
+    }
+
     private AnalysisProto.AnalysisStep.Builder stepBuilder() {
         return AnalysisProto.AnalysisStep.newBuilder();
     }
@@ -45,6 +45,7 @@ public AnalysisProto.Analysis toProto(Analysis analysis) {
                 .putAllInheritanceModes(analysis.inheritanceModeOptions().getMaxFreqs().entrySet().stream().collect(Collectors.toMap(subModeOfInheritanceFloatEntry -> subModeOfInheritanceFloatEntry.getKey().toString(), Map.Entry::getValue)))
                 .addAllFrequencySources(analysis.frequencySources().stream().map(Objects::toString).toList())
                 .addAllPathogenicitySources(analysis.pathogenicitySources().stream().map(Objects::toString).toList())
+                .setVariantProcessingThreads(analysis.variantProcessingThreads())
                 .addAllSteps(analysis.analysisSteps().stream().map(analysisStepToProto()).filter(Objects::nonNull).toList())
                 .build();
     }
@@ -0,0 +1,145 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.analysis;
+
+import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Package private helper class for running the load and filter step of an analysis over a pool of worker threads.
+ * The input stream is read on the calling thread and cut into chunks of at most {@code chunkSize} variants which never
+ * span more than one contig. Each chunk is handed to the worker pool and the results are collected in the order the
+ * chunks were submitted, so the output is identical to running the same chunk function over the stream sequentially.
+ * <p>
+ * Only {@code maxChunksInFlight} chunks are allowed to be queued or running at any one time. Once this limit is reached
+ * the reading thread blocks until the oldest chunk has completed, which bounds the number of unfiltered variants held
+ * in memory regardless of the size of the input VCF.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+class ChunkedVariantProcessor {
+
+    static final int DEFAULT_CHUNK_SIZE = 10_000;
+
+    private final int numThreads;
+    private final int chunkSize;
+    private final int maxChunksInFlight;
+
+    ChunkedVariantProcessor(int numThreads) {
+        this(numThreads, DEFAULT_CHUNK_SIZE);
+    }
+
+    ChunkedVariantProcessor(int numThreads, int chunkSize) {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("numThreads must be greater than 0, but was " + numThreads);
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be greater than 0, but was " + chunkSize);
+        }
+        this.numThreads = numThreads;
+        this.chunkSize = chunkSize;
+        this.maxChunksInFlight = numThreads * 2;
+    }
+
+    /**
+     * Applies the chunkProcessor to contiguous, contig-ordered chunks of the input stream and returns the concatenated
+     * results in input order. The chunkProcessor will be called concurrently from multiple threads so must be
+     * threadsafe.
+     *
+     * @param variantEvaluations the input variants, in VCF order
+     * @param chunkProcessor     function to filter/transform a chunk of variants
+     * @return the results of applying the chunkProcessor to all the input variants, in input order
+     */
+    List<VariantEvaluation> process(Stream<VariantEvaluation> variantEvaluations, Function<List<VariantEvaluation>, List<VariantEvaluation>> chunkProcessor) {
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads, new WorkerThreadFactory());
+        try {
+            Deque<Future<List<VariantEvaluation>>> inFlight = new ArrayDeque<>(maxChunksInFlight);
+            List<VariantEvaluation> results = new ArrayList<>();
+
+            List<VariantEvaluation> chunk = new ArrayList<>(chunkSize);
+            int currentContig = -1;
+            Iterator<VariantEvaluation> iterator = variantEvaluations.iterator();
+            while (iterator.hasNext()) {
+                VariantEvaluation variantEvaluation = iterator.next();
+                if (chunk.size() == chunkSize || (!chunk.isEmpty() && variantEvaluation.contigId() != currentContig)) {
+                    submitChunk(executorService, inFlight, results, chunk, chunkProcessor);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+                currentContig = variantEvaluation.contigId();
+                chunk.add(variantEvaluation);
+            }
+            if (!chunk.isEmpty()) {
+                submitChunk(executorService, inFlight, results, chunk, chunkProcessor);
+            }
+            while (!inFlight.isEmpty()) {
+                results.addAll(await(inFlight.removeFirst()));
+            }
+            return results;
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void submitChunk(ExecutorService executorService, Deque<Future<List<VariantEvaluation>>> inFlight, List<VariantEvaluation> results, List<VariantEvaluation> chunk, Function<List<VariantEvaluation>, List<VariantEvaluation>> chunkProcessor) {
+        // apply backpressure to the reader - results are drained strictly in submission order
+        while (inFlight.size() >= maxChunksInFlight) {
+            results.addAll(await(inFlight.removeFirst()));
+        }
+        List<VariantEvaluation> toProcess = chunk;
+        inFlight.addLast(executorService.submit(() -> chunkProcessor.apply(toProcess)));
+    }
+
+    private static List<VariantEvaluation> await(Future<List<VariantEvaluation>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for variants to be processed", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Unable to process variants", cause);
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "variant-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
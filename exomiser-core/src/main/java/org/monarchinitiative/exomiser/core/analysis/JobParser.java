@@ -184,7 +184,8 @@ private Analysis parseProtoAnalysis(AnalysisProto.Analysis protoAnalysis) {
                 .inheritanceModes(inheritanceModeOptions)
                 .analysisMode(parseAnalysisMode(protoAnalysis.getAnalysisMode()))
                 .frequencySources(frequencySources)
-                .pathogenicitySources(pathogenicitySources);
+                .pathogenicitySources(pathogenicitySources)
+                .variantProcessingThreads(protoAnalysis.getVariantProcessingThreads());
 
         for (AnalysisProto.AnalysisStep analysisStep : protoAnalysis.getStepsList()) {
             addAnalysisStep(analysisBuilder, inheritanceModeOptions, frequencySources, pathogenicitySources, analysisStep);
@@ -20,6 +20,7 @@
 
 package org.monarchinitiative.exomiser.core.analysis;
 
+import org.monarchinitiative.exomiser.core.analysis.score.BootstrappedPopulationCache;
 import org.monarchinitiative.exomiser.core.filters.*;
 import org.monarchinitiative.exomiser.core.genome.GenomeAnalysisService;
 import org.monarchinitiative.exomiser.core.model.Gene;
@@ -37,8 +38,24 @@
  */
 class PassOnlyAnalysisRunner extends AbstractAnalysisRunner {
 
+    private final boolean compactVariants;
+
     PassOnlyAnalysisRunner(GenomeAnalysisService genomeAnalysisService) {
-        super(genomeAnalysisService, new SparseVariantFilterRunner(), new SimpleGeneFilterRunner());
+        this(genomeAnalysisService, BootstrappedPopulationCache.disabled());
+    }
+
+    PassOnlyAnalysisRunner(GenomeAnalysisService genomeAnalysisService, BootstrappedPopulationCache bootstrappedPopulationCache) {
+        this(genomeAnalysisService, bootstrappedPopulationCache, true);
+    }
+
+    /**
+     * @param compactVariants if true, the variants are created in compact form and the original VCF records are
+     *                        re-read from the input VCF when writing the VCF results.
+     * @since 15.0.0
+     */
+    PassOnlyAnalysisRunner(GenomeAnalysisService genomeAnalysisService, BootstrappedPopulationCache bootstrappedPopulationCache, boolean compactVariants) {
+        super(genomeAnalysisService, new SparseVariantFilterRunner(), new SimpleGeneFilterRunner(), bootstrappedPopulationCache);
+        this.compactVariants = compactVariants;
     }
 
     @Override
@@ -96,4 +113,14 @@ protected List<VariantEvaluation> getFinalVariantList(List<VariantEvaluation> va
     protected Predicate<Gene> genesToScore() {
         return Gene::passedFilters;
     }
+
+    /**
+     * This runner is intended to use the least RAM, so by default variants are created in compact form. This avoids
+     * each retained variant holding a reference to the full parsed VCF record, including every sample genotype and INFO
+     * field, at the cost of re-reading the input VCF when writing the VCF results.
+     */
+    @Override
+    protected boolean compactVariants() {
+        return compactVariants;
+    }
 }
@@ -20,6 +20,7 @@
 
 package org.monarchinitiative.exomiser.core.analysis;
 
+import org.monarchinitiative.exomiser.core.analysis.score.BootstrappedPopulationCache;
 import org.monarchinitiative.exomiser.core.filters.*;
 import org.monarchinitiative.exomiser.core.genome.GenomeAnalysisService;
 import org.monarchinitiative.exomiser.core.model.Gene;
@@ -37,7 +38,11 @@
 class SimpleAnalysisRunner extends AbstractAnalysisRunner {
 
     SimpleAnalysisRunner(GenomeAnalysisService genomeAnalysisService) {
-        super(genomeAnalysisService, new SimpleVariantFilterRunner(), new SimpleGeneFilterRunner());
+        this(genomeAnalysisService, BootstrappedPopulationCache.disabled());
+    }
+
+    SimpleAnalysisRunner(GenomeAnalysisService genomeAnalysisService, BootstrappedPopulationCache bootstrappedPopulationCache) {
+        super(genomeAnalysisService, new SimpleVariantFilterRunner(), new SimpleGeneFilterRunner(), bootstrappedPopulationCache);
     }
 
     @Override
@@ -32,12 +32,7 @@ private AcmgMissenseInFrameIndelEvidenceAssigner() {
     static void assignMissenseEvidence(AcmgEvidence.Builder acmgEvidenceBuilder, VariantEvaluation variantEvaluation, ModeOfInheritance modeOfInheritance, List<Disease> knownDiseases, ClinVarDao clinVarDao) {
         // ignore non-missense, truncating, splice or mitochondrial variants
         if (isMissenseOrInframeIndel(variantEvaluation.variantEffect()) && variantEvaluation.contigId() != 25) {
-            // ensure region is within contig bounds
-            Contig contig = variantEvaluation.contig();
-            var upStream = Math.max(1, variantEvaluation.start() - 25);
-            var downStream = Math.min(contig.length(), variantEvaluation.start() + 25);
-            GenomicInterval genomicInterval = GenomicInterval.of(contig, Strand.POSITIVE, Coordinates.oneBased(upStream, downStream));
-            var localClinVarData = clinVarDao.findClinVarRecordsOverlappingInterval(genomicInterval);
+            var localClinVarData = clinVarDao.findClinVarRecordsOverlappingInterval(PrefetchedClinVarDao.clinVarNeighbourhood(variantEvaluation));
             // PS1 "Same amino acid change as a previously established pathogenic variant regardless of nucleotide change"
             // PM5 "Novel missense change at an amino acid residue where a different missense change determined to be pathogenic has been seen before"
             assignPS1PM5(acmgEvidenceBuilder, variantEvaluation, localClinVarData);
@@ -163,7 +158,7 @@ private static void assignPM1(AcmgEvidence.Builder acmgEvidenceBuilder, VariantE
         }
     }
 
-    private static boolean isMissenseOrInframeIndel(VariantEffect variantEffect) {
+    static boolean isMissenseOrInframeIndel(VariantEffect variantEffect) {
         return variantEffect == VariantEffect.MISSENSE_VARIANT || variantEffect == VariantEffect.INFRAME_DELETION || variantEffect == VariantEffect.INFRAME_INSERTION;
     }
 
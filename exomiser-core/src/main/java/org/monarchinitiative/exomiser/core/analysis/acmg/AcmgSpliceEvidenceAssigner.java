@@ -173,12 +173,7 @@ else if (pvs1Evidence == Evidence.STRONG || pvs1Evidence == Evidence.MODERATE ||
     }
 
     private static Map<GenomicVariant, ClinVarData> getClinVarDataSurroundingVariant(VariantEvaluation variantEvaluation, ClinVarDao clinVarDao) {
-        // ensure region is within contig bounds
-        Contig contig = variantEvaluation.contig();
-        var upStream = Math.max(1, variantEvaluation.start() - 25);
-        var downStream = Math.min(contig.length(), variantEvaluation.start() + 25);
-        GenomicInterval genomicInterval = GenomicInterval.of(contig, Strand.POSITIVE, Coordinates.oneBased(upStream, downStream));
-        return clinVarDao.findClinVarRecordsOverlappingInterval(genomicInterval);
+        return clinVarDao.findClinVarRecordsOverlappingInterval(PrefetchedClinVarDao.clinVarNeighbourhood(variantEvaluation));
     }
 
     private static boolean isPath(ClinVarData.ClinSig clinSig) {
@@ -199,7 +194,7 @@ private static boolean isPathOrLikelyPath(ClinVarData.ClinSig clinSig) {
      * @param variantEffect
      * @return
      */
-    private static boolean isSpliceVariant(VariantEffect variantEffect) {
+    static boolean isSpliceVariant(VariantEffect variantEffect) {
         return isSpliceDonorAcceptorSpliceVariant(variantEffect) || isNonDonorAcceptorSpliceRegionVariant(variantEffect);
     }
 
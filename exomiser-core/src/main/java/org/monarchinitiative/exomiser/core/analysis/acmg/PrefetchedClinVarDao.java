@@ -0,0 +1,128 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.core.analysis.acmg;
+
+import jakarta.annotation.Nonnull;
+import org.monarchinitiative.exomiser.core.genome.dao.ClinVarDao;
+import org.monarchinitiative.exomiser.core.model.GeneStatistics;
+import org.monarchinitiative.exomiser.core.model.Variant;
+import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
+import org.monarchinitiative.exomiser.core.model.pathogenicity.ClinVarData;
+import org.monarchinitiative.svart.*;
+
+import java.util.*;
+
+/**
+ * {@link ClinVarDao} which resolves the ClinVar neighbourhoods of all the variants which could be assigned PS1, PM5 or
+ * PM1 evidence up-front, using a single {@link ClinVarDao#findClinVarRecordsOverlappingIntervals(List)} call, rather
+ * than searching the underlying {@link ClinVarDao} for each variant in turn as it is classified. Searches for any other
+ * interval, and all other calls, are delegated to the underlying {@link ClinVarDao}.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+public final class PrefetchedClinVarDao implements ClinVarDao {
+
+    // distance either side of a variant within which ClinVar records are considered for PS1, PM5 and PM1
+    private static final int NEIGHBOURHOOD_FLANK = 25;
+
+    private final ClinVarDao clinVarDao;
+    private final Map<GenomicInterval, Map<GenomicVariant, ClinVarData>> neighbourhoods;
+
+    private PrefetchedClinVarDao(ClinVarDao clinVarDao, Map<GenomicInterval, Map<GenomicVariant, ClinVarData>> neighbourhoods) {
+        this.clinVarDao = clinVarDao;
+        this.neighbourhoods = neighbourhoods;
+    }
+
+    /**
+     * @param clinVarDao the underlying {@link ClinVarDao}
+     * @param variants   the variants which are to be assigned ACMG evidence. Only the neighbourhoods of the
+     *                   missense/in-frame indel and splice variants are fetched as these are the only ones used.
+     */
+    public static PrefetchedClinVarDao of(ClinVarDao clinVarDao, Collection<VariantEvaluation> variants) {
+        Objects.requireNonNull(clinVarDao);
+        Set<GenomicInterval> uniqueIntervals = new LinkedHashSet<>();
+        for (VariantEvaluation variant : variants) {
+            if (usesClinVarNeighbourhood(variant)) {
+                uniqueIntervals.add(clinVarNeighbourhood(variant));
+            }
+        }
+        List<GenomicInterval> intervals = List.copyOf(uniqueIntervals);
+        List<Map<GenomicVariant, ClinVarData>> results = intervals.isEmpty() ? List.of() : clinVarDao.findClinVarRecordsOverlappingIntervals(intervals);
+        Map<GenomicInterval, Map<GenomicVariant, ClinVarData>> neighbourhoods = new HashMap<>(intervals.size() * 2);
+        for (int i = 0; i < intervals.size(); i++) {
+            neighbourhoods.put(intervals.get(i), results.get(i));
+        }
+        return new PrefetchedClinVarDao(clinVarDao, neighbourhoods);
+    }
+
+    private static boolean usesClinVarNeighbourhood(VariantEvaluation variant) {
+        return (AcmgMissenseInFrameIndelEvidenceAssigner.isMissenseOrInframeIndel(variant.variantEffect()) && variant.contigId() != 25)
+               || AcmgSpliceEvidenceAssigner.isSpliceVariant(variant.variantEffect());
+    }
+
+    /**
+     * Returns the interval of {@link #NEIGHBOURHOOD_FLANK} bases either side of the start of the variant, within the
+     * bounds of the contig.
+     */
+    static GenomicInterval clinVarNeighbourhood(Variant variant) {
+        Contig contig = variant.contig();
+        int upStream = Math.max(1, variant.start() - NEIGHBOURHOOD_FLANK);
+        int downStream = Math.min(contig.length(), variant.start() + NEIGHBOURHOOD_FLANK);
+        return GenomicInterval.of(contig, Strand.POSITIVE, Coordinates.oneBased(upStream, downStream));
+    }
+
+    int numPrefetched() {
+        return neighbourhoods.size();
+    }
+
+    @Override
+    public ClinVarData getClinVarData(@Nonnull Variant variant) {
+        return clinVarDao.getClinVarData(variant);
+    }
+
+    @Override
+    public ClinVarData getClinVarData(@Nonnull GenomicVariant genomicVariant) {
+        return clinVarDao.getClinVarData(genomicVariant);
+    }
+
+    @Override
+    public Map<GenomicVariant, ClinVarData> findClinVarRecordsOverlappingInterval(@Nonnull GenomicInterval genomicInterval) {
+        Map<GenomicVariant, ClinVarData> neighbourhood = neighbourhoods.get(genomicInterval);
+        return neighbourhood == null ? clinVarDao.findClinVarRecordsOverlappingInterval(genomicInterval) : neighbourhood;
+    }
+
+    @Override
+    public boolean supportsBatchIntervalSearch() {
+        return clinVarDao.supportsBatchIntervalSearch();
+    }
+
+    @Override
+    public List<Map<GenomicVariant, ClinVarData>> findClinVarRecordsOverlappingIntervals(@Nonnull List<GenomicInterval> genomicIntervals) {
+        return clinVarDao.findClinVarRecordsOverlappingIntervals(genomicIntervals);
+    }
+
+    @Override
+    public GeneStatistics getGeneStatistics(@Nonnull String geneSymbol) {
+        return clinVarDao.getGeneStatistics(geneSymbol);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.core.analysis.score;
+
+import org.monarchinitiative.exomiser.core.prioritisers.Prioritiser;
+import org.monarchinitiative.exomiser.core.prioritisers.PriorityType;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * LRU cache of the bootstrapped combined score populations used by the {@link CombinedScorePvalueCalculator}. These
+ * are expensive to create and are identical (statistically speaking) for samples analysed with the same prioritiser
+ * and set of HPO terms, e.g. a family or cohort in a batch run. Each population holds 500K doubles (~4MB), so the
+ * maximum size of the cache should be chosen with this in mind.
+ * <p>
+ * Populations are keyed on the phenotype data version as well as the prioritiser and HPO terms so that instances
+ * created for different data releases cannot return each other's populations. A cache is intended to be owned by a
+ * single service, e.g. the {@link org.monarchinitiative.exomiser.core.analysis.AnalysisFactory}, rather than shared
+ * across the JVM.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+public class BootstrappedPopulationCache {
+
+    public static final int DEFAULT_MAX_SIZE = 16;
+
+    private static final BootstrappedPopulationCache DISABLED = new BootstrappedPopulationCache(0, "");
+
+    private final int maxSize;
+    private final String dataVersion;
+    private final Map<PopulationKey, double[]> populations;
+
+    /**
+     * @param maxSize     the maximum number of populations to hold. A value of 0 disables the cache.
+     * @param dataVersion version of the phenotype data used by the prioritisers, e.g. 2402
+     */
+    public BootstrappedPopulationCache(int maxSize, String dataVersion) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must be 0 or greater");
+        }
+        this.maxSize = maxSize;
+        this.dataVersion = Objects.requireNonNull(dataVersion);
+        this.populations = new LinkedHashMap<>(Math.max(maxSize, 1), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<PopulationKey, double[]> eldest) {
+                return size() > BootstrappedPopulationCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return a cache which never holds any populations.
+     */
+    public static BootstrappedPopulationCache disabled() {
+        return DISABLED;
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    public String dataVersion() {
+        return dataVersion;
+    }
+
+    public synchronized int size() {
+        return populations.size();
+    }
+
+    /**
+     * Returns the cached population for the prioritiser, HPO ids and number of genes, creating and caching it using
+     * the populationSupplier if this is not present. The population is created outside the lock, so concurrent
+     * requests for the same population may both create it.
+     */
+    double[] getOrCreate(Prioritiser<?> prioritiser, List<String> hpoIds, int numGenes, Supplier<double[]> populationSupplier) {
+        if (maxSize == 0) {
+            return populationSupplier.get();
+        }
+        var populationKey = new PopulationKey(dataVersion, prioritiser.priorityType(), prioritiser.toString(), new TreeSet<>(hpoIds), numGenes);
+        double[] cachedPopulation = get(populationKey);
+        if (cachedPopulation != null) {
+            return cachedPopulation;
+        }
+        double[] population = populationSupplier.get();
+        put(populationKey, population);
+        return population;
+    }
+
+    private synchronized double[] get(PopulationKey populationKey) {
+        return populations.get(populationKey);
+    }
+
+    private synchronized void put(PopulationKey populationKey, double[] population) {
+        populations.put(populationKey, population);
+    }
+
+    public synchronized void clear() {
+        populations.clear();
+    }
+
+    private record PopulationKey(String dataVersion, PriorityType priorityType, String prioritiser, Set<String> hpoIds, int numGenes) {
+    }
+}
@@ -3,6 +3,7 @@
 import org.monarchinitiative.exomiser.core.model.Gene;
 import org.monarchinitiative.exomiser.core.prioritisers.Prioritiser;
 import org.monarchinitiative.exomiser.core.prioritisers.PriorityResult;
+import org.monarchinitiative.exomiser.core.prioritisers.PriorityResultCache;
 import org.monarchinitiative.exomiser.core.prioritisers.PriorityType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,18 +19,27 @@
 public class CombinedScorePvalueCalculator {
 
     private static final Logger logger = LoggerFactory.getLogger(CombinedScorePvalueCalculator.class);
-    private final Set<PriorityType> priorityTypes;
+
+    // sorted in ascending order so that the p-value can be found using a binary search
     private final double[] bootstrappedScores;
 
+    private CombinedScorePvalueCalculator(double[] sortedBootstrappedScores) {
+        this.bootstrappedScores = sortedBootstrappedScores;
+    }
+
     private CombinedScorePvalueCalculator(PriorityType prioritiserType, double[] phenoScoreCache) {
+        this(bootstrapSortedScores(prioritiserType, phenoScoreCache));
+    }
+
+    private static double[] bootstrapSortedScores(PriorityType prioritiserType, double[] phenoScoreCache) {
         // Create a constant-sized population of 500K combined scores so that the combined score p-value calculation
         // always runs in an acceptable time for any analysis combination (WGS/ES, FULL/PASS_ONLY). The value of 500K
         // was chosen to be suitably large that either an exome or genome's worth of returned variants (hundreds to thousands)
         // will have a significant population to be compared with.
-        this.priorityTypes = Set.of(prioritiserType);
+        Set<PriorityType> priorityTypes = Set.of(prioritiserType);
         long population = 500_000L;
         RandomGenerator randomGenerator = ThreadLocalRandom.current();
-        this.bootstrappedScores = phenoScoreCache.length == 0 ? new double[]{} : randomGenerator
+        double[] bootstrappedScores = phenoScoreCache.length == 0 ? new double[]{} : randomGenerator
                 .ints(population, 0, phenoScoreCache.length)
                 .parallel()
                 .mapToDouble(index -> {
@@ -45,6 +55,8 @@ private CombinedScorePvalueCalculator(PriorityType prioritiserType, double[] phe
             logger.debug("Combined score distribution:\n{}", summaryStatistics.asciiDistribution(bootstrappedScores));
         }
         logger.debug("Combined score {}", summaryStatistics);
+        Arrays.parallelSort(bootstrappedScores);
+        return bootstrappedScores;
     }
 
     /**
@@ -63,13 +75,49 @@ public static CombinedScorePvalueCalculator withRandomScores(int bootStrapValue,
     }
 
     public static CombinedScorePvalueCalculator of(int bootStrapValue, Prioritiser<?> prioritiser, List<String> sampleHpoIds, List<Gene> unscoredGenes, int numFilteredGenes) {
+        return of(bootStrapValue, prioritiser, sampleHpoIds, unscoredGenes, numFilteredGenes, PriorityResultCache.disabled());
+    }
+
+    /**
+     * Creates a {@link CombinedScorePvalueCalculator} using the phenotype scores of the unscoredGenes. Where the
+     * prioritiser has already been run against the same genes and HPO ids in this analysis, the {@link PriorityResult}
+     * held in the priorityResultCache will be used rather than scoring the genes again.
+     *
+     * @since 15.0.0
+     */
+    public static CombinedScorePvalueCalculator of(int bootStrapValue, Prioritiser<?> prioritiser, List<String> sampleHpoIds, List<Gene> unscoredGenes, int numFilteredGenes, PriorityResultCache priorityResultCache) {
+        return of(bootStrapValue, prioritiser, sampleHpoIds, unscoredGenes, numFilteredGenes, priorityResultCache, BootstrappedPopulationCache.disabled());
+    }
+
+    /**
+     * Creates a {@link CombinedScorePvalueCalculator} using the phenotype scores of the unscoredGenes. Where a
+     * population has already been bootstrapped for the same prioritiser, HPO ids and genes it will be taken from the
+     * populationCache rather than being created again.
+     *
+     * @since 15.0.0
+     */
+    public static CombinedScorePvalueCalculator of(int bootStrapValue, Prioritiser<?> prioritiser, List<String> sampleHpoIds, List<Gene> unscoredGenes, int numFilteredGenes, PriorityResultCache priorityResultCache, BootstrappedPopulationCache populationCache) {
         Objects.requireNonNull(prioritiser);
         Objects.requireNonNull(sampleHpoIds);
         Objects.requireNonNull(unscoredGenes);
-        logger.debug("Setting up phenotype score cache on {} genes", unscoredGenes.size());
-        var phenoScoreCache = generatePhenoScoreCache(prioritiser, sampleHpoIds, unscoredGenes);
-        logger.debug("Creating bootstrapped combined scores...");
-        return new CombinedScorePvalueCalculator(prioritiser.priorityType(), phenoScoreCache);
+        Objects.requireNonNull(priorityResultCache);
+        Objects.requireNonNull(populationCache);
+        double[] bootstrappedScores = populationCache.getOrCreate(prioritiser, sampleHpoIds, unscoredGenes.size(), () -> {
+            logger.debug("Setting up phenotype score cache on {} genes", unscoredGenes.size());
+            var phenoScoreCache = generatePhenoScoreCache(prioritiser, sampleHpoIds, unscoredGenes, priorityResultCache);
+            logger.debug("Creating bootstrapped combined scores...");
+            return bootstrapSortedScores(prioritiser.priorityType(), phenoScoreCache);
+        });
+        return new CombinedScorePvalueCalculator(bootstrappedScores);
+    }
+
+    /**
+     * Creates a {@link CombinedScorePvalueCalculator} from a pre-computed population of combined scores.
+     */
+    static CombinedScorePvalueCalculator fromBootstrappedScores(double[] bootstrappedScores) {
+        double[] sortedScores = bootstrappedScores.clone();
+        Arrays.sort(sortedScores);
+        return new CombinedScorePvalueCalculator(sortedScores);
     }
 
     /**
@@ -81,8 +129,8 @@ public static CombinedScorePvalueCalculator noOpCombinedScorePvalueCalculator()
         return NoOpPvalueScorer.instance();
     }
 
-    private static double[] generatePhenoScoreCache(Prioritiser<?> prioritiser, List<String> hpoIds, List<Gene> genes) {
-        prioritiser.prioritizeGenes(hpoIds, genes);
+    private static double[] generatePhenoScoreCache(Prioritiser<?> prioritiser, List<String> hpoIds, List<Gene> genes, PriorityResultCache priorityResultCache) {
+        priorityResultCache.prioritizeGenes(prioritiser, hpoIds, genes);
         PriorityType priorityType = prioritiser.priorityType();
         return genes.stream()
                 .mapToDouble(gene -> {
@@ -101,23 +149,31 @@ private static double[] generatePhenoScoreCache(Prioritiser<?> prioritiser, List
         if (combinedScore == 0 || bootstrappedScores.length == 0) {
             return 1d;
         }
-        int numHigherScores = 1;
-        for (int i = 0; i < bootstrappedScores.length; ++i) {
-            double randomCombined = bootstrappedScores[i];
-            if (randomCombined >= combinedScore) {
-                ++numHigherScores;
+        // number of scores >= combinedScore, plus one to prevent a p-value of zero
+        int numHigherScores = bootstrappedScores.length - firstIndexOfScoreAtLeast(combinedScore) + 1;
+        return (double) numHigherScores / bootstrappedScores.length;
+    }
+
+    private int firstIndexOfScoreAtLeast(double combinedScore) {
+        int low = 0;
+        int high = bootstrappedScores.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bootstrappedScores[mid] < combinedScore) {
+                low = mid + 1;
+            } else {
+                high = mid;
             }
         }
-
-        return (double) numHigherScores / bootstrappedScores.length;
+        return low;
     }
 
     private static class NoOpPvalueScorer extends CombinedScorePvalueCalculator {
 
-        private static final NoOpPvalueScorer INSTANCE = new NoOpPvalueScorer(PriorityType.NONE, new double[0]);
+        private static final NoOpPvalueScorer INSTANCE = new NoOpPvalueScorer();
 
-        private NoOpPvalueScorer(PriorityType prioritiserType, double[] phenoScoreCache) {
-            super(prioritiserType, phenoScoreCache);
+        private NoOpPvalueScorer() {
+            super(new double[0]);
         }
 
         private static NoOpPvalueScorer instance() {
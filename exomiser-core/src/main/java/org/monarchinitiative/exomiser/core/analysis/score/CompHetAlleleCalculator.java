@@ -20,29 +20,51 @@
 
 package org.monarchinitiative.exomiser.core.analysis.score;
 
+import de.charite.compbio.jannovar.mendel.Genotype;
 import de.charite.compbio.jannovar.mendel.SubModeOfInheritance;
+import de.charite.compbio.jannovar.pedigree.Pedigree;
+import de.charite.compbio.jannovar.pedigree.Person;
+import org.monarchinitiative.exomiser.core.model.SampleData;
 import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 /**
  * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
  */
 class CompHetAlleleCalculator {
 
+    private static final Genotype NOT_OBSERVED = new Genotype(List.of(Genotype.NO_CALL));
+
     private final InheritanceModeAnnotator inheritanceAnnotator;
 
+    private final boolean isSingleSample;
+    // the affected members of the pedigree around which Jannovar will look for compound heterozygous candidates
+    private final List<Person> indexPersons;
+    private final boolean indexPersonsHaveParents;
+
     CompHetAlleleCalculator(InheritanceModeAnnotator inheritanceAnnotator) {
         this.inheritanceAnnotator = inheritanceAnnotator;
+        Pedigree pedigree = inheritanceAnnotator.getJannovarPedigree();
+        this.isSingleSample = pedigree.getNMembers() == 1;
+        List<Person> affectedWithParents = pedigree.getMembers().stream()
+                .filter(person -> person.isAffected() && (person.getFather() != null || person.getMother() != null))
+                .toList();
+        this.indexPersonsHaveParents = !affectedWithParents.isEmpty();
+        this.indexPersons = indexPersonsHaveParents ? affectedWithParents : pedigree.getMembers().stream()
+                .filter(Person::isAffected)
+                .toList();
     }
 
     /**
      * Finds pairs of alleles compatible with autosomal recessive compound heterozygous inheritance according to the
      * pedigree supplied in the class constructor. This will work independently of the mode of inheritance specified in
      * the class constructor.
+     * <p>
+     * Rather than checking all vs all the variants are first bucketed by their {@link SegregationPattern} so that only
+     * pairs from buckets which could be compatible are checked against the pedigree. Variants which cannot form part of
+     * a compound heterozygous pair at all, such as de novo or homozygous variants, are never paired. The pairs returned
+     * and their order are identical to those found by checking every pair.
      *
      * @param passedVariantEvaluations
      * @return a list of allele pairs compatible with an autosomal recessive compound heterozygous inheritance pattern.
@@ -53,11 +75,17 @@ public List<List<VariantEvaluation>> findCompatibleCompHetAlleles(List<VariantEv
             return Collections.emptyList();
         }
 
+        Map<SegregationPattern, List<Integer>> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < passedVariantEvaluations.size(); i++) {
+            SegregationPattern segregationPattern = segregationPattern(passedVariantEvaluations.get(i));
+            buckets.computeIfAbsent(segregationPattern, key -> new ArrayList<>()).add(i);
+        }
+
+        CandidatePartners candidatePartners = new CandidatePartners(buckets, passedVariantEvaluations.size());
         List<List<VariantEvaluation>> compatibleAllelePairs = new ArrayList<>();
-        //don't do all vs all otherwise we'll get the reciprocal pairs being tested so only check one side of the diagonal
         for (int i = 0; i < passedVariantEvaluations.size(); i++) {
-            for (int j = i + 1; j < passedVariantEvaluations.size(); j++) {
-                VariantEvaluation ve1 = passedVariantEvaluations.get(i);
+            VariantEvaluation ve1 = passedVariantEvaluations.get(i);
+            for (int j = candidatePartners.next(i, i); j != CandidatePartners.NONE; j = candidatePartners.next(i, j)) {
                 VariantEvaluation ve2 = passedVariantEvaluations.get(j);
                 if (!ve1.equals(ve2) && isCompHetCompatible(ve1, ve2)) {
                     compatibleAllelePairs.add(List.of(ve1, ve2));
@@ -67,6 +95,69 @@ public List<List<VariantEvaluation>> findCompatibleCompHetAlleles(List<VariantEv
         return List.copyOf(compatibleAllelePairs);
     }
 
+    /**
+     * Classifies the variant according to the affected members of the pedigree for whom it could be the paternally or
+     * maternally inherited allele of a compound heterozygous pair. This mirrors the candidate selection in the Jannovar
+     * MendelianCheckerARCompoundHet, but is deliberately permissive as every candidate pair is subsequently checked
+     * using the {@link InheritanceModeAnnotator}.
+     */
+    private SegregationPattern segregationPattern(VariantEvaluation variantEvaluation) {
+        if (!isAutosomal(variantEvaluation)) {
+            // X-linked compound heterozygous variants follow different rules, so these are checked against everything
+            return SegregationPattern.UNRESTRICTED;
+        }
+        Map<String, Genotype> genotypes = new HashMap<>();
+        for (SampleData sampleData : variantEvaluation.sampleGenotypes()) {
+            genotypes.put(sampleData.id(), InheritanceModeAnnotator.toGenotype(sampleData.sampleGenotype()));
+        }
+        BitSet paternal = new BitSet();
+        BitSet maternal = new BitSet();
+        if (isSingleSample) {
+            if (genotypes.values().stream().anyMatch(Genotype::isHet)) {
+                paternal.set(0);
+                maternal.set(0);
+            }
+            return new SegregationPattern(paternal, maternal);
+        }
+        for (int i = 0; i < indexPersons.size(); i++) {
+            Person index = indexPersons.get(i);
+            if (!isHetOrNotObserved(genotypeOf(index, genotypes))) {
+                continue;
+            }
+            if (indexPersonsHaveParents) {
+                Person father = index.getFather();
+                Person mother = index.getMother();
+                if ((father == null || isHetOrNotObserved(genotypeOf(father, genotypes))) && (mother == null || isHomRefOrNotObserved(genotypeOf(mother, genotypes)))) {
+                    paternal.set(i);
+                }
+                if ((mother == null || isHetOrNotObserved(genotypeOf(mother, genotypes))) && (father == null || isHomRefOrNotObserved(genotypeOf(father, genotypes)))) {
+                    maternal.set(i);
+                }
+            } else {
+                paternal.set(i);
+                maternal.set(i);
+            }
+        }
+        return new SegregationPattern(paternal, maternal);
+    }
+
+    private static boolean isAutosomal(VariantEvaluation variantEvaluation) {
+        int contigId = variantEvaluation.contigId();
+        return contigId > 0 && contigId < 23;
+    }
+
+    private static Genotype genotypeOf(Person person, Map<String, Genotype> genotypes) {
+        return genotypes.getOrDefault(person.getName(), NOT_OBSERVED);
+    }
+
+    private static boolean isHetOrNotObserved(Genotype genotype) {
+        return genotype.isHet() || genotype.isNotObserved();
+    }
+
+    private static boolean isHomRefOrNotObserved(Genotype genotype) {
+        return genotype.isHomRef() || genotype.isNotObserved();
+    }
+
     private boolean isCompHetCompatible(VariantEvaluation ve1, VariantEvaluation ve2) {
         List<VariantEvaluation> pair = List.of(ve1, ve2);
         Map<SubModeOfInheritance, List<VariantEvaluation>> compatibleSubModesMap = inheritanceAnnotator
@@ -80,4 +171,81 @@ private boolean isCompHetCompatible(VariantEvaluation ve1, VariantEvaluation ve2
         }
         return false;
     }
+
+    /**
+     * Enumerates the candidate partners of each variant lazily, in the same (i, j) where i < j order as an all vs all
+     * comparison. Only the bucket indices are held, so the memory required is linear in the number of variants rather
+     * than in the number of candidate pairs.
+     */
+    private static class CandidatePartners {
+
+        private static final int NONE = -1;
+
+        // the sorted indices of the variants in each bucket
+        private final int[][] buckets;
+        // the bucket of each variant
+        private final int[] bucketOf;
+        // the buckets whose variants can pair with those of each bucket
+        private final int[][] pairableBuckets;
+
+        private CandidatePartners(Map<SegregationPattern, List<Integer>> segregationBuckets, int numVariants) {
+            List<SegregationPattern> patterns = new ArrayList<>(segregationBuckets.keySet());
+            this.buckets = new int[patterns.size()][];
+            this.bucketOf = new int[numVariants];
+            for (int b = 0; b < patterns.size(); b++) {
+                List<Integer> indices = segregationBuckets.get(patterns.get(b));
+                buckets[b] = new int[indices.size()];
+                for (int x = 0; x < indices.size(); x++) {
+                    buckets[b][x] = indices.get(x);
+                    bucketOf[indices.get(x)] = b;
+                }
+            }
+            this.pairableBuckets = new int[patterns.size()][];
+            for (int a = 0; a < patterns.size(); a++) {
+                int[] pairable = new int[patterns.size()];
+                int numPairable = 0;
+                for (int b = 0; b < patterns.size(); b++) {
+                    if (a <= b ? patterns.get(a).canPairWith(patterns.get(b)) : patterns.get(b).canPairWith(patterns.get(a))) {
+                        pairable[numPairable++] = b;
+                    }
+                }
+                pairableBuckets[a] = Arrays.copyOf(pairable, numPairable);
+            }
+        }
+
+        /**
+         * @return the smallest index greater than {@code after} of a variant which could pair with the variant at
+         * index {@code i}, or {@link #NONE} if there are no more.
+         */
+        private int next(int i, int after) {
+            int next = NONE;
+            for (int b : pairableBuckets[bucketOf[i]]) {
+                int[] bucket = buckets[b];
+                int position = Arrays.binarySearch(bucket, after + 1);
+                if (position < 0) {
+                    position = -position - 1;
+                }
+                if (position < bucket.length && (next == NONE || bucket[position] < next)) {
+                    next = bucket[position];
+                }
+            }
+            return next;
+        }
+    }
+
+    /**
+     * The affected members of the pedigree, by index, for whom a variant could be the paternal or maternal allele of a
+     * compound heterozygous pair. De novo variants are neither and variants in a pedigree without parents are both.
+     */
+    private record SegregationPattern(BitSet paternal, BitSet maternal) {
+
+        private static final SegregationPattern UNRESTRICTED = new SegregationPattern(null, null);
+
+        boolean canPairWith(SegregationPattern other) {
+            if (this == UNRESTRICTED || other == UNRESTRICTED) {
+                return true;
+            }
+            return paternal.intersects(other.maternal) || maternal.intersects(other.paternal);
+        }
+    }
 }
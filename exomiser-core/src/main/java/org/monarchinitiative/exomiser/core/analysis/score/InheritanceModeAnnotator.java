@@ -61,6 +61,13 @@ public Pedigree getPedigree() {
         return pedigree;
     }
 
+    /**
+     * @return the Jannovar representation of the pedigree used by the {@link MendelianInheritanceChecker}
+     */
+    de.charite.compbio.jannovar.pedigree.Pedigree getJannovarPedigree() {
+        return mendelChecker.getPedigree();
+    }
+
     public InheritanceModeOptions getInheritanceModeOptions() {
         return inheritanceModeOptions;
     }
@@ -189,7 +196,7 @@ private List<GenotypeCalls> buildGenotypeCalls(List<VariantEvaluation> variantEv
         return result;
     }
 
-    private Genotype toGenotype(SampleGenotype sampleGenotype) {
+    static Genotype toGenotype(SampleGenotype sampleGenotype) {
         List<Integer> calls = new ArrayList<>(sampleGenotype.numCalls());
         for (AlleleCall alleleCall : sampleGenotype.calls()) {
             calls.add(toCall(alleleCall));
@@ -197,7 +204,7 @@ private Genotype toGenotype(SampleGenotype sampleGenotype) {
         return new Genotype(calls);
     }
 
-    private int toCall(AlleleCall alleleCall) {
+    private static int toCall(AlleleCall alleleCall) {
         switch (alleleCall) {
             case REF:
                 return Genotype.REF_CALL;
@@ -20,8 +20,8 @@
 
 package org.monarchinitiative.exomiser.core.filters;
 
-import htsjdk.variant.variantcontext.VariantContext;
 import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
+import org.monarchinitiative.exomiser.core.model.VcfRecordSummary;
 
 /**
  * Fails variants which do not have 'PASS' or '.' in the VCF FILTER field.
@@ -35,30 +35,15 @@ public record FailedVariantFilter() implements VariantFilter {
     private static final FilterResult PASS = FilterResult.pass(FILTER_TYPE);
     private static final FilterResult FAIL = FilterResult.fail(FILTER_TYPE);
 
-    private enum VariantContextFilterState {
-        UNFILTERED, PASSED, FAILED
-    }
-
     @Override
     public FilterResult runFilter(VariantEvaluation variantEvaluation) {
-        VariantContextFilterState vcfFilterState = determineVariantContextState(variantEvaluation.variantContext());
-        if (vcfFilterState == VariantContextFilterState.PASSED || vcfFilterState == VariantContextFilterState.UNFILTERED) {
+        VcfRecordSummary.FilterState vcfFilterState = variantEvaluation.vcfFilterState();
+        if (vcfFilterState == VcfRecordSummary.FilterState.PASSED || vcfFilterState == VcfRecordSummary.FilterState.UNFILTERED) {
             return PASS;
         }
         return FAIL;
     }
 
-    private VariantContextFilterState determineVariantContextState(VariantContext variantContext) {
-        if (variantContext.filtersWereApplied()) {
-            if (variantContext.isNotFiltered()) {
-                return VariantContextFilterState.PASSED;
-            } else {
-                return VariantContextFilterState.FAILED;
-            }
-        }
-        return VariantContextFilterState.UNFILTERED;
-    }
-
     @Override
     public FilterType filterType() {
         return FILTER_TYPE;
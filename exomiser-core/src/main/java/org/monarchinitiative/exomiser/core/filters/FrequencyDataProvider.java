@@ -25,7 +25,9 @@
 import org.monarchinitiative.exomiser.core.model.frequency.FrequencyData;
 import org.monarchinitiative.exomiser.core.model.frequency.FrequencySource;
 
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -58,4 +60,18 @@ public void provideVariantData(VariantEvaluation variantEvaluation) {
         }
     }
 
+    @Override
+    public void provideVariantData(List<VariantEvaluation> variantEvaluations) {
+        List<VariantEvaluation> variantsWithoutFrequencies = new ArrayList<>(variantEvaluations.size());
+        for (VariantEvaluation variantEvaluation : variantEvaluations) {
+            if (!variantEvaluation.frequencyData().hasKnownFrequency()) {
+                variantsWithoutFrequencies.add(variantEvaluation);
+            }
+        }
+        List<FrequencyData> frequencyData = variantDataService.getVariantFrequencyData(variantsWithoutFrequencies, frequencySources);
+        for (int i = 0; i < variantsWithoutFrequencies.size(); i++) {
+            variantsWithoutFrequencies.get(i).setFrequencyData(frequencyData.get(i));
+        }
+    }
+
 }
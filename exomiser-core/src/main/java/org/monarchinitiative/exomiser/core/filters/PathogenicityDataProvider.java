@@ -30,7 +30,9 @@
 import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicityData;
 import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicitySource;
 
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -59,4 +61,18 @@ public void provideVariantData(VariantEvaluation variantEvaluation) {
         }
     }
 
+    @Override
+    public void provideVariantData(List<VariantEvaluation> variantEvaluations) {
+        List<VariantEvaluation> variantsWithoutPathogenicity = new ArrayList<>(variantEvaluations.size());
+        for (VariantEvaluation variantEvaluation : variantEvaluations) {
+            if (variantEvaluation.pathogenicityData().isEmpty()) {
+                variantsWithoutPathogenicity.add(variantEvaluation);
+            }
+        }
+        List<PathogenicityData> pathData = variantDataService.getVariantPathogenicityData(variantsWithoutPathogenicity, pathogenicitySources);
+        for (int i = 0; i < variantsWithoutPathogenicity.size(); i++) {
+            variantsWithoutPathogenicity.get(i).setPathogenicityData(pathData.get(i));
+        }
+    }
+
 }
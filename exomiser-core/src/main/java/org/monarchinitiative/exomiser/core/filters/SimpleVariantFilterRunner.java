@@ -52,9 +52,7 @@ public SimpleVariantFilterRunner() {
 
     @Override
     public List<VariantEvaluation> run(VariantFilter filter, List<VariantEvaluation> variantEvaluations) {
-        for (VariantEvaluation variantEvaluation : variantEvaluations) {
-            run(filter, variantEvaluation);
-        }
+        runAll(filter, variantEvaluations);
         return variantEvaluations;
     }
 
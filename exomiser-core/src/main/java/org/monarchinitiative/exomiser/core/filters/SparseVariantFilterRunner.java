@@ -62,11 +62,7 @@ public SparseVariantFilterRunner() {
 
     @Override
     public List<VariantEvaluation> run(VariantFilter filter, List<VariantEvaluation> variantEvaluations) {
-        for (VariantEvaluation variantEvaluation : variantEvaluations) {
-            if (variantEvaluation.passedFilters()) {
-                run(filter, variantEvaluation);
-            }
-        }
+        runAll(filter, passedFilteredVariants(variantEvaluations));
         return passedFilteredVariants(variantEvaluations);
     }
 
@@ -22,6 +22,8 @@
 
 import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
 
+import java.util.List;
+
 /**
  * Decorator interface to provide data for variants just in time for the filter 
  * which requires it.
@@ -41,6 +43,20 @@ public interface VariantFilterDataProvider extends VariantFilter {
      */
     void provideVariantData(VariantEvaluation variantEvaluation);
 
+    /**
+     * Provides all the variantEvaluations with the implementation-specific data. Implementations should override this
+     * if the underlying data source is able to provide the data for a batch of variants more efficiently than one at a
+     * time.
+     *
+     * @param variantEvaluations
+     * @since 15.0.0
+     */
+    default void provideVariantData(List<VariantEvaluation> variantEvaluations) {
+        for (VariantEvaluation variantEvaluation : variantEvaluations) {
+            provideVariantData(variantEvaluation);
+        }
+    }
+
     @Override
     default FilterResult runFilter(VariantEvaluation variantEvaluation) {
         provideVariantData(variantEvaluation);
@@ -38,6 +38,25 @@ public interface VariantFilterRunner extends FilterRunner<VariantFilter, Variant
     @Override
     List<VariantEvaluation> run(VariantFilter variantFilter, List<VariantEvaluation> variantEvaluations);
 
+    /**
+     * Runs the filter over all the input variants. Where the filter is a {@link VariantFilterDataProvider} the data
+     * for all the variants is provided in one batch before running the decorated filter over each variant in turn.
+     *
+     * @param filter             the filter to run
+     * @param variantEvaluations the variants to be filtered
+     * @since 15.0.0
+     */
+    default void runAll(VariantFilter filter, List<VariantEvaluation> variantEvaluations) {
+        VariantFilter filterToRun = filter;
+        if (filter instanceof VariantFilterDataProvider variantFilterDataProvider) {
+            variantFilterDataProvider.provideVariantData(variantEvaluations);
+            filterToRun = variantFilterDataProvider.variantFilter();
+        }
+        for (VariantEvaluation variantEvaluation : variantEvaluations) {
+            run(filterToRun, variantEvaluation);
+        }
+    }
+
     default FilterResult run(VariantFilter filter, VariantEvaluation variantEvaluation) {
         FilterResult filterResult = filter.runFilter(variantEvaluation);
         variantEvaluation.addFilterResult(filterResult);
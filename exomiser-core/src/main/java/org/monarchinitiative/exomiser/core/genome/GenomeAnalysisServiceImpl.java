@@ -78,11 +78,21 @@ public List<RegulatoryFeature> getRegulatoryFeatures() {
         return genomeDataService.getRegulatoryFeatures();
     }
 
+    @Override
+    public ChromosomalRegionIndex<RegulatoryFeature> getRegulatoryRegionIndex() {
+        return genomeDataService.getRegulatoryRegionIndex();
+    }
+
     @Override
     public List<TopologicalDomain> getTopologicallyAssociatedDomains() {
         return genomeDataService.getTopologicallyAssociatedDomains();
     }
 
+    @Override
+    public ChromosomalRegionIndex<TopologicalDomain> getTopologicallyAssociatedDomainIndex() {
+        return genomeDataService.getTopologicallyAssociatedDomainIndex();
+    }
+
     @Override
     public boolean variantIsWhiteListed(Variant variant) {
         return variantDataService.variantIsWhiteListed(variant);
@@ -98,6 +108,16 @@ public PathogenicityData getVariantPathogenicityData(Variant variant, Set<Pathog
         return variantDataService.getVariantPathogenicityData(variant, pathogenicitySources);
     }
 
+    @Override
+    public List<FrequencyData> getVariantFrequencyData(List<? extends Variant> variants, Set<FrequencySource> frequencySources) {
+        return variantDataService.getVariantFrequencyData(variants, frequencySources);
+    }
+
+    @Override
+    public List<PathogenicityData> getVariantPathogenicityData(List<? extends Variant> variants, Set<PathogenicitySource> pathogenicitySources) {
+        return variantDataService.getVariantPathogenicityData(variants, pathogenicitySources);
+    }
+
     @Override
     public ClinVarData getClinVarData(@Nonnull Variant variant) {
         return variantDataService.getClinVarData(variant);
@@ -113,6 +133,16 @@ public Map<GenomicVariant, ClinVarData> findClinVarRecordsOverlappingInterval(@N
         return variantDataService.findClinVarRecordsOverlappingInterval(genomicInterval);
     }
 
+    @Override
+    public boolean supportsBatchIntervalSearch() {
+        return variantDataService.supportsBatchIntervalSearch();
+    }
+
+    @Override
+    public List<Map<GenomicVariant, ClinVarData>> findClinVarRecordsOverlappingIntervals(@Nonnull List<GenomicInterval> genomicIntervals) {
+        return variantDataService.findClinVarRecordsOverlappingIntervals(genomicIntervals);
+    }
+
     @Override
     public GeneStatistics getGeneStatistics(@Nonnull String geneSymbol) {
         return variantDataService.getGeneStatistics(geneSymbol);
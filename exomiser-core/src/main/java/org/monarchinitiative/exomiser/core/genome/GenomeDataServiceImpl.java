@@ -22,27 +22,49 @@
 
 import org.monarchinitiative.exomiser.core.genome.dao.RegulatoryFeatureDao;
 import org.monarchinitiative.exomiser.core.genome.dao.TadDao;
-import org.monarchinitiative.exomiser.core.model.Gene;
-import org.monarchinitiative.exomiser.core.model.GeneIdentifier;
-import org.monarchinitiative.exomiser.core.model.RegulatoryFeature;
-import org.monarchinitiative.exomiser.core.model.TopologicalDomain;
+import org.monarchinitiative.exomiser.core.model.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import jakarta.annotation.Nullable;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Set;
 
 /**
+ * The regulatory features and TADs are read once, either from the {@link GenomicRegionsSnapshot} if one is configured
+ * and present, or from the database, after which they and their {@link ChromosomalRegionIndex} are held in memory for
+ * the lifetime of the service.
+ *
  * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
  */
 public class GenomeDataServiceImpl implements GenomeDataService {
 
+    private static final Logger logger = LoggerFactory.getLogger(GenomeDataServiceImpl.class);
+
     private final GeneFactory geneFactory;
     private final RegulatoryFeatureDao regulatoryFeatureDao;
     private final TadDao tadDao;
+    @Nullable
+    private final Path regionsSnapshotPath;
+
+    private volatile GenomicRegions genomicRegions;
 
     public GenomeDataServiceImpl(GeneFactory geneFactory, RegulatoryFeatureDao regulatoryFeatureDao, TadDao tadDao) {
+        this(geneFactory, regulatoryFeatureDao, tadDao, null);
+    }
+
+    /**
+     * @param regionsSnapshotPath optional path of the {@link GenomicRegionsSnapshot} to load the regulatory features and
+     *                            TADs from.
+     * @since 15.0.0
+     */
+    public GenomeDataServiceImpl(GeneFactory geneFactory, RegulatoryFeatureDao regulatoryFeatureDao, TadDao tadDao, @Nullable Path regionsSnapshotPath) {
         this.geneFactory = geneFactory;
         this.regulatoryFeatureDao = regulatoryFeatureDao;
         this.tadDao = tadDao;
+        this.regionsSnapshotPath = regionsSnapshotPath;
     }
 
     @Override
@@ -57,12 +79,58 @@ public Set<GeneIdentifier> getKnownGeneIdentifiers() {
 
     @Override
     public List<RegulatoryFeature> getRegulatoryFeatures() {
-        return regulatoryFeatureDao.getRegulatoryFeatures();
+        return genomicRegions().snapshot.regulatoryFeatures();
+    }
+
+    @Override
+    public ChromosomalRegionIndex<RegulatoryFeature> getRegulatoryRegionIndex() {
+        return genomicRegions().regulatoryRegionIndex;
     }
 
     @Override
     public List<TopologicalDomain> getTopologicallyAssociatedDomains() {
-        return tadDao.getAllTads();
+        return genomicRegions().snapshot.topologicalDomains();
+    }
+
+    @Override
+    public ChromosomalRegionIndex<TopologicalDomain> getTopologicallyAssociatedDomainIndex() {
+        return genomicRegions().tadIndex;
+    }
+
+    private GenomicRegions genomicRegions() {
+        GenomicRegions regions = genomicRegions;
+        if (regions == null) {
+            synchronized (this) {
+                regions = genomicRegions;
+                if (regions == null) {
+                    regions = new GenomicRegions(loadSnapshot());
+                    genomicRegions = regions;
+                }
+            }
+        }
+        return regions;
+    }
+
+    private GenomicRegionsSnapshot loadSnapshot() {
+        if (regionsSnapshotPath != null && Files.exists(regionsSnapshotPath)) {
+            logger.debug("Loading regulatory features and TADs from {}", regionsSnapshotPath);
+            return GenomicRegionsSnapshot.read(regionsSnapshotPath);
+        }
+        logger.debug("Loading regulatory features and TADs from database");
+        return new GenomicRegionsSnapshot(regulatoryFeatureDao.getRegulatoryFeatures(), tadDao.getAllTads());
+    }
+
+    private static class GenomicRegions {
+
+        private final GenomicRegionsSnapshot snapshot;
+        private final ChromosomalRegionIndex<RegulatoryFeature> regulatoryRegionIndex;
+        private final ChromosomalRegionIndex<TopologicalDomain> tadIndex;
+
+        private GenomicRegions(GenomicRegionsSnapshot snapshot) {
+            this.snapshot = snapshot;
+            this.regulatoryRegionIndex = ChromosomalRegionIndex.of(snapshot.regulatoryFeatures());
+            this.tadIndex = ChromosomalRegionIndex.of(snapshot.topologicalDomains());
+        }
     }
 
 }
@@ -0,0 +1,130 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.genome;
+
+import org.monarchinitiative.exomiser.core.model.RegulatoryFeature;
+import org.monarchinitiative.exomiser.core.model.TopologicalDomain;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Snapshot of the {@link RegulatoryFeature} and {@link TopologicalDomain} data for a genome assembly, stored in a
+ * compact gzipped binary file so that these can be loaded at startup without querying the genome database.
+ * <p>
+ * The file format is:
+ * <pre>
+ *     int     magic number 'EXGR'
+ *     int     format version
+ *     int     number of regulatory feature types, followed by the name of each type
+ *     int     number of regulatory features, followed by the contig, start, end and type index of each feature
+ *     int     number of TADs, followed by the contig, start, end and number of genes of each TAD, then the symbol
+ *             and entrez id of each gene.
+ * </pre>
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+public record GenomicRegionsSnapshot(List<RegulatoryFeature> regulatoryFeatures, List<TopologicalDomain> topologicalDomains) {
+
+    private static final Logger logger = LoggerFactory.getLogger(GenomicRegionsSnapshot.class);
+
+    static final int MAGIC = 0x45584752;
+    static final int VERSION = 1;
+
+    public GenomicRegionsSnapshot {
+        regulatoryFeatures = List.copyOf(regulatoryFeatures);
+        topologicalDomains = List.copyOf(topologicalDomains);
+    }
+
+    public static GenomicRegionsSnapshot read(Path snapshotPath) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(snapshotPath))))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a version " + VERSION + " genomic regions snapshot file");
+            }
+            RegulatoryFeature.FeatureType[] featureTypes = new RegulatoryFeature.FeatureType[in.readInt()];
+            for (int i = 0; i < featureTypes.length; i++) {
+                featureTypes[i] = RegulatoryFeature.FeatureType.valueOf(in.readUTF());
+            }
+            int numRegulatoryFeatures = in.readInt();
+            List<RegulatoryFeature> regulatoryFeatures = new ArrayList<>(numRegulatoryFeatures);
+            for (int i = 0; i < numRegulatoryFeatures; i++) {
+                regulatoryFeatures.add(new RegulatoryFeature(in.readInt(), in.readInt(), in.readInt(), featureTypes[in.readUnsignedByte()]));
+            }
+            int numTads = in.readInt();
+            List<TopologicalDomain> topologicalDomains = new ArrayList<>(numTads);
+            for (int i = 0; i < numTads; i++) {
+                int contigId = in.readInt();
+                int start = in.readInt();
+                int end = in.readInt();
+                int numGenes = in.readInt();
+                Map<String, Integer> genes = new LinkedHashMap<>();
+                for (int j = 0; j < numGenes; j++) {
+                    genes.put(in.readUTF(), in.readInt());
+                }
+                topologicalDomains.add(new TopologicalDomain(contigId, start, end, genes));
+            }
+            logger.debug("Read {} regulatory features and {} TADs from {}", regulatoryFeatures.size(), topologicalDomains.size(), snapshotPath);
+            return new GenomicRegionsSnapshot(regulatoryFeatures, topologicalDomains);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read genomic regions snapshot from " + snapshotPath, e);
+        }
+    }
+
+    public void write(Path snapshotPath) {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(snapshotPath))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            RegulatoryFeature.FeatureType[] featureTypes = RegulatoryFeature.FeatureType.values();
+            out.writeInt(featureTypes.length);
+            for (RegulatoryFeature.FeatureType featureType : featureTypes) {
+                out.writeUTF(featureType.name());
+            }
+            out.writeInt(regulatoryFeatures.size());
+            for (RegulatoryFeature regulatoryFeature : regulatoryFeatures) {
+                out.writeInt(regulatoryFeature.contigId());
+                out.writeInt(regulatoryFeature.start());
+                out.writeInt(regulatoryFeature.end());
+                out.writeByte(regulatoryFeature.featureType().ordinal());
+            }
+            out.writeInt(topologicalDomains.size());
+            for (TopologicalDomain topologicalDomain : topologicalDomains) {
+                out.writeInt(topologicalDomain.contigId());
+                out.writeInt(topologicalDomain.start());
+                out.writeInt(topologicalDomain.end());
+                out.writeInt(topologicalDomain.genes().size());
+                for (Map.Entry<String, Integer> gene : topologicalDomain.genes().entrySet()) {
+                    out.writeUTF(gene.getKey());
+                    out.writeInt(gene.getValue());
+                }
+            }
+            logger.debug("Wrote {} regulatory features and {} TADs to {}", regulatoryFeatures.size(), topologicalDomains.size(), snapshotPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write genomic regions snapshot to " + snapshotPath, e);
+        }
+    }
+}
@@ -32,6 +32,8 @@
 import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicityData;
 import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicitySource;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -46,4 +48,34 @@ public interface VariantDataService extends ClinVarDao {
 
     public PathogenicityData getVariantPathogenicityData(Variant variant, Set<PathogenicitySource> pathogenicitySources);
 
+    /**
+     * Batch version of {@link #getVariantFrequencyData(Variant, Set)}. Implementations should override this where the
+     * underlying data sources are able to perform batch look-ups more efficiently than individual ones.
+     *
+     * @return a list of {@link FrequencyData} in the same order as the input variants.
+     * @since 15.0.0
+     */
+    public default List<FrequencyData> getVariantFrequencyData(List<? extends Variant> variants, Set<FrequencySource> frequencySources) {
+        List<FrequencyData> frequencyData = new ArrayList<>(variants.size());
+        for (Variant variant : variants) {
+            frequencyData.add(getVariantFrequencyData(variant, frequencySources));
+        }
+        return frequencyData;
+    }
+
+    /**
+     * Batch version of {@link #getVariantPathogenicityData(Variant, Set)}. Implementations should override this where
+     * the underlying data sources are able to perform batch look-ups more efficiently than individual ones.
+     *
+     * @return a list of {@link PathogenicityData} in the same order as the input variants.
+     * @since 15.0.0
+     */
+    public default List<PathogenicityData> getVariantPathogenicityData(List<? extends Variant> variants, Set<PathogenicitySource> pathogenicitySources) {
+        List<PathogenicityData> pathogenicityData = new ArrayList<>(variants.size());
+        for (Variant variant : variants) {
+            pathogenicityData.add(getVariantPathogenicityData(variant, pathogenicitySources));
+        }
+        return pathogenicityData;
+    }
+
 }
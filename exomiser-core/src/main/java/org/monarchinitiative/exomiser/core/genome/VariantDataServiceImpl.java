@@ -98,7 +98,33 @@ public FrequencyData getVariantFrequencyData(Variant variant, Set<FrequencySourc
         }
         // This could be run alongside the pathogenicities as they are all stored in the same datastore
         FrequencyData defaultFrequencyData = defaultFrequencyDao.getFrequencyData(variant);
+        return mergeFrequencyData(variant, defaultFrequencyData, frequencySources);
+    }
 
+    @Override
+    public List<FrequencyData> getVariantFrequencyData(List<? extends Variant> variants, Set<FrequencySource> frequencySources) {
+        // look-up all the small variants from the default datastore in one go, SVs are handled individually
+        List<Variant> smallVariants = new ArrayList<>(variants.size());
+        for (Variant variant : variants) {
+            if (!isStructural(variant)) {
+                smallVariants.add(variant);
+            }
+        }
+        List<FrequencyData> defaultFrequencyData = defaultFrequencyDao.getFrequencyData(smallVariants);
+
+        List<FrequencyData> frequencyData = new ArrayList<>(variants.size());
+        int smallVariantIndex = 0;
+        for (Variant variant : variants) {
+            if (isStructural(variant)) {
+                frequencyData.add(svFrequencyDao.getFrequencyData(variant));
+            } else {
+                frequencyData.add(mergeFrequencyData(variant, defaultFrequencyData.get(smallVariantIndex++), frequencySources));
+            }
+        }
+        return frequencyData;
+    }
+
+    private FrequencyData mergeFrequencyData(Variant variant, FrequencyData defaultFrequencyData, Set<FrequencySource> frequencySources) {
         FrequencyData.Builder frequencyDataBuilder = defaultFrequencyData.toBuilder();
         frequencyDataBuilder.filterSources(frequencySources);
 
@@ -135,23 +161,7 @@ public PathogenicityData getVariantPathogenicityData(Variant variant, Set<Pathog
         if (containsTabixSource(pathogenicitySources)) {
             CompletableFuture<PathogenicityData> futureDefaultData = CompletableFuture.supplyAsync(() -> defaultPathogenicityDao
                     .getPathogenicityData(variant));
-            // run async - tabix sources are slow compared to MVStore
-            List<CompletableFuture<PathogenicityData>> futurePathData = new ArrayList<>();
-            // REMM is trained on non-coding regulatory bits of the genome, this outperforms CADD for non-coding variants
-            if (pathogenicitySources.contains(REMM) && variant.isNonCodingVariant()) {
-                futurePathData.add(CompletableFuture.supplyAsync(() -> remmDao.getPathogenicityData(variant)));
-            }
-            // CADD does all of it although is not as good as REMM for the non-coding regions.
-            if (pathogenicitySources.contains(CADD)) {
-                futurePathData.add(CompletableFuture.supplyAsync(() -> caddDao.getPathogenicityData(variant)));
-            }
-            if (pathogenicitySources.contains(TEST)) {
-                futurePathData.add(CompletableFuture.supplyAsync(() -> testPathScoreDao.getPathogenicityData(variant)));
-            }
-            for (CompletableFuture<PathogenicityData> pathogenicityDataCompletableFuture : futurePathData) {
-                PathogenicityData pathogenicityData = pathogenicityDataCompletableFuture.join();
-                allPathScores.addAll(pathogenicityData.pathogenicityScores());
-            }
+            joinTabixScores(queryTabixSources(variant, pathogenicitySources), allPathScores);
             defaultPathogenicityData = futureDefaultData.join();
         } else {
             defaultPathogenicityData = defaultPathogenicityDao.getPathogenicityData(variant);
@@ -165,6 +175,101 @@ public PathogenicityData getVariantPathogenicityData(Variant variant, Set<Pathog
         return PathogenicityData.of(clinVarData, allPathScores);
     }
 
+    @Override
+    public List<PathogenicityData> getVariantPathogenicityData(List<? extends Variant> variants, Set<PathogenicitySource> pathogenicitySources) {
+        List<Variant> smallVariants = new ArrayList<>(variants.size());
+        for (Variant variant : variants) {
+            if (!isStructural(variant)) {
+                smallVariants.add(variant);
+            }
+        }
+        // look-up all the small variants from the default datastore in one go, unless they're not going to be used
+        List<PathogenicityData> defaultPathogenicityData = pathogenicitySources.isEmpty() ? List.of() : defaultPathogenicityDao.getPathogenicityData(smallVariants);
+        List<List<PathogenicityScore>> tabixPathScores = containsTabixSource(pathogenicitySources) ? sweepTabixSources(smallVariants, pathogenicitySources) : List.of();
+
+        List<PathogenicityData> pathogenicityData = new ArrayList<>(variants.size());
+        int smallVariantIndex = 0;
+        for (Variant variant : variants) {
+            if (isStructural(variant)) {
+                pathogenicityData.add(svPathogenicityDao.getPathogenicityData(variant));
+                continue;
+            }
+            ClinVarData clinVarData = clinVarDao.getClinVarData(variant);
+            if (pathogenicitySources.isEmpty()) {
+                pathogenicityData.add(PathogenicityData.of(clinVarData));
+                continue;
+            }
+            List<PathogenicityScore> allPathScores = tabixPathScores.isEmpty() ? new ArrayList<>() : tabixPathScores.get(smallVariantIndex);
+            addAllWantedScores(pathogenicitySources, defaultPathogenicityData.get(smallVariantIndex++), allPathScores);
+            pathogenicityData.add(PathogenicityData.of(clinVarData, allPathScores));
+        }
+        return pathogenicityData;
+    }
+
+    private List<CompletableFuture<PathogenicityData>> queryTabixSources(Variant variant, Set<PathogenicitySource> pathogenicitySources) {
+        // run async - tabix sources are slow compared to MVStore
+        List<CompletableFuture<PathogenicityData>> futurePathData = new ArrayList<>();
+        // REMM is trained on non-coding regulatory bits of the genome, this outperforms CADD for non-coding variants
+        if (pathogenicitySources.contains(REMM) && variant.isNonCodingVariant()) {
+            futurePathData.add(CompletableFuture.supplyAsync(() -> remmDao.getPathogenicityData(variant)));
+        }
+        // CADD does all of it although is not as good as REMM for the non-coding regions.
+        if (pathogenicitySources.contains(CADD)) {
+            futurePathData.add(CompletableFuture.supplyAsync(() -> caddDao.getPathogenicityData(variant)));
+        }
+        if (pathogenicitySources.contains(TEST)) {
+            futurePathData.add(CompletableFuture.supplyAsync(() -> testPathScoreDao.getPathogenicityData(variant)));
+        }
+        return futurePathData;
+    }
+
+    /**
+     * Batch equivalent of {@link #queryTabixSources(Variant, Set)}. Each tabix source is swept through once for the
+     * whole list of variants, with the sources being read concurrently. The returned scores are in the same order as
+     * the input variants and for each variant the scores are ordered REMM, CADD, TEST as for a single variant.
+     */
+    private List<List<PathogenicityScore>> sweepTabixSources(List<Variant> variants, Set<PathogenicitySource> pathogenicitySources) {
+        List<Variant> nonCodingVariants = new ArrayList<>();
+        if (pathogenicitySources.contains(REMM)) {
+            for (Variant variant : variants) {
+                if (variant.isNonCodingVariant()) {
+                    nonCodingVariants.add(variant);
+                }
+            }
+        }
+        CompletableFuture<List<PathogenicityData>> futureRemmData = nonCodingVariants.isEmpty() ? CompletableFuture.completedFuture(List.of()) : CompletableFuture.supplyAsync(() -> remmDao.getPathogenicityData(nonCodingVariants));
+        CompletableFuture<List<PathogenicityData>> futureCaddData = pathogenicitySources.contains(CADD) ? CompletableFuture.supplyAsync(() -> caddDao.getPathogenicityData(variants)) : CompletableFuture.completedFuture(List.of());
+        CompletableFuture<List<PathogenicityData>> futureTestData = pathogenicitySources.contains(TEST) ? CompletableFuture.supplyAsync(() -> testPathScoreDao.getPathogenicityData(variants)) : CompletableFuture.completedFuture(List.of());
+
+        List<PathogenicityData> remmData = futureRemmData.join();
+        List<PathogenicityData> caddData = futureCaddData.join();
+        List<PathogenicityData> testData = futureTestData.join();
+
+        List<List<PathogenicityScore>> tabixPathScores = new ArrayList<>(variants.size());
+        int nonCodingIndex = 0;
+        for (int i = 0; i < variants.size(); i++) {
+            List<PathogenicityScore> pathScores = new ArrayList<>();
+            if (!remmData.isEmpty() && variants.get(i).isNonCodingVariant()) {
+                pathScores.addAll(remmData.get(nonCodingIndex++).pathogenicityScores());
+            }
+            if (!caddData.isEmpty()) {
+                pathScores.addAll(caddData.get(i).pathogenicityScores());
+            }
+            if (!testData.isEmpty()) {
+                pathScores.addAll(testData.get(i).pathogenicityScores());
+            }
+            tabixPathScores.add(pathScores);
+        }
+        return tabixPathScores;
+    }
+
+    private void joinTabixScores(List<CompletableFuture<PathogenicityData>> futurePathData, List<PathogenicityScore> allPathScores) {
+        for (CompletableFuture<PathogenicityData> pathogenicityDataCompletableFuture : futurePathData) {
+            PathogenicityData pathogenicityData = pathogenicityDataCompletableFuture.join();
+            allPathScores.addAll(pathogenicityData.pathogenicityScores());
+        }
+    }
+
     private boolean containsTabixSource(Set<PathogenicitySource> pathogenicitySources) {
         for (PathogenicitySource source : TABIX_SOURCES) {
             if (pathogenicitySources.contains(source)) {
@@ -197,6 +302,16 @@ public Map<GenomicVariant, ClinVarData> findClinVarRecordsOverlappingInterval(@N
         return clinVarDao.findClinVarRecordsOverlappingInterval(genomicInterval);
     }
 
+    @Override
+    public boolean supportsBatchIntervalSearch() {
+        return clinVarDao.supportsBatchIntervalSearch();
+    }
+
+    @Override
+    public List<Map<GenomicVariant, ClinVarData>> findClinVarRecordsOverlappingIntervals(@Nonnull List<GenomicInterval> genomicIntervals) {
+        return clinVarDao.findClinVarRecordsOverlappingIntervals(genomicIntervals);
+    }
+
     @Override
     public GeneStatistics getGeneStatistics(@Nonnull String geneSymbol) {
         return clinVarDao.getGeneStatistics(geneSymbol);
@@ -29,9 +29,11 @@
 import htsjdk.variant.variantcontext.Genotype;
 import htsjdk.variant.variantcontext.GenotypesContext;
 import htsjdk.variant.variantcontext.VariantContext;
+import jakarta.annotation.Nullable;
 import org.monarchinitiative.exomiser.core.model.SampleGenotypes;
 import org.monarchinitiative.exomiser.core.model.VariantAnnotation;
 import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
+import org.monarchinitiative.exomiser.core.model.VcfRecordSummary;
 import org.monarchinitiative.svart.GenomicVariant;
 import org.monarchinitiative.svart.sequence.VariantTrimmer;
 import org.slf4j.Logger;
@@ -63,27 +65,44 @@ public class VariantFactoryImpl implements VariantFactory {
     private final VariantContextConverter variantContextConverter;
 
     private final VcfReader vcfReader;
+    private final boolean compactVariants;
 
     public VariantFactoryImpl(VariantAnnotator variantAnnotator, Path vcfPath) {
         this(variantAnnotator, new VcfFileReader(vcfPath));
     }
 
     public VariantFactoryImpl(VariantAnnotator variantAnnotator, VcfReader vcfReader) {
+        this(variantAnnotator, vcfReader, false);
+    }
+
+    /**
+     * @param compactVariants if true the {@link VariantEvaluation} instances created will not retain the HTSJDK
+     *                        {@link VariantContext} they were created from. Instead, they will hold a
+     *                        {@link VcfRecordSummary} containing the data required by the filters and the index of the
+     *                        record in the VCF file, so that the original record can be re-read when writing the results.
+     *                        This greatly reduces the memory required for large multi-sample VCF files.
+     * @since 15.0.0
+     */
+    public VariantFactoryImpl(VariantAnnotator variantAnnotator, VcfReader vcfReader, boolean compactVariants) {
         Objects.requireNonNull(variantAnnotator);
         Objects.requireNonNull(vcfReader);
         this.variantAnnotator = variantAnnotator;
         this.genomeAssembly = variantAnnotator.genomeAssembly();
         this.variantContextConverter = VariantContextConverter.of(genomeAssembly.genomicAssembly(), VariantTrimmer.leftShiftingTrimmer(VariantTrimmer.retainingCommonBase()));
         this.vcfReader = vcfReader;
+        this.compactVariants = compactVariants;
     }
 
     @Override
     public Stream<VariantEvaluation> createVariantEvaluations() {
         logger.info("Annotating variant records, trimming sequences and normalising positions...");
         VariantCounter counter = new VariantCounter();
+        // n.b. this relies on the records being read sequentially so that the record index matches the position in the file
+        AtomicInteger recordIndex = new AtomicInteger(0);
         return vcfReader.readVariantContexts()
+                .sequential()
                 .peek(counter.countVariantContext())
-                .flatMap(toVariantEvaluations())
+                .flatMap(variantContext -> toVariantEvaluations(variantContext, recordIndex.getAndIncrement()))
                 .peek(counter.countAnnotatedVariant())
                 .onClose(counter::logCount);
     }
@@ -93,13 +112,15 @@ public Stream<VariantEvaluation> createVariantEvaluations() {
      * This means that a multi allele Variant record in a VCF can result in several VariantEvaluations - one for each
      * alternate allele.
      */
-    private Function<VariantContext, Stream<VariantEvaluation>> toVariantEvaluations() {
-        return variantContext -> variantContext.getAlternateAlleles().stream()
-                .map(buildAlleleVariantEvaluations(variantContext))
+    private Stream<VariantEvaluation> toVariantEvaluations(VariantContext variantContext, int recordIndex) {
+        // the summary is shared by all the alleles of the record
+        VcfRecordSummary vcfRecordSummary = compactVariants ? VcfRecordSummary.of(variantContext, recordIndex) : null;
+        return variantContext.getAlternateAlleles().stream()
+                .map(buildAlleleVariantEvaluations(variantContext, vcfRecordSummary))
                 .flatMap(Collection::stream);
     }
 
-    private Function<Allele, List<VariantEvaluation>> buildAlleleVariantEvaluations(VariantContext variantContext) {
+    private Function<Allele, List<VariantEvaluation>> buildAlleleVariantEvaluations(VariantContext variantContext, @Nullable VcfRecordSummary vcfRecordSummary) {
         return altAllele -> {
             // Itererating by alleleId here this is less clean, but faster
             // alternate Alleles are always after the reference allele, which is 0
@@ -107,7 +128,7 @@ private Function<Allele, List<VariantEvaluation>> buildAlleleVariantEvaluations(
             GenotypesContext genotypes = variantContext.getGenotypes();
             // n.b. samples with no genotypes (e.g. ./. or .) will return no variants
             if (alleleIsObservedInGenotypes(altAllele, genotypes) || hasCopyNumber(altAllele, genotypes)) {
-                return buildVariantEvaluations(variantContext, altAlleleId, altAllele);
+                return buildVariantEvaluations(variantContext, vcfRecordSummary, altAlleleId, altAllele);
             }
             logger.debug("Skipping allele {} - has no genotype or copy-number", altAllele);
             return List.of();
@@ -144,7 +165,7 @@ private boolean hasCopyNumber(Allele allele, GenotypesContext genotypesContext)
      * Creates a VariantEvaluation made from all the relevant bits of the
      * VariantContext and VariantAnnotations for a given alternative allele.
      */
-    private List<VariantEvaluation> buildVariantEvaluations(VariantContext variantContext, int altAlleleId, Allele altAllele) {
+    private List<VariantEvaluation> buildVariantEvaluations(VariantContext variantContext, @Nullable VcfRecordSummary vcfRecordSummary, int altAlleleId, Allele altAllele) {
         // It is possible for a variant to overlap two or more genes (see issue https://github.com/exomiser/Exomiser/issues/294)
         // so we're expecting a single gene per variant annotation which might have different variant consequences and different
         // phenotypes for each gene
@@ -163,7 +184,7 @@ private List<VariantEvaluation> buildVariantEvaluations(VariantContext variantCo
         if (variant == null) {
             return List.of();
         }
-        VariantEvaluation.Builder variantBuilder = createVariantBuilder(variantContext, altAlleleId, variant);
+        VariantEvaluation.Builder variantBuilder = createVariantBuilder(variantContext, vcfRecordSummary, altAlleleId, variant);
         List<VariantAnnotation> variantAnnotations = variantAnnotator.annotate(variant);
         // now we have a list of variant annotations - one per gene including affected transcripts and regulatory regions
         List<VariantEvaluation> variantEvaluations = new ArrayList<>(variantAnnotations.size());
@@ -174,13 +195,18 @@ private List<VariantEvaluation> buildVariantEvaluations(VariantContext variantCo
         return variantEvaluations;
     }
 
-    private VariantEvaluation.Builder createVariantBuilder(VariantContext variantContext, int altAlleleId, GenomicVariant variant) {
+    private VariantEvaluation.Builder createVariantBuilder(VariantContext variantContext, @Nullable VcfRecordSummary vcfRecordSummary, int altAlleleId, GenomicVariant variant) {
         SampleGenotypes sampleGenotypes = VariantContextSampleGenotypeConverter.createAlleleSampleGenotypes(variantContext, altAlleleId);
 
-        return VariantEvaluation.builder()
+        VariantEvaluation.Builder builder = VariantEvaluation.builder();
+        if (vcfRecordSummary == null) {
+            builder.variantContext(variantContext);
+        } else {
+            builder.vcfRecordSummary(vcfRecordSummary);
+        }
+        return builder
                 .variant(variant)
                 .genomeAssembly(genomeAssembly)
-                .variantContext(variantContext)
                 .altAlleleId(altAlleleId)
                 .sampleGenotypes(sampleGenotypes)
                 //quality is the only value from the VCF file directly required for analysis
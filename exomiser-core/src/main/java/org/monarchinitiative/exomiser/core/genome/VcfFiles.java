@@ -27,10 +27,16 @@
 import org.slf4j.LoggerFactory;
 
 import jakarta.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Utility class for providing access to VCF files.
@@ -59,6 +65,46 @@ public static Stream<VariantContext> readVariantContexts(Path vcfPath) {
         }
     }
 
+    /**
+     * Counts the number of variant records in the VCF file by scanning the raw bytes of the file for non-header lines.
+     * This is considerably cheaper than counting the output of {@link #readVariantContexts(Path)} as no records are
+     * parsed. Gzip or BGZF compressed files are detected from the file contents and decompressed on the fly.
+     *
+     * @param vcfPath path of the VCF file
+     * @return the number of non-empty lines in the file which do not start with a '#'
+     * @since 15.0.0
+     */
+    public static long countVariantRecords(Path vcfPath) {
+        Objects.requireNonNull(vcfPath, "Cannot read from null vcfPath");
+        try (InputStream inputStream = openPossiblyCompressedInputStream(vcfPath)) {
+            byte[] buffer = new byte[64 * 1024];
+            long count = 0;
+            boolean atLineStart = true;
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++) {
+                    byte b = buffer[i];
+                    if (atLineStart && b != '#' && b != '\n' && b != '\r') {
+                        count++;
+                    }
+                    atLineStart = b == '\n';
+                }
+            }
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to count variant records in " + vcfPath, e);
+        }
+    }
+
+    private static InputStream openPossiblyCompressedInputStream(Path path) throws IOException {
+        BufferedInputStream inputStream = new BufferedInputStream(Files.newInputStream(path));
+        inputStream.mark(2);
+        int magic = inputStream.read() | (inputStream.read() << 8);
+        inputStream.reset();
+        // n.b. GZIPInputStream will read all the concatenated members of a BGZF file
+        return magic == GZIPInputStream.GZIP_MAGIC ? new GZIPInputStream(inputStream, 64 * 1024) : inputStream;
+    }
+
     /**
      * Reads the header of the provided VCF file and returns a {@code VCFHeader}.
      *
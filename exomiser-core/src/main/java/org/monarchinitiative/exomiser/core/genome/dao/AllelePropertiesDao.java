@@ -24,6 +24,9 @@
 import org.monarchinitiative.exomiser.core.model.Variant;
 import org.monarchinitiative.exomiser.core.proto.AlleleProto;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @since 12.0.0
  * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
@@ -34,4 +37,21 @@ public interface AllelePropertiesDao {
 
     AlleleProto.AlleleProperties getAlleleProperties(Variant variant);
 
+    /**
+     * Batch version of {@link #getAlleleProperties(Variant)}. Implementations may be able to take advantage of
+     * looking-up all the variants in one go, which is why this method should be preferred when a number of variants are
+     * available at once, e.g. all the variants in a gene or a chunk of a VCF file.
+     *
+     * @param variants the variants for which to return the {@link AlleleProto.AlleleProperties}
+     * @return a list of {@link AlleleProto.AlleleProperties} in the same order as the input variants.
+     * @since 15.0.0
+     */
+    default List<AlleleProto.AlleleProperties> getAlleleProperties(List<? extends Variant> variants) {
+        List<AlleleProto.AlleleProperties> alleleProperties = new ArrayList<>(variants.size());
+        for (Variant variant : variants) {
+            alleleProperties.add(getAlleleProperties(variant));
+        }
+        return alleleProperties;
+    }
+
 }
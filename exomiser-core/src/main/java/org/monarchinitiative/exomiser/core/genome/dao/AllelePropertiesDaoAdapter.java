@@ -26,6 +26,8 @@
 import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicityData;
 import org.monarchinitiative.exomiser.core.proto.AlleleProto;
 
+import java.util.List;
+
 /**
  * Adapter class for providing {@link FrequencyDao} and {@link PathogenicityDao} views on the {@link AllelePropertiesDao}.
  * This is a bit of a hack due to the 'proxy' Spring caching implementation where method interception of calls occurs
@@ -54,4 +56,18 @@ public PathogenicityData getPathogenicityData(Variant variant) {
         AlleleProto.AlleleProperties alleleProperties = allelePropertiesDao.getAlleleProperties(variant);
         return AlleleProtoAdaptor.toPathogenicityData(alleleProperties);
     }
+
+    @Override
+    public List<FrequencyData> getFrequencyData(List<? extends Variant> variants) {
+        return allelePropertiesDao.getAlleleProperties(variants).stream()
+                .map(AlleleProtoAdaptor::toFrequencyData)
+                .toList();
+    }
+
+    @Override
+    public List<PathogenicityData> getPathogenicityData(List<? extends Variant> variants) {
+        return allelePropertiesDao.getAlleleProperties(variants).stream()
+                .map(AlleleProtoAdaptor::toPathogenicityData)
+                .toList();
+    }
 }
@@ -20,6 +20,7 @@
 
 package org.monarchinitiative.exomiser.core.genome.dao;
 
+import org.h2.mvstore.Cursor;
 import org.h2.mvstore.MVMap;
 import org.h2.mvstore.MVStore;
 import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
@@ -32,6 +33,8 @@
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
 
+import java.util.*;
+
 /**
  * MVStore implementation of the {@link AllelePropertiesDao}
  *
@@ -43,6 +46,10 @@ public class AllelePropertiesDaoMvStore implements AllelePropertiesDao {
 
     private static final Logger logger = LoggerFactory.getLogger(AllelePropertiesDaoMvStore.class);
 
+    // Maximum number of keys to step over with an open cursor before re-seeking from the root of the tree. Neighbouring
+    // variants in a VCF are usually only a few keys apart in the map, so are very likely to be on the same leaf page.
+    private static final int MAX_CURSOR_SCAN = 32;
+
     private final MVMap<AlleleProto.AlleleKey, AlleleProto.AlleleProperties> map;
 
     public AllelePropertiesDaoMvStore(MVStore mvStore) {
@@ -67,4 +74,49 @@ public AlleleProto.AlleleProperties getAlleleProperties(Variant variant) {
         return getAlleleProperties(variant.alleleKey(), variant.genomeAssembly());
     }
 
+    /**
+     * Looks-up the {@link AlleleProto.AlleleProperties} for all the input variants by sorting their keys and sweeping
+     * forwards through the map with a {@link Cursor}. Only where the next key is more than a few entries further along
+     * the map will the cursor be re-positioned by a fresh descent of the B-tree. Unlike the single variant method this
+     * does not use the allele caches.
+     *
+     * @param variants the variants for which to return the {@link AlleleProto.AlleleProperties}
+     * @return a list of {@link AlleleProto.AlleleProperties} in the same order as the input variants.
+     * @since 15.0.0
+     */
+    @Override
+    public List<AlleleProto.AlleleProperties> getAlleleProperties(List<? extends Variant> variants) {
+        int size = variants.size();
+        AlleleProto.AlleleKey[] keys = new AlleleProto.AlleleKey[size];
+        Integer[] sortedIndices = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = variants.get(i).alleleKey();
+            sortedIndices[i] = i;
+        }
+        Comparator<AlleleProto.AlleleKey> keyComparator = map.getKeyType()::compare;
+        Arrays.sort(sortedIndices, (a, b) -> keyComparator.compare(keys[a], keys[b]));
+
+        AlleleProto.AlleleProperties[] results = new AlleleProto.AlleleProperties[size];
+        Cursor<AlleleProto.AlleleKey, AlleleProto.AlleleProperties> cursor = null;
+        AlleleProto.AlleleKey cursorKey = null;
+        for (int index : sortedIndices) {
+            AlleleProto.AlleleKey key = keys[index];
+            int steps = 0;
+            while (cursor != null && cursorKey != null && keyComparator.compare(cursorKey, key) < 0 && steps++ < MAX_CURSOR_SCAN) {
+                cursorKey = cursor.hasNext() ? cursor.next() : null;
+            }
+            if (cursor == null || (cursorKey != null && keyComparator.compare(cursorKey, key) < 0)) {
+                cursor = map.cursor(key);
+                cursorKey = cursor.hasNext() ? cursor.next() : null;
+            }
+            // a null cursorKey means the end of the map has been reached so there can be no more matches
+            boolean found = cursorKey != null && keyComparator.compare(cursorKey, key) == 0;
+            results[index] = found ? cursor.getValue() : AlleleProto.AlleleProperties.getDefaultInstance();
+            if (logger.isDebugEnabled()) {
+                logger.debug("{} {}", AlleleProtoFormatter.format(key), AlleleProtoFormatter.format(results[index]));
+            }
+        }
+        return Arrays.asList(results);
+    }
+
 }
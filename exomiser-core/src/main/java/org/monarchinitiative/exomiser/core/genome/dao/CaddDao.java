@@ -36,7 +36,10 @@
 import org.springframework.cache.annotation.Caching;
 
 import java.io.IOException;
- 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 /**
  *
  * @author Jules Jacobsen <jules.jacobsen@sanger.ac.uk>
@@ -45,6 +48,9 @@ public class CaddDao implements PathogenicityDao {
  
     private final Logger logger = LoggerFactory.getLogger(CaddDao.class);
 
+    // variants closer than this will be read using a single tabix query
+    private static final int MAX_SWEEP_GAP = 200;
+
     private final TabixDataSource caddInDelTabixDataSource;
     private final TabixDataSource caddSnvTabixDataSource;
 
@@ -63,6 +69,52 @@ public PathogenicityData getPathogenicityData(Variant variant) {
         return processResults(variant);
     }
 
+    /**
+     * Batch version of {@link #getPathogenicityData(Variant)}. The SNVs and indels are each swept in coordinate order
+     * through their respective tabix files so that nearby variants share a single query. Results are returned in the
+     * same order as the input.
+     */
+    @Override
+    public List<PathogenicityData> getPathogenicityData(List<? extends Variant> variants) {
+        List<Variant> snvs = new ArrayList<>();
+        List<Integer> snvIndices = new ArrayList<>();
+        List<Variant> indels = new ArrayList<>();
+        List<Integer> indelIndices = new ArrayList<>();
+        for (int i = 0; i < variants.size(); i++) {
+            Variant variant = variants.get(i);
+            if (variant.variantType() == VariantType.SNV) {
+                snvs.add(variant);
+                snvIndices.add(i);
+            } else {
+                indels.add(variant);
+                indelIndices.add(i);
+            }
+        }
+        PathogenicityData[] results = new PathogenicityData[variants.size()];
+        sweepCaddPathogenicityData(caddSnvTabixDataSource, snvs, snvIndices, results);
+        sweepCaddPathogenicityData(caddInDelTabixDataSource, indels, indelIndices, results);
+        return Arrays.asList(results);
+    }
+
+    private void sweepCaddPathogenicityData(TabixDataSource tabixDataSource, List<Variant> variants, List<Integer> resultIndices, PathogenicityData[] results) {
+        if (variants.isEmpty()) {
+            return;
+        }
+        List<PathogenicityData> sweepResults = TabixSweepQuery.query(tabixDataSource, variants, MAX_SWEEP_GAP, Variant::start, this::matchCaddLines, PathogenicityData.empty());
+        for (int i = 0; i < sweepResults.size(); i++) {
+            results[resultIndices.get(i)] = sweepResults.get(i);
+        }
+    }
+
+    private PathogenicityData matchCaddLines(Variant variant, List<String> lines) {
+        for (String line : lines) {
+            if (TabixSweepQuery.field(line, 2).equals(variant.ref()) && TabixSweepQuery.field(line, 3).equals(variant.alt())) {
+                return makeCaddPathData(TabixSweepQuery.field(line, 5));
+            }
+        }
+        return PathogenicityData.empty();
+    }
+
     private PathogenicityData processResults(Variant variant) {
         String chromosome = variant.contigName();
         String ref = variant.ref();
@@ -74,7 +126,16 @@ private PathogenicityData processResults(Variant variant) {
         return getCaddPathogenicityData(caddInDelTabixDataSource, chromosome, start, ref, alt);
     }
 
-    private synchronized PathogenicityData getCaddPathogenicityData(TabixDataSource tabixDataSource, String chromosome, int start, String ref, String alt) {
+    private PathogenicityData getCaddPathogenicityData(TabixDataSource tabixDataSource, String chromosome, int start, String ref, String alt) {
+        if (tabixDataSource.isThreadSafe()) {
+            return queryCaddPathogenicityData(tabixDataSource, chromosome, start, ref, alt);
+        }
+        synchronized (tabixDataSource) {
+            return queryCaddPathogenicityData(tabixDataSource, chromosome, start, ref, alt);
+        }
+    }
+
+    private PathogenicityData queryCaddPathogenicityData(TabixDataSource tabixDataSource, String chromosome, int start, String ref, String alt) {
         try {
             TabixReader.Iterator results = tabixDataSource.query(chromosome, start, start);
             String line;
@@ -7,6 +7,8 @@
 import org.monarchinitiative.svart.GenomicInterval;
 import org.monarchinitiative.svart.GenomicVariant;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 
@@ -23,5 +25,33 @@ public interface ClinVarDao {
 
     Map<GenomicVariant, ClinVarData> findClinVarRecordsOverlappingInterval(@Nonnull GenomicInterval genomicInterval);
 
+    /**
+     * Finds the ClinVar records overlapping each of the intervals. Implementations able to resolve a batch of intervals
+     * more efficiently than one at a time, for example in a single sweep through a sorted index, should override this.
+     *
+     * @param genomicIntervals intervals to search, in any order
+     * @return a list of the records overlapping each interval, in the same order as the input intervals
+     * @since 15.0.0
+     */
+    default List<Map<GenomicVariant, ClinVarData>> findClinVarRecordsOverlappingIntervals(@Nonnull List<GenomicInterval> genomicIntervals) {
+        List<Map<GenomicVariant, ClinVarData>> results = new ArrayList<>(genomicIntervals.size());
+        for (GenomicInterval genomicInterval : genomicIntervals) {
+            results.add(findClinVarRecordsOverlappingInterval(genomicInterval));
+        }
+        return results;
+    }
+
+    /**
+     * Indicates whether {@link #findClinVarRecordsOverlappingIntervals(List)} resolves a batch of intervals more
+     * efficiently than searching for each in turn, so that it is worth fetching intervals up-front which may not
+     * all be used.
+     *
+     * @return true if batched interval searches are cheaper than the equivalent single searches
+     * @since 15.0.0
+     */
+    default boolean supportsBatchIntervalSearch() {
+        return false;
+    }
+
     GeneStatistics getGeneStatistics(@Nonnull String geneSymbol);
 }
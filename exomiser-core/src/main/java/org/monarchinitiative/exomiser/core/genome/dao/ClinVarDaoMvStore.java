@@ -1,6 +1,5 @@
 package org.monarchinitiative.exomiser.core.genome.dao;
 
-import de.charite.compbio.jannovar.annotation.VariantEffect;
 import org.h2.mvstore.MVMap;
 import org.h2.mvstore.MVStore;
 import org.monarchinitiative.exomiser.core.model.GeneStatistics;
@@ -16,13 +15,11 @@
 import jakarta.annotation.Nonnull;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
-import static org.monarchinitiative.exomiser.core.model.pathogenicity.ClinVarData.ReviewStatus.CRITERIA_PROVIDED_CONFLICTING_INTERPRETATIONS;
-
 /**
  * @since 14.0.0
  */
@@ -30,30 +27,71 @@ public class ClinVarDaoMvStore implements ClinVarDao {
 
     private static final Logger logger = LoggerFactory.getLogger(ClinVarDaoMvStore.class);
 
+    private final MVStore mvStore;
     private final MVMap<AlleleProto.AlleleKey, AlleleProto.ClinVar> clinVarMap;
-    private final Map<String, GeneStatistics> geneStats;
+    // loaded lazily from the store if these were persisted when it was built, otherwise calculated on construction
+    private volatile Map<String, GeneStatistics> geneStats;
+    // optional in-memory index used in place of the clinVarMap for the neighbourhood searches
+    private final ClinVarNeighbourhoodIndex neighbourhoodIndex;
 
     public ClinVarDaoMvStore(MVStore mvStore) {
+        this(mvStore, false);
+    }
+
+    /**
+     * @param mvStore               store containing the ClinVar map
+     * @param useNeighbourhoodIndex load a sorted in-memory index of all the ClinVar records for the
+     *                              {@link #findClinVarRecordsOverlappingInterval(GenomicInterval)} and
+     *                              {@link #findClinVarRecordsOverlappingIntervals(List)} searches. This trades a few
+     *                              hundred MB of heap for not having to search the MVStore for each interval.
+     * @since 15.0.0
+     */
+    public ClinVarDaoMvStore(MVStore mvStore, boolean useNeighbourhoodIndex) {
+        this.mvStore = mvStore;
         clinVarMap = MvStoreUtil.openClinVarMVMap(mvStore);
-        geneStats = calculateGeneStatistics(clinVarMap);
+        boolean geneStatsPersisted = ClinVarGeneStatistics.isPersisted(mvStore);
+        if (!geneStatsPersisted) {
+            logger.info("ClinVar store does not contain pre-computed gene stats - these will be calculated from all ClinVar records");
+        }
+        if (useNeighbourhoodIndex || !geneStatsPersisted) {
+            ClinVarNeighbourhoodIndex.Builder indexBuilder = useNeighbourhoodIndex ? ClinVarNeighbourhoodIndex.builder() : null;
+            ClinVarGeneStatistics geneStatistics = geneStatsPersisted ? null : new ClinVarGeneStatistics();
+            scanClinVarRecords(indexBuilder, geneStatistics);
+            neighbourhoodIndex = indexBuilder == null ? null : indexBuilder.build();
+            geneStats = geneStatistics == null ? null : geneStatistics.build();
+        } else {
+            neighbourhoodIndex = null;
+        }
     }
 
-    private Map<String, GeneStatistics> calculateGeneStatistics(MVMap<AlleleProto.AlleleKey, AlleleProto.ClinVar> clinVarMap) {
+    private void scanClinVarRecords(ClinVarNeighbourhoodIndex.Builder indexBuilder, ClinVarGeneStatistics geneStatistics) {
         Instant start = Instant.now();
-        Map<String, GeneStatistics.Builder> geneStatisticsBuilders = new LinkedHashMap<>(1900);
         for (Map.Entry<AlleleProto.AlleleKey, AlleleProto.ClinVar> entry : clinVarMap.entrySet()) {
             AlleleProto.ClinVar clinVar = entry.getValue();
-            ClinVarData.ReviewStatus reviewStatus = AlleleProtoAdaptor.toReviewStatus(clinVar.getReviewStatus());
-            if (reviewStatus != CRITERIA_PROVIDED_CONFLICTING_INTERPRETATIONS && reviewStatus.starRating() >= 1) {
-                VariantEffect variantEffect = AlleleProtoAdaptor.toVariantEffect(clinVar.getVariantEffect());
-                ClinVarData.ClinSig clinSig = AlleleProtoAdaptor.toClinSig(clinVar.getPrimaryInterpretation());
-                geneStatisticsBuilders.compute(clinVar.getGeneSymbol(), (k, v) -> (v == null) ? GeneStatistics.builder(k, variantEffect, clinSig) : v.put(variantEffect, clinSig));
+            if (indexBuilder != null) {
+                indexBuilder.add(entry.getKey(), clinVar);
+            }
+            if (geneStatistics != null) {
+                geneStatistics.add(clinVar);
             }
         }
-        final Map<String, GeneStatistics> stats = new HashMap<>(geneStatisticsBuilders.size());
-        geneStatisticsBuilders.forEach((k, v) -> stats.put(k, v.build()));
         Instant end = Instant.now();
-        logger.info("Created {} ClinVar gene stats in {} ms", stats.size(), Duration.between(start, end).toMillis());
+        logger.info("Scanned {} ClinVar records in {} ms", clinVarMap.size(), Duration.between(start, end).toMillis());
+    }
+
+    private Map<String, GeneStatistics> geneStatistics() {
+        Map<String, GeneStatistics> stats = geneStats;
+        if (stats == null) {
+            synchronized (this) {
+                stats = geneStats;
+                if (stats == null) {
+                    Instant start = Instant.now();
+                    stats = ClinVarGeneStatistics.read(mvStore);
+                    logger.info("Loaded {} ClinVar gene stats in {} ms", stats.size(), Duration.between(start, Instant.now()).toMillis());
+                    geneStats = stats;
+                }
+            }
+        }
         return stats;
     }
 
@@ -72,8 +110,16 @@ private ClinVarData getClinVarData(@Nonnull AlleleProto.AlleleKey alleleKey) {
         return clinVar == null ? ClinVarData.empty() : AlleleProtoAdaptor.toClinVarData(clinVar);
     }
 
+    @Override
+    public boolean supportsBatchIntervalSearch() {
+        return neighbourhoodIndex != null;
+    }
+
     @Override
     public Map<GenomicVariant, ClinVarData> findClinVarRecordsOverlappingInterval(@Nonnull GenomicInterval genomicInterval) {
+        if (neighbourhoodIndex != null) {
+            return neighbourhoodIndex.findRecordsOverlapping(genomicInterval);
+        }
         Contig contig = genomicInterval.contig();
 
         int chr = genomicInterval.contigId();
@@ -94,6 +140,13 @@ public Map<GenomicVariant, ClinVarData> findClinVarRecordsOverlappingInterval(@N
         Iterator<AlleleProto.AlleleKey> keyIterator = clinVarMap.keyIterator(floorKey);
         while (keyIterator.hasNext()) {
             AlleleProto.AlleleKey alleleKey = keyIterator.next();
+            // the floorKey can be on the preceding contig
+            if (alleleKey.getChr() < chr) {
+                continue;
+            }
+            if (alleleKey.getChr() > chr) {
+                break;
+            }
             if (alleleKey.getPosition() >= start && alleleKey.getPosition() <= end) {
                 GenomicVariant variant = alleleKeyToGenomicVariant(alleleKey, contig);
                 AlleleProto.ClinVar clinVar = clinVarMap.get(alleleKey);
@@ -108,9 +161,17 @@ public Map<GenomicVariant, ClinVarData> findClinVarRecordsOverlappingInterval(@N
         return results;
     }
 
+    @Override
+    public List<Map<GenomicVariant, ClinVarData>> findClinVarRecordsOverlappingIntervals(@Nonnull List<GenomicInterval> genomicIntervals) {
+        if (neighbourhoodIndex != null) {
+            return neighbourhoodIndex.findRecordsOverlapping(genomicIntervals);
+        }
+        return ClinVarDao.super.findClinVarRecordsOverlappingIntervals(genomicIntervals);
+    }
+
     @Override
     public GeneStatistics getGeneStatistics(@Nonnull String geneSymbol) {
-        return geneStats.getOrDefault(geneSymbol, GeneStatistics.builder(geneSymbol).build());
+        return geneStatistics().getOrDefault(geneSymbol, GeneStatistics.builder(geneSymbol).build());
     }
 
     private String broadFormat(AlleleProto.AlleleKey alleleKey) {
@@ -0,0 +1,154 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.core.genome.dao;
+
+import de.charite.compbio.jannovar.annotation.VariantEffect;
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.monarchinitiative.exomiser.core.genome.dao.serialisers.MvStoreUtil;
+import org.monarchinitiative.exomiser.core.model.AlleleProtoAdaptor;
+import org.monarchinitiative.exomiser.core.model.GeneStatistics;
+import org.monarchinitiative.exomiser.core.model.pathogenicity.ClinVarData;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.monarchinitiative.exomiser.core.model.pathogenicity.ClinVarData.ReviewStatus.CRITERIA_PROVIDED_CONFLICTING_INTERPRETATIONS;
+
+/**
+ * Calculates the per-gene {@link GeneStatistics} from the ClinVar records and reads and writes these to the ClinVar
+ * {@link MVStore}. Only records with a review status of at least one star and no conflicting interpretations are
+ * counted.
+ * <p>
+ * The statistics are written when the ClinVar store is built so that they need not be calculated from a scan of every
+ * record each time the store is opened. Stores built before the statistics were persisted, or with a different
+ * {@link #VERSION} of the statistics, will return false for {@link #isPersisted(MVStore)} and the statistics will need
+ * to be calculated from the records.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+public final class ClinVarGeneStatistics {
+
+    /**
+     * Version of the persisted statistics. This should be incremented should the criteria for counting a record change
+     * so that the statistics in existing stores are ignored.
+     */
+    public static final int VERSION = 1;
+
+    private static final String INFO_MAP_NAME = "clinvar_gene_stats_info";
+    private static final String VERSION_KEY = "version";
+
+    private final Map<String, GeneStatistics.Builder> geneStatisticsBuilders = new LinkedHashMap<>(1900);
+
+    public ClinVarGeneStatistics() {
+        // accumulates the statistics for the records added
+    }
+
+    /**
+     * Adds the record to the statistics for its gene, if it meets the review status criteria.
+     */
+    public void add(AlleleProto.ClinVar clinVar) {
+        ClinVarData.ReviewStatus reviewStatus = AlleleProtoAdaptor.toReviewStatus(clinVar.getReviewStatus());
+        if (reviewStatus != CRITERIA_PROVIDED_CONFLICTING_INTERPRETATIONS && reviewStatus.starRating() >= 1) {
+            VariantEffect variantEffect = AlleleProtoAdaptor.toVariantEffect(clinVar.getVariantEffect());
+            ClinVarData.ClinSig clinSig = AlleleProtoAdaptor.toClinSig(clinVar.getPrimaryInterpretation());
+            geneStatisticsBuilders.compute(clinVar.getGeneSymbol(), (k, v) -> (v == null) ? GeneStatistics.builder(k, variantEffect, clinSig) : v.put(variantEffect, clinSig));
+        }
+    }
+
+    public Map<String, GeneStatistics> build() {
+        Map<String, GeneStatistics> stats = new HashMap<>(geneStatisticsBuilders.size());
+        geneStatisticsBuilders.forEach((k, v) -> stats.put(k, v.build()));
+        return stats;
+    }
+
+    /**
+     * Calculates the statistics from a scan of all the records in the ClinVar map.
+     */
+    public static Map<String, GeneStatistics> calculate(MVMap<AlleleProto.AlleleKey, AlleleProto.ClinVar> clinVarMap) {
+        ClinVarGeneStatistics clinVarGeneStatistics = new ClinVarGeneStatistics();
+        for (AlleleProto.ClinVar clinVar : clinVarMap.values()) {
+            clinVarGeneStatistics.add(clinVar);
+        }
+        return clinVarGeneStatistics.build();
+    }
+
+    /**
+     * @return true if the store contains statistics of the current {@link #VERSION}.
+     */
+    public static boolean isPersisted(MVStore mvStore) {
+        if (!mvStore.hasMap(INFO_MAP_NAME) || !MvStoreUtil.hasClinVarGeneStatsMVMap(mvStore)) {
+            return false;
+        }
+        MVMap<String, Integer> infoMap = mvStore.openMap(INFO_MAP_NAME);
+        return Integer.valueOf(VERSION).equals(infoMap.get(VERSION_KEY));
+    }
+
+    /**
+     * Writes the statistics to the store, replacing any existing statistics. The caller is responsible for committing
+     * the store.
+     */
+    public static void write(MVStore mvStore, Map<String, GeneStatistics> geneStatistics) {
+        MVMap<String, AlleleProto.ClinVarGeneStats> geneStatsMap = MvStoreUtil.openClinVarGeneStatsMVMap(mvStore);
+        geneStatsMap.clear();
+        geneStatistics.forEach((geneSymbol, stats) -> geneStatsMap.put(geneSymbol, toProto(stats)));
+        MVMap<String, Integer> infoMap = mvStore.openMap(INFO_MAP_NAME);
+        infoMap.put(VERSION_KEY, VERSION);
+    }
+
+    /**
+     * Reads the persisted statistics from the store. Check these are present using {@link #isPersisted(MVStore)}.
+     */
+    public static Map<String, GeneStatistics> read(MVStore mvStore) {
+        MVMap<String, AlleleProto.ClinVarGeneStats> geneStatsMap = MvStoreUtil.openClinVarGeneStatsMVMap(mvStore);
+        Map<String, GeneStatistics> stats = new HashMap<>(geneStatsMap.size());
+        for (AlleleProto.ClinVarGeneStats clinVarGeneStats : geneStatsMap.values()) {
+            stats.put(clinVarGeneStats.getGeneSymbol(), fromProto(clinVarGeneStats));
+        }
+        return stats;
+    }
+
+    private static AlleleProto.ClinVarGeneStats toProto(GeneStatistics geneStatistics) {
+        AlleleProto.ClinVarGeneStats.Builder builder = AlleleProto.ClinVarGeneStats.newBuilder()
+                .setGeneSymbol(geneStatistics.geneSymbol());
+        for (VariantEffect variantEffect : geneStatistics.variantEffects()) {
+            builder.addEffectCounts(AlleleProto.ClinVarEffectCounts.newBuilder()
+                    // the variant effects are all read from the ClinVar protos and so share the same names
+                    .setVariantEffect(AlleleProto.VariantEffect.valueOf(variantEffect.name()))
+                    .setPathCount(geneStatistics.pathCount(variantEffect))
+                    .setVusCount(geneStatistics.vusCount(variantEffect))
+                    .setBenignCount(geneStatistics.benignCount(variantEffect)));
+        }
+        return builder.build();
+    }
+
+    private static GeneStatistics fromProto(AlleleProto.ClinVarGeneStats clinVarGeneStats) {
+        GeneStatistics.Builder builder = GeneStatistics.builder(clinVarGeneStats.getGeneSymbol());
+        for (AlleleProto.ClinVarEffectCounts effectCounts : clinVarGeneStats.getEffectCountsList()) {
+            builder.put(AlleleProtoAdaptor.toVariantEffect(effectCounts.getVariantEffect()), effectCounts.getPathCount(), effectCounts.getVusCount(), effectCounts.getBenignCount());
+        }
+        return builder.build();
+    }
+}
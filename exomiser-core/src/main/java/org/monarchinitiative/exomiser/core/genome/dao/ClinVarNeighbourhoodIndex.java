@@ -0,0 +1,345 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.core.genome.dao;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import org.monarchinitiative.exomiser.core.genome.dao.serialisers.InvalidAlleleProtoException;
+import org.monarchinitiative.exomiser.core.model.AlleleProtoAdaptor;
+import org.monarchinitiative.exomiser.core.model.pathogenicity.ClinVarData;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto;
+import org.monarchinitiative.svart.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Package private in-memory index of ClinVar records for finding all the records in the neighbourhood of a variant. For
+ * each contig the 1-based VCF positions of the records are held in a sorted {@code int[]} alongside a {@code long[]} of
+ * packed offsets into a paged byte arena which holds the ref, alt and serialised {@link AlleleProto.ClinVar} of each
+ * record. Finding the records overlapping an interval is a binary search of the positions followed by a forward scan,
+ * with only the records actually found being deserialised.
+ * <p>
+ * A batch of intervals can be resolved using {@link #findRecordsOverlapping(List)}, which sorts the intervals into
+ * coordinate order and sweeps through the positions of each contig once, so that records shared by overlapping
+ * neighbourhoods are only deserialised once.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+final class ClinVarNeighbourhoodIndex {
+
+    // 16MB - large enough to hold ~100k records per page
+    private static final int MAX_PAGE_SIZE = 1 << 24;
+
+    private final ContigIndex[] contigIndexes;
+    private final byte[][] pages;
+    private final int size;
+
+    private ClinVarNeighbourhoodIndex(ContigIndex[] contigIndexes, byte[][] pages, int size) {
+        this.contigIndexes = contigIndexes;
+        this.pages = pages;
+        this.size = size;
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the ClinVar records with a VCF position within the interval, in coordinate order.
+     */
+    Map<GenomicVariant, ClinVarData> findRecordsOverlapping(GenomicInterval genomicInterval) {
+        ContigIndex contigIndex = contigIndex(genomicInterval.contigId());
+        if (contigIndex == null) {
+            return Map.of();
+        }
+        int start = genomicInterval.startOnStrandWithCoordinateSystem(Strand.POSITIVE, CoordinateSystem.ONE_BASED);
+        int end = genomicInterval.endOnStrandWithCoordinateSystem(Strand.POSITIVE, CoordinateSystem.ONE_BASED);
+        Map<GenomicVariant, ClinVarData> results = new LinkedHashMap<>();
+        for (int i = contigIndex.lowerBound(0, start); i < contigIndex.size && contigIndex.positions[i] <= end; i++) {
+            Record record = decode(genomicInterval.contig(), contigIndex.positions[i], contigIndex.offsets[i]);
+            results.put(record.variant(), record.clinVarData());
+        }
+        return results;
+    }
+
+    /**
+     * Finds the ClinVar records overlapping each of the intervals using a single sweep through the index per contig.
+     *
+     * @param genomicIntervals intervals to search, in any order
+     * @return a list of the records overlapping each interval, in the same order as the input intervals
+     */
+    List<Map<GenomicVariant, ClinVarData>> findRecordsOverlapping(List<GenomicInterval> genomicIntervals) {
+        int numIntervals = genomicIntervals.size();
+        Integer[] order = new Integer[numIntervals];
+        int[] starts = new int[numIntervals];
+        int[] ends = new int[numIntervals];
+        for (int i = 0; i < numIntervals; i++) {
+            GenomicInterval genomicInterval = genomicIntervals.get(i);
+            order[i] = i;
+            starts[i] = genomicInterval.startOnStrandWithCoordinateSystem(Strand.POSITIVE, CoordinateSystem.ONE_BASED);
+            ends[i] = genomicInterval.endOnStrandWithCoordinateSystem(Strand.POSITIVE, CoordinateSystem.ONE_BASED);
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingInt(i -> genomicIntervals.get(i).contigId()).thenComparingInt(i -> starts[i]));
+
+        List<Map<GenomicVariant, ClinVarData>> results = new ArrayList<>(Collections.nCopies(numIntervals, Map.of()));
+        // records decoded for the current contig which could still be overlapped by the remaining intervals
+        Deque<IndexedRecord> window = new ArrayDeque<>();
+        int currentContigId = -1;
+        ContigIndex contigIndex = null;
+        int cursor = 0;
+        int nextToDecode = 0;
+        for (int i : order) {
+            GenomicInterval genomicInterval = genomicIntervals.get(i);
+            if (genomicInterval.contigId() != currentContigId) {
+                currentContigId = genomicInterval.contigId();
+                contigIndex = contigIndex(currentContigId);
+                window.clear();
+                cursor = 0;
+                nextToDecode = 0;
+            }
+            if (contigIndex == null) {
+                continue;
+            }
+            int start = starts[i];
+            int end = ends[i];
+            // intervals are sorted by start, so the cursor and the window only ever move forwards
+            cursor = contigIndex.lowerBound(cursor, start);
+            while (!window.isEmpty() && window.peekFirst().index() < cursor) {
+                window.pollFirst();
+            }
+            nextToDecode = Math.max(nextToDecode, cursor);
+            while (nextToDecode < contigIndex.size && contigIndex.positions[nextToDecode] <= end) {
+                window.addLast(new IndexedRecord(nextToDecode, contigIndex.positions[nextToDecode], decode(genomicInterval.contig(), contigIndex.positions[nextToDecode], contigIndex.offsets[nextToDecode])));
+                nextToDecode++;
+            }
+            Map<GenomicVariant, ClinVarData> overlapping = new LinkedHashMap<>();
+            for (IndexedRecord indexedRecord : window) {
+                if (indexedRecord.position() > end) {
+                    break;
+                }
+                overlapping.put(indexedRecord.record().variant(), indexedRecord.record().clinVarData());
+            }
+            results.set(i, overlapping);
+        }
+        return results;
+    }
+
+    private ContigIndex contigIndex(int contigId) {
+        return contigId >= 0 && contigId < contigIndexes.length ? contigIndexes[contigId] : null;
+    }
+
+    private Record decode(Contig contig, int position, long offset) {
+        byte[] page = pages[(int) (offset >>> 32)];
+        int[] cursor = {(int) offset};
+        String ref = readString(page, cursor);
+        String alt = readString(page, cursor);
+        int length = readVarInt(page, cursor);
+        try {
+            AlleleProto.ClinVar clinVar = AlleleProto.ClinVar.parser().parseFrom(page, cursor[0], length);
+            GenomicVariant variant = GenomicVariant.of(contig, Strand.POSITIVE, CoordinateSystem.ONE_BASED, position, ref, alt);
+            return new Record(variant, AlleleProtoAdaptor.toClinVarData(clinVar));
+        } catch (InvalidProtocolBufferException e) {
+            throw new InvalidAlleleProtoException(e);
+        }
+    }
+
+    private static String readString(byte[] page, int[] cursor) {
+        int length = readVarInt(page, cursor);
+        String value = new String(page, cursor[0], length, StandardCharsets.US_ASCII);
+        cursor[0] += length;
+        return value;
+    }
+
+    private static int readVarInt(byte[] page, int[] cursor) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = page[cursor[0]++];
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private record Record(GenomicVariant variant, ClinVarData clinVarData) {
+    }
+
+    private record IndexedRecord(int index, int position, Record record) {
+    }
+
+    private static final class ContigIndex {
+
+        private final int[] positions;
+        private final long[] offsets;
+        private final int size;
+
+        private ContigIndex(int[] positions, long[] offsets, int size) {
+            this.positions = positions;
+            this.offsets = offsets;
+            this.size = size;
+        }
+
+        /**
+         * @return the index of the first position >= the given position, searching from the given index
+         */
+        private int lowerBound(int from, int position) {
+            int low = from;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (positions[mid] < position) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Accumulates the records for the index. Records are expected in {@link AlleleProto.AlleleKey} order, as read from
+     * the ClinVar MVMap, although any out-of-order contigs will be sorted when the index is built.
+     */
+    static final class Builder {
+
+        private final List<ContigBuilder> contigBuilders = new ArrayList<>();
+        private final List<byte[]> pages = new ArrayList<>();
+        private byte[] currentPage = new byte[1024];
+        private int pageOffset = 0;
+        private int size = 0;
+
+        private Builder() {
+        }
+
+        Builder add(AlleleProto.AlleleKey alleleKey, AlleleProto.ClinVar clinVar) {
+            int contigId = alleleKey.getChr();
+            while (contigBuilders.size() <= contigId) {
+                contigBuilders.add(null);
+            }
+            ContigBuilder contigBuilder = contigBuilders.get(contigId);
+            if (contigBuilder == null) {
+                contigBuilder = new ContigBuilder();
+                contigBuilders.set(contigId, contigBuilder);
+            }
+            contigBuilder.add(alleleKey.getPosition(), write(alleleKey, clinVar));
+            size++;
+            return this;
+        }
+
+        private long write(AlleleProto.AlleleKey alleleKey, AlleleProto.ClinVar clinVar) {
+            byte[] ref = alleleKey.getRefBytes().toByteArray();
+            byte[] alt = alleleKey.getAltBytes().toByteArray();
+            byte[] clinVarBytes = clinVar.toByteArray();
+            // 5 bytes is the maximum length of a varint
+            int recordLength = 15 + ref.length + alt.length + clinVarBytes.length;
+            ensureCapacity(recordLength);
+            long offset = ((long) pages.size() << 32) | pageOffset;
+            writeBytes(ref);
+            writeBytes(alt);
+            writeBytes(clinVarBytes);
+            return offset;
+        }
+
+        private void ensureCapacity(int recordLength) {
+            if (pageOffset + recordLength <= currentPage.length) {
+                return;
+            }
+            if (pageOffset + recordLength <= MAX_PAGE_SIZE) {
+                currentPage = Arrays.copyOf(currentPage, Math.min(MAX_PAGE_SIZE, Math.max(currentPage.length * 2, pageOffset + recordLength)));
+            } else {
+                pages.add(Arrays.copyOf(currentPage, pageOffset));
+                currentPage = new byte[Math.max(MAX_PAGE_SIZE, recordLength)];
+                pageOffset = 0;
+            }
+        }
+
+        private void writeBytes(byte[] bytes) {
+            int value = bytes.length;
+            while ((value & ~0x7F) != 0) {
+                currentPage[pageOffset++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            currentPage[pageOffset++] = (byte) value;
+            System.arraycopy(bytes, 0, currentPage, pageOffset, bytes.length);
+            pageOffset += bytes.length;
+        }
+
+        ClinVarNeighbourhoodIndex build() {
+            ContigIndex[] contigIndexes = new ContigIndex[contigBuilders.size()];
+            for (int i = 0; i < contigBuilders.size(); i++) {
+                ContigBuilder contigBuilder = contigBuilders.get(i);
+                contigIndexes[i] = contigBuilder == null ? null : contigBuilder.build();
+            }
+            List<byte[]> allPages = new ArrayList<>(pages);
+            allPages.add(Arrays.copyOf(currentPage, pageOffset));
+            return new ClinVarNeighbourhoodIndex(contigIndexes, allPages.toArray(byte[][]::new), size);
+        }
+    }
+
+    private static final class ContigBuilder {
+
+        private int[] positions = new int[16];
+        private long[] offsets = new long[16];
+        private int size = 0;
+        private boolean sorted = true;
+
+        private void add(int position, long offset) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+                offsets = Arrays.copyOf(offsets, size * 2);
+            }
+            if (size > 0 && positions[size - 1] > position) {
+                sorted = false;
+            }
+            positions[size] = position;
+            offsets[size] = offset;
+            size++;
+        }
+
+        private ContigIndex build() {
+            if (!sorted) {
+                // stable sort so that records at the same position retain their input order
+                Integer[] order = new Integer[size];
+                for (int i = 0; i < size; i++) {
+                    order[i] = i;
+                }
+                int[] unsortedPositions = positions;
+                Arrays.sort(order, Comparator.comparingInt(i -> unsortedPositions[i]));
+                int[] sortedPositions = new int[size];
+                long[] sortedOffsets = new long[size];
+                for (int i = 0; i < size; i++) {
+                    sortedPositions[i] = positions[order[i]];
+                    sortedOffsets[i] = offsets[order[i]];
+                }
+                return new ContigIndex(sortedPositions, sortedOffsets, size);
+            }
+            return new ContigIndex(Arrays.copyOf(positions, size), Arrays.copyOf(offsets, size), size);
+        }
+    }
+}
@@ -51,6 +51,11 @@ public void close() {
         //empty implementation
     }
 
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
     @Override
     public String getSource() {
         return "No source";
@@ -28,6 +28,9 @@
 import org.monarchinitiative.exomiser.core.model.Variant;
 import org.monarchinitiative.exomiser.core.model.frequency.FrequencyData;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  *
  * @author Jules Jacobsen <jules.jacobsen@sanger.ac.uk>
@@ -36,4 +39,19 @@ public interface FrequencyDao {
 
     FrequencyData getFrequencyData(Variant variant);
 
+    /**
+     * Returns the {@link FrequencyData} for each of the input variants, in input order.
+     *
+     * @param variants the variants for which to return the {@link FrequencyData}
+     * @return a list of {@link FrequencyData} in the same order as the input variants.
+     * @since 15.0.0
+     */
+    default List<FrequencyData> getFrequencyData(List<? extends Variant> variants) {
+        List<FrequencyData> frequencyData = new ArrayList<>(variants.size());
+        for (Variant variant : variants) {
+            frequencyData.add(getFrequencyData(variant));
+        }
+        return frequencyData;
+    }
+
 }
@@ -50,6 +50,11 @@ public TabixReader.Iterator query(String chromosome, int start, int end) {
         return NO_OP_ITERATOR;
     }
 
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
     @Override
     public String getSource() {
         return source;
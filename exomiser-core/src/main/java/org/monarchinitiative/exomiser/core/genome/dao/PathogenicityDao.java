@@ -28,6 +28,9 @@
 import org.monarchinitiative.exomiser.core.model.Variant;
 import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicityData;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @author Jules Jacobsen <jules.jacobsen@sanger.ac.uk>
  */
@@ -35,4 +38,19 @@ public interface PathogenicityDao {
 
     PathogenicityData getPathogenicityData(Variant variant);
 
+    /**
+     * Returns the {@link PathogenicityData} for each of the input variants, in input order.
+     *
+     * @param variants the variants for which to return the {@link PathogenicityData}
+     * @return a list of {@link PathogenicityData} in the same order as the input variants.
+     * @since 15.0.0
+     */
+    default List<PathogenicityData> getPathogenicityData(List<? extends Variant> variants) {
+        List<PathogenicityData> pathogenicityData = new ArrayList<>(variants.size());
+        for (Variant variant : variants) {
+            pathogenicityData.add(getPathogenicityData(variant));
+        }
+        return pathogenicityData;
+    }
+
 }
@@ -36,6 +36,7 @@
 import org.springframework.cache.annotation.Caching;
 
 import java.io.IOException;
+import java.util.List;
 
 import static org.monarchinitiative.svart.VariantType.INS;
 
@@ -47,6 +48,9 @@ public class RemmDao implements PathogenicityDao {
 
     private final Logger logger = LoggerFactory.getLogger(RemmDao.class);
 
+    // REMM scores every base, so this is generous enough to share a query between variants in the same region
+    private static final int MAX_SWEEP_GAP = 2_000;
+
     private final TabixDataSource remmTabixDataSource;
 
     public RemmDao(TabixDataSource remmTabixDataSource) {
@@ -64,14 +68,45 @@ public PathogenicityData getPathogenicityData(Variant variant) {
         if (variant.variantEffect() == VariantEffect.MISSENSE_VARIANT) {
             return PathogenicityData.empty();
         }
-        String chromosome = variant.contigName();
-        int start = variant.start();
+        return getRemmData(variant.contigName(), variant.start(), queryEnd(variant));
+    }
+
+    /**
+     * Batch version of {@link #getPathogenicityData(Variant)} which sweeps the variants in coordinate order through the
+     * REMM tabix file so that nearby variants share a single query. Results are returned in the same order as the input.
+     */
+    @Override
+    public List<PathogenicityData> getPathogenicityData(List<? extends Variant> variants) {
+        return TabixSweepQuery.query(remmTabixDataSource, variants, MAX_SWEEP_GAP, RemmDao::queryEnd, this::maxRemmScore, PathogenicityData.empty());
+    }
+
+    private static int queryEnd(Variant variant) {
         // test bases either side of insertion or all bases of a SNV/MNV/DEL
-        int end = variant.variantType() == INS ? variant.end() + 1 : variant.end();
-        return getRemmData(chromosome, start, end);
+        return variant.variantType() == INS ? variant.end() + 1 : variant.end();
+    }
+
+    private PathogenicityData maxRemmScore(Variant variant, List<String> lines) {
+        // REMM has not been trained on missense variants so skip these
+        if (variant.variantEffect() == VariantEffect.MISSENSE_VARIANT || lines.isEmpty()) {
+            return PathogenicityData.empty();
+        }
+        float score = Float.NEGATIVE_INFINITY;
+        for (String line : lines) {
+            score = Math.max(score, Float.parseFloat(TabixSweepQuery.field(line, 2)));
+        }
+        return PathogenicityData.of(RemmScore.of(score));
+    }
+
+    private PathogenicityData getRemmData(String chromosome, int start, int end) {
+        if (remmTabixDataSource.isThreadSafe()) {
+            return queryRemmData(chromosome, start, end);
+        }
+        synchronized (remmTabixDataSource) {
+            return queryRemmData(chromosome, start, end);
+        }
     }
 
-    private synchronized PathogenicityData getRemmData(String chromosome, int start, int end) {
+    private PathogenicityData queryRemmData(String chromosome, int start, int end) {
         try {
             float score = Float.NaN;
             String line;
@@ -32,6 +32,9 @@
 import org.springframework.cache.annotation.Caching;
 
 import javax.sql.DataSource;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -50,10 +53,23 @@ public class SvFrequencyDao implements FrequencyDao {
     private static final Logger logger = LoggerFactory.getLogger(SvFrequencyDao.class);
 
     private final DataSource svDataSource;
+    private final SvIntervalIndex svIntervalIndex;
     private final double minSimilarity = 0.80;
 
     public SvFrequencyDao(DataSource svDataSource) {
         this.svDataSource = svDataSource;
+        this.svIntervalIndex = null;
+    }
+
+    /**
+     * Creates an instance which searches the in-memory {@link SvIntervalIndex} of the SV_FREQ table, as returned by
+     * {@link #loadIntervalIndex(DataSource)}, rather than querying the database for each variant.
+     *
+     * @since 15.0.0
+     */
+    public SvFrequencyDao(SvIntervalIndex svIntervalIndex) {
+        this.svDataSource = null;
+        this.svIntervalIndex = svIntervalIndex;
     }
 
     @Caching(cacheable = {
@@ -63,7 +79,7 @@ public SvFrequencyDao(DataSource svDataSource) {
     @Override
     public FrequencyData getFrequencyData(Variant variant) {
         logger.debug("{}", variant);
-        List<SvResult> results = runQuery(variant);
+        List<SvResult> results = svIntervalIndex == null ? runQuery(variant) : searchIndex(variant);
         results.forEach(svResult -> logger.debug("{}, jaccard={}, jaccardChangeLength={}, score={}", svResult, SvDaoUtil.jaccard(variant, svResult), SvDaoUtil.jaccard(variant.changeLength(), svResult.changeLength()), score(variant).apply(svResult)));
 
         Map<Double, List<SvResult>> resultsByScore = results.stream()
@@ -138,7 +154,8 @@ private List<SvResult> runQuery(Variant variant) {
                         "  and START <= ?\n" +
                         "  and \"end\" >= ?\n" +
                         "  and \"end\" <= ?\n" +
-                        "  and ALLELE_COUNT != 0;";
+                        "  and ALLELE_COUNT != 0\n" +
+                        "ORDER BY START, \"end\";";
         try (
                 Connection connection = svDataSource.getConnection();
                 PreparedStatement ps = connection.prepareStatement(query)
@@ -195,27 +212,86 @@ private List<SvResult> processSvResults(ResultSet rs, Variant variant) throws SQ
             int ac = rs.getInt("ALLELE_COUNT");
             int an = rs.getInt("ALLELE_NUMBER");
 
-            VariantType variantType = VariantType.valueOf(svType);
-            // there are cases such as INS_ME which won't match the database so we have to filter these here
-            // consider also DEL/CNV_LOSS INS/CNV_GAIN/DUP/INS_ME and CNV
-            changeLength = checkChangeLength(variantType, start, end, changeLength);
-
-            if (SvMetaType.isEquivalent(variant.variantType(), variantType)) {
-                SvResult svResult = SvResult.of(variant.contig(), start, end, changeLength, variantType, id == null ? "" : id, source, ac, an);
-                if (isInsertion(variant)) {
-                    if (changeLength >= 20 && SvDaoUtil.jaccard(variant.changeLength(), svResult.changeLength()) >= 0.75) {
-                        results.add(svResult);
-                    }
-                    // both too short to apply similarity cutoff
-                    if (changeLength < 20 && variant.changeLength() < 20) {
-                        results.add(svResult);
-                    }
-                } else {
+            addIfMatches(results, variant, source, start, end, changeLength, VariantType.valueOf(svType), id, ac, an);
+        }
+        return results;
+    }
+
+    private List<SvResult> searchIndex(Variant variant) {
+        SvDaoBoundaryCalculator svDaoBoundaryCalculator = new SvDaoBoundaryCalculator(variant, minSimilarity);
+        List<SvIntervalIndex.Entry> entries = svIntervalIndex.findEntries(variant.contigId(),
+                svDaoBoundaryCalculator.startMin(), svDaoBoundaryCalculator.startMax(),
+                svDaoBoundaryCalculator.endMin(), svDaoBoundaryCalculator.endMax());
+        List<SvResult> results = new ArrayList<>();
+        for (SvIntervalIndex.Entry entry : entries) {
+            try (DataInputStream in = entry.dataInput()) {
+                String id = SvIntervalIndex.readNullableUTF(in);
+                String source = SvIntervalIndex.readNullableUTF(in);
+                int ac = in.readInt();
+                int an = in.readInt();
+                addIfMatches(results, variant, source, entry.start(), entry.end(), entry.changeLength(), entry.variantType(), id, ac, an);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return results;
+    }
+
+    private void addIfMatches(List<SvResult> results, Variant variant, String source, int start, int end, int changeLength, VariantType variantType, String id, int ac, int an) {
+        // there are cases such as INS_ME which won't match the database so we have to filter these here
+        // consider also DEL/CNV_LOSS INS/CNV_GAIN/DUP/INS_ME and CNV
+        changeLength = checkChangeLength(variantType, start, end, changeLength);
+
+        if (SvMetaType.isEquivalent(variant.variantType(), variantType)) {
+            SvResult svResult = SvResult.of(variant.contig(), start, end, changeLength, variantType, id == null ? "" : id, source, ac, an);
+            if (isInsertion(variant)) {
+                if (changeLength >= 20 && SvDaoUtil.jaccard(variant.changeLength(), svResult.changeLength()) >= 0.75) {
+                    results.add(svResult);
+                }
+                // both too short to apply similarity cutoff
+                if (changeLength < 20 && variant.changeLength() < 20) {
                     results.add(svResult);
                 }
+            } else {
+                results.add(svResult);
             }
         }
-        return results;
+    }
+
+    /**
+     * Loads the SV_FREQ table into an {@link SvIntervalIndex} for use with {@link #SvFrequencyDao(SvIntervalIndex)}.
+     *
+     * @since 15.0.0
+     */
+    public static SvIntervalIndex loadIntervalIndex(DataSource svDataSource) {
+        String query = "SELECT CHROMOSOME, START, \"end\", CHANGE_LENGTH, VARIANT_TYPE, DBVAR_ID, SOURCE, ALLELE_COUNT, ALLELE_NUMBER\n" +
+                "FROM SV_FREQ\n" +
+                "WHERE ALLELE_COUNT != 0\n" +
+                "ORDER BY CHROMOSOME, START, \"end\";";
+        SvIntervalIndex.Builder builder = SvIntervalIndex.builder();
+        try (
+                Connection connection = svDataSource.getConnection();
+                PreparedStatement ps = connection.prepareStatement(query);
+                ResultSet rs = ps.executeQuery()
+        ) {
+            while (rs.next()) {
+                String id = rs.getString("DBVAR_ID");
+                String source = rs.getString("SOURCE");
+                int ac = rs.getInt("ALLELE_COUNT");
+                int an = rs.getInt("ALLELE_NUMBER");
+                builder.add(rs.getInt("CHROMOSOME"), rs.getInt("START"), rs.getInt("end"), rs.getInt("CHANGE_LENGTH"), VariantType.valueOf(rs.getString("VARIANT_TYPE")), out -> {
+                    SvIntervalIndex.writeNullableUTF(out, id);
+                    SvIntervalIndex.writeNullableUTF(out, source);
+                    out.writeInt(ac);
+                    out.writeInt(an);
+                });
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to load SV_FREQ table", e);
+        }
+        SvIntervalIndex svIntervalIndex = builder.build();
+        logger.debug("Loaded {} SV_FREQ rows", svIntervalIndex.size());
+        return svIntervalIndex;
     }
 
     private static int checkChangeLength(VariantType variantType, int start, int end, int changeLength) {
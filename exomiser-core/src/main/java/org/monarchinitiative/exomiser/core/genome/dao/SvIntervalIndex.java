@@ -0,0 +1,404 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.core.genome.dao;
+
+import org.monarchinitiative.svart.VariantType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-memory index of the rows of one of the structural variant tables (SV_FREQ or SV_PATH) of the genome database,
+ * for use by the {@link SvFrequencyDao} and {@link SvPathogenicityDao} in place of a JDBC query per variant.
+ * <p>
+ * The rows of each contig are held in columns sorted by start and end position - the start, end, change length and
+ * variant type of each row in primitive arrays with the remaining, table-specific, columns serialised into a byte arena
+ * which is only read for the rows actually found. The SV DAOs search for rows with a start <em>and</em> end position
+ * within the bounds given by the {@link SvDaoBoundaryCalculator}, so rather than an interval tree over the start-end
+ * intervals the rows are split into fixed-size blocks of consecutive start positions with the min and max end position
+ * of each block stored alongside. A search is a binary search for the minimum start followed by a scan up to the
+ * maximum start, skipping any blocks where none of the rows can have an end position within the required bounds. The
+ * rows found are returned in the same (chromosome, start, end) order as the database index.
+ * <p>
+ * An index can be written to and read from a compact gzipped binary file so that it does not need to be re-loaded from
+ * the database on startup. The file format is:
+ * <pre>
+ *     int     magic number 'EXSV'
+ *     int     format version
+ *     int     number of variant types, followed by the name of each type
+ *     int     number of contigs, followed by the contig id and number of rows of each contig, then the start, end,
+ *             change length and variant type index of each row, followed by the length and bytes of the data arena
+ *             and the offset of each row in the arena.
+ * </pre>
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+public final class SvIntervalIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SvIntervalIndex.class);
+
+    static final int MAGIC = 0x45585356;
+    static final int VERSION = 1;
+
+    private static final int BLOCK_SIZE = 64;
+    private static final VariantType[] VARIANT_TYPES = VariantType.values();
+
+    private final ContigIndex[] contigIndexes;
+    private final int size;
+
+    private SvIntervalIndex(ContigIndex[] contigIndexes) {
+        this.contigIndexes = contigIndexes;
+        int count = 0;
+        for (ContigIndex contigIndex : contigIndexes) {
+            count += contigIndex == null ? 0 : contigIndex.size();
+        }
+        this.size = count;
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the rows on the contig with a start position between startMin and startMax and end position between endMin
+     * and endMax (all inclusive), in start and end position order.
+     */
+    List<Entry> findEntries(int contigId, int startMin, int startMax, int endMin, int endMax) {
+        if (contigId < 0 || contigId >= contigIndexes.length || contigIndexes[contigId] == null) {
+            return List.of();
+        }
+        return contigIndexes[contigId].findEntries(startMin, startMax, endMin, endMax);
+    }
+
+    public static SvIntervalIndex read(Path indexPath) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(indexPath))))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a version " + VERSION + " SV interval index file");
+            }
+            VariantType[] variantTypes = new VariantType[in.readInt()];
+            for (int i = 0; i < variantTypes.length; i++) {
+                variantTypes[i] = VariantType.valueOf(in.readUTF());
+            }
+            int numContigs = in.readInt();
+            List<ContigIndex> contigIndexes = new ArrayList<>();
+            for (int c = 0; c < numContigs; c++) {
+                int contigId = in.readInt();
+                int numRows = in.readInt();
+                int[] starts = readInts(in, numRows);
+                int[] ends = readInts(in, numRows);
+                int[] changeLengths = readInts(in, numRows);
+                byte[] types = new byte[numRows];
+                for (int i = 0; i < numRows; i++) {
+                    // map the file variant type index to the index of the current VariantType enum
+                    types[i] = (byte) variantTypes[in.readUnsignedByte()].ordinal();
+                }
+                byte[] data = new byte[in.readInt()];
+                in.readFully(data);
+                int[] dataOffsets = readInts(in, numRows + 1);
+                while (contigIndexes.size() <= contigId) {
+                    contigIndexes.add(null);
+                }
+                contigIndexes.set(contigId, new ContigIndex(starts, ends, changeLengths, types, data, dataOffsets));
+            }
+            SvIntervalIndex svIntervalIndex = new SvIntervalIndex(contigIndexes.toArray(ContigIndex[]::new));
+            logger.debug("Read {} SVs from {}", svIntervalIndex.size(), indexPath);
+            return svIntervalIndex;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read SV interval index from " + indexPath, e);
+        }
+    }
+
+    private static int[] readInts(DataInputStream in, int length) throws IOException {
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    public void write(Path indexPath) {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(indexPath))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(VARIANT_TYPES.length);
+            for (VariantType variantType : VARIANT_TYPES) {
+                out.writeUTF(variantType.name());
+            }
+            int numContigs = (int) Arrays.stream(contigIndexes).filter(Objects::nonNull).count();
+            out.writeInt(numContigs);
+            for (int contigId = 0; contigId < contigIndexes.length; contigId++) {
+                ContigIndex contigIndex = contigIndexes[contigId];
+                if (contigIndex == null) {
+                    continue;
+                }
+                out.writeInt(contigId);
+                out.writeInt(contigIndex.size());
+                writeInts(out, contigIndex.starts);
+                writeInts(out, contigIndex.ends);
+                writeInts(out, contigIndex.changeLengths);
+                out.write(contigIndex.variantTypes);
+                out.writeInt(contigIndex.data.length);
+                out.write(contigIndex.data);
+                writeInts(out, contigIndex.dataOffsets);
+            }
+            logger.debug("Wrote {} SVs to {}", size, indexPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write SV interval index to " + indexPath, e);
+        }
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    @FunctionalInterface
+    interface RowDataWriter {
+        void write(DataOutput out) throws IOException;
+    }
+
+    static void writeNullableUTF(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    static String readNullableUTF(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * A row of the SV table. The data holds the table-specific columns as written by the DAO which loaded the index.
+     */
+    record Entry(int start, int end, int changeLength, VariantType variantType, byte[] data) {
+
+        DataInputStream dataInput() {
+            return new DataInputStream(new ByteArrayInputStream(data));
+        }
+    }
+
+    private static final class ContigIndex {
+
+        private final int[] starts;
+        private final int[] ends;
+        private final int[] changeLengths;
+        private final byte[] variantTypes;
+        private final byte[] data;
+        private final int[] dataOffsets;
+        // min and max end position of each block of BLOCK_SIZE rows
+        private final int[] blockMinEnds;
+        private final int[] blockMaxEnds;
+
+        private ContigIndex(int[] starts, int[] ends, int[] changeLengths, byte[] variantTypes, byte[] data, int[] dataOffsets) {
+            this.starts = starts;
+            this.ends = ends;
+            this.changeLengths = changeLengths;
+            this.variantTypes = variantTypes;
+            this.data = data;
+            this.dataOffsets = dataOffsets;
+            int numBlocks = (starts.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+            this.blockMinEnds = new int[numBlocks];
+            this.blockMaxEnds = new int[numBlocks];
+            for (int block = 0; block < numBlocks; block++) {
+                int min = Integer.MAX_VALUE;
+                int max = Integer.MIN_VALUE;
+                for (int i = block * BLOCK_SIZE; i < Math.min(starts.length, (block + 1) * BLOCK_SIZE); i++) {
+                    min = Math.min(min, ends[i]);
+                    max = Math.max(max, ends[i]);
+                }
+                blockMinEnds[block] = min;
+                blockMaxEnds[block] = max;
+            }
+        }
+
+        private int size() {
+            return starts.length;
+        }
+
+        private List<Entry> findEntries(int startMin, int startMax, int endMin, int endMax) {
+            List<Entry> entries = new ArrayList<>();
+            int i = firstIndexWithStartAtLeast(startMin);
+            while (i < starts.length && starts[i] <= startMax) {
+                int block = i / BLOCK_SIZE;
+                int blockEnd = Math.min(starts.length, (block + 1) * BLOCK_SIZE);
+                if (blockMaxEnds[block] < endMin || blockMinEnds[block] > endMax) {
+                    i = blockEnd;
+                    continue;
+                }
+                for (; i < blockEnd && starts[i] <= startMax; i++) {
+                    if (ends[i] >= endMin && ends[i] <= endMax) {
+                        entries.add(entry(i));
+                    }
+                }
+            }
+            return entries;
+        }
+
+        private int firstIndexWithStartAtLeast(int position) {
+            int low = 0;
+            int high = starts.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] < position) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private Entry entry(int i) {
+            byte[] rowData = Arrays.copyOfRange(data, dataOffsets[i], dataOffsets[i + 1]);
+            return new Entry(starts[i], ends[i], changeLengths[i], VARIANT_TYPES[variantTypes[i]], rowData);
+        }
+    }
+
+    static final class Builder {
+
+        private final List<ContigBuilder> contigBuilders = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        private final ByteArrayOutputStream rowBytes = new ByteArrayOutputStream(64);
+        private final DataOutputStream rowOutput = new DataOutputStream(rowBytes);
+
+        /**
+         * Adds a row to the index, with the table-specific columns written to the data arena by the rowDataWriter.
+         */
+        Builder add(int contigId, int start, int end, int changeLength, VariantType variantType, RowDataWriter rowDataWriter) {
+            if (contigId < 0) {
+                throw new IllegalArgumentException("contigId must be positive");
+            }
+            while (contigBuilders.size() <= contigId) {
+                contigBuilders.add(null);
+            }
+            ContigBuilder contigBuilder = contigBuilders.get(contigId);
+            if (contigBuilder == null) {
+                contigBuilder = new ContigBuilder();
+                contigBuilders.set(contigId, contigBuilder);
+            }
+            rowBytes.reset();
+            try {
+                rowDataWriter.write(rowOutput);
+                rowOutput.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            contigBuilder.add(start, end, changeLength, variantType, rowBytes.toByteArray());
+            return this;
+        }
+
+        SvIntervalIndex build() {
+            ContigIndex[] contigIndexes = new ContigIndex[contigBuilders.size()];
+            for (int contigId = 0; contigId < contigIndexes.length; contigId++) {
+                ContigBuilder contigBuilder = contigBuilders.get(contigId);
+                contigIndexes[contigId] = contigBuilder == null ? null : contigBuilder.build();
+            }
+            return new SvIntervalIndex(contigIndexes);
+        }
+    }
+
+    private static final class ContigBuilder {
+
+        private int size = 0;
+        private int[] starts = new int[16];
+        private int[] ends = new int[16];
+        private int[] changeLengths = new int[16];
+        private byte[] variantTypes = new byte[16];
+        private int[] dataOffsets = new int[17];
+        private byte[] data = new byte[256];
+        private boolean sorted = true;
+
+        private void add(int start, int end, int changeLength, VariantType variantType, byte[] rowData) {
+            if (size == starts.length) {
+                int capacity = size * 2;
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                changeLengths = Arrays.copyOf(changeLengths, capacity);
+                variantTypes = Arrays.copyOf(variantTypes, capacity);
+                dataOffsets = Arrays.copyOf(dataOffsets, capacity + 1);
+            }
+            int dataOffset = dataOffsets[size];
+            if (dataOffset + rowData.length > data.length) {
+                data = Arrays.copyOf(data, Math.max(data.length * 2, dataOffset + rowData.length));
+            }
+            System.arraycopy(rowData, 0, data, dataOffset, rowData.length);
+            if (size > 0 && (starts[size - 1] > start || (starts[size - 1] == start && ends[size - 1] > end))) {
+                sorted = false;
+            }
+            starts[size] = start;
+            ends[size] = end;
+            changeLengths[size] = changeLength;
+            variantTypes[size] = (byte) variantType.ordinal();
+            dataOffsets[size + 1] = dataOffset + rowData.length;
+            size++;
+        }
+
+        private ContigIndex build() {
+            if (sorted) {
+                return new ContigIndex(Arrays.copyOf(starts, size), Arrays.copyOf(ends, size), Arrays.copyOf(changeLengths, size),
+                        Arrays.copyOf(variantTypes, size), Arrays.copyOf(data, dataOffsets[size]), Arrays.copyOf(dataOffsets, size + 1));
+            }
+            // stable sort so that rows with the same start and end keep the order in which they were added
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> starts[a] != starts[b] ? Integer.compare(starts[a], starts[b]) : Integer.compare(ends[a], ends[b]));
+            int[] sortedStarts = new int[size];
+            int[] sortedEnds = new int[size];
+            int[] sortedChangeLengths = new int[size];
+            byte[] sortedVariantTypes = new byte[size];
+            byte[] sortedData = new byte[dataOffsets[size]];
+            int[] sortedDataOffsets = new int[size + 1];
+            for (int i = 0; i < size; i++) {
+                int row = order[i];
+                sortedStarts[i] = starts[row];
+                sortedEnds[i] = ends[row];
+                sortedChangeLengths[i] = changeLengths[row];
+                sortedVariantTypes[i] = variantTypes[row];
+                int rowLength = dataOffsets[row + 1] - dataOffsets[row];
+                System.arraycopy(data, dataOffsets[row], sortedData, sortedDataOffsets[i], rowLength);
+                sortedDataOffsets[i + 1] = sortedDataOffsets[i] + rowLength;
+            }
+            return new ContigIndex(sortedStarts, sortedEnds, sortedChangeLengths, sortedVariantTypes, sortedData, sortedDataOffsets);
+        }
+    }
+}
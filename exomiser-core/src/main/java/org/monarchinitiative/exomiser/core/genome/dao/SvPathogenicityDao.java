@@ -33,6 +33,9 @@
 import org.springframework.cache.annotation.Caching;
 
 import javax.sql.DataSource;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -52,10 +55,23 @@ public class SvPathogenicityDao implements PathogenicityDao {
     private static final Logger logger = LoggerFactory.getLogger(SvPathogenicityDao.class);
 
     private final DataSource svDataSource;
+    private final SvIntervalIndex svIntervalIndex;
     private final double minSimilarity = 0.80;
 
     public SvPathogenicityDao(DataSource svDataSource) {
         this.svDataSource = svDataSource;
+        this.svIntervalIndex = null;
+    }
+
+    /**
+     * Creates an instance which searches the in-memory {@link SvIntervalIndex} of the SV_PATH table, as returned by
+     * {@link #loadIntervalIndex(DataSource)}, rather than querying the database for each variant.
+     *
+     * @since 15.0.0
+     */
+    public SvPathogenicityDao(SvIntervalIndex svIntervalIndex) {
+        this.svDataSource = null;
+        this.svIntervalIndex = svIntervalIndex;
     }
 
     @Caching(cacheable = {
@@ -65,7 +81,7 @@ public SvPathogenicityDao(DataSource svDataSource) {
     @Override
     public PathogenicityData getPathogenicityData(Variant variant) {
         logger.debug("{}", variant);
-        List<SvResult> results = runQuery(variant);
+        List<SvResult> results = svIntervalIndex == null ? runQuery(variant) : searchIndex(variant);
         results.forEach(svResult -> logger.debug("{}", svResult));
 
         Map<Double, List<SvResult>> resultsByScore = results.stream()
@@ -132,7 +148,8 @@ private List<SvResult> runQuery(Variant variant) {
                 "  and START <= ?\n" +
                 "  and \"end\" >= ?\n" +
                 "  and \"end\" <= ?\n" +
-                "  and CLIN_SIG != 'UNKNOWN';";
+                "  and CLIN_SIG != 'UNKNOWN'\n" +
+                "ORDER BY START, \"end\";";
 
         try (
                 Connection connection = svDataSource.getConnection();
@@ -183,24 +200,86 @@ private List<SvResult> processSvResults(ResultSet rs, Variant variant) throws SQ
             String clinSig = rs.getString("CLIN_SIG");
             String clinRevStat = rs.getString("CLIN_REV_STAT");
 
-            VariantType variantType = VariantType.valueOf(svType);
-            // n.b there are only 4 INS entries in the 2109 pathogenicity_sv table (all pathogenic), but the
-            // lengths all == 2, so there isn't any awkward changeLength fiddling required here.
-            if (SvMetaType.isEquivalent(variant.variantType(), variantType)) {
-                ClinVarData.ClinSig sig = ClinVarData.ClinSig.valueOf(clinSig);
-                ClinVarData.ReviewStatus reviewStatus = ClinVarData.ReviewStatus.valueOf(clinRevStat);
-                ClinVarData clinVarData = ClinVarData.builder()
-                        .variationId(variationId)
-                        .primaryInterpretation(sig)
-                        .reviewStatus(reviewStatus)
-                        .build();
-                SvResult svResult = SvResult.of(variant.contig(), start, end, length, variantType, source, id, clinVarData, variationId);
-                results.add(svResult);
+            addIfMatches(results, variant, start, end, length, VariantType.valueOf(svType), source, id, variationId, clinSig, clinRevStat);
+        }
+        return results;
+    }
+
+    private List<SvResult> searchIndex(Variant variant) {
+        SvDaoBoundaryCalculator svDaoBoundaryCalculator = new SvDaoBoundaryCalculator(variant, minSimilarity);
+        List<SvIntervalIndex.Entry> entries = svIntervalIndex.findEntries(variant.contigId(),
+                svDaoBoundaryCalculator.startMin(), svDaoBoundaryCalculator.startMax(),
+                svDaoBoundaryCalculator.endMin(), svDaoBoundaryCalculator.endMax());
+        List<SvResult> results = new ArrayList<>();
+        for (SvIntervalIndex.Entry entry : entries) {
+            try (DataInputStream in = entry.dataInput()) {
+                String source = SvIntervalIndex.readNullableUTF(in);
+                String id = SvIntervalIndex.readNullableUTF(in);
+                String variationId = SvIntervalIndex.readNullableUTF(in);
+                String clinSig = SvIntervalIndex.readNullableUTF(in);
+                String clinRevStat = SvIntervalIndex.readNullableUTF(in);
+                addIfMatches(results, variant, entry.start(), entry.end(), entry.changeLength(), entry.variantType(), source, id, variationId, clinSig, clinRevStat);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
         }
         return results;
     }
 
+    private void addIfMatches(List<SvResult> results, Variant variant, int start, int end, int length, VariantType variantType, String source, String id, String variationId, String clinSig, String clinRevStat) {
+        // n.b there are only 4 INS entries in the 2109 pathogenicity_sv table (all pathogenic), but the
+        // lengths all == 2, so there isn't any awkward changeLength fiddling required here.
+        if (SvMetaType.isEquivalent(variant.variantType(), variantType)) {
+            ClinVarData.ClinSig sig = ClinVarData.ClinSig.valueOf(clinSig);
+            ClinVarData.ReviewStatus reviewStatus = ClinVarData.ReviewStatus.valueOf(clinRevStat);
+            ClinVarData clinVarData = ClinVarData.builder()
+                    .variationId(variationId)
+                    .primaryInterpretation(sig)
+                    .reviewStatus(reviewStatus)
+                    .build();
+            SvResult svResult = SvResult.of(variant.contig(), start, end, length, variantType, source, id, clinVarData, variationId);
+            results.add(svResult);
+        }
+    }
+
+    /**
+     * Loads the SV_PATH table into an {@link SvIntervalIndex} for use with {@link #SvPathogenicityDao(SvIntervalIndex)}.
+     *
+     * @since 15.0.0
+     */
+    public static SvIntervalIndex loadIntervalIndex(DataSource svDataSource) {
+        String query = "SELECT CHROMOSOME, START, \"end\", CHANGE_LENGTH, VARIANT_TYPE, SOURCE, RCV_ID, VARIATION_ID, CLIN_SIG, CLIN_REV_STAT\n" +
+                "FROM SV_PATH\n" +
+                "WHERE CLIN_SIG != 'UNKNOWN'\n" +
+                "ORDER BY CHROMOSOME, START, \"end\";";
+        SvIntervalIndex.Builder builder = SvIntervalIndex.builder();
+        try (
+                Connection connection = svDataSource.getConnection();
+                PreparedStatement ps = connection.prepareStatement(query);
+                ResultSet rs = ps.executeQuery()
+        ) {
+            while (rs.next()) {
+                String source = rs.getString("SOURCE");
+                String id = rs.getString("RCV_ID");
+                String variationId = rs.getString("VARIATION_ID");
+                String clinSig = rs.getString("CLIN_SIG");
+                String clinRevStat = rs.getString("CLIN_REV_STAT");
+                builder.add(rs.getInt("CHROMOSOME"), rs.getInt("START"), rs.getInt("end"), rs.getInt("CHANGE_LENGTH"), VariantType.valueOf(rs.getString("VARIANT_TYPE")), out -> {
+                    SvIntervalIndex.writeNullableUTF(out, source);
+                    SvIntervalIndex.writeNullableUTF(out, id);
+                    SvIntervalIndex.writeNullableUTF(out, variationId);
+                    SvIntervalIndex.writeNullableUTF(out, clinSig);
+                    SvIntervalIndex.writeNullableUTF(out, clinRevStat);
+                });
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to load SV_PATH table", e);
+        }
+        SvIntervalIndex svIntervalIndex = builder.build();
+        logger.debug("Loaded {} SV_PATH rows", svIntervalIndex.size());
+        return svIntervalIndex;
+    }
+
     private static class SvResult extends BaseGenomicVariant<SvResult> {
 
         private final String source;
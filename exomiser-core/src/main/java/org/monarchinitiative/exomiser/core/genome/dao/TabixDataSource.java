@@ -39,4 +39,16 @@ public interface TabixDataSource extends Closeable {
 
     String getSource();
 
+    /**
+     * The {@link TabixReader.Iterator} returned from a query reads lazily from the underlying file. Unless this method
+     * returns true, a query and the consumption of the results must be done whilst holding the lock on this data
+     * source to prevent concurrent queries from interleaving reads from the same file.
+     *
+     * @return true if this data source can be queried and the results read concurrently from multiple threads.
+     * @since 15.0.0
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,161 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.genome.dao;
+
+import htsjdk.tribble.readers.TabixReader;
+import org.monarchinitiative.exomiser.core.model.Variant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Package private helper for 'merge-joining' a batch of variants against a tabix file of single-position records, such
+ * as CADD or REMM. The variants are sorted into coordinate order and grouped into runs on the same contig where the gap
+ * between one variant and the next is no more than {@code maxGap} bases. Each run is then resolved using a single
+ * tabix query and a forward-only sweep through the results, so neighbouring variants share the same index seek and
+ * decompressed BGZF block rather than each performing a fresh query. Where the gap to the next variant is larger than
+ * this a new query is made, which is equivalent to the random-access behaviour of a single variant look-up.
+ * <p>
+ * Tabix records are expected to have the contig in the first column and the 1-based position in the second column.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+final class TabixSweepQuery {
+
+    private static final Logger logger = LoggerFactory.getLogger(TabixSweepQuery.class);
+
+    private TabixSweepQuery() {
+        // static utility class
+    }
+
+    /**
+     * @param tabixDataSource the data source to query
+     * @param variants        variants to query, in any order
+     * @param maxGap          maximum distance between consecutive variants for them to share a single tabix query
+     * @param queryEnd        function returning the last position of the query for a variant
+     * @param resultMapper    maps the variant and the tabix lines between its start and queryEnd positions to a result
+     * @param emptyResult     result returned should the tabix file be unreadable
+     * @return a list of results in the same order as the input variants
+     */
+    static <T> List<T> query(TabixDataSource tabixDataSource, List<? extends Variant> variants, int maxGap, ToIntFunction<Variant> queryEnd, BiFunction<Variant, List<String>, T> resultMapper, T emptyResult) {
+        int size = variants.size();
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Comparator<Integer> coordinateOrder = Comparator.<Integer>comparingInt(i -> variants.get(i).contigId())
+                .thenComparingInt(i -> variants.get(i).start())
+                .thenComparingInt(i -> queryEnd.applyAsInt(variants.get(i)));
+        Arrays.sort(order, coordinateOrder);
+
+        List<T> results = new ArrayList<>(Collections.nCopies(size, emptyResult));
+        int runStart = 0;
+        while (runStart < size) {
+            Variant first = variants.get(order[runStart]);
+            int runEndPosition = queryEnd.applyAsInt(first);
+            int runEnd = runStart + 1;
+            while (runEnd < size) {
+                Variant next = variants.get(order[runEnd]);
+                if (next.contigId() != first.contigId() || next.start() - runEndPosition > maxGap) {
+                    break;
+                }
+                runEndPosition = Math.max(runEndPosition, queryEnd.applyAsInt(next));
+                runEnd++;
+            }
+            if (tabixDataSource.isThreadSafe()) {
+                sweepRun(tabixDataSource, variants, order, runStart, runEnd, runEndPosition, queryEnd, resultMapper, results);
+            } else {
+                synchronized (tabixDataSource) {
+                    sweepRun(tabixDataSource, variants, order, runStart, runEnd, runEndPosition, queryEnd, resultMapper, results);
+                }
+            }
+            runStart = runEnd;
+        }
+        return results;
+    }
+
+    private static <T> void sweepRun(TabixDataSource tabixDataSource, List<? extends Variant> variants, Integer[] order, int runStart, int runEnd, int runEndPosition, ToIntFunction<Variant> queryEnd, BiFunction<Variant, List<String>, T> resultMapper, List<T> results) {
+        Variant first = variants.get(order[runStart]);
+        try {
+            TabixReader.Iterator iterator = tabixDataSource.query(first.contigName(), first.start(), runEndPosition);
+            Deque<TabixRecord> window = new ArrayDeque<>();
+            boolean exhausted = false;
+            for (int i = runStart; i < runEnd; i++) {
+                Variant variant = variants.get(order[i]);
+                int start = variant.start();
+                int end = queryEnd.applyAsInt(variant);
+                // variants are sorted by start, so anything before this start can't be used again
+                while (!window.isEmpty() && window.peekFirst().position() < start) {
+                    window.pollFirst();
+                }
+                while (!exhausted && (window.isEmpty() || window.peekLast().position() <= end)) {
+                    String line = iterator.next();
+                    if (line == null) {
+                        exhausted = true;
+                    } else {
+                        window.addLast(new TabixRecord(parsePosition(line), line));
+                    }
+                }
+                List<String> lines = new ArrayList<>();
+                for (TabixRecord record : window) {
+                    if (record.position() > end) {
+                        break;
+                    }
+                    if (record.position() >= start) {
+                        lines.add(record.line());
+                    }
+                }
+                results.set(order[i], resultMapper.apply(variant, lines));
+            }
+        } catch (IOException e) {
+            logger.error("Unable to read from tabix file {}", tabixDataSource.getSource(), e);
+        }
+    }
+
+    private static int parsePosition(String line) {
+        int posStart = line.indexOf('\t') + 1;
+        int posEnd = line.indexOf('\t', posStart);
+        return Integer.parseInt(line, posStart, posEnd == -1 ? line.length() : posEnd, 10);
+    }
+
+    /**
+     * Returns the zero-based tab-delimited field from the line without splitting the whole line into an array.
+     */
+    static String field(String line, int fieldIndex) {
+        int start = 0;
+        for (int i = 0; i < fieldIndex; i++) {
+            start = line.indexOf('\t', start) + 1;
+            if (start == 0) {
+                throw new IndexOutOfBoundsException("Field " + fieldIndex + " not found in line: " + line);
+            }
+        }
+        int end = line.indexOf('\t', start);
+        return line.substring(start, end == -1 ? line.length() : end);
+    }
+
+    private record TabixRecord(int position, String line) {
+    }
+}
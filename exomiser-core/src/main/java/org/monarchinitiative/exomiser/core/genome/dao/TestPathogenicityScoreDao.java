@@ -86,6 +86,15 @@ private PathogenicityData processResults(Variant variant) {
     }
 
     private PathogenicityData getPositionPathogenicityData(String chromosome, int start, String ref, String alt) {
+        if (tabixDataSource.isThreadSafe()) {
+            return queryPositionPathogenicityData(chromosome, start, ref, alt);
+        }
+        synchronized (tabixDataSource) {
+            return queryPositionPathogenicityData(chromosome, start, ref, alt);
+        }
+    }
+
+    private PathogenicityData queryPositionPathogenicityData(String chromosome, int start, String ref, String alt) {
         // Test pathogenicity score file defined as tab-delimited lines in 'VCF-lite' format:
         // it is expected that the scores be normalised such that 0.0 is considered benign and 1.0 pathogenic.
         // chr   pos ref alt score (range 0.0-1.0)
@@ -0,0 +1,154 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.genome.dao;
+
+import htsjdk.tribble.readers.TabixReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.Path;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Thread-safe {@link TabixDataSource} which lazily opens a separate {@link TabixReader} for each thread querying the
+ * file. This allows several threads to query the same tabix file at the same time without contending for a single
+ * shared reader. The cost of this is that each reader will hold its own copy of the tabix index and block buffer, so
+ * the memory used will scale with the number of querying threads.
+ * <p>
+ * Threads in a pool can be retired and replaced over the life of the application, so each reader is tracked along with
+ * the thread which opened it. Whenever a new reader is opened, the readers of any threads which have since finished
+ * are closed, which keeps the number of open readers bounded by the number of live querying threads.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+public class ThreadLocalTabixDataSource implements TabixDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadLocalTabixDataSource.class);
+
+    private final String source;
+    private final Queue<ThreadDataSource> openedDataSources = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<TabixDataSource> threadDataSource;
+
+    /**
+     * @param tabixFile path to a bgzipped and tabix indexed file
+     * @throws IOException if the file or its index cannot be read.
+     */
+    public ThreadLocalTabixDataSource(Path tabixFile) throws IOException {
+        this.source = tabixFile.toAbsolutePath().toString();
+        // open one reader immediately so that any problems with the file are found on startup rather than at query time
+        TabixDataSource initialDataSource = openDataSource();
+        this.threadDataSource = ThreadLocal.withInitial(() -> {
+            try {
+                return openDataSource();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to open tabix file " + source, e);
+            }
+        });
+        this.threadDataSource.set(initialDataSource);
+    }
+
+    private TabixDataSource openDataSource() throws IOException {
+        closeFinishedThreadDataSources();
+        logger.debug("Opening new tabix reader for {} on thread {}", source, Thread.currentThread().getName());
+        TabixDataSource dataSource = new TabixReaderAdaptor(new TabixReader(source));
+        openedDataSources.add(new ThreadDataSource(new WeakReference<>(Thread.currentThread()), dataSource));
+        return dataSource;
+    }
+
+    /**
+     * Closes the readers opened by threads which have finished. These can no longer be reached through the
+     * {@link ThreadLocal}, so would otherwise hold their file handle until this data source is closed.
+     */
+    private void closeFinishedThreadDataSources() {
+        openedDataSources.removeIf(threadDataSource -> {
+            if (threadDataSource.isOwnerAlive()) {
+                return false;
+            }
+            logger.debug("Closing tabix reader for {} opened by finished thread", source);
+            closeQuietly(threadDataSource.dataSource());
+            return true;
+        });
+    }
+
+    private void closeQuietly(TabixDataSource dataSource) {
+        try {
+            dataSource.close();
+        } catch (IOException e) {
+            logger.warn("Unable to close tabix reader for {}", source, e);
+        }
+    }
+
+    /**
+     * @return the number of readers currently open.
+     */
+    int numOpenReaders() {
+        return openedDataSources.size();
+    }
+
+    /**
+     * @deprecated Unless you're 100% certain, use the method query(String chromosome, int start, int end) which will
+     * automatically translate the chromosome name to the internal tabix identifier. USING THIS METHOD MAY RESULT IN NO
+     * DATA BEING RETURNED DUE TO CHROMOSOME NAMING DIFFERENCES.
+     */
+    @Override
+    public TabixReader.Iterator query(String query) {
+        return threadDataSource.get().query(query);
+    }
+
+    @Override
+    public TabixReader.Iterator query(String chromosome, int start, int end) {
+        return threadDataSource.get().query(chromosome, start, end);
+    }
+
+    @Override
+    public String getSource() {
+        return source;
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
+    /**
+     * Closes the readers opened by all threads. This data source should not be used after it has been closed.
+     */
+    @Override
+    public void close() throws IOException {
+        ThreadDataSource threadDataSource;
+        while ((threadDataSource = openedDataSources.poll()) != null) {
+            threadDataSource.dataSource().close();
+        }
+    }
+
+    private record ThreadDataSource(WeakReference<Thread> owner, TabixDataSource dataSource) {
+
+        boolean isOwnerAlive() {
+            Thread thread = owner.get();
+            return thread != null && thread.isAlive();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.monarchinitiative.exomiser.core.genome.dao.serialisers;
+
+import com.google.protobuf.Parser;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.ClinVarGeneStats;
+
+/**
+ * @since 15.0.0
+ */
+public class ClinVarGeneStatsDataType extends ProtobufDataType<ClinVarGeneStats> {
+
+    public static final ClinVarGeneStatsDataType INSTANCE = new ClinVarGeneStatsDataType();
+
+    @Override
+    public int compare(ClinVarGeneStats a, ClinVarGeneStats b) {
+        if (a.equals(b)) {
+            return 0;
+        }
+        throw new UnsupportedOperationException("Unable to compare " + a + " with " + b);
+    }
+
+    @Override
+    public ClinVarGeneStats[] createStorage(int size) {
+        return new ClinVarGeneStats[size];
+    }
+
+    @Override
+    public Parser<ClinVarGeneStats> messageParser() {
+        return ClinVarGeneStats.parser();
+    }
+}
@@ -22,6 +22,7 @@
 
 import org.h2.mvstore.MVMap;
 import org.h2.mvstore.MVStore;
+import org.h2.mvstore.type.StringDataType;
 import org.monarchinitiative.exomiser.core.proto.AlleleProto;
 import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
 import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleProperties;
@@ -41,6 +42,7 @@ public class MvStoreUtil {
     private static final Logger logger = LoggerFactory.getLogger(MvStoreUtil.class);
     private static final String ALLELE_MAP_NAME = "alleles";
     private static final String CLINVAR_MAP_NAME = "clinvar";
+    private static final String CLINVAR_GENE_STATS_MAP_NAME = "clinvar_gene_stats";
 
     private MvStoreUtil() {
         //static utility class - not instantiable
@@ -70,6 +72,26 @@ public static MVMap<AlleleKey, AlleleProto.ClinVar> openClinVarMVMap(MVStore mvS
         return openMap(mvStore, CLINVAR_MAP_NAME, clinVarMapBuilder());
     }
 
+    /**
+     * Opens the 'clinvar_gene_stats' map of pre-computed ClinVar gene statistics from the {@link MVStore}. If the store
+     * does not already contain this map, a new one will be created and returned. Stores created before 15.0.0 will not
+     * contain this map, so use {@link #hasClinVarGeneStatsMVMap(MVStore)} to check before opening a read-only store.
+     *
+     * @param mvStore The {@code MVStore} to be used for the 'clinvar_gene_stats' {@link MVMap}
+     * @return an instance of the {@link MVMap}. This map may be empty.
+     * @since 15.0.0
+     */
+    public static MVMap<String, AlleleProto.ClinVarGeneStats> openClinVarGeneStatsMVMap(MVStore mvStore) {
+        return openMap(mvStore, CLINVAR_GENE_STATS_MAP_NAME, clinVarGeneStatsMapBuilder());
+    }
+
+    /**
+     * @since 15.0.0
+     */
+    public static boolean hasClinVarGeneStatsMVMap(MVStore mvStore) {
+        return mvStore.hasMap(CLINVAR_GENE_STATS_MAP_NAME);
+    }
+
     private static <K, V> MVMap<K, V> openMap(MVStore mvStore, String mapName, MVMap.Builder<K, V> mapBuilder) {
         Objects.requireNonNull(mvStore);
         if (!mvStore.hasMap(mapName)) {
@@ -93,4 +115,10 @@ public static MVMap.Builder<AlleleProto.AlleleKey, AlleleProto.ClinVar> clinVarM
                 .keyType(AlleleKeyDataType.INSTANCE)
                 .valueType(ClinVarDataType.INSTANCE);
     }
+
+    public static MVMap.Builder<String, AlleleProto.ClinVarGeneStats> clinVarGeneStatsMapBuilder() {
+        return new MVMap.Builder<String, AlleleProto.ClinVarGeneStats>()
+                .keyType(StringDataType.INSTANCE)
+                .valueType(ClinVarGeneStatsDataType.INSTANCE);
+    }
 }
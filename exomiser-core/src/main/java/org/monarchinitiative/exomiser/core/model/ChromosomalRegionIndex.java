@@ -20,8 +20,6 @@
 
 package org.monarchinitiative.exomiser.core.model;
 
-import de.charite.compbio.jannovar.impl.intervals.IntervalArray;
-import de.charite.compbio.jannovar.impl.intervals.IntervalEndExtractor;
 import org.monarchinitiative.svart.CoordinateSystem;
 import org.monarchinitiative.svart.Coordinates;
 import org.monarchinitiative.svart.GenomicVariant;
@@ -32,12 +30,13 @@
 import jakarta.annotation.Nonnull;
 import java.util.*;
 
-import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.toSet;
-
 /**
- * Interval tree-backed index for chromosomal regions. It enables extremely fast in-memory lookups to find the regions
- * in which a variant can be found.
+ * Immutable index for chromosomal regions. It enables extremely fast in-memory lookups to find the regions in which a
+ * variant can be found.
+ * <p>
+ * The regions for each chromosome are stored sorted by start position in primitive arrays of start and end positions
+ * along with a running maximum of the end positions. Overlap queries binary search for the last region starting
+ * before the end of the query and scan back until the running maximum end falls before the start of the query.
  *
  * @author Jules Jacobsen <jules.jacobsen@sanger.ac.uk>
  */
@@ -47,15 +46,15 @@
 
     private static final Logger logger = LoggerFactory.getLogger(ChromosomalRegionIndex.class);
 
-    private final Map<Integer, IntervalArray<T>> index;
+    private final Map<Integer, ContigRegions<T>> index;
 
-    private ChromosomalRegionIndex(Map<Integer, IntervalArray<T>> index) {
+    private ChromosomalRegionIndex(Map<Integer, ContigRegions<T>> index) {
         this.index = index;
     }
 
     /**
      * Static constructor for creating a {@link ChromosomalRegionIndex} from a collection of {@link ChromosomalRegion}
-     * objects of a given type.
+     * objects of a given type. Duplicate regions are only stored once.
      *
      * @param chromosomalRegions The {@link ChromosomalRegion} objects to add to the index
      * @param <T> The type of {@link ChromosomalRegion} this index contains
@@ -63,16 +62,21 @@ private ChromosomalRegionIndex(Map<Integer, IntervalArray<T>> index) {
      * @since 11.0.0
      */
     public static <T extends ChromosomalRegion> ChromosomalRegionIndex<T> of(Collection<T> chromosomalRegions) {
-        Map<Integer, Set<T>> regionIndex = chromosomalRegions.stream()
-                .collect(groupingBy(T::contigId, toSet()));
+        Map<Integer, Set<T>> regionIndex = new HashMap<>();
+        for (T region : chromosomalRegions) {
+            regionIndex.computeIfAbsent(region.contigId(), k -> new LinkedHashSet<>()).add(region);
+        }
 
-        Map<Integer, IntervalArray<T>> intervalTreeIndex = new HashMap<>();
+        Map<Integer, ContigRegions<T>> contigIndex = new HashMap<>();
+        int numRegions = 0;
         for (Map.Entry<Integer, Set<T>> entry : regionIndex.entrySet()) {
-            intervalTreeIndex.put(entry.getKey(), new IntervalArray<>(entry.getValue(), new ChromosomalRegionEndExtractor<>()));
+            ContigRegions<T> contigRegions = new ContigRegions<>(entry.getValue());
+            contigIndex.put(entry.getKey(), contigRegions);
+            numRegions += contigRegions.size();
         }
-        logger.debug("Created index for {} chromosomes totalling {} regions", intervalTreeIndex.keySet().size(), intervalTreeIndex.values().stream().mapToInt(IntervalArray::size).sum());
+        logger.debug("Created index for {} chromosomes totalling {} regions", contigIndex.size(), numRegions);
 
-        return new ChromosomalRegionIndex<>(intervalTreeIndex);
+        return new ChromosomalRegionIndex<>(Map.copyOf(contigIndex));
     }
 
     /**
@@ -140,13 +144,11 @@ public List<T> getRegionsOverlappingVariant(GenomicVariant variant) {
      */
     @Nonnull
     public List<T> getRegionsOverlappingPosition(int chromosome, int position) {
-        IntervalArray<T> intervalTree = index.get(chromosome);
-        if (intervalTree == null) {
+        ContigRegions<T> contigRegions = index.get(chromosome);
+        if (contigRegions == null) {
             return Collections.emptyList();
         }
-        IntervalArray<T>.QueryResult queryResult = intervalTree.findOverlappingWithPoint(position - 1);
-        List<T> entries = queryResult.getEntries();
-        return (entries == null) ? Collections.emptyList() : entries;
+        return contigRegions.findOverlapping(position - 1, position);
     }
 
     /**
@@ -159,13 +161,11 @@ public List<T> getRegionsOverlappingPosition(int chromosome, int position) {
      */
     @Nonnull
     public List<T> getRegionsOverlappingRegion(int chromosome, int start, int end) {
-        IntervalArray<T> intervalTree = index.get(chromosome);
-        if (intervalTree == null) {
+        ContigRegions<T> contigRegions = index.get(chromosome);
+        if (contigRegions == null) {
             return Collections.emptyList();
         }
-        IntervalArray<T>.QueryResult queryResult = intervalTree.findOverlappingWithInterval(start - 1, end);
-        List<T> entries = queryResult.getEntries();
-        return (entries == null) ? Collections.emptyList() : entries;
+        return contigRegions.findOverlapping(start - 1, end);
     }
 
     /**
@@ -174,7 +174,7 @@ public List<T> getRegionsOverlappingRegion(int chromosome, int start, int end) {
      * @since 11.0.0
      */
     public int size() {
-        return index.values().stream().mapToInt(IntervalArray::size).sum();
+        return index.values().stream().mapToInt(ContigRegions::size).sum();
     }
 
     @Override
@@ -190,16 +190,87 @@ public int hashCode() {
         return Objects.hash(index);
     }
 
-    private static class ChromosomalRegionEndExtractor<T extends ChromosomalRegion> implements IntervalEndExtractor<T> {
+    /**
+     * The regions on a single chromosome, sorted by start then end position. Positions are stored as zero-based,
+     * half-open intervals.
+     */
+    private static final class ContigRegions<T extends ChromosomalRegion> {
+
+        private final List<T> regions;
+        private final int[] begins;
+        private final int[] ends;
+        // maxEnds[i] is the maximum end of regions 0..i
+        private final int[] maxEnds;
+
+        private ContigRegions(Collection<T> contigRegions) {
+            List<T> sorted = new ArrayList<>(contigRegions);
+            sorted.sort(Comparator.<T>comparingInt(ChromosomalRegion::start).thenComparingInt(ChromosomalRegion::end));
+            this.regions = List.copyOf(sorted);
+            int size = regions.size();
+            this.begins = new int[size];
+            this.ends = new int[size];
+            this.maxEnds = new int[size];
+            int maxEnd = Integer.MIN_VALUE;
+            for (int i = 0; i < size; i++) {
+                T region = regions.get(i);
+                begins[i] = region.start() - 1;
+                ends[i] = region.end();
+                maxEnd = Math.max(maxEnd, ends[i]);
+                maxEnds[i] = maxEnd;
+            }
+        }
+
+        private int size() {
+            return regions.size();
+        }
+
+        /**
+         * Returns the regions overlapping the zero-based, half-open interval in order of their start position.
+         */
+        private List<T> findOverlapping(int begin, int end) {
+            // the regions from this index onwards all begin at or after the end of the query
+            int i = firstIndexBeginningAtOrAfter(end);
+            List<T> overlapping = null;
+            while (--i >= 0 && maxEnds[i] > begin) {
+                if (ends[i] > begin) {
+                    if (overlapping == null) {
+                        overlapping = new ArrayList<>();
+                    }
+                    overlapping.add(regions.get(i));
+                }
+            }
+            if (overlapping == null) {
+                return Collections.emptyList();
+            }
+            Collections.reverse(overlapping);
+            return overlapping;
+        }
+
+        private int firstIndexBeginningAtOrAfter(int position) {
+            int low = 0;
+            int high = begins.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (begins[mid] < position) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
 
         @Override
-        public int getBegin(T region) {
-            return region.start() - 1;
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ContigRegions<?> that = (ContigRegions<?>) o;
+            return regions.equals(that.regions);
         }
 
         @Override
-        public int getEnd(T region) {
-            return region.end();
+        public int hashCode() {
+            return regions.hashCode();
         }
     }
 
@@ -3,8 +3,10 @@
 import de.charite.compbio.jannovar.annotation.VariantEffect;
 import org.monarchinitiative.exomiser.core.model.pathogenicity.ClinVarData;
 
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.StringJoiner;
 
 import static de.charite.compbio.jannovar.annotation.VariantEffect.*;
@@ -43,6 +45,14 @@ public String geneSymbol() {
         return geneSymbol;
     }
 
+    /**
+     * @return The variant effects for which there are counts associated with this gene.
+     * @since 15.0.0
+     */
+    public Set<VariantEffect> variantEffects() {
+        return Collections.unmodifiableSet(clinVarCounts.keySet());
+    }
+
     /**
      * @return The sum of all pathogenic / likely pathogenic variants associated with this gene.
      */
@@ -256,6 +266,19 @@ public Builder put(VariantEffect variantEffect, ClinVarData.ClinSig clinSig) {
             return this;
         }
 
+        /**
+         * Adds the counts for the variant effect, for example when reading previously calculated statistics.
+         *
+         * @since 15.0.0
+         */
+        public Builder put(VariantEffect variantEffect, int pathCount, int vusCount, int benignCount) {
+            int[] counts = geneStats.computeIfAbsent(variantEffect, k -> new int[3]);
+            counts[PATH_INDEX] += pathCount;
+            counts[VUS_INDEX] += vusCount;
+            counts[BENIGN_INDEX] += benignCount;
+            return this;
+        }
+
         private static int getCountIndex(ClinVarData.ClinSig clinSig) {
             return switch (clinSig) {
                 case PATHOGENIC, PATHOGENIC_OR_LIKELY_PATHOGENIC, LIKELY_PATHOGENIC -> PATH_INDEX;
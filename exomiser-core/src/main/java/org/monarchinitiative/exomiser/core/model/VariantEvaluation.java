@@ -26,6 +26,7 @@
 import de.charite.compbio.jannovar.annotation.VariantEffect;
 import de.charite.compbio.jannovar.mendel.ModeOfInheritance;
 import htsjdk.variant.variantcontext.VariantContext;
+import jakarta.annotation.Nullable;
 import org.monarchinitiative.exomiser.core.filters.FilterResult;
 import org.monarchinitiative.exomiser.core.filters.FilterType;
 import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
@@ -54,8 +55,12 @@ public class VariantEvaluation extends AbstractVariant implements Comparable<Var
     private static final SampleData DEFAULT_SAMPLE_DATA = SampleData.of(SampleIdentifiers.defaultSample(), SampleGenotype.het());
     protected static final SampleGenotypes SINGLE_SAMPLE_DATA_HET_GENOTYPE = SampleGenotypes.of(DEFAULT_SAMPLE_DATA);
 
-    // HTSJDK {@link VariantContext} instance of this allele
+    // HTSJDK {@link VariantContext} instance of this allele. This will be null if the variant was created in compact
+    // mode, in which case the vcfRecordSummary will be present.
+    @Nullable
     private final VariantContext variantContext;
+    @Nullable
+    private final VcfRecordSummary vcfRecordSummary;
 
     // numeric index of the alternative allele in {@link #vc}.
     @JsonProperty
@@ -96,6 +101,7 @@ private VariantEvaluation(Builder builder) {
         this.geneSymbol = inputOrFirstValueInCommaSeparatedString((super.geneSymbol.isEmpty()) ? "." : super.geneSymbol);
 
         this.variantContext = builder.variantContext;
+        this.vcfRecordSummary = builder.vcfRecordSummary;
         this.altAlleleId = builder.altAlleleId;
         this.phredScore = builder.phredScore;
 
@@ -112,9 +118,10 @@ private VariantEvaluation(Builder builder) {
         this.pathogenicityData = builder.pathogenicityData;
     }
 
-    private VariantEvaluation(Contig contig, String id, Strand strand, Coordinates coordinates, String ref, String alt, int changeLength, GenomeAssembly genomeAssembly, String geneSymbol, String geneId, VariantEffect variantEffect, List<TranscriptAnnotation> annotations, VariantContext variantContext, int altAlleleId, double phredScore, SampleGenotypes sampleGenotypes, Set<FilterType> passedFilterTypes, Set<FilterType> failedFilterTypes, boolean whiteListed, FrequencyData frequencyData, PathogenicityData pathogenicityData, Set<ModeOfInheritance> contributingModes, Set<ModeOfInheritance> compatibleInheritanceModes) {
+    private VariantEvaluation(Contig contig, String id, Strand strand, Coordinates coordinates, String ref, String alt, int changeLength, GenomeAssembly genomeAssembly, String geneSymbol, String geneId, VariantEffect variantEffect, List<TranscriptAnnotation> annotations, @Nullable VariantContext variantContext, @Nullable VcfRecordSummary vcfRecordSummary, int altAlleleId, double phredScore, SampleGenotypes sampleGenotypes, Set<FilterType> passedFilterTypes, Set<FilterType> failedFilterTypes, boolean whiteListed, FrequencyData frequencyData, PathogenicityData pathogenicityData, Set<ModeOfInheritance> contributingModes, Set<ModeOfInheritance> compatibleInheritanceModes) {
         super(contig, id, strand, coordinates, ref, alt, changeLength, genomeAssembly, geneSymbol, geneId, variantEffect, annotations);
         this.variantContext = variantContext;
+        this.vcfRecordSummary = vcfRecordSummary;
         this.altAlleleId = altAlleleId;
         this.phredScore = phredScore;
         this.sampleGenotypes = sampleGenotypes;
@@ -130,7 +137,7 @@ private VariantEvaluation(Contig contig, String id, Strand strand, Coordinates c
 
     @Override
     protected VariantEvaluation newVariantInstance(Contig contig, String id, Strand strand, Coordinates coordinates, String ref, String alt, int changeLength, String mateId, String eventId) {
-        return new VariantEvaluation(contig, id, strand, coordinates, ref, alt, changeLength, genomeAssembly, geneSymbol, geneId, variantEffect, transcriptAnnotations, variantContext, altAlleleId, phredScore, sampleGenotypes, passedFilterTypes, failedFilterTypes, whiteListed, frequencyData, pathogenicityData, contributingModes, compatibleInheritanceModes);
+        return new VariantEvaluation(contig, id, strand, coordinates, ref, alt, changeLength, genomeAssembly, geneSymbol, geneId, variantEffect, transcriptAnnotations, variantContext, vcfRecordSummary, altAlleleId, phredScore, sampleGenotypes, passedFilterTypes, failedFilterTypes, whiteListed, frequencyData, pathogenicityData, contributingModes, compatibleInheritanceModes);
     }
 
     private String inputOrFirstValueInCommaSeparatedString(String geneSymbol) {
@@ -138,11 +145,51 @@ private String inputOrFirstValueInCommaSeparatedString(String geneSymbol) {
         return (commaIndex > -1) ? geneSymbol.substring(0, commaIndex) : geneSymbol;
     }
 
+    /**
+     * @return the HTSJDK {@link VariantContext} this variant was created from, or null if the variant was created in
+     * compact mode. In this case the original record can be re-read from the VCF using the
+     * {@link VcfRecordSummary#recordIndex()} of the {@link #vcfRecordSummary()}.
+     */
+    @Nullable
     @JsonIgnore
     public VariantContext variantContext() {
         return variantContext;
     }
 
+    /**
+     * Returns the {@link VcfRecordSummary} of the VCF record this variant was created from. If the variant retains the
+     * original {@link VariantContext} the summary will be extracted from this on each call, so callers which only need
+     * some of the samples should prefer to read these directly from the {@link #variantContext()} where available.
+     *
+     * @return the summary of the VCF record or an empty summary if the variant was not created from a VCF record.
+     * @since 15.0.0
+     */
+    @JsonIgnore
+    public VcfRecordSummary vcfRecordSummary() {
+        if (vcfRecordSummary != null) {
+            return vcfRecordSummary;
+        }
+        if (variantContext != null) {
+            return VcfRecordSummary.of(variantContext, VcfRecordSummary.NO_RECORD_INDEX);
+        }
+        return VcfRecordSummary.empty();
+    }
+
+    /**
+     * @return the state of the FILTER field of the VCF record this variant was created from.
+     * @since 15.0.0
+     */
+    @JsonIgnore
+    public VcfRecordSummary.FilterState vcfFilterState() {
+        if (vcfRecordSummary != null) {
+            return vcfRecordSummary.filterState();
+        }
+        if (variantContext != null) {
+            return VcfRecordSummary.FilterState.of(variantContext);
+        }
+        return VcfRecordSummary.FilterState.UNFILTERED;
+    }
+
     public int altAlleleId() {
         return altAlleleId;
     }
@@ -590,9 +637,15 @@ public String toString() {
      * @since 13.0.0
      */
     public VariantEvaluation.Builder toBuilder() {
-        return new Builder().variant(this)
+        Builder builder = new Builder().variant(this);
+        if (this.variantContext != null) {
+            builder.variantContext(this.variantContext);
+        }
+        if (this.vcfRecordSummary != null) {
+            builder.vcfRecordSummary(this.vcfRecordSummary);
+        }
+        return builder
                 // VariantContext-derived fields
-                .variantContext(this.variantContext)
                 .altAlleleId(this.altAlleleId)
                 .sampleGenotypes(this.sampleGenotypes)
                 .quality(this.phredScore)
@@ -628,6 +681,7 @@ public static class Builder extends AbstractVariant.Builder<Builder> {
 
         private double phredScore = 0;
         private VariantContext variantContext;
+        private VcfRecordSummary vcfRecordSummary;
         private int altAlleleId;
         private SampleGenotypes sampleGenotypes = SampleGenotypes.of();
 
@@ -645,6 +699,17 @@ public Builder variantContext(VariantContext variantContext) {
             return this;
         }
 
+        /**
+         * Sets the compact summary of the VCF record this variant was created from. This is used in place of the
+         * {@link VariantContext} when the variant is created in compact mode.
+         *
+         * @since 15.0.0
+         */
+        public Builder vcfRecordSummary(VcfRecordSummary vcfRecordSummary) {
+            this.vcfRecordSummary = Objects.requireNonNull(vcfRecordSummary);
+            return this;
+        }
+
         public Builder altAlleleId(int altAlleleId) {
             this.altAlleleId = altAlleleId;
             return this;
@@ -0,0 +1,294 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.model;
+
+import htsjdk.variant.variantcontext.Allele;
+import htsjdk.variant.variantcontext.Genotype;
+import htsjdk.variant.variantcontext.GenotypesContext;
+import htsjdk.variant.variantcontext.VariantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact summary of the parts of a VCF record used by the Exomiser filters once a {@link VariantEvaluation} has been
+ * created. This allows the HTSJDK {@link VariantContext}, which retains the entire parsed record including all the
+ * INFO fields and sample genotypes, to be discarded after the {@link VariantEvaluation} has been built. The original
+ * record can be recovered from the input VCF using the {@link #recordIndex()}, which is the zero-based position of the
+ * record in the file.
+ * <p>
+ * Per-sample values are stored in the same order as the sample genotypes of the record with -1 signifying a missing
+ * value.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+public final class VcfRecordSummary {
+
+    private static final Logger logger = LoggerFactory.getLogger(VcfRecordSummary.class);
+
+    public static final int NO_RECORD_INDEX = -1;
+    public static final int MISSING_VALUE = -1;
+
+    private static final VcfRecordSummary EMPTY = new VcfRecordSummary(NO_RECORD_INDEX, FilterState.UNFILTERED, new int[0], new int[0], new double[0], new boolean[0]);
+
+    /**
+     * State of the VCF FILTER field.
+     */
+    public enum FilterState {
+        // '.'
+        UNFILTERED,
+        // 'PASS'
+        PASSED,
+        // anything else
+        FAILED;
+
+        public static FilterState of(VariantContext variantContext) {
+            if (variantContext.filtersWereApplied()) {
+                return variantContext.isNotFiltered() ? PASSED : FAILED;
+            }
+            return UNFILTERED;
+        }
+    }
+
+    private final int recordIndex;
+    private final FilterState filterState;
+    private final int[] genotypeQualities;
+    private final int[] depths;
+    private final double[] alleleBalances;
+    private final boolean[] heterozygous;
+
+    private VcfRecordSummary(int recordIndex, FilterState filterState, int[] genotypeQualities, int[] depths, double[] alleleBalances, boolean[] heterozygous) {
+        this.recordIndex = recordIndex;
+        this.filterState = filterState;
+        this.genotypeQualities = genotypeQualities;
+        this.depths = depths;
+        this.alleleBalances = alleleBalances;
+        this.heterozygous = heterozygous;
+    }
+
+    public static VcfRecordSummary empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Extracts the summary values from the {@link VariantContext}.
+     *
+     * @param variantContext the record to summarise
+     * @param recordIndex    the zero-based index of the record in the VCF file, or {@link #NO_RECORD_INDEX} if this is
+     *                       not known
+     */
+    public static VcfRecordSummary of(VariantContext variantContext, int recordIndex) {
+        GenotypesContext genotypes = variantContext.getGenotypes();
+        int numSamples = variantContext.hasGenotypes() ? genotypes.size() : 0;
+        int[] genotypeQualities = new int[numSamples];
+        int[] depths = new int[numSamples];
+        double[] alleleBalances = new double[numSamples];
+        boolean[] heterozygous = new boolean[numSamples];
+        List<Allele> alleles = variantContext.getAlleles();
+        for (int i = 0; i < numSamples; i++) {
+            Genotype genotype = genotypes.get(i);
+            genotypeQualities[i] = genotype.hasGQ() ? genotype.getGQ() : MISSING_VALUE;
+            depths[i] = genotype.hasDP() ? genotype.getDP() : MISSING_VALUE;
+            alleleBalances[i] = calculateGenotypeAlleleBalance(genotype, alleles);
+            heterozygous[i] = genotype.isHet() || genotype.isHetNonRef();
+        }
+        return new VcfRecordSummary(recordIndex, FilterState.of(variantContext), genotypeQualities, depths, alleleBalances, heterozygous);
+    }
+
+    /**
+     * Calculates the allele balance of the genotype from the AD or, failing that, the Platypus NR and NV fields.
+     *
+     * @return the allele balance or {@link #MISSING_VALUE} if this cannot be calculated.
+     */
+    public static double calculateGenotypeAlleleBalance(Genotype genotype, List<Allele> allAlleles) {
+        // AB (allele balance) = alternate reads / (alternate reads + reference reads)
+        // AB = AD / DP (where AD needs to match the allele according to GT)
+        // ##INFO=<ID=AF,Number=A,Type=Float,Description="Allele Frequency, for each ALT allele, in the same order as listed">
+
+        // this is retarded, but the HTSJDK doesn't store the allele index of each allele, so the GT=0/1 1/1 0/2
+        // indexes are lost and need to be recalculated so that the AD for a specific allele can be found for
+        // multi-alleleic sites.
+        // create an ordered array of the alleles present in the genotype, as these are not stored
+        // e.g. 0/0 = [0,0], 1/0 or 0/1 = [0,1], 1/1 = [1,1], 1/2 = [1,2]...
+        int[] genotypeAlleleIndex = buildGenotypeAlleleIndex(genotype, allAlleles);
+
+        if (genotype.hasAD()) {
+            return calcABfromAD(genotype, genotypeAlleleIndex);
+        }
+        // Try using NV & NR (Platypus) AB = NV / NR
+        // https://github.com/andyrimmer/Platypus/blob/master/misc/README.txt
+        // NR Number of reads covering variant position in this sample
+        // NV Number of reads at variant position which support the called variant in this sample
+
+        // See also: https://github.com/andyrimmer/Platypus/issues/61#issuecomment-279744487 for multi-allelic sites
+        // "The NR and NV values are given for each allele, in the order which the alleles are listed in the ALT column.
+        // So the NR values will always be the same (number of reads supporting the reference), and the NV values will
+        // be different for each variant allele. These numbers are harder to interpret when you have e.g. repetitive
+        // indels because some reads could support either variant allele."
+        Map<String, Object> extendedAttributes = genotype.getExtendedAttributes();
+        if (extendedAttributes.containsKey("NR") && extendedAttributes.containsKey("NV")) {
+            String nrString = (String) extendedAttributes.get("NR");
+            String nvString = (String) extendedAttributes.get("NV");
+
+            var nvStrings = nvString.contains(",") ? nvString.split(",") : new String[]{nvString};
+            if (allAlleles.size() - 1 != (nvStrings.length)) {
+                logger.debug("FAIL allele count {} != NV count {}", allAlleles.size(), nvStrings.length);
+                // This case should FAIL as the number of ALT alleles doesn't match the genotype info, but we're using
+                //  this as a soft filter where we'll ignore incorrect or absent data to maximise recall at the
+                //  expense of some precision
+                return MISSING_VALUE;
+            }
+            // make a new AD-like array
+            int[] alleleDepths = new int[nvStrings.length + 1];
+            int nr = Integer.parseInt(nrString.contains(",") ? nrString.substring(0, nrString.indexOf(",")) : nrString);
+            alleleDepths[0] = nr;
+            for (int i = 0; i < nvStrings.length; i++) {
+                alleleDepths[i + 1] = Integer.parseInt(nvStrings[i]);
+            }
+
+//            int nv = alleleDepths[genotypeAlleleIndex[genotypeAlleleIndex.length - 1]];
+            int nv = 0;
+            for (int i = 1; i < alleleDepths.length; i++) {
+                nv += alleleDepths[i];
+            }
+            double ab = nv / Math.max(nr, 1.0);
+            logger.debug("NR={}, NV={}, AB={} for {}", nr, nv, ab, genotype);
+            return ab;
+        }
+        return MISSING_VALUE;
+    }
+
+    private static double calcABfromAD(Genotype genotype, int[] genotypeAlleleIndexes) {
+        int[] ad = genotype.getAD();
+        int numRefReads = ad[0];
+        // should this not be the sum of all alternate alleles?
+        int numAltReads = 0;
+        for (int i = 1; i < ad.length; i++) {
+            numAltReads += ad[i];
+        }
+        double ab = numAltReads / Math.max(numAltReads + (double) numRefReads, 1.0);
+        logger.debug("AD REF={}, AD ALT={}, AB={} for {}", numRefReads, numAltReads, ab, genotype);
+        return ab;
+    }
+
+    /**
+     * Builds an array representing indexes of alleles from the genotype in the list of all alleles.
+     * The resulting array is sorted to ensure a consistent order. For example, 0/1 or 1/0 or 1|0 will return the array
+     * [0, 1], a 1/2 or 2/1 genotype will return [1, 2].
+     *
+     * @param genotype the genotype containing the alleles to be indexed
+     * @param allAlleles the complete list of alleles from which the indexes are derived
+     * @return an array of indexes for each allele in the genotype, sorted in ascending order
+     */
+    private static int[] buildGenotypeAlleleIndex(Genotype genotype, List<Allele> allAlleles) {
+        List<Allele> genotypeAlleles = genotype.getAlleles();
+        // e.g. [1], [0, 0], [0, 1], [0, 2], [1, 1], [1, 2], [2, 2]
+        int[] alleleIndexes = new int[genotypeAlleles.size()];
+        for (int i = 0; i < genotypeAlleles.size(); i++) {
+            alleleIndexes[i] = allAlleles.indexOf(genotypeAlleles.get(i));
+        }
+        // ensure 1/0 is ordered as 0, 1
+        Arrays.sort(alleleIndexes);
+        return alleleIndexes;
+    }
+
+    /**
+     * @return the zero-based index of the record in the VCF file or {@link #NO_RECORD_INDEX} if this is not known.
+     */
+    public int recordIndex() {
+        return recordIndex;
+    }
+
+    public boolean hasRecordIndex() {
+        return recordIndex != NO_RECORD_INDEX;
+    }
+
+    public FilterState filterState() {
+        return filterState;
+    }
+
+    public int numSamples() {
+        return genotypeQualities.length;
+    }
+
+    /**
+     * @return the GQ of the sample or {@link #MISSING_VALUE} if absent
+     */
+    public int genotypeQuality(int sample) {
+        return genotypeQualities[sample];
+    }
+
+    /**
+     * @return the DP of the sample or {@link #MISSING_VALUE} if absent
+     */
+    public int depth(int sample) {
+        return depths[sample];
+    }
+
+    /**
+     * @return the allele balance of the sample calculated from the AD or NR/NV fields, or {@link #MISSING_VALUE} if
+     * this could not be calculated.
+     */
+    public double alleleBalance(int sample) {
+        return alleleBalances[sample];
+    }
+
+    /**
+     * @return true if the sample genotype is heterozygous, including het non-ref (e.g. 1/2) genotypes
+     */
+    public boolean isHeterozygous(int sample) {
+        return heterozygous[sample];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof VcfRecordSummary that)) return false;
+        return recordIndex == that.recordIndex && filterState == that.filterState && Arrays.equals(genotypeQualities, that.genotypeQualities) && Arrays.equals(depths, that.depths) && Arrays.equals(alleleBalances, that.alleleBalances) && Arrays.equals(heterozygous, that.heterozygous);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Integer.hashCode(recordIndex);
+        result = 31 * result + filterState.hashCode();
+        result = 31 * result + Arrays.hashCode(genotypeQualities);
+        result = 31 * result + Arrays.hashCode(depths);
+        result = 31 * result + Arrays.hashCode(alleleBalances);
+        result = 31 * result + Arrays.hashCode(heterozygous);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "VcfRecordSummary{" +
+                "recordIndex=" + recordIndex +
+                ", filterState=" + filterState +
+                ", genotypeQualities=" + Arrays.toString(genotypeQualities) +
+                ", depths=" + Arrays.toString(depths) +
+                ", alleleBalances=" + Arrays.toString(alleleBalances) +
+                ", heterozygous=" + Arrays.toString(heterozygous) +
+                '}';
+    }
+}
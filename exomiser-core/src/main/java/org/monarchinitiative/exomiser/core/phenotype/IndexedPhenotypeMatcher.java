@@ -0,0 +1,242 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.phenotype;
+
+import java.util.*;
+
+/**
+ * {@link PhenotypeMatcher} producing identical results to the {@link CrossSpeciesPhenotypeMatcher}, but optimised for
+ * scoring very large numbers of models against the same query.
+ * <p>
+ * On construction the matched query (HP) and organism (HP/MP/ZP) phenotype ids are interned to consecutive int indices
+ * and the {@link PhenotypeMatch} for each query-organism pair is stored in a dense matrix along with a parallel array
+ * of the match scores. Scoring a model then requires a single hash look-up per model phenotype id to find its index,
+ * after which the forward and reverse best matches are found by scanning the primitive score matrix. This replaces the
+ * concatenated-String key created and hashed for every query-model phenotype pair in the {@link CrossSpeciesPhenotypeMatcher}.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+class IndexedPhenotypeMatcher implements PhenotypeMatcher {
+
+    private static final double NO_MATCH = Double.NEGATIVE_INFINITY;
+
+    private final QueryPhenotypeMatch queryPhenotypeMatch;
+
+    private final int numQueryIds;
+    private final Map<String, Integer> organismPhenotypeIndex;
+    private final int numOrganismIds;
+    // row-major [query][organism] matrices
+    private final PhenotypeMatch[] matches;
+    private final double[] scores;
+
+    static IndexedPhenotypeMatcher of(Organism organism, Map<PhenotypeTerm, Set<PhenotypeMatch>> queryTermPhenotypeMatches) {
+        return of(new QueryPhenotypeMatch(organism, queryTermPhenotypeMatches));
+    }
+
+    static IndexedPhenotypeMatcher of(QueryPhenotypeMatch queryPhenotypeMatch) {
+        return new IndexedPhenotypeMatcher(queryPhenotypeMatch);
+    }
+
+    private IndexedPhenotypeMatcher(QueryPhenotypeMatch queryPhenotypeMatch) {
+        this.queryPhenotypeMatch = queryPhenotypeMatch;
+
+        // query ids are scored in natural order to match the ordering used by the CrossSpeciesPhenotypeMatcher
+        Set<String> matchedQueryPhenotypeIds = new TreeSet<>();
+        for (PhenotypeMatch bestMatch : queryPhenotypeMatch.getBestPhenotypeMatches()) {
+            matchedQueryPhenotypeIds.add(bestMatch.queryPhenotypeId());
+        }
+        Map<String, Integer> queryPhenotypeIndex = indexIds(matchedQueryPhenotypeIds);
+
+        Collection<Set<PhenotypeMatch>> termPhenotypeMatches = queryPhenotypeMatch.getQueryTermPhenotypeMatches().values();
+        Set<String> matchedOrganismPhenotypeIds = new TreeSet<>();
+        for (Set<PhenotypeMatch> phenotypeMatches : termPhenotypeMatches) {
+            for (PhenotypeMatch phenotypeMatch : phenotypeMatches) {
+                matchedOrganismPhenotypeIds.add(phenotypeMatch.matchPhenotypeId());
+            }
+        }
+        this.organismPhenotypeIndex = indexIds(matchedOrganismPhenotypeIds);
+
+        this.numQueryIds = queryPhenotypeIndex.size();
+        this.numOrganismIds = organismPhenotypeIndex.size();
+        this.matches = new PhenotypeMatch[numQueryIds * numOrganismIds];
+        this.scores = new double[numQueryIds * numOrganismIds];
+        Arrays.fill(scores, NO_MATCH);
+        for (Set<PhenotypeMatch> phenotypeMatches : termPhenotypeMatches) {
+            for (PhenotypeMatch phenotypeMatch : phenotypeMatches) {
+                Integer queryIndex = queryPhenotypeIndex.get(phenotypeMatch.queryPhenotypeId());
+                if (queryIndex != null) {
+                    int cell = queryIndex * numOrganismIds + organismPhenotypeIndex.get(phenotypeMatch.matchPhenotypeId());
+                    matches[cell] = phenotypeMatch;
+                    scores[cell] = phenotypeMatch.score();
+                }
+            }
+        }
+    }
+
+    private static Map<String, Integer> indexIds(Set<String> ids) {
+        Map<String, Integer> index = new HashMap<>(ids.size() * 2);
+        for (String id : ids) {
+            index.put(id, index.size());
+        }
+        return Map.copyOf(index);
+    }
+
+    @Override
+    public Organism getOrganism() {
+        return queryPhenotypeMatch.getOrganism();
+    }
+
+    @Override
+    public List<PhenotypeTerm> getQueryTerms() {
+        return queryPhenotypeMatch.getQueryTerms();
+    }
+
+    @Override
+    public Map<PhenotypeTerm, Set<PhenotypeMatch>> getTermPhenotypeMatches() {
+        return queryPhenotypeMatch.getQueryTermPhenotypeMatches();
+    }
+
+    @Override
+    public Set<PhenotypeMatch> getBestPhenotypeMatches() {
+        return queryPhenotypeMatch.getBestPhenotypeMatches();
+    }
+
+    @Override
+    public QueryPhenotypeMatch getQueryPhenotypeMatch() {
+        return queryPhenotypeMatch;
+    }
+
+    /**
+     * Calculates the best forward and reverse matches for a given set of model phenotypes against the sub-graph of matches
+     * for the query phenotypes against this organism. The best forward and reverse matches are not necessarily the same.
+     */
+    @Override
+    public PhenodigmMatchRawScore matchPhenotypeIds(List<String> modelPhenotypes) {
+        // Could be HP, MP or ZP id
+        List<String> matchedModelPhenotypeIds = new ArrayList<>();
+        int[] matchedModelIndices = new int[modelPhenotypes.size()];
+        for (String modelPhenotype : modelPhenotypes) {
+            Integer index = organismPhenotypeIndex.get(modelPhenotype);
+            if (index != null) {
+                matchedModelIndices[matchedModelPhenotypeIds.size()] = index;
+                matchedModelPhenotypeIds.add(modelPhenotype);
+            }
+        }
+        int numMatched = matchedModelPhenotypeIds.size();
+
+        BestMatches bestMatches = new BestMatches(numQueryIds);
+        // find forward matches: query-model
+        for (int queryIndex = 0; queryIndex < numQueryIds; queryIndex++) {
+            int rowOffset = queryIndex * numOrganismIds;
+            int bestCell = -1;
+            for (int i = 0; i < numMatched; i++) {
+                int cell = rowOffset + matchedModelIndices[i];
+                if (scores[cell] != NO_MATCH && (bestCell == -1 || scores[cell] > scores[bestCell])) {
+                    bestCell = cell;
+                }
+            }
+            bestMatches.add(bestCell, queryIndex);
+        }
+        // find reverse matches: model-query
+        for (int i = 0; i < numMatched; i++) {
+            int modelIndex = matchedModelIndices[i];
+            int bestCell = -1;
+            int bestQueryIndex = -1;
+            for (int queryIndex = 0; queryIndex < numQueryIds; queryIndex++) {
+                int cell = queryIndex * numOrganismIds + modelIndex;
+                if (scores[cell] != NO_MATCH && (bestCell == -1 || scores[cell] > scores[bestCell])) {
+                    bestCell = cell;
+                    bestQueryIndex = queryIndex;
+                }
+            }
+            bestMatches.add(bestCell, bestQueryIndex);
+        }
+
+        return new PhenodigmMatchRawScore(bestMatches.maxScore, bestMatches.sumScores, matchedModelPhenotypeIds, bestMatches.bestPhenotypeMatchesForTerms());
+    }
+
+    /**
+     * Accumulates the max and sum of the best forward and reverse match scores along with the best match for each query
+     * term, in the order the query terms were first matched.
+     */
+    private class BestMatches {
+
+        private final int[] bestCellForQuery;
+        private final int[] queryInsertionOrder;
+        private int numQueriesMatched = 0;
+        private double maxScore = 0;
+        private double sumScores = 0;
+
+        private BestMatches(int numQueryIds) {
+            this.bestCellForQuery = new int[numQueryIds];
+            Arrays.fill(bestCellForQuery, -1);
+            this.queryInsertionOrder = new int[numQueryIds];
+        }
+
+        private void add(int cell, int queryIndex) {
+            if (cell == -1) {
+                return;
+            }
+            double score = scores[cell];
+            if (score > 0) {
+                int currentBestCell = bestCellForQuery[queryIndex];
+                if (currentBestCell == -1) {
+                    queryInsertionOrder[numQueriesMatched++] = queryIndex;
+                    bestCellForQuery[queryIndex] = cell;
+                } else if (scores[currentBestCell] < score) {
+                    bestCellForQuery[queryIndex] = cell;
+                }
+                maxScore = Math.max(score, maxScore);
+                sumScores += score;
+            }
+        }
+
+        private List<PhenotypeMatch> bestPhenotypeMatchesForTerms() {
+            PhenotypeMatch[] bestPhenotypeMatches = new PhenotypeMatch[numQueriesMatched];
+            for (int i = 0; i < numQueriesMatched; i++) {
+                bestPhenotypeMatches[i] = matches[bestCellForQuery[queryInsertionOrder[i]]];
+            }
+            return List.of(bestPhenotypeMatches);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        IndexedPhenotypeMatcher that = (IndexedPhenotypeMatcher) o;
+        return Objects.equals(queryPhenotypeMatch, that.queryPhenotypeMatch);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(queryPhenotypeMatch);
+    }
+
+    @Override
+    public String toString() {
+        return "IndexedPhenotypeMatcher{" +
+                "organism=" + queryPhenotypeMatch.getOrganism() +
+                ", termPhenotypeMatches=" + queryPhenotypeMatch.getQueryTermPhenotypeMatches() +
+                '}';
+    }
+}
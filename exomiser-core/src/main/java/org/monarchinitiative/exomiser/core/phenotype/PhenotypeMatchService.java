@@ -69,7 +69,7 @@ private PhenotypeMatcher getOrganismPhenotypeMatcherFromTerms(List<PhenotypeTerm
             Set<PhenotypeMatch> termMatches = getSpeciesMatchesForHpoTerm(hpoTerm, organism);
             speciesPhenotypeMatches.put(hpoTerm, termMatches);
         }
-        return CrossSpeciesPhenotypeMatcher.of(organism, speciesPhenotypeMatches);
+        return IndexedPhenotypeMatcher.of(organism, speciesPhenotypeMatches);
     }
 
     public List<PhenotypeTerm> makePhenotypeTermsFromHpoIds(List<String> hpoIds) {
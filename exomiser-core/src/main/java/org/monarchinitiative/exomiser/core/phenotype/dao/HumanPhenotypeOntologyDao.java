@@ -91,6 +91,22 @@ public Set<PhenotypeMatch> getPhenotypeMatchesForHpoTerm(PhenotypeTerm hpoTerm)
         return Collections.emptySet();
     }
 
+    @Override
+    public PhenotypeMappings getAllPhenotypeMappings() {
+        String mappingQuery = "SELECT hp_id AS query_id, simj, ic, score, hp_id_hit AS hit_id, hp_hit_term AS hit_term, lcs_id, lcs_term FROM hp_hp_mappings";
+        try (
+                Connection connection = dataSource.getConnection();
+                PreparedStatement ps = connection.prepareStatement(mappingQuery);
+                ResultSet rs = ps.executeQuery()) {
+
+            return OntologyDaoResultSetProcessor.processOntologyTermMappingsResultSet(rs);
+
+        } catch (SQLException e) {
+            logger.error("Unable to execute query '{}' for all HP-HP match terms", mappingQuery, e);
+        }
+        return PhenotypeMappings.empty();
+    }
+
     public Map<String, PhenotypeTerm> getIdToPhenotypeTerms() {
         String query =
                 """
@@ -89,4 +89,20 @@ public Set<PhenotypeMatch> getPhenotypeMatchesForHpoTerm(PhenotypeTerm hpoTerm)
         return Collections.emptySet();
     }
 
+    @Override
+    public PhenotypeMappings getAllPhenotypeMappings() {
+        String mappingQuery = "SELECT hp_id AS query_id, simj, ic, score, mp_id AS hit_id, mp_term AS hit_term, lcs_id, lcs_term FROM hp_mp_mappings";
+        try (
+                Connection connection = dataSource.getConnection();
+                PreparedStatement ps = connection.prepareStatement(mappingQuery);
+                ResultSet rs = ps.executeQuery()) {
+
+            return OntologyDaoResultSetProcessor.processOntologyTermMappingsResultSet(rs);
+
+        } catch (SQLException e) {
+            logger.error("Unable to execute query '{}' for all HP-MP match terms", mappingQuery, e);
+        }
+        return PhenotypeMappings.empty();
+    }
+
 }
@@ -39,4 +39,11 @@ public interface OntologyDao {
     Set<PhenotypeTerm> getAllTerms();
 
     Set<PhenotypeMatch> getPhenotypeMatchesForHpoTerm(PhenotypeTerm hpoTerm);
+
+    /**
+     * Loads the entire mappings table for preloading into memory.
+     *
+     * @since 15.0.0
+     */
+    PhenotypeMappings getAllPhenotypeMappings();
 }
@@ -31,6 +31,8 @@
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -83,4 +85,23 @@ static Set<PhenotypeMatch> processOntologyTermMatchResultSet(ResultSet rs, Pheno
         return phenotypeMatches.build();
     }
 
+    static PhenotypeMappings processOntologyTermMappingsResultSet(ResultSet rs) throws SQLException {
+        PhenotypeMappings.Builder phenotypeMappings = PhenotypeMappings.builder();
+        // avoid creating lots of duplicate terms - these are referenced by many rows
+        Map<String, PhenotypeTerm> terms = new HashMap<>();
+        while (rs.next()) {
+            String queryId = rs.getString("query_id");
+            String matchId = rs.getString("hit_id");
+            String matchTerm = rs.getString("hit_term");
+            PhenotypeTerm matchPhenotype = terms.computeIfAbsent(matchId, key -> PhenotypeTerm.of(matchId, matchTerm));
+
+            String lcsId = rs.getString("lcs_id");
+            String lcsTerm = rs.getString("lcs_term");
+            PhenotypeTerm lcsPhenotype = terms.computeIfAbsent(lcsId, key -> PhenotypeTerm.of(lcsId, lcsTerm));
+
+            phenotypeMappings.add(queryId, matchPhenotype, lcsPhenotype, rs.getDouble("simj"), rs.getDouble("ic"), rs.getDouble("score"));
+        }
+        return phenotypeMappings.build();
+    }
+
 }
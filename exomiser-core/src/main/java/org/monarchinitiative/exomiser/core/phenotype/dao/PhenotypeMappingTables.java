@@ -0,0 +1,111 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.core.phenotype.dao;
+
+import jakarta.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * The HP-HP, HP-MP and HP-ZP {@link PhenotypeMappings} preloaded into memory from the phenotype database. These are
+ * used by the {@link org.monarchinitiative.exomiser.core.phenotype.service.OntologyServiceImpl} in place of querying
+ * the database for each query term.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+public record PhenotypeMappingTables(PhenotypeMappings hpHpMappings, PhenotypeMappings hpMpMappings, PhenotypeMappings hpZpMappings) {
+
+    private static final Logger logger = LoggerFactory.getLogger(PhenotypeMappingTables.class);
+
+    public PhenotypeMappingTables {
+        Objects.requireNonNull(hpHpMappings);
+        Objects.requireNonNull(hpMpMappings);
+        Objects.requireNonNull(hpZpMappings);
+    }
+
+    /**
+     * Loads the mappings tables from the database, or from the snapshot files in the snapshot directory if these are
+     * present. Tables loaded from the database are written to the snapshot directory so that these can be read more
+     * quickly the next time.
+     *
+     * @param snapshotDirectory optional directory containing the {@link PhenotypeMappings} snapshot files.
+     */
+    public static PhenotypeMappingTables load(HumanPhenotypeOntologyDao hpoDao, MousePhenotypeOntologyDao mpoDao, ZebraFishPhenotypeOntologyDao zpoDao, @Nullable Path snapshotDirectory) {
+        PhenotypeMappings hpHpMappings = load("hp_hp_mappings", hpoDao::getAllPhenotypeMappings, snapshotDirectory);
+        PhenotypeMappings hpMpMappings = load("hp_mp_mappings", mpoDao::getAllPhenotypeMappings, snapshotDirectory);
+        PhenotypeMappings hpZpMappings = load("hp_zp_mappings", zpoDao::getAllPhenotypeMappings, snapshotDirectory);
+        return new PhenotypeMappingTables(hpHpMappings, hpMpMappings, hpZpMappings);
+    }
+
+    static Path snapshotPath(Path snapshotDirectory, String tableName) {
+        return snapshotDirectory.resolve(tableName + ".bin.gz");
+    }
+
+    private static PhenotypeMappings load(String tableName, Supplier<PhenotypeMappings> databaseLoader, @Nullable Path snapshotDirectory) {
+        if (snapshotDirectory == null) {
+            return loadFromDatabase(tableName, databaseLoader);
+        }
+        Path snapshotPath = snapshotPath(snapshotDirectory, tableName);
+        if (Files.exists(snapshotPath)) {
+            logger.debug("Loading {} from {}", tableName, snapshotPath);
+            return PhenotypeMappings.read(snapshotPath);
+        }
+        PhenotypeMappings phenotypeMappings = loadFromDatabase(tableName, databaseLoader);
+        // an empty table is most likely due to an old database schema or error, so don't persist this
+        if (phenotypeMappings.size() > 0) {
+            writeSnapshot(phenotypeMappings, snapshotPath);
+        }
+        return phenotypeMappings;
+    }
+
+    private static PhenotypeMappings loadFromDatabase(String tableName, Supplier<PhenotypeMappings> databaseLoader) {
+        logger.debug("Loading {} from database", tableName);
+        PhenotypeMappings phenotypeMappings = databaseLoader.get();
+        logger.debug("Loaded {}", phenotypeMappings);
+        return phenotypeMappings;
+    }
+
+    private static void writeSnapshot(PhenotypeMappings phenotypeMappings, Path snapshotPath) {
+        try {
+            // write to a temporary file first so that a failed write cannot leave a corrupt snapshot behind
+            Path tempPath = Files.createTempFile(snapshotPath.getParent(), snapshotPath.getFileName().toString(), ".tmp");
+            try {
+                phenotypeMappings.write(tempPath);
+                Files.move(tempPath, snapshotPath, StandardCopyOption.ATOMIC_MOVE);
+                logger.info("Wrote phenotype mappings snapshot {}", snapshotPath);
+            } finally {
+                Files.deleteIfExists(tempPath);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Unable to write phenotype mappings snapshot {} - {}", snapshotPath, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.core.phenotype.dao;
+
+import com.google.common.collect.ImmutableSet;
+import org.monarchinitiative.exomiser.core.phenotype.PhenotypeMatch;
+import org.monarchinitiative.exomiser.core.phenotype.PhenotypeTerm;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-memory copy of one of the hp_hp_mappings, hp_mp_mappings or hp_zp_mappings tables, so that the
+ * {@link PhenotypeMatch} for a query HPO term can be found without querying the database.
+ * <p>
+ * The rows are held in columnar primitive arrays, grouped by query term id, with the hit and LCS terms stored once in
+ * a shared dictionary and referenced by index. The rows for a query term are therefore a contiguous slice of the
+ * arrays found by a binary search of the sorted query ids.
+ * <p>
+ * The mappings can be stored as a compact gzipped binary snapshot file with the format:
+ * <pre>
+ *     int     magic number 'EXPM'
+ *     int     format version
+ *     int     number of terms, followed by the id and label of each term
+ *     int     number of query terms, followed by the id and number of rows of each query term
+ *     int     number of rows, followed by the hit term index, lcs term index, simj, ic and score of each row
+ * </pre>
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+public final class PhenotypeMappings {
+
+    private static final Logger logger = LoggerFactory.getLogger(PhenotypeMappings.class);
+
+    static final int MAGIC = 0x4558504d;
+    static final int VERSION = 1;
+
+    private static final PhenotypeMappings EMPTY = new PhenotypeMappings(new String[0], new int[1], new PhenotypeTerm[0], new int[0], new int[0], new double[0], new double[0], new double[0]);
+
+    // sorted query term ids, the rows for queryIds[i] are in the range offsets[i] to offsets[i + 1]
+    private final String[] queryIds;
+    private final int[] offsets;
+
+    private final PhenotypeTerm[] terms;
+    private final int[] hitTerms;
+    private final int[] lcsTerms;
+    private final double[] simJs;
+    private final double[] ics;
+    private final double[] scores;
+
+    private PhenotypeMappings(String[] queryIds, int[] offsets, PhenotypeTerm[] terms, int[] hitTerms, int[] lcsTerms, double[] simJs, double[] ics, double[] scores) {
+        this.queryIds = queryIds;
+        this.offsets = offsets;
+        this.terms = terms;
+        this.hitTerms = hitTerms;
+        this.lcsTerms = lcsTerms;
+        this.simJs = simJs;
+        this.ics = ics;
+        this.scores = scores;
+    }
+
+    public static PhenotypeMappings empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @return the total number of query term to hit term mappings.
+     */
+    public int size() {
+        return hitTerms.length;
+    }
+
+    public int numQueryTerms() {
+        return queryIds.length;
+    }
+
+    /**
+     * Returns the matches for the query term in the same order as these were added to the {@link Builder}. This is
+     * equivalent to {@link OntologyDao#getPhenotypeMatchesForHpoTerm(PhenotypeTerm)}.
+     */
+    public Set<PhenotypeMatch> getPhenotypeMatchesForHpoTerm(PhenotypeTerm hpoTerm) {
+        int queryIndex = Arrays.binarySearch(queryIds, hpoTerm.id());
+        if (queryIndex < 0) {
+            return Set.of();
+        }
+        ImmutableSet.Builder<PhenotypeMatch> phenotypeMatches = ImmutableSet.builderWithExpectedSize(offsets[queryIndex + 1] - offsets[queryIndex]);
+        for (int row = offsets[queryIndex]; row < offsets[queryIndex + 1]; row++) {
+            phenotypeMatches.add(PhenotypeMatch.builder()
+                    .query(hpoTerm)
+                    .match(terms[hitTerms[row]])
+                    .lcs(terms[lcsTerms[row]])
+                    .simj(simJs[row])
+                    .ic(ics[row])
+                    .score(scores[row])
+                    .build());
+        }
+        return phenotypeMatches.build();
+    }
+
+    public static PhenotypeMappings read(Path snapshotPath) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(snapshotPath))))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a version " + VERSION + " phenotype mappings snapshot file");
+            }
+            PhenotypeTerm[] terms = new PhenotypeTerm[in.readInt()];
+            for (int i = 0; i < terms.length; i++) {
+                terms[i] = PhenotypeTerm.of(in.readUTF(), in.readUTF());
+            }
+            String[] queryIds = new String[in.readInt()];
+            int[] offsets = new int[queryIds.length + 1];
+            for (int i = 0; i < queryIds.length; i++) {
+                queryIds[i] = in.readUTF();
+                offsets[i + 1] = offsets[i] + in.readInt();
+            }
+            int numRows = in.readInt();
+            if (numRows != offsets[queryIds.length]) {
+                throw new IOException("Expected " + offsets[queryIds.length] + " rows but found " + numRows);
+            }
+            int[] hitTerms = new int[numRows];
+            int[] lcsTerms = new int[numRows];
+            double[] simJs = new double[numRows];
+            double[] ics = new double[numRows];
+            double[] scores = new double[numRows];
+            for (int row = 0; row < numRows; row++) {
+                hitTerms[row] = in.readInt();
+                lcsTerms[row] = in.readInt();
+                simJs[row] = in.readDouble();
+                ics[row] = in.readDouble();
+                scores[row] = in.readDouble();
+            }
+            logger.debug("Read {} mappings for {} query terms from {}", numRows, queryIds.length, snapshotPath);
+            return new PhenotypeMappings(queryIds, offsets, terms, hitTerms, lcsTerms, simJs, ics, scores);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read phenotype mappings snapshot from " + snapshotPath, e);
+        }
+    }
+
+    public void write(Path snapshotPath) {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(snapshotPath))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(terms.length);
+            for (PhenotypeTerm term : terms) {
+                out.writeUTF(term.id());
+                out.writeUTF(term.label());
+            }
+            out.writeInt(queryIds.length);
+            for (int i = 0; i < queryIds.length; i++) {
+                out.writeUTF(queryIds[i]);
+                out.writeInt(offsets[i + 1] - offsets[i]);
+            }
+            out.writeInt(hitTerms.length);
+            for (int row = 0; row < hitTerms.length; row++) {
+                out.writeInt(hitTerms[row]);
+                out.writeInt(lcsTerms[row]);
+                out.writeDouble(simJs[row]);
+                out.writeDouble(ics[row]);
+                out.writeDouble(scores[row]);
+            }
+            logger.debug("Wrote {} mappings for {} query terms to {}", hitTerms.length, queryIds.length, snapshotPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write phenotype mappings snapshot to " + snapshotPath, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PhenotypeMappings{" +
+                "numQueryTerms=" + queryIds.length +
+                ", size=" + hitTerms.length +
+                '}';
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Collects the rows of a mappings table. The rows do not need to be grouped by query term id.
+     */
+    public static class Builder {
+
+        private final Map<String, Integer> queryIdIndex = new HashMap<>();
+        private final Map<PhenotypeTerm, Integer> termIndex = new HashMap<>();
+        private final List<PhenotypeTerm> terms = new ArrayList<>();
+
+        private int size = 0;
+        private int[] queryTerms = new int[1024];
+        private int[] hitTerms = new int[1024];
+        private int[] lcsTerms = new int[1024];
+        private double[] simJs = new double[1024];
+        private double[] ics = new double[1024];
+        private double[] scores = new double[1024];
+
+        private Builder() {
+        }
+
+        public Builder add(String queryId, PhenotypeTerm matchPhenotype, PhenotypeTerm lcs, double simJ, double ic, double score) {
+            if (size == hitTerms.length) {
+                int newCapacity = size * 2;
+                queryTerms = Arrays.copyOf(queryTerms, newCapacity);
+                hitTerms = Arrays.copyOf(hitTerms, newCapacity);
+                lcsTerms = Arrays.copyOf(lcsTerms, newCapacity);
+                simJs = Arrays.copyOf(simJs, newCapacity);
+                ics = Arrays.copyOf(ics, newCapacity);
+                scores = Arrays.copyOf(scores, newCapacity);
+            }
+            queryTerms[size] = queryIdIndex.computeIfAbsent(queryId, key -> queryIdIndex.size());
+            hitTerms[size] = indexOf(matchPhenotype);
+            lcsTerms[size] = indexOf(lcs);
+            simJs[size] = simJ;
+            ics[size] = ic;
+            scores[size] = score;
+            size++;
+            return this;
+        }
+
+        private int indexOf(PhenotypeTerm phenotypeTerm) {
+            Integer index = termIndex.get(phenotypeTerm);
+            if (index == null) {
+                index = terms.size();
+                termIndex.put(phenotypeTerm, index);
+                terms.add(phenotypeTerm);
+            }
+            return index;
+        }
+
+        public PhenotypeMappings build() {
+            String[] queryIds = queryIdIndex.keySet().toArray(String[]::new);
+            Arrays.sort(queryIds);
+            // counting sort of the rows into query id order, keeping the order of the rows for each query id
+            int[] sortedPosition = new int[queryIds.length];
+            for (int i = 0; i < queryIds.length; i++) {
+                sortedPosition[queryIdIndex.get(queryIds[i])] = i;
+            }
+            int[] offsets = new int[queryIds.length + 1];
+            for (int row = 0; row < size; row++) {
+                offsets[sortedPosition[queryTerms[row]] + 1]++;
+            }
+            for (int i = 0; i < queryIds.length; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+            int[] next = Arrays.copyOf(offsets, queryIds.length);
+            int[] sortedHitTerms = new int[size];
+            int[] sortedLcsTerms = new int[size];
+            double[] sortedSimJs = new double[size];
+            double[] sortedIcs = new double[size];
+            double[] sortedScores = new double[size];
+            for (int row = 0; row < size; row++) {
+                int sortedRow = next[sortedPosition[queryTerms[row]]]++;
+                sortedHitTerms[sortedRow] = hitTerms[row];
+                sortedLcsTerms[sortedRow] = lcsTerms[row];
+                sortedSimJs[sortedRow] = simJs[row];
+                sortedIcs[sortedRow] = ics[row];
+                sortedScores[sortedRow] = scores[row];
+            }
+            return new PhenotypeMappings(queryIds, offsets, terms.toArray(PhenotypeTerm[]::new), sortedHitTerms, sortedLcsTerms, sortedSimJs, sortedIcs, sortedScores);
+        }
+    }
+}
@@ -29,6 +29,7 @@
 import org.monarchinitiative.exomiser.core.phenotype.PhenotypeTerm;
 import org.monarchinitiative.exomiser.core.phenotype.dao.HumanPhenotypeOntologyDao;
 import org.monarchinitiative.exomiser.core.phenotype.dao.MousePhenotypeOntologyDao;
+import org.monarchinitiative.exomiser.core.phenotype.dao.PhenotypeMappingTables;
 import org.monarchinitiative.exomiser.core.phenotype.dao.ZebraFishPhenotypeOntologyDao;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +37,7 @@
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.Nullable;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -45,6 +47,9 @@
 /**
  * Service for retrieving phenotype data from the database for use by the
  * prioritisers. This class is complemented by the PriorityService. 
+ * <p>
+ * If a {@link PhenotypeMappingTables} is supplied the HP, MP and ZP matches for a query term are looked up from these
+ * in-memory tables, otherwise they are queried from the database.
  *
  * @author Jules Jacobsen <jules.jacobsen@sanger.ac.uk>
  */
@@ -57,13 +62,25 @@ public class OntologyServiceImpl implements OntologyService {
     private final MousePhenotypeOntologyDao mpoDao;
     private final ZebraFishPhenotypeOntologyDao zpoDao;
 
+    @Nullable
+    private final PhenotypeMappingTables phenotypeMappingTables;
+
     private final HpoIdChecker hpoIdChecker;
 
-    @Autowired
     public OntologyServiceImpl(HumanPhenotypeOntologyDao hpoDao, MousePhenotypeOntologyDao mpoDao, ZebraFishPhenotypeOntologyDao zpoDao) {
+        this(hpoDao, mpoDao, zpoDao, null);
+    }
+
+    /**
+     * @param phenotypeMappingTables optional preloaded mappings to use in place of querying the database.
+     * @since 15.0.0
+     */
+    @Autowired
+    public OntologyServiceImpl(HumanPhenotypeOntologyDao hpoDao, MousePhenotypeOntologyDao mpoDao, ZebraFishPhenotypeOntologyDao zpoDao, @Nullable PhenotypeMappingTables phenotypeMappingTables) {
         this.hpoDao = hpoDao;
         this.mpoDao = mpoDao;
         this.zpoDao = zpoDao;
+        this.phenotypeMappingTables = phenotypeMappingTables;
 
         Map<String, PhenotypeTerm> hpAltIds = setUpHpoAltIds();
         this.hpoIdChecker = HpoIdChecker.of(hpAltIds);
@@ -105,16 +122,25 @@ public Set<PhenotypeTerm> getZpoTerms() {
 
     @Override
     public Set<PhenotypeMatch> getHpoMatchesForHpoTerm(PhenotypeTerm hpoTerm) {
+        if (phenotypeMappingTables != null) {
+            return phenotypeMappingTables.hpHpMappings().getPhenotypeMatchesForHpoTerm(hpoTerm);
+        }
         return hpoDao.getPhenotypeMatchesForHpoTerm(hpoTerm);
     }
 
     @Override
     public Set<PhenotypeMatch> getMpoMatchesForHpoTerm(PhenotypeTerm hpoTerm) {
+        if (phenotypeMappingTables != null) {
+            return phenotypeMappingTables.hpMpMappings().getPhenotypeMatchesForHpoTerm(hpoTerm);
+        }
         return mpoDao.getPhenotypeMatchesForHpoTerm(hpoTerm);
     }
 
     @Override
     public Set<PhenotypeMatch> getZpoMatchesForHpoTerm(PhenotypeTerm hpoTerm) {
+        if (phenotypeMappingTables != null) {
+            return phenotypeMappingTables.hpZpMappings().getPhenotypeMatchesForHpoTerm(hpoTerm);
+        }
         return zpoDao.getPhenotypeMatchesForHpoTerm(hpoTerm);
     }
 
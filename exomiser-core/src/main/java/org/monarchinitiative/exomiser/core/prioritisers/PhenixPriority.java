@@ -23,13 +23,12 @@
 import hpo.HPOutils;
 import ontologizer.go.*;
 import org.monarchinitiative.exomiser.core.model.Gene;
+import org.monarchinitiative.exomiser.core.prioritisers.util.HpoTermIndex;
 import org.monarchinitiative.exomiser.core.prioritisers.util.ScoreDistribution;
 import org.monarchinitiative.exomiser.core.prioritisers.util.ScoreDistributionContainer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import similarity.SimilarityUtilities;
-import similarity.concepts.ResnikSimilarity;
-import similarity.objects.InformationContentObjectSimilarity;
 import sonumina.math.graph.SlimDirectedGraphView;
 
 import java.io.BufferedReader;
@@ -64,23 +63,26 @@ public class PhenixPriority implements Prioritiser<PhenixPriorityResult> {
     /**
      * The HPO as Ontologizer-Ontology object
      */
-    private Ontology hpo;
+    private final Ontology hpo;
 
     /**
-     * The semantic similarity measure used to calculate phenotypic similarity
+     * The HPO terms and their information content used to calculate the phenotypic similarity
      */
-    private InformationContentObjectSimilarity similarityMeasure;
+    private final HpoTermIndex hpoTermIndex;
 
     private static final double DEFAULT_SCORE = 0;
 
-    private Map<String, List<Term>> geneId2annotations;
+    /**
+     * The indices in the {@link #hpoTermIndex} of the HPO terms annotated to each gene
+     */
+    private final Map<String, int[]> geneId2annotations;
 
     private final boolean symmetric;
     /**
      * Path to the directory that has the files needed to calculate the score
      * distribution.
      */
-    private String scoredistributionFolder;
+    private final String scoredistributionFolder;
 
     /**
      * Create a new instance of the PhenixPriority.
@@ -111,8 +113,10 @@ public PhenixPriority(String scoreDistributionFolder, boolean symmetric) {
         this.hpo = parseOntology(hpoOboFile);
         //The HPO as SlimDirectedGraph (fast access to ancestors etc.)
         SlimDirectedGraphView<Term> hpoSlim = hpo.getSlimGraphView();
-        this.geneId2annotations = parseAnnotations(hpoAnnotationFile, hpo, hpoSlim);
-        this.similarityMeasure = calculateInformationContentSimilarityMeasures(symmetric, hpo, hpoSlim, geneId2annotations);
+        Map<String, List<Term>> geneAnnotations = parseAnnotations(hpoAnnotationFile, hpo, hpoSlim);
+        this.hpoTermIndex = HpoTermIndex.of(hpoSlim, calculateTermIC(hpo, hpoSlim, geneAnnotations));
+        this.geneId2annotations = geneAnnotations.entrySet().stream()
+                .collect(toMap(Map.Entry::getKey, entry -> hpoTermIndex.indicesOf(entry.getValue())));
     }
 
     /**
@@ -121,12 +125,10 @@ public PhenixPriority(String scoreDistributionFolder, boolean symmetric) {
      */
     protected PhenixPriority(boolean symmetric) {
         this.symmetric = symmetric;
-    }
-
-    private InformationContentObjectSimilarity calculateInformationContentSimilarityMeasures(boolean symmetric, Ontology hpo, SlimDirectedGraphView<Term> hpoSlim, Map<String, List<Term>> geneId2annotations) {
-        Map<Term, Double> term2ic = calculateTermIC(hpo, hpoSlim, geneId2annotations);
-        ResnikSimilarity resnik = new ResnikSimilarity(hpo, (HashMap<Term, Double>) term2ic);
-        return new InformationContentObjectSimilarity(resnik, symmetric, false);
+        this.hpo = null;
+        this.hpoTermIndex = null;
+        this.geneId2annotations = Map.of();
+        this.scoredistributionFolder = "";
     }
 
     /**
@@ -259,7 +261,10 @@ public Stream<PhenixPriorityResult> prioritise(List<String> hpoIds, List<Gene> g
 
         ScoreDistributionContainer scoredistributionContainer = new ScoreDistributionContainer(scoredistributionFolder, symmetric, hpoQueryTerms.size());
 
-        Map<Gene, PhenixScore> geneScores = genes.stream().collect(toMap(Function.identity(), scoreGene(hpoQueryTerms, scoredistributionContainer)));
+        // pre-computes the similarity of each query term to every HPO term so each gene only requires array look-ups
+        HpoTermIndex.QuerySimilarity querySimilarity = hpoTermIndex.querySimilarity(hpoTermIndex.indicesOf(hpoQueryTerms));
+        // The term index, annotations and score distributions are all immutable, so the genes can be scored concurrently.
+        Map<Gene, PhenixScore> geneScores = genes.parallelStream().collect(toMap(Function.identity(), scoreGene(hpoQueryTerms, querySimilarity, scoredistributionContainer)));
 
         double maxSemSimScore = geneScores.values().stream().mapToDouble(PhenixScore::getSemanticSimilarityScore).max().orElse(DEFAULT_SCORE);
         double maxNegLogP = geneScores.values().stream().mapToDouble(PhenixScore::getNegativeLogP).max().orElse(DEFAULT_SCORE);
@@ -286,11 +291,10 @@ private List<Term> makeHpoQueryTerms(List<String> hpoIds) {
                 })
                 .filter(Objects::nonNull)
                 .distinct()
-                // ArrayList is specifically required later, although it is not mutated
-                .collect(Collectors.toCollection(ArrayList::new));
+                .toList();
     }
 
-    private Function<Gene, PhenixScore> scoreGene(List<Term> queryTerms, ScoreDistributionContainer scoredistributionContainer) {
+    private Function<Gene, PhenixScore> scoreGene(List<Term> queryTerms, HpoTermIndex.QuerySimilarity querySimilarity, ScoreDistributionContainer scoredistributionContainer) {
         return gene -> {
             int entrezGeneId = gene.entrezGeneId();
             String geneIdString = Integer.toString(entrezGeneId);
@@ -299,8 +303,8 @@ private Function<Gene, PhenixScore> scoreGene(List<Term> queryTerms, ScoreDistri
                 return new PhenixScore(DEFAULT_SCORE, DEFAULT_SCORE);
             }
 
-            List<Term> geneAnnotations = geneId2annotations.get(geneIdString);
-            double semanticSimilarityScore = similarityMeasure.computeObjectSimilarity( (ArrayList<Term>) queryTerms, (ArrayList<Term>) geneAnnotations);
+            int[] geneAnnotations = geneId2annotations.get(geneIdString);
+            double semanticSimilarityScore = querySimilarity.score(geneAnnotations, symmetric);
 
             if (Double.isNaN(semanticSimilarityScore)) {
                 logger.error("Score was NaN for geneId: {} : {}", entrezGeneId, queryTerms);
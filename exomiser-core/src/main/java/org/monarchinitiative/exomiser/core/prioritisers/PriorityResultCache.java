@@ -0,0 +1,109 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.prioritisers;
+
+import org.monarchinitiative.exomiser.core.model.Gene;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * Stores the {@link PriorityResult} produced by a {@link Prioritiser} for a set of genes so that the same genes are
+ * only scored once during an analysis. The results of a {@link Prioritiser} such as the {@link HiPhivePriority} with
+ * PPI enabled depend on the full set of genes being prioritised, so results are only re-used when the prioritiser
+ * configuration, the HPO ids and the set of gene identifiers are all identical to those of the original run.
+ * <p>
+ * This class is intended to be scoped to a single analysis and is not designed for use as a long-lived cache.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+public class PriorityResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PriorityResultCache.class);
+
+    private final Map<Key, Map<Integer, PriorityResult>> priorityResults = new HashMap<>();
+
+    /**
+     * Returns a cache which never stores anything, equivalent to calling {@link Prioritiser#prioritizeGenes(List, List)}
+     * directly.
+     */
+    public static PriorityResultCache disabled() {
+        return new PriorityResultCache() {
+            @Override
+            public void prioritizeGenes(Prioritiser<?> prioritiser, List<String> hpoIds, List<Gene> genes) {
+                prioritiser.prioritizeGenes(hpoIds, genes);
+            }
+        };
+    }
+
+    /**
+     * Adds the {@link PriorityResult} for the {@link Prioritiser} to each {@link Gene}. If the same prioritiser
+     * configuration has already been run against the same HPO ids and set of genes, the previous results will be
+     * added to the genes without running the prioritiser again. Otherwise, the prioritiser will be run and the results
+     * stored for later use.
+     *
+     * @param prioritiser the prioritiser to run
+     * @param hpoIds      the sample HPO ids
+     * @param genes       the genes to be prioritised
+     */
+    public void prioritizeGenes(Prioritiser<?> prioritiser, List<String> hpoIds, List<Gene> genes) {
+        Key key = Key.of(prioritiser, hpoIds, genes);
+        Map<Integer, PriorityResult> cachedResults;
+        synchronized (priorityResults) {
+            cachedResults = priorityResults.get(key);
+        }
+        if (cachedResults != null) {
+            logger.debug("Using {} cached {} results for {} genes", cachedResults.size(), prioritiser.priorityType(), genes.size());
+            for (Gene gene : genes) {
+                PriorityResult priorityResult = cachedResults.get(gene.entrezGeneId());
+                if (priorityResult != null) {
+                    gene.addPriorityResult(priorityResult);
+                }
+            }
+            return;
+        }
+        prioritiser.prioritizeGenes(hpoIds, genes);
+        PriorityType priorityType = prioritiser.priorityType();
+        Map<Integer, PriorityResult> results = new HashMap<>();
+        for (Gene gene : genes) {
+            PriorityResult priorityResult = gene.getPriorityResult(priorityType);
+            if (priorityResult != null) {
+                results.put(gene.entrezGeneId(), priorityResult);
+            }
+        }
+        synchronized (priorityResults) {
+            priorityResults.put(key, results);
+        }
+    }
+
+    private record Key(PriorityType priorityType, String prioritiser, List<String> hpoIds, Set<Integer> geneIds) {
+
+        private static Key of(Prioritiser<?> prioritiser, List<String> hpoIds, List<Gene> genes) {
+            Set<Integer> geneIds = new HashSet<>(genes.size());
+            for (Gene gene : genes) {
+                geneIds.add(gene.entrezGeneId());
+            }
+            return new Key(prioritiser.priorityType(), prioritiser.toString(), List.copyOf(hpoIds), geneIds);
+        }
+    }
+}
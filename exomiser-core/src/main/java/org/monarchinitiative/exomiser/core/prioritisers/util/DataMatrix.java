@@ -22,7 +22,9 @@
 
 import org.jblas.FloatMatrix;
 
+import java.nio.FloatBuffer;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Interface defining how classes can access PPI matrix data.
@@ -89,4 +91,28 @@ static DataMatrix empty() {
      */
     FloatMatrix getColumnMatrixForGene(int entrezGeneId);
 
+    /**
+     * Returns a read-only view of the column for the argument gene identifier. Implementations should return a view of
+     * the underlying data rather than a copy where possible, so the returned buffer should not be held on to for longer
+     * than the {@code DataMatrix} is open.
+     *
+     * @param entrezGeneId the entrez gene identifier of the gene
+     * @return the column values for this gene identifier or {@code null} if not present.
+     * @since 15.0.0
+     */
+    default FloatBuffer getColumnForGene(int entrezGeneId) {
+        FloatMatrix column = getColumnMatrixForGene(entrezGeneId);
+        return column == null ? null : FloatBuffer.wrap(column.data).asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns the pre-computed {@link TopKNeighbourIndex} for this matrix, if one is available.
+     *
+     * @return the {@code TopKNeighbourIndex} for the rows of this matrix or an empty {@code Optional} if there is none.
+     * @since 15.0.0
+     */
+    default Optional<TopKNeighbourIndex> topKNeighbourIndex() {
+        return Optional.empty();
+    }
+
 }
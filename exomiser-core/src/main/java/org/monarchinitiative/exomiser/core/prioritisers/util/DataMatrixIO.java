@@ -85,6 +85,64 @@ public static void convertToMap(String matrixFileZip, String entrezId2indexFileZ
         mvStore.close();
     }
 
+    /**
+     * Converts the {@link MVStore}-backed {@code DataMatrix} at {@code ppiMapPath} to the flat file format read by the
+     * {@link MappedDataMatrix}.
+     *
+     * @param ppiMapPath the {@code Path} to the {@link MVStore} containing the {@code DataMatrix) data.
+     * @param outputPath the writable {@code Path} of the desired output file. By convention this should have a '.f32' extension.
+     * @since 15.0.0
+     */
+    public static void convertMapToMappedDataMatrix(Path ppiMapPath, Path outputPath) {
+        logger.info("Converting PPI data matrix {} to mapped matrix {}", ppiMapPath, outputPath);
+        OffHeapDataMatrix offHeapDataMatrix = OffHeapDataMatrix.load(ppiMapPath);
+        try {
+            writeMappedDataMatrix(offHeapDataMatrix, outputPath);
+        } finally {
+            offHeapDataMatrix.close();
+        }
+    }
+
+    /**
+     * Writes the {@code DataMatrix} to the flat file format read by the {@link MappedDataMatrix}.
+     *
+     * @param dataMatrix the {@code DataMatrix} to write.
+     * @param outputPath the writable {@code Path} of the desired output file.
+     * @since 15.0.0
+     */
+    public static void writeMappedDataMatrix(DataMatrix dataMatrix, Path outputPath) {
+        MappedDataMatrix.write(dataMatrix, outputPath);
+    }
+
+    /**
+     * Builds a {@link TopKNeighbourIndex} of the {@code k} highest values in each row of the mapped matrix at
+     * {@code mappedMatrixPath} and writes it alongside the matrix file, where it will be picked up by the
+     * {@code loadMappedDataMatrix} method.
+     *
+     * @param mappedMatrixPath the {@code Path} to the '.f32' file containing the {@code DataMatrix) data.
+     * @param k                the number of neighbours to store for each row.
+     * @since 15.0.0
+     */
+    public static void writeTopKNeighbourIndex(Path mappedMatrixPath, int k) {
+        Path indexPath = TopKNeighbourIndex.pathFor(mappedMatrixPath);
+        logger.info("Writing top-{} neighbour index for PPI data matrix {} to {}", k, mappedMatrixPath, indexPath);
+        TopKNeighbourIndex.build(MappedDataMatrix.load(mappedMatrixPath), k).write(indexPath);
+    }
+
+    /**
+     * Loads a memory-mapped {@code DataMatrix} from a flat file created by the {@code convertMapToMappedDataMatrix}
+     * method. This has no start-up cost and uses almost no heap. The data is shared through the OS page cache, so
+     * this is the best option where several JVMs on the same host are using the same matrix.
+     *
+     * @param mappedMatrixPath the {@code Path} to the '.f32' file containing the {@code DataMatrix) data.
+     * @return a memory-mapped instance of the {@code DataMatrix)
+     * @since 15.0.0
+     */
+    public static DataMatrix loadMappedDataMatrix(Path mappedMatrixPath) {
+        logger.debug("Loading memory-mapped PPI data matrix from {}...", mappedMatrixPath);
+        return MappedDataMatrix.load(mappedMatrixPath);
+    }
+
     /**
      * Loads an off-heap {@code DataMatrix} backed by an {@link MVStore} map. This is preferable to use in most scenarios
      * as it takes no start-up time and has very low memory overhead. For cases where a IO might be an issue in a long-running
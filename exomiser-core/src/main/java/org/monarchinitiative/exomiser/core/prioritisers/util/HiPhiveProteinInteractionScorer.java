@@ -22,12 +22,12 @@
 
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ListMultimap;
-import org.jblas.FloatMatrix;
 import org.monarchinitiative.exomiser.core.prioritisers.model.GeneMatch;
 import org.monarchinitiative.exomiser.core.prioritisers.model.GeneModelPhenotypeMatch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.FloatBuffer;
 import java.util.*;
 
 /**
@@ -40,11 +40,22 @@ public class HiPhiveProteinInteractionScorer {
 
     private static final HiPhiveProteinInteractionScorer EMPTY = new HiPhiveProteinInteractionScorer();
 
+    private static final int UNRESOLVED = -2;
+
     private final DataMatrix dataMatrix;
     private final ListMultimap<Integer, GeneModelPhenotypeMatch> bestGeneModels;
 
     private final List<GeneColumnIndex> weightedHighQualityMatrixIndex;
-    private final FloatMatrix weightedHighQualityMatrix;
+    // The high quality columns of the DataMatrix and their phenotype score weightings. These are views of the original
+    // matrix data, so the weighting is applied on read rather than creating a weighted copy of the columns.
+    private final FloatBuffer[] highQualityColumns;
+    private final float[] highQualityColumnWeights;
+
+    // Optional pre-computed neighbours for each row, used to avoid scanning every high quality column. When present,
+    // highQualityColumnForMatrixColumn maps a column of the DataMatrix to its high quality column index, or -1.
+    private final TopKNeighbourIndex topKNeighbourIndex;
+    private final int[] highQualityColumnForMatrixColumn;
+    private final float maxHighQualityColumnWeight;
 
     public static HiPhiveProteinInteractionScorer empty() {
         return EMPTY;
@@ -55,7 +66,12 @@ private HiPhiveProteinInteractionScorer() {
         this.bestGeneModels = ArrayListMultimap.create();
 
         this.weightedHighQualityMatrixIndex = Collections.emptyList();
-        this.weightedHighQualityMatrix = FloatMatrix.EMPTY;
+        this.highQualityColumns = new FloatBuffer[0];
+        this.highQualityColumnWeights = new float[0];
+
+        this.topKNeighbourIndex = null;
+        this.highQualityColumnForMatrixColumn = new int[0];
+        this.maxHighQualityColumnWeight = 0;
     }
 
     public HiPhiveProteinInteractionScorer(DataMatrix dataMatrix, ListMultimap<Integer, GeneModelPhenotypeMatch> bestGeneModels, double highQualityPhenoScoreCutOff) {
@@ -63,7 +79,26 @@ public HiPhiveProteinInteractionScorer(DataMatrix dataMatrix, ListMultimap<Integ
         this.bestGeneModels = bestGeneModels;
 
         this.weightedHighQualityMatrixIndex = makeWeightedHighQualityMatrixIndex(highQualityPhenoScoreCutOff, dataMatrix, bestGeneModels.values());
-        this.weightedHighQualityMatrix = makeWeightedHighQualityProteinInteractionMatrix(dataMatrix, weightedHighQualityMatrixIndex);
+        this.highQualityColumns = new FloatBuffer[weightedHighQualityMatrixIndex.size()];
+        this.highQualityColumnWeights = new float[weightedHighQualityMatrixIndex.size()];
+        makeWeightedHighQualityProteinInteractionMatrix(dataMatrix, weightedHighQualityMatrixIndex);
+
+        this.topKNeighbourIndex = dataMatrix.topKNeighbourIndex().orElse(null);
+        this.highQualityColumnForMatrixColumn = topKNeighbourIndex == null ? new int[0] : makeHighQualityColumnForMatrixColumn(dataMatrix, weightedHighQualityMatrixIndex);
+        float maxWeight = 0;
+        for (float weight : highQualityColumnWeights) {
+            maxWeight = Math.max(maxWeight, weight);
+        }
+        this.maxHighQualityColumnWeight = maxWeight;
+    }
+
+    private static int[] makeHighQualityColumnForMatrixColumn(DataMatrix dataMatrix, List<GeneColumnIndex> highQualityPhenotypeMappings) {
+        int[] highQualityColumns = new int[dataMatrix.numColumns()];
+        Arrays.fill(highQualityColumns, -1);
+        for (GeneColumnIndex geneColumnIndex : highQualityPhenotypeMappings) {
+            highQualityColumns[dataMatrix.getRowIndexForGene(geneColumnIndex.geneId)] = geneColumnIndex.columnIndex;
+        }
+        return highQualityColumns;
     }
 
     private List<GeneColumnIndex> makeWeightedHighQualityMatrixIndex(double highQualityPhenoScoreCutOff, DataMatrix dataMatrix, Collection<GeneModelPhenotypeMatch> values) {
@@ -98,21 +133,19 @@ private Map<Integer, Double> getHighestGeneIdPhenoScoresInDataMatrix(double high
         return Collections.unmodifiableMap(highestGeneIdPhenoScores);
     }
 
-    private FloatMatrix makeWeightedHighQualityProteinInteractionMatrix(DataMatrix dataMatrix, List<GeneColumnIndex> highQualityPhenotypeMappings) {
+    private void makeWeightedHighQualityProteinInteractionMatrix(DataMatrix dataMatrix, List<GeneColumnIndex> highQualityPhenotypeMappings) {
         logger.debug("Making weighted-score Protein-Protein interaction sub-matrix from high quality phenotypic gene matches...");
         logger.debug("Original data matrix ({} rows * {} columns)", dataMatrix.numRows(), dataMatrix.numColumns());
-        int rows = dataMatrix.numRows();
-        int cols = highQualityPhenotypeMappings.size();
-        FloatMatrix highQualityPpiMatrix = FloatMatrix.zeros(rows, cols);
         for (GeneColumnIndex geneColumnIndex : highQualityPhenotypeMappings) {
             //The original DataMatrix is a symmetrical matrix this new one is asymmetrical with the original rows but only high-quality columns.
-            FloatMatrix column = dataMatrix.getColumnMatrixForGene(geneColumnIndex.geneId);
-            FloatMatrix weightedColumn = column.mul((float) geneColumnIndex.phenoScore);
-            highQualityPpiMatrix.putColumn(geneColumnIndex.columnIndex, weightedColumn);
+            highQualityColumns[geneColumnIndex.columnIndex] = dataMatrix.getColumnForGene(geneColumnIndex.geneId);
+            highQualityColumnWeights[geneColumnIndex.columnIndex] = (float) geneColumnIndex.phenoScore;
         }
-        logger.debug("Made high quality interaction matrix ({} rows * {} columns)", highQualityPpiMatrix.getRows(), highQualityPpiMatrix
-                .getColumns());
-        return highQualityPpiMatrix;
+        logger.debug("Made high quality interaction matrix ({} rows * {} columns)", dataMatrix.numRows(), highQualityColumns.length);
+    }
+
+    private float weightedHighQualityScore(int rowIndex, int columnIndex) {
+        return highQualityColumns[columnIndex].get(rowIndex) * highQualityColumnWeights[columnIndex];
     }
 
     public GeneMatch getClosestPhenoMatchInNetwork(Integer entrezGeneId) {
@@ -131,7 +164,7 @@ public GeneMatch getClosestPhenoMatchInNetwork(Integer entrezGeneId) {
         }
 
         // optimal adjustment based on benchmarking to allow walker scores to compete with low phenotype scores
-        double walkerScore = 0.5 + weightedHighQualityMatrix.get(rowIndex, topHighQualityGene.columnIndex);
+        double walkerScore = 0.5 + weightedHighQualityScore(rowIndex, topHighQualityGene.columnIndex);
 
         Integer closestGeneId = topHighQualityGene.geneId;
         List<GeneModelPhenotypeMatch> models = bestGeneModels.get(closestGeneId);
@@ -145,12 +178,18 @@ public GeneMatch getClosestPhenoMatchInNetwork(Integer entrezGeneId) {
     }
 
     private GeneColumnIndex getGeneColumnIndexOfMostPhenotypicallySimilarGene(int rowIndex, Integer entrezGeneId) {
+        if (topKNeighbourIndex != null) {
+            int highQualityColumn = searchTopKNeighbours(rowIndex);
+            if (highQualityColumn != UNRESOLVED) {
+                return highQualityColumn == -1 ? null : weightedHighQualityMatrixIndex.get(highQualityColumn);
+            }
+        }
         GeneColumnIndex bestGeneColumnIndex = null;
         double bestScore = 0;
         for (GeneColumnIndex geneColumnIndex : weightedHighQualityMatrixIndex) {
             //avoid self-hits now are testing genes with direct pheno-evidence as well
             if (!geneColumnIndex.geneId.equals(entrezGeneId)) {
-                double cellScore = weightedHighQualityMatrix.get(rowIndex, geneColumnIndex.columnIndex);
+                double cellScore = weightedHighQualityScore(rowIndex, geneColumnIndex.columnIndex);
                 if (cellScore > bestScore) {
                     bestScore = cellScore;
                     bestGeneColumnIndex = geneColumnIndex;
@@ -160,6 +199,43 @@ private GeneColumnIndex getGeneColumnIndexOfMostPhenotypicallySimilarGene(int ro
         return bestGeneColumnIndex;
     }
 
+    /**
+     * Finds the high quality column with the highest weighted score in the row by checking only the pre-computed
+     * neighbours of the row. As the weights are at most {@code maxHighQualityColumnWeight}, the search can stop as soon
+     * as a neighbour's value multiplied by the maximum weight falls below the best score found so far. Ties are
+     * resolved to the lowest high quality column, giving exactly the same result as the linear scan.
+     *
+     * @return the best high quality column index, -1 if there is no hit or {@code UNRESOLVED} if the stored neighbours
+     * are insufficient to prove the result, in which case the caller should fall back to the linear scan.
+     */
+    private int searchTopKNeighbours(int rowIndex) {
+        int numNeighbours = topKNeighbourIndex.numNeighbours(rowIndex);
+        int bestColumn = -1;
+        float bestScore = 0;
+        for (int i = 0; i < numNeighbours; i++) {
+            float value = topKNeighbourIndex.neighbourValue(rowIndex, i);
+            if (value * maxHighQualityColumnWeight < bestScore) {
+                return bestColumn;
+            }
+            int matrixColumn = topKNeighbourIndex.neighbourColumn(rowIndex, i);
+            // avoid self-hits
+            int highQualityColumn = matrixColumn == rowIndex ? -1 : highQualityColumnForMatrixColumn[matrixColumn];
+            if (highQualityColumn != -1) {
+                float score = value * highQualityColumnWeights[highQualityColumn];
+                if (score > bestScore || (score == bestScore && bestColumn != -1 && highQualityColumn < bestColumn)) {
+                    bestScore = score;
+                    bestColumn = highQualityColumn;
+                }
+            }
+        }
+        if (topKNeighbourIndex.isComplete(rowIndex)) {
+            return bestColumn;
+        }
+        // any values not stored in the index are no greater than the weakest stored neighbour
+        float weakestValue = topKNeighbourIndex.neighbourValue(rowIndex, numNeighbours - 1);
+        return weakestValue * maxHighQualityColumnWeight < bestScore ? bestColumn : UNRESOLVED;
+    }
+
     /**
      * Mapping between an entrez gene id, its phenotype score and a column in the high-quality matrix
      */
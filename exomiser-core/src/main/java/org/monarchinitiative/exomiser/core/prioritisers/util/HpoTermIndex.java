@@ -0,0 +1,222 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.prioritisers.util;
+
+import ontologizer.go.Term;
+import sonumina.math.graph.SlimDirectedGraphView;
+
+import java.util.*;
+
+/**
+ * Primitive index of the terms of an ontology for calculating the Resnik semantic similarity used by PhenIX. Each
+ * term is assigned a dense int index, with the ancestors of each term (including the term itself) held as a sorted
+ * int array and the information content (IC) of each term held in a double array.
+ * <p>
+ * The similarity of two terms is the IC of their most informative common ancestor (MICA). For a given set of query
+ * terms, a {@link QuerySimilarity} pre-computes the MICA IC of each query term against every term in the ontology
+ * so that the similarity of the query to any number of annotated objects (e.g. genes) is calculated using only array
+ * look-ups. The scores are identical to those of the ontologizer {@code InformationContentObjectSimilarity} using
+ * {@code ResnikSimilarity} which this replaces.
+ * <p>
+ * Instances are immutable and safe to use concurrently.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+public class HpoTermIndex {
+
+    private final Map<Term, Integer> termIndices;
+    private final int[][] ancestors;
+    private final double[] informationContent;
+
+    private HpoTermIndex(Map<Term, Integer> termIndices, int[][] ancestors, double[] informationContent) {
+        this.termIndices = termIndices;
+        this.ancestors = ancestors;
+        this.informationContent = informationContent;
+    }
+
+    /**
+     * Creates a new index from the ontology graph and the IC of the terms. Terms with no IC are given an IC of zero.
+     *
+     * @param ontologyGraph          the slim graph view of the ontology
+     * @param termInformationContent the information content of each term
+     */
+    public static HpoTermIndex of(SlimDirectedGraphView<Term> ontologyGraph, Map<Term, Double> termInformationContent) {
+        int numTerms = ontologyGraph.getNumberOfVertices();
+        Map<Term, Integer> termIndices = new HashMap<>(numTerms * 4 / 3 + 1);
+        int[][] ancestors = new int[numTerms][];
+        double[] informationContent = new double[numTerms];
+        for (int i = 0; i < numTerms; i++) {
+            Term term = ontologyGraph.getVertex(i);
+            termIndices.put(term, i);
+            int[] termAncestors = ontologyGraph.vertexAncestors[i].clone();
+            Arrays.sort(termAncestors);
+            ancestors[i] = termAncestors;
+            informationContent[i] = termInformationContent.getOrDefault(term, 0d);
+        }
+        return new HpoTermIndex(Collections.unmodifiableMap(termIndices), ancestors, informationContent);
+    }
+
+    public int size() {
+        return informationContent.length;
+    }
+
+    /**
+     * @return the index of the term or -1 if the term is not in the index
+     */
+    public int indexOf(Term term) {
+        return termIndices.getOrDefault(term, -1);
+    }
+
+    /**
+     * @return the indices of the terms in the same order as the input, omitting any terms not in the index
+     */
+    public int[] indicesOf(Collection<Term> terms) {
+        return terms.stream()
+                .mapToInt(this::indexOf)
+                .filter(index -> index >= 0)
+                .toArray();
+    }
+
+    public double informationContent(int termIndex) {
+        return informationContent[termIndex];
+    }
+
+    /**
+     * Calculates the Resnik similarity of the two terms, i.e. the IC of their most informative common ancestor, or 0
+     * if they have no common ancestor.
+     */
+    public double micaInformationContent(int termIndexA, int termIndexB) {
+        int[] ancestorsA = ancestors[termIndexA];
+        int[] ancestorsB = ancestors[termIndexB];
+        double maxIc = 0;
+        int a = 0;
+        int b = 0;
+        while (a < ancestorsA.length && b < ancestorsB.length) {
+            if (ancestorsA[a] > ancestorsB[b]) {
+                b++;
+            } else if (ancestorsA[a] < ancestorsB[b]) {
+                a++;
+            } else {
+                double ic = informationContent[ancestorsA[a]];
+                if (ic > maxIc) {
+                    maxIc = ic;
+                }
+                a++;
+                b++;
+            }
+        }
+        return maxIc;
+    }
+
+    /**
+     * Pre-computes the MICA IC of each of the query terms against every term in the index.
+     *
+     * @param queryTermIndices the indices of the query terms
+     * @return a {@link QuerySimilarity} for scoring the query against sets of terms
+     */
+    public QuerySimilarity querySimilarity(int[] queryTermIndices) {
+        double[][] micaInformationContent = new double[queryTermIndices.length][];
+        for (int q = 0; q < queryTermIndices.length; q++) {
+            micaInformationContent[q] = micaInformationContentRow(queryTermIndices[q]);
+        }
+        return new QuerySimilarity(micaInformationContent);
+    }
+
+    private double[] micaInformationContentRow(int queryTermIndex) {
+        BitSet queryAncestors = new BitSet(size());
+        for (int ancestor : ancestors[queryTermIndex]) {
+            queryAncestors.set(ancestor);
+        }
+        double[] row = new double[size()];
+        for (int t = 0; t < row.length; t++) {
+            double maxIc = 0;
+            for (int ancestor : ancestors[t]) {
+                if (queryAncestors.get(ancestor) && informationContent[ancestor] > maxIc) {
+                    maxIc = informationContent[ancestor];
+                }
+            }
+            row[t] = maxIc;
+        }
+        return row;
+    }
+
+    /**
+     * The MICA IC of a set of query terms against every term in the {@link HpoTermIndex}.
+     */
+    public static class QuerySimilarity {
+
+        private final double[][] micaInformationContent;
+
+        private QuerySimilarity(double[][] micaInformationContent) {
+            this.micaInformationContent = micaInformationContent;
+        }
+
+        public int numQueryTerms() {
+            return micaInformationContent.length;
+        }
+
+        /**
+         * Calculates the semantic similarity of the query terms to the target terms as the mean, over the query terms,
+         * of the best MICA IC of each query term with any of the target terms. If symmetric, this is averaged with
+         * the equivalent score of the target terms to the query terms.
+         *
+         * @param targetTermIndices the indices of the terms annotated to the target object, e.g. a gene
+         * @param symmetric         whether to calculate the symmetric similarity
+         * @return the semantic similarity score
+         */
+        public double score(int[] targetTermIndices, boolean symmetric) {
+            double queryToTarget = queryToTargetMeanSim(targetTermIndices);
+            if (!symmetric) {
+                return queryToTarget;
+            }
+            return (queryToTarget + targetToQueryMeanSim(targetTermIndices)) / 2.0;
+        }
+
+        private double queryToTargetMeanSim(int[] targetTermIndices) {
+            double sum = 0;
+            for (double[] row : micaInformationContent) {
+                double max = 0;
+                for (int target : targetTermIndices) {
+                    if (row[target] > max) {
+                        max = row[target];
+                    }
+                }
+                sum += max;
+            }
+            return sum / micaInformationContent.length;
+        }
+
+        private double targetToQueryMeanSim(int[] targetTermIndices) {
+            double sum = 0;
+            for (int target : targetTermIndices) {
+                double max = 0;
+                for (double[] row : micaInformationContent) {
+                    if (row[target] > max) {
+                        max = row[target];
+                    }
+                }
+                sum += max;
+            }
+            return sum / targetTermIndices.length;
+        }
+    }
+}
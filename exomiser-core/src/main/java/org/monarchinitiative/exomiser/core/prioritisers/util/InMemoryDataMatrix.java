@@ -25,6 +25,7 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.FloatBuffer;
 import java.util.Map;
 import java.util.Objects;
 
@@ -95,6 +96,17 @@ public FloatMatrix getColumnMatrixForGene(int entrezGeneId) {
         return matrix.getColumn(rowIndex);
     }
 
+    @Override
+    public FloatBuffer getColumnForGene(int entrezGeneId) {
+        Integer rowIndex = entrezIdToRowIndex.get(entrezGeneId);
+        if (rowIndex == null) {
+            return null;
+        }
+        // FloatMatrix data is stored in column-major order
+        int rows = matrix.getRows();
+        return FloatBuffer.wrap(matrix.data, rowIndex * rows, rows).slice().asReadOnlyBuffer();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,271 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.prioritisers.util;
+
+import org.jblas.FloatMatrix;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Memory-mapped {@code DataMatrix} implementation backed by a flat file of 32-bit floats. The file is mapped read-only
+ * so the data is held in the OS page cache rather than on the Java heap, meaning that several JVMs on the same host
+ * running with the same matrix file will share a single copy of the data. Columns are returned as zero-copy
+ * {@link FloatBuffer} views of the mapped file.
+ * <p>
+ * The file format is little-endian and consists of a header followed by the matrix values in column-major order:
+ * <pre>
+ *     int        magic number 'EXRW'
+ *     int        format version
+ *     int        n, the number of rows and columns in the (square) matrix
+ *     int[n]     the entrez gene id of each row/column index
+ *     float[n*n] the matrix values, one column after another
+ * </pre>
+ * Files in this format can be created from the existing MVStore format using
+ * {@link DataMatrixIO#convertMapToMappedDataMatrix(Path, Path)}. If a {@link TopKNeighbourIndex} is present alongside
+ * the matrix file it will be loaded with the matrix.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+public class MappedDataMatrix implements DataMatrix {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedDataMatrix.class);
+
+    static final int MAGIC = 0x45585257;
+    static final int VERSION = 1;
+
+    private final Map<Integer, Integer> rowIndex;
+    private final int size;
+    // a single MappedByteBuffer is limited to 2GB, so the matrix is mapped as one or more blocks of whole columns
+    private final int columnsPerBlock;
+    private final FloatBuffer[] blocks;
+
+    private TopKNeighbourIndex topKNeighbourIndex = null;
+
+    private FloatMatrix floatMatrix = null;
+
+    public static MappedDataMatrix load(Path mappedMatrixPath) {
+        Objects.requireNonNull(mappedMatrixPath);
+        MappedDataMatrix mappedDataMatrix;
+        try (FileChannel fileChannel = FileChannel.open(mappedMatrixPath, StandardOpenOption.READ)) {
+            mappedDataMatrix = new MappedDataMatrix(fileChannel);
+        } catch (IOException e) {
+            throw new DataMatrixIO.DataMatrixIoException("Unable to read mapped DataMatrix from " + mappedMatrixPath, e);
+        }
+        Path indexPath = TopKNeighbourIndex.pathFor(mappedMatrixPath);
+        if (Files.exists(indexPath)) {
+            TopKNeighbourIndex neighbourIndex = TopKNeighbourIndex.load(indexPath);
+            if (neighbourIndex.numRows() != mappedDataMatrix.size) {
+                throw new IllegalStateException("Top-K neighbour index " + indexPath + " has " + neighbourIndex.numRows() + " rows, expected " + mappedDataMatrix.size);
+            }
+            mappedDataMatrix.topKNeighbourIndex = neighbourIndex;
+        }
+        return mappedDataMatrix;
+    }
+
+    private MappedDataMatrix(FileChannel fileChannel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(3 * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(fileChannel, header, 0);
+        header.flip();
+        int magic = header.getInt();
+        int version = header.getInt();
+        if (magic != MAGIC || version != VERSION) {
+            throw new IOException("Not a version " + VERSION + " mapped DataMatrix file");
+        }
+        this.size = header.getInt();
+
+        ByteBuffer geneIds = ByteBuffer.allocate(size * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(fileChannel, geneIds, header.capacity());
+        geneIds.flip();
+        Map<Integer, Integer> index = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            index.put(geneIds.getInt(), i);
+        }
+        this.rowIndex = Map.copyOf(index);
+
+        long dataOffset = dataOffset(size);
+        long columnBytes = (long) size * Float.BYTES;
+        if (fileChannel.size() != dataOffset + columnBytes * size) {
+            throw new IOException("Expected " + (dataOffset + columnBytes * size) + " bytes in mapped DataMatrix file but found " + fileChannel.size());
+        }
+        this.columnsPerBlock = size == 0 ? 1 : (int) Math.max(1, Integer.MAX_VALUE / columnBytes);
+        int numBlocks = (size + columnsPerBlock - 1) / columnsPerBlock;
+        this.blocks = new FloatBuffer[numBlocks];
+        for (int block = 0; block < numBlocks; block++) {
+            int firstColumn = block * columnsPerBlock;
+            int numColumns = Math.min(columnsPerBlock, size - firstColumn);
+            MappedByteBuffer mappedByteBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, dataOffset + firstColumn * columnBytes, numColumns * columnBytes);
+            blocks[block] = mappedByteBuffer.order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+        }
+        logger.debug("Mapped {} * {} DataMatrix in {} blocks", size, size, numBlocks);
+    }
+
+    private static void readFully(FileChannel fileChannel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (fileChannel.read(buffer, position + buffer.position()) == -1) {
+                throw new IOException("Unexpected end of mapped DataMatrix file");
+            }
+        }
+    }
+
+    private static long dataOffset(int size) {
+        return (3L + size) * Integer.BYTES;
+    }
+
+    /**
+     * Writes the {@link DataMatrix} to the outputPath in the flat file format read by this class.
+     */
+    static void write(DataMatrix dataMatrix, Path outputPath) {
+        Map<Integer, Integer> entrezIdToRowIndex = dataMatrix.getEntrezIdToRowIndex();
+        int size = entrezIdToRowIndex.size();
+        int[] geneIds = new int[size];
+        boolean[] seen = new boolean[size];
+        for (Map.Entry<Integer, Integer> entry : entrezIdToRowIndex.entrySet()) {
+            int index = entry.getValue();
+            if (index < 0 || index >= size || seen[index]) {
+                throw new IllegalArgumentException("Row indices must be unique and in the range 0-" + (size - 1) + " but found " + index);
+            }
+            seen[index] = true;
+            geneIds[index] = entry.getKey();
+        }
+        try (FileChannel fileChannel = FileChannel.open(outputPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate((int) dataOffset(size)).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(size);
+            for (int geneId : geneIds) {
+                header.putInt(geneId);
+            }
+            writeFully(fileChannel, header.flip());
+
+            ByteBuffer columnBytes = ByteBuffer.allocate(size * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int geneId : geneIds) {
+                FloatBuffer column = dataMatrix.getColumnForGene(geneId);
+                if (column.remaining() != size) {
+                    throw new IllegalArgumentException("Column for gene " + geneId + " has " + column.remaining() + " rows, expected " + size);
+                }
+                columnBytes.clear();
+                columnBytes.asFloatBuffer().put(column);
+                writeFully(fileChannel, columnBytes);
+            }
+        } catch (IOException e) {
+            throw new DataMatrixIO.DataMatrixIoException("Unable to write mapped DataMatrix to " + outputPath, e);
+        }
+    }
+
+    private static void writeFully(FileChannel fileChannel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            fileChannel.write(buffer);
+        }
+    }
+
+    @Override
+    public Map<Integer, Integer> getEntrezIdToRowIndex() {
+        return rowIndex;
+    }
+
+    /**
+     * Copies the entire matrix onto the heap. This is an expensive operation which defeats the purpose of this class
+     * and should be avoided where possible.
+     */
+    @Override
+    public synchronized FloatMatrix getMatrix() {
+        if (floatMatrix == null) {
+            logger.debug("Creating {} * {} FloatMatrix from mapped file", size, size);
+            FloatMatrix matrix = new FloatMatrix(size, size);
+            for (int column = 0; column < size; column++) {
+                columnView(column).get(matrix.data, column * size, size);
+            }
+            floatMatrix = matrix;
+        }
+        return floatMatrix;
+    }
+
+    @Override
+    public int numRows() {
+        return size;
+    }
+
+    @Override
+    public int numColumns() {
+        return size;
+    }
+
+    @Override
+    public boolean containsGene(Integer entrezGeneId) {
+        return rowIndex.containsKey(entrezGeneId);
+    }
+
+    @Override
+    public Integer getRowIndexForGene(int entrezGeneId) {
+        return rowIndex.get(entrezGeneId);
+    }
+
+    @Override
+    public FloatMatrix getColumnMatrixForGene(int entrezGeneId) {
+        FloatBuffer column = getColumnForGene(entrezGeneId);
+        if (column == null) {
+            return null;
+        }
+        float[] columnValues = new float[size];
+        column.get(columnValues);
+        return new FloatMatrix(columnValues);
+    }
+
+    @Override
+    public FloatBuffer getColumnForGene(int entrezGeneId) {
+        Integer column = rowIndex.get(entrezGeneId);
+        if (column == null) {
+            return null;
+        }
+        return columnView(column);
+    }
+
+    private FloatBuffer columnView(int column) {
+        // slice returns a new independent view so this is safe to call concurrently
+        return blocks[column / columnsPerBlock].slice((column % columnsPerBlock) * size, size);
+    }
+
+    @Override
+    public Optional<TopKNeighbourIndex> topKNeighbourIndex() {
+        return Optional.ofNullable(topKNeighbourIndex);
+    }
+
+    @Override
+    public String toString() {
+        return "MappedDataMatrix{" +
+                "rows=" + size +
+                ", columns=" + size +
+                '}';
+    }
+}
@@ -33,6 +33,24 @@ public class ScoreDistribution {
     private int numberQueryTerms;
     private int mimNumber;
 
+    public ScoreDistribution() {
+    }
+
+    /**
+     * @param scores               the scores in ascending order
+     * @param pvalues              the p-value of each score
+     * @param numberRandomizations the number of randomisations used to create the distribution
+     * @since 15.0.0
+     */
+    public ScoreDistribution(double[] scores, double[] pvalues, double numberRandomizations) {
+        if (scores.length != pvalues.length) {
+            throw new IllegalArgumentException("Number of scores " + scores.length + " does not match the number of pvalues " + pvalues.length);
+        }
+        this.scores = scores;
+        this.pvalues = pvalues;
+        this.numberRandomizations = numberRandomizations;
+    }
+
     public int getNumberQueryTerms() {
         return numberQueryTerms;
     }
@@ -42,6 +60,18 @@ public int getMimNumber() {
     }
 
 
+    double[] getScores() {
+        return scores;
+    }
+
+    double[] getPvalues() {
+        return pvalues;
+    }
+
+    double getNumberRandomizations() {
+        return numberRandomizations;
+    }
+
     public void setDistribution(List<Double> scoresAL, List<Double> pvaluesAL, double numRandomizations) {
 
         this.scores = new double[scoresAL.size()];
@@ -23,38 +23,48 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
+import jakarta.annotation.Nullable;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * Provides the PhenIX {@link ScoreDistribution} for a gene given the number of query terms. Where there is no
+ * distribution for the gene for the number of query terms, the distributions for successively fewer query terms are
+ * tried.
+ * <p>
+ * The distribution files are loaded lazily and held in a process-wide cache, so each file is only read once however
+ * many containers are created. Where a binary {@code .bin} file (see {@link ScoreDistributionIO#convertAllToBinary(Path)})
+ * is present in the distributions folder this is preferred to the much slower to parse {@code .out} file, unless the
+ * {@code .out} file has been modified since the {@code .bin} file was written. The distributions folder is only ever
+ * read. Missing files are not cached. Instances are safe to use concurrently.
+ *
  * @author Sebastian Köhler <dr.sebastian.koehler@gmail.com>
  *
  */
 public class ScoreDistributionContainer {
 
-	private final Logger logger = LoggerFactory.getLogger(ScoreDistributionContainer.class);
+    private static final Logger logger = LoggerFactory.getLogger(ScoreDistributionContainer.class);
+
+    private static final int MAX_NUMBER_QUERY_TERMS = 20;
 
-	private boolean verboseParsing = false;
-	private final String distributionsFolder;
-	private final boolean symmetric;
-	private final int numQueryTerms;
-	private static final int MAX_NUMBER_QUERY_TERMS = 20;
-	private final Map<String, Map<String, ScoreDistribution>> key2scoreDistribution;
+    private static final Map<Path, Map<String, ScoreDistribution>> DISTRIBUTIONS_CACHE = new ConcurrentHashMap<>();
 
-	public ScoreDistributionContainer(String distributionsFolder, boolean symmetric, int numQueryTerms) {
-		this.distributionsFolder = distributionsFolder;
-		this.symmetric = symmetric;
-		this.numQueryTerms = limitNumQueryTerms(numQueryTerms);
-		this.key2scoreDistribution = new HashMap<>();
-		parseDistributions(this.numQueryTerms);
-	}
+    private boolean verboseParsing = false;
+    private final Path distributionsFolder;
+    private final boolean symmetric;
+    private final int numQueryTerms;
+
+    public ScoreDistributionContainer(String distributionsFolder, boolean symmetric, int numQueryTerms) {
+        this.distributionsFolder = Path.of(distributionsFolder, "out");
+        this.symmetric = symmetric;
+        this.numQueryTerms = limitNumQueryTerms(numQueryTerms);
+    }
 
-	public void useVerboseParsing() {
+    public void useVerboseParsing() {
         this.verboseParsing = true;
     }
 
@@ -65,111 +75,78 @@ private int limitNumQueryTerms(int numQueryTerms) {
     }
 
     private static String getKey(boolean symmetric, int numberQueryTerms) {
-		return symmetric ? numberQueryTerms + "_symmetric" : Integer.toString(numberQueryTerms);
-	}
-
-	public ScoreDistribution getDistribution(String entrezGeneId) {
-		while (true) {
-			String key = getKey(symmetric, numQueryTerms);
-			Map<String, ScoreDistribution> mim2scoredist = key2scoreDistribution.get(key);
-			ScoreDistribution scoreDist = null;
-			if (mim2scoredist != null) {
-                scoreDist = mim2scoredist.get(entrezGeneId);
+        return symmetric ? numberQueryTerms + "_symmetric" : Integer.toString(numberQueryTerms);
+    }
+
+    public ScoreDistribution getDistribution(String entrezGeneId) {
+        for (int n = numQueryTerms; n >= 1; n--) {
+            ScoreDistribution scoreDist = getDistributions(n).get(entrezGeneId);
+            if (scoreDist != null) {
+                return scoreDist;
             }
-			if (mim2scoredist == null || scoreDist == null) {
-                logger.error("Could not find scoreDistribution for entrezid {} numQueryTerms: {} symmetric: {} using key: {}" , entrezGeneId, numQueryTerms, symmetric, key);
-				if (numQueryTerms > 1) {
-					int oneFewer = numQueryTerms - 1;
-                    logger.error("Trying to find distribution for {} terms", oneFewer);
-					if (!didParseDistributions(oneFewer)) {
-                        logger.error("Trying to parse {} term distribution", oneFewer);
-						parseDistributions(oneFewer);
-					}
-				}
-				else {
-					logger.error("NO WAY! Could not even find scoreDistribution for entrezid {} numQueryTerms: {} symmetric: {} using key: {} - returning null", entrezGeneId, numQueryTerms, symmetric, key);
-					return null;
-				}
-			}
-			else {
-				return scoreDist;
-			}
-		}
-	}
-
-	private boolean didParseDistributions(int numQueryTerms) {
-		return key2scoreDistribution.containsKey(getKey(symmetric, numQueryTerms));
-	}
-
-	/**
-	 * 
-	 * 
-	 * @param numQueryTerms
-	 */
-	private synchronized void parseDistributions(int numQueryTerms) {
-
-		String key = getKey(symmetric, numQueryTerms);
-		String file = distributionsFolder + "out/" + key + ".out";
-
-		if (verboseParsing)
-			logger.info("Reading distributions from file: {}", file);
-		try (BufferedReader in = new BufferedReader(new FileReader(file))){
-            ScoreDistribution actualDistribution = null;
-			String actualDiseaseId = null;
-			double numberRandomizations = -1;
-			List<Double> scores = new ArrayList<>();
-			List<Double> pvalues = new ArrayList<>();
-            String line;
-			while ((line = in.readLine()) != null) {
-
-				if (line.startsWith(">")) {
-
-					line = line.replaceAll(">", "");
-
-					if (actualDistribution != null) {
-						actualDistribution.setDistribution(scores, pvalues, numberRandomizations);
-						addDistribution(actualDiseaseId, actualDistribution);
-						scores = new ArrayList<>();
-						pvalues = new ArrayList<>();
-					}
-
-					actualDistribution = new ScoreDistribution();
-
-					String[] split = line.split("_");
-					actualDiseaseId = split[0];
-					numberRandomizations = Double.parseDouble(split[1]);
-				}
-				else {
-					int indexFirstMinus = line.indexOf('-');
-					Double score;
-					try {
-						score = Double.parseDouble(line.substring(0, indexFirstMinus));
-					} catch (NumberFormatException e) {
-						indexFirstMinus = line.indexOf('-', indexFirstMinus + 1);
-						score = Double.parseDouble(line.substring(0, indexFirstMinus));
-					}
-					Double pValue = Double.parseDouble(line.substring(indexFirstMinus + 1));
-					scores.add(score);
-					pvalues.add(pValue);
-				}
-			}// end while
-			if (verboseParsing) {
-                logger.info("done while loop.... add last");
+            logger.debug("Could not find scoreDistribution for entrezid {} numQueryTerms: {} symmetric: {} using key: {}", entrezGeneId, n, symmetric, getKey(symmetric, n));
+        }
+        logger.error("NO WAY! Could not even find scoreDistribution for entrezid {} numQueryTerms: {} symmetric: {} - returning null", entrezGeneId, numQueryTerms, symmetric);
+        return null;
+    }
+
+    private Map<String, ScoreDistribution> getDistributions(int numQueryTerms) {
+        Path outFile = distributionsFolder.resolve(getKey(symmetric, numQueryTerms) + ".out");
+        // a null value from readDistributions is not cached, so a file which is later added can still be read
+        Map<String, ScoreDistribution> distributions = DISTRIBUTIONS_CACHE.computeIfAbsent(outFile.toAbsolutePath().normalize(), this::readDistributions);
+        return distributions == null ? Map.of() : distributions;
+    }
+
+    @Nullable
+    private Map<String, ScoreDistribution> readDistributions(Path outFile) {
+        Path binFile = ScoreDistributionIO.binFilePath(outFile);
+        try {
+            if (isUpToDate(binFile, outFile)) {
+                if (verboseParsing) {
+                    logger.info("Reading distributions from file: {}", binFile);
+                }
+                return Map.copyOf(ScoreDistributionIO.readBinaryFile(binFile));
             }
-            if (actualDistribution != null) {
-                actualDistribution.setDistribution(scores, pvalues, numberRandomizations);
-                addDistribution(actualDiseaseId, actualDistribution);
+            if (!Files.exists(outFile)) {
+                logger.debug("No PhenIX score distributions file {}", outFile);
+                return null;
             }
-		} catch (IOException e) {
-			logger.error("Unable access file {} to create PhenIX score distributions", file,  e);
-		}
-		if (verboseParsing)
-			logger.info("done parsing");
-	}
-
-    private synchronized void addDistribution(String diseaseId, ScoreDistribution actualDistribution) {
-        String key = getKey(symmetric, numQueryTerms);
-        key2scoreDistribution.computeIfAbsent(key, mim2scoreDist -> new HashMap<>()).put(diseaseId, actualDistribution);
+            if (verboseParsing) {
+                logger.info("Reading distributions from file: {}", outFile);
+            }
+            return Map.copyOf(ScoreDistributionIO.readOutFile(outFile));
+        } catch (UncheckedIOException e) {
+            logger.error("Unable access file {} to create PhenIX score distributions", outFile, e);
+            return null;
+        }
     }
 
+    /**
+     * Returns true if the binary file exists and was written no earlier than any {@code .out} file, otherwise a
+     * replaced or edited {@code .out} file would be silently ignored.
+     */
+    private static boolean isUpToDate(Path binFile, Path outFile) {
+        if (!Files.exists(binFile)) {
+            return false;
+        }
+        if (!Files.exists(outFile)) {
+            return true;
+        }
+        try {
+            if (Files.getLastModifiedTime(binFile).compareTo(Files.getLastModifiedTime(outFile)) >= 0) {
+                return true;
+            }
+            logger.warn("Ignoring PhenIX score distributions file {} as it is older than {}. Re-create this using ScoreDistributionIO.convertAllToBinary to avoid parsing the .out file.", binFile, outFile);
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Removes all the score distributions from the process-wide cache.
+     */
+    public static void clearCache() {
+        DISTRIBUTIONS_CACHE.clear();
+    }
 }
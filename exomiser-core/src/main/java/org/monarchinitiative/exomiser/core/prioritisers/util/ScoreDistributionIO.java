@@ -0,0 +1,204 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.prioritisers.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class for reading and writing the PhenIX {@link ScoreDistribution} files. Each file contains the distributions for
+ * a given number of query terms keyed by entrez gene id.
+ * <p>
+ * The original text format (e.g. {@code 3.out}) is slow to parse, so these can be converted into a compact binary
+ * format (e.g. {@code 3.bin}) using {@link #convertToBinary(Path, Path)}, or all at once for a distributions folder
+ * using {@link #convertAllToBinary(Path)}. The binary format is:
+ * <pre>
+ *     int     magic number 'EXSD'
+ *     int     format version
+ *     int     number of distributions, followed by the gene id, number of randomisations, number of scores then
+ *             the scores and pvalues of each distribution.
+ * </pre>
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+public class ScoreDistributionIO {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScoreDistributionIO.class);
+
+    static final int MAGIC = 0x45585344;
+    static final int VERSION = 1;
+
+    private ScoreDistributionIO() {
+    }
+
+    /**
+     * Converts the original text format score distributions file into the binary format.
+     *
+     * @param outFile the {@code .out} file to convert
+     * @param binFile the {@code .bin} file to write
+     */
+    public static void convertToBinary(Path outFile, Path binFile) {
+        writeBinaryFile(readOutFile(outFile), binFile);
+    }
+
+    /**
+     * Converts every {@code .out} file in the directory into a {@code .bin} file alongside it. This is intended to be
+     * run once when installing the PhenIX data, as the {@link ScoreDistributionContainer} never writes these itself.
+     *
+     * @param directory the directory containing the {@code .out} files
+     * @return the {@code .bin} files written
+     */
+    public static List<Path> convertAllToBinary(Path directory) {
+        List<Path> binFiles = new ArrayList<>();
+        try (DirectoryStream<Path> outFiles = Files.newDirectoryStream(directory, "*.out")) {
+            for (Path outFile : outFiles) {
+                Path binFile = binFilePath(outFile);
+                convertToBinary(outFile, binFile);
+                binFiles.add(binFile);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to convert PhenIX score distributions in " + directory, e);
+        }
+        return binFiles;
+    }
+
+    /**
+     * @return the path of the {@code .bin} file for the {@code .out} file
+     */
+    public static Path binFilePath(Path outFile) {
+        String fileName = outFile.getFileName().toString();
+        return outFile.resolveSibling(fileName.substring(0, fileName.length() - ".out".length()) + ".bin");
+    }
+
+    /**
+     * Reads the score distributions from the original text format file where each distribution is introduced by a line
+     * {@code >geneId_numberRandomizations} followed by lines of {@code score-pvalue}.
+     */
+    public static Map<String, ScoreDistribution> readOutFile(Path outFile) {
+        Map<String, ScoreDistribution> distributions = new HashMap<>();
+        try (BufferedReader in = Files.newBufferedReader(outFile)) {
+            String actualGeneId = null;
+            double numberRandomizations = -1;
+            List<Double> scores = new ArrayList<>();
+            List<Double> pvalues = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith(">")) {
+                    if (actualGeneId != null) {
+                        distributions.put(actualGeneId, toScoreDistribution(scores, pvalues, numberRandomizations));
+                        scores = new ArrayList<>();
+                        pvalues = new ArrayList<>();
+                    }
+                    String[] split = line.replace(">", "").split("_");
+                    actualGeneId = split[0];
+                    numberRandomizations = Double.parseDouble(split[1]);
+                } else {
+                    int indexFirstMinus = line.indexOf('-');
+                    double score;
+                    try {
+                        score = Double.parseDouble(line.substring(0, indexFirstMinus));
+                    } catch (NumberFormatException e) {
+                        // the score was written in scientific notation e.g. 1.0E-4-0.5
+                        indexFirstMinus = line.indexOf('-', indexFirstMinus + 1);
+                        score = Double.parseDouble(line.substring(0, indexFirstMinus));
+                    }
+                    scores.add(score);
+                    pvalues.add(Double.parseDouble(line.substring(indexFirstMinus + 1)));
+                }
+            }
+            if (actualGeneId != null) {
+                distributions.put(actualGeneId, toScoreDistribution(scores, pvalues, numberRandomizations));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read PhenIX score distributions from " + outFile, e);
+        }
+        logger.debug("Read {} score distributions from {}", distributions.size(), outFile);
+        return distributions;
+    }
+
+    private static ScoreDistribution toScoreDistribution(List<Double> scores, List<Double> pvalues, double numberRandomizations) {
+        double[] scoresArray = scores.stream().mapToDouble(Double::doubleValue).toArray();
+        double[] pvaluesArray = pvalues.stream().mapToDouble(Double::doubleValue).toArray();
+        return new ScoreDistribution(scoresArray, pvaluesArray, numberRandomizations);
+    }
+
+    public static Map<String, ScoreDistribution> readBinaryFile(Path binFile) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(binFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a version " + VERSION + " score distributions file");
+            }
+            int numDistributions = in.readInt();
+            Map<String, ScoreDistribution> distributions = new HashMap<>(numDistributions * 4 / 3 + 1);
+            for (int i = 0; i < numDistributions; i++) {
+                String geneId = in.readUTF();
+                double numberRandomizations = in.readDouble();
+                int numScores = in.readInt();
+                double[] scores = new double[numScores];
+                for (int j = 0; j < numScores; j++) {
+                    scores[j] = in.readDouble();
+                }
+                double[] pvalues = new double[numScores];
+                for (int j = 0; j < numScores; j++) {
+                    pvalues[j] = in.readDouble();
+                }
+                distributions.put(geneId, new ScoreDistribution(scores, pvalues, numberRandomizations));
+            }
+            logger.debug("Read {} score distributions from {}", distributions.size(), binFile);
+            return distributions;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read PhenIX score distributions from " + binFile, e);
+        }
+    }
+
+    public static void writeBinaryFile(Map<String, ScoreDistribution> distributions, Path binFile) {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(binFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(distributions.size());
+            for (Map.Entry<String, ScoreDistribution> entry : distributions.entrySet()) {
+                ScoreDistribution scoreDistribution = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeDouble(scoreDistribution.getNumberRandomizations());
+                double[] scores = scoreDistribution.getScores();
+                out.writeInt(scores.length);
+                for (double score : scores) {
+                    out.writeDouble(score);
+                }
+                for (double pvalue : scoreDistribution.getPvalues()) {
+                    out.writeDouble(pvalue);
+                }
+            }
+            logger.debug("Wrote {} score distributions to {}", distributions.size(), binFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write PhenIX score distributions to " + binFile, e);
+        }
+    }
+}
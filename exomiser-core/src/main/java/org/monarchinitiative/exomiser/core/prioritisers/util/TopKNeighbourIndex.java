@@ -0,0 +1,289 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.prioritisers.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Pre-computed index of the K highest-scoring columns for each row of a {@link DataMatrix}. Neighbours are stored in
+ * descending order of their matrix value, ties being broken by ascending column index. Only positive values are
+ * stored, so a row with fewer than K neighbours contains every positive value in that row of the matrix.
+ * <p>
+ * The index is built offline and stored alongside the matrix file, with the suffix '.topk' (see
+ * {@link #pathFor(Path)}), in the little-endian format:
+ * <pre>
+ *     int        magic number 'EXNB'
+ *     int        format version
+ *     int        n, the number of rows in the matrix
+ *     int        k, the maximum number of neighbours per row
+ *     int[n]     the number of neighbours stored for each row
+ *     int[n*k]   the column index of each neighbour, k per row
+ *     float[n*k] the matrix value of each neighbour, k per row
+ * </pre>
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+public class TopKNeighbourIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TopKNeighbourIndex.class);
+
+    static final int MAGIC = 0x45584e42;
+    static final int VERSION = 1;
+    static final String FILE_SUFFIX = ".topk";
+
+    public static final int DEFAULT_K = 64;
+
+    private final int numRows;
+    private final int k;
+    private final int[] numNeighbours;
+    private final int[] neighbourColumns;
+    private final float[] neighbourValues;
+
+    private TopKNeighbourIndex(int numRows, int k, int[] numNeighbours, int[] neighbourColumns, float[] neighbourValues) {
+        this.numRows = numRows;
+        this.k = k;
+        this.numNeighbours = numNeighbours;
+        this.neighbourColumns = neighbourColumns;
+        this.neighbourValues = neighbourValues;
+    }
+
+    /**
+     * Returns the conventional location of the index for the matrix file at {@code matrixPath}.
+     */
+    public static Path pathFor(Path matrixPath) {
+        return matrixPath.resolveSibling(matrixPath.getFileName() + FILE_SUFFIX);
+    }
+
+    /**
+     * Builds the index by reading every column of the {@code dataMatrix} once. This is an O(n<sup>2</sup>) operation
+     * intended to be run offline when preparing the data release.
+     */
+    public static TopKNeighbourIndex build(DataMatrix dataMatrix, int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be greater than 0");
+        }
+        Map<Integer, Integer> entrezIdToRowIndex = dataMatrix.getEntrezIdToRowIndex();
+        int numRows = entrezIdToRowIndex.size();
+        int[] numNeighbours = new int[numRows];
+        // each row is a min-heap of size k while building so that the weakest neighbour is at the root
+        int[] columns = new int[numRows * k];
+        float[] values = new float[numRows * k];
+        for (Map.Entry<Integer, Integer> entry : entrezIdToRowIndex.entrySet()) {
+            int column = entry.getValue();
+            FloatBuffer columnValues = dataMatrix.getColumnForGene(entry.getKey());
+            for (int row = 0; row < numRows; row++) {
+                float value = columnValues.get(row);
+                if (value > 0) {
+                    offer(columns, values, row * k, k, numNeighbours, row, column, value);
+                }
+            }
+        }
+        for (int row = 0; row < numRows; row++) {
+            sortDescending(columns, values, row * k, numNeighbours[row]);
+        }
+        logger.debug("Built top-{} neighbour index for {} rows", k, numRows);
+        return new TopKNeighbourIndex(numRows, k, numNeighbours, columns, values);
+    }
+
+    // returns true if a is a weaker neighbour than b i.e. it has a lower value or an equal value and a higher column
+    private static boolean weaker(float aValue, int aColumn, float bValue, int bColumn) {
+        return aValue < bValue || (aValue == bValue && aColumn > bColumn);
+    }
+
+    private static void offer(int[] columns, float[] values, int offset, int k, int[] numNeighbours, int row, int column, float value) {
+        int size = numNeighbours[row];
+        if (size < k) {
+            // sift up
+            int i = size;
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (!weaker(value, column, values[offset + parent], columns[offset + parent])) {
+                    break;
+                }
+                values[offset + i] = values[offset + parent];
+                columns[offset + i] = columns[offset + parent];
+                i = parent;
+            }
+            values[offset + i] = value;
+            columns[offset + i] = column;
+            numNeighbours[row] = size + 1;
+        } else if (weaker(values[offset], columns[offset], value, column)) {
+            siftDown(columns, values, offset, k, value, column);
+        }
+    }
+
+    private static void siftDown(int[] columns, float[] values, int offset, int size, float value, int column) {
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && weaker(values[offset + child + 1], columns[offset + child + 1], values[offset + child], columns[offset + child])) {
+                child++;
+            }
+            if (!weaker(values[offset + child], columns[offset + child], value, column)) {
+                break;
+            }
+            values[offset + i] = values[offset + child];
+            columns[offset + i] = columns[offset + child];
+            i = child;
+        }
+        values[offset + i] = value;
+        columns[offset + i] = column;
+    }
+
+    private static void sortDescending(int[] columns, float[] values, int offset, int size) {
+        // repeatedly remove the weakest neighbour from the root of the heap and place it at the end
+        for (int end = size - 1; end > 0; end--) {
+            float weakestValue = values[offset];
+            int weakestColumn = columns[offset];
+            siftDown(columns, values, offset, end, values[offset + end], columns[offset + end]);
+            values[offset + end] = weakestValue;
+            columns[offset + end] = weakestColumn;
+        }
+    }
+
+    public static TopKNeighbourIndex load(Path indexPath) {
+        Objects.requireNonNull(indexPath);
+        try (FileChannel fileChannel = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+            ByteBuffer header = readFully(fileChannel, 4 * Integer.BYTES, 0);
+            int magic = header.getInt();
+            int version = header.getInt();
+            if (magic != MAGIC || version != VERSION) {
+                throw new IOException("Not a version " + VERSION + " top-K neighbour index file");
+            }
+            int numRows = header.getInt();
+            int k = header.getInt();
+            long expectedSize = header.capacity() + (long) numRows * Integer.BYTES + (long) numRows * k * (Integer.BYTES + Float.BYTES);
+            if (fileChannel.size() != expectedSize) {
+                throw new IOException("Expected " + expectedSize + " bytes in top-K neighbour index file but found " + fileChannel.size());
+            }
+            long position = header.capacity();
+            int[] numNeighbours = new int[numRows];
+            readFully(fileChannel, numRows * Integer.BYTES, position).asIntBuffer().get(numNeighbours);
+            position += (long) numRows * Integer.BYTES;
+            int[] columns = new int[numRows * k];
+            readFully(fileChannel, columns.length * Integer.BYTES, position).asIntBuffer().get(columns);
+            position += (long) columns.length * Integer.BYTES;
+            float[] values = new float[numRows * k];
+            readFully(fileChannel, values.length * Float.BYTES, position).asFloatBuffer().get(values);
+            logger.debug("Loaded top-{} neighbour index for {} rows", k, numRows);
+            return new TopKNeighbourIndex(numRows, k, numNeighbours, columns, values);
+        } catch (IOException e) {
+            throw new DataMatrixIO.DataMatrixIoException("Unable to read top-K neighbour index from " + indexPath, e);
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel fileChannel, int numBytes, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(numBytes).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (fileChannel.read(buffer, position + buffer.position()) == -1) {
+                throw new IOException("Unexpected end of top-K neighbour index file");
+            }
+        }
+        return buffer.flip();
+    }
+
+    public void write(Path outputPath) {
+        try (FileChannel fileChannel = FileChannel.open(outputPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(4 * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(numRows).putInt(k);
+            writeFully(fileChannel, header.flip());
+
+            ByteBuffer counts = ByteBuffer.allocate(numRows * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            counts.asIntBuffer().put(numNeighbours);
+            writeFully(fileChannel, counts);
+
+            ByteBuffer columns = ByteBuffer.allocate(neighbourColumns.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            columns.asIntBuffer().put(neighbourColumns);
+            writeFully(fileChannel, columns);
+
+            ByteBuffer values = ByteBuffer.allocate(neighbourValues.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            values.asFloatBuffer().put(neighbourValues);
+            writeFully(fileChannel, values);
+        } catch (IOException e) {
+            throw new DataMatrixIO.DataMatrixIoException("Unable to write top-K neighbour index to " + outputPath, e);
+        }
+    }
+
+    private static void writeFully(FileChannel fileChannel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            fileChannel.write(buffer);
+        }
+    }
+
+    public int numRows() {
+        return numRows;
+    }
+
+    public int k() {
+        return k;
+    }
+
+    /**
+     * @return the number of neighbours stored for the row, between 0 and k
+     */
+    public int numNeighbours(int row) {
+        return numNeighbours[row];
+    }
+
+    /**
+     * @return true if the stored neighbours contain every positive value in the row of the matrix
+     */
+    public boolean isComplete(int row) {
+        return numNeighbours[row] < k;
+    }
+
+    /**
+     * @return the column index of the i-th strongest neighbour of the row
+     */
+    public int neighbourColumn(int row, int i) {
+        return neighbourColumns[row * k + i];
+    }
+
+    /**
+     * @return the matrix value of the i-th strongest neighbour of the row
+     */
+    public float neighbourValue(int row, int i) {
+        return neighbourValues[row * k + i];
+    }
+
+    @Override
+    public String toString() {
+        return "TopKNeighbourIndex{" +
+                "rows=" + numRows +
+                ", k=" + k +
+                '}';
+    }
+}
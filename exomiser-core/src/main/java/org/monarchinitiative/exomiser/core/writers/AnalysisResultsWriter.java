@@ -28,9 +28,9 @@
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Collections;
-import java.util.EnumSet;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Facade for handling writing out {@link org.monarchinitiative.exomiser.core.analysis.AnalysisResults}
@@ -56,6 +56,36 @@ public static void writeToFile(AnalysisResults analysisResults, OutputProto.Outp
     }
 
     public static void writeToFile(AnalysisResults analysisResults, OutputSettings outputSettings) {
+        writeToFile(analysisResults, outputSettings, 1);
+    }
+
+    /**
+     * @param analysisResults
+     * @param outputOptions
+     * @param numThreads      maximum number of output formats to write concurrently
+     * @since 15.0.0
+     */
+    public static void writeToFile(AnalysisResults analysisResults, OutputProto.OutputOptions outputOptions, int numThreads) {
+        OutputSettings outputSettings = new OutputSettingsProtoConverter().toDomain(outputOptions);
+        writeToFile(analysisResults, outputSettings, numThreads);
+    }
+
+    /**
+     * Writes the results in each of the output formats specified in the {@link OutputSettings}. Where numThreads is
+     * greater than 1, the formats will be written concurrently with each {@link ResultsWriter} streaming directly to
+     * its output file. The {@link AnalysisResults} are only read by the writers, so this is safe to do. A failure to
+     * write one format will not stop the others from being written - the first failure will be re-thrown once all the
+     * formats have been attempted.
+     *
+     * @param analysisResults
+     * @param outputSettings
+     * @param numThreads      maximum number of output formats to write concurrently
+     * @since 15.0.0
+     */
+    public static void writeToFile(AnalysisResults analysisResults, OutputSettings outputSettings, int numThreads) {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("numThreads must be greater than 0, but was " + numThreads);
+        }
         Path outputDir = createOutputDirectoriesIfNotExists(outputSettings);
         logger.debug("Writing results to directory {}", outputDir);
 
@@ -63,10 +93,54 @@ public static void writeToFile(AnalysisResults analysisResults, OutputSettings o
                 ? DEFAULT_OUTPUT_FORMATS
                 : outputSettings.outputFormats();
 
-        for (OutputFormat outputFormat : outputFormats) {
-            var resultsWriter = ResultsWriterFactory.getResultsWriter(outputFormat);
-            logger.debug("Writing {} results", outputFormat);
-            resultsWriter.writeFile(analysisResults, outputSettings);
+        if (numThreads == 1 || outputFormats.size() == 1) {
+            for (OutputFormat outputFormat : outputFormats) {
+                writeFormat(analysisResults, outputSettings, outputFormat);
+            }
+        } else {
+            writeConcurrently(analysisResults, outputSettings, outputFormats, Math.min(numThreads, outputFormats.size()));
+        }
+    }
+
+    private static void writeFormat(AnalysisResults analysisResults, OutputSettings outputSettings, OutputFormat outputFormat) {
+        var resultsWriter = ResultsWriterFactory.getResultsWriter(outputFormat);
+        logger.debug("Writing {} results", outputFormat);
+        resultsWriter.writeFile(analysisResults, outputSettings);
+    }
+
+    private static void writeConcurrently(AnalysisResults analysisResults, OutputSettings outputSettings, Set<OutputFormat> outputFormats, int numThreads) {
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads, new WriterThreadFactory());
+        try {
+            List<Future<?>> futures = new ArrayList<>(outputFormats.size());
+            for (OutputFormat outputFormat : outputFormats) {
+                futures.add(executorService.submit(() -> writeFormat(analysisResults, outputSettings, outputFormat)));
+            }
+            Throwable failure = null;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for results to be written", e);
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause();
+                    } else {
+                        failure.addSuppressed(e.getCause());
+                    }
+                }
+            }
+            if (failure instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (failure instanceof Error error) {
+                throw error;
+            }
+            if (failure != null) {
+                throw new IllegalStateException("Unable to write results", failure);
+            }
+        } finally {
+            executorService.shutdownNow();
         }
     }
 
@@ -82,4 +156,15 @@ private static Path createOutputDirectoriesIfNotExists(OutputSettings outputSett
         return outputDir;
     }
 
+    private static class WriterThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "results-writer-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
@@ -148,17 +148,19 @@ private VariantContextWriterBuilder variantContextWriterBuilder() {
     private void writeData(AnalysisResults analysisResults, OutputSettings outputSettings, Path vcfPath, VariantContextWriter writer) {
         // n.b. identity is key here as VariantContext doesn't override equals() or hashCode() so don't change the implementation of this map
         Map<VariantContext, List<String>> variantContextAlleleInfoMap = new IdentityHashMap<>();
+        // compact variants don't retain their VariantContext, so these records are re-read from the input VCF
+        Set<Integer> recordIndices = compactVariantRecordIndices(analysisResults);
+        Map<Integer, VariantContext> indexedRecords = recordIndices.isEmpty() ? Map.of() : readIndexedVariantContexts(vcfPath, recordIndices);
 
         GeneScoreRanker geneScoreRanker = new GeneScoreRanker(analysisResults, outputSettings);
         geneScoreRanker.rankedVariants().forEach(rankedVariant -> {
             VariantEvaluation ve = rankedVariant.variantEvaluation();
             String alleleInfo = this.buildVariantRecord(rankedVariant.rank(), ve, rankedVariant.geneScore());
-            if (variantContextAlleleInfoMap.containsKey(ve.variantContext())) {
-                variantContextAlleleInfoMap.get(ve.variantContext()).add(alleleInfo);
+            VariantContext variantContext = ve.variantContext() != null ? ve.variantContext() : indexedRecords.get(ve.vcfRecordSummary().recordIndex());
+            if (variantContext != null) {
+                variantContextAlleleInfoMap.computeIfAbsent(variantContext, k -> new ArrayList<>()).add(alleleInfo);
             } else {
-                var alleleInfoList = new ArrayList<String>();
-                alleleInfoList.add(alleleInfo);
-                variantContextAlleleInfoMap.put(ve.variantContext(), alleleInfoList);
+                logger.debug("Unable to write {} - no VCF record available", ve);
             }
         });
 
@@ -194,6 +196,43 @@ private void writeData(AnalysisResults analysisResults, OutputSettings outputSet
                 .forEach(writer::add);
     }
 
+    /**
+     * Returns the positions in the input VCF of the records of all the compact variants in the analysisResults.
+     */
+    private Set<Integer> compactVariantRecordIndices(AnalysisResults analysisResults) {
+        Set<Integer> recordIndices = new HashSet<>();
+        for (Gene gene : analysisResults.genes()) {
+            for (VariantEvaluation variantEvaluation : gene.variantEvaluations()) {
+                if (variantEvaluation.variantContext() == null && variantEvaluation.vcfRecordSummary().hasRecordIndex()) {
+                    recordIndices.add(variantEvaluation.vcfRecordSummary().recordIndex());
+                }
+            }
+        }
+        return recordIndices;
+    }
+
+    /**
+     * Re-reads the records at the recordIndices from the input VCF. The file is only read up to the last of the
+     * required records.
+     */
+    private Map<Integer, VariantContext> readIndexedVariantContexts(Path vcfPath, Set<Integer> recordIndices) {
+        int lastRecordIndex = Collections.max(recordIndices);
+        Map<Integer, VariantContext> records = new HashMap<>();
+        AtomicInteger recordIndex = new AtomicInteger(0);
+        try (var variantContexts = VcfFiles.readVariantContexts(vcfPath)) {
+            variantContexts.sequential()
+                    .takeWhile(variantContext -> recordIndex.get() <= lastRecordIndex)
+                    .forEach(variantContext -> {
+                        int index = recordIndex.getAndIncrement();
+                        if (recordIndices.contains(index)) {
+                            records.put(index, variantContext);
+                        }
+                    });
+        }
+        logger.debug("Re-read {} records from {}", records.size(), vcfPath);
+        return records;
+    }
+
     private SAMSequenceDictionary createSamSequenceDictionary(GenomicAssembly genomicAssembly, Set<VariantContext> variantContexts) {
         var unknownContigId = new AtomicInteger(genomicAssembly.contigs().size());
         var contigs = variantContexts.stream()
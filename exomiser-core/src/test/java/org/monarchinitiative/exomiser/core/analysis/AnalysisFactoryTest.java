@@ -21,6 +21,7 @@
 package org.monarchinitiative.exomiser.core.analysis;
 
 import org.junit.jupiter.api.Test;
+import org.monarchinitiative.exomiser.core.analysis.score.BootstrappedPopulationCache;
 import org.monarchinitiative.exomiser.core.genome.GenomeAnalysisServiceProvider;
 import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
 import org.monarchinitiative.exomiser.core.genome.TestFactory;
@@ -31,6 +32,7 @@
 import org.monarchinitiative.exomiser.core.prioritisers.PriorityFactory;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -58,6 +60,19 @@ public void testCanMakePassOnlyAnalysisRunner() {
         assertThat(analysisRunner, instanceOf(PassOnlyAnalysisRunner.class));
     }
 
+    @Test
+    public void testPassOnlyAnalysisRunnerCreatesCompactVariantsByDefault() {
+        PassOnlyAnalysisRunner analysisRunner = (PassOnlyAnalysisRunner) instance.getAnalysisRunner(GenomeAssembly.HG19, AnalysisMode.PASS_ONLY);
+        assertThat(analysisRunner.compactVariants(), is(true));
+    }
+
+    @Test
+    public void testCanDisableCompactVariants() {
+        AnalysisFactory analysisFactory = new AnalysisFactory(genomeAnalysisServiceProvider, priorityFactory, ontologyService, BootstrappedPopulationCache.disabled(), false);
+        PassOnlyAnalysisRunner analysisRunner = (PassOnlyAnalysisRunner) analysisFactory.getAnalysisRunner(GenomeAssembly.HG19, AnalysisMode.PASS_ONLY);
+        assertThat(analysisRunner.compactVariants(), is(false));
+    }
+
     @Test
     public void testGetAnalysisRunnerThrowsExceptionWhenUnsupportedGenomeAssemblyIsSpecified() {
         assertThrows(UnsupportedGenomeAssemblyException.class, () -> instance.getAnalysisRunner(GenomeAssembly.HG38, AnalysisMode.FULL));
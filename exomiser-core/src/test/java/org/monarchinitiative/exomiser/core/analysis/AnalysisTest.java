@@ -34,6 +34,7 @@
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  *
@@ -105,6 +106,24 @@ public void analysisCanSpecifyAlternativeAnalysisMode() {
         assertThat(instance.analysisMode(), equalTo(AnalysisMode.FULL));
     }
 
+    @Test
+    public void variantProcessingThreadsDefaultsToZero() {
+        assertThat(DEFAULT_ANALYSIS.variantProcessingThreads(), equalTo(0));
+    }
+
+    @Test
+    public void analysisCanSpecifyVariantProcessingThreads() {
+        Analysis instance = newBuilder()
+                .variantProcessingThreads(8)
+                .build();
+        assertThat(instance.variantProcessingThreads(), equalTo(8));
+    }
+
+    @Test
+    public void variantProcessingThreadsCannotBeNegative() {
+        assertThrows(IllegalArgumentException.class, () -> newBuilder().variantProcessingThreads(-1).build());
+    }
+
     @Test
     public void testFrequencySourcesAreEmptyByDefault() {
         assertThat(DEFAULT_ANALYSIS.frequencySources().isEmpty(), is(true));
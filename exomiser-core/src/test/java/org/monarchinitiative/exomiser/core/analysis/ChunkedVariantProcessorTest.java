@@ -0,0 +1,98 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.analysis;
+
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.exomiser.core.genome.TestFactory;
+import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ChunkedVariantProcessorTest {
+
+    private List<VariantEvaluation> makeVariants() {
+        List<VariantEvaluation> variants = new ArrayList<>();
+        for (int chr = 1; chr <= 3; chr++) {
+            for (int pos = 1; pos <= 1_000; pos++) {
+                variants.add(TestFactory.variantBuilder(chr, pos * 10, "A", "T").build());
+            }
+        }
+        return variants;
+    }
+
+    @Test
+    void throwsExceptionWithZeroThreads() {
+        assertThrows(IllegalArgumentException.class, () -> new ChunkedVariantProcessor(0));
+    }
+
+    @Test
+    void throwsExceptionWithZeroChunkSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ChunkedVariantProcessor(2, 0));
+    }
+
+    @Test
+    void processRetainsInputOrder() {
+        List<VariantEvaluation> variants = makeVariants();
+        List<VariantEvaluation> expected = variants.stream().filter(variant -> variant.start() % 20 == 0).toList();
+
+        ChunkedVariantProcessor instance = new ChunkedVariantProcessor(4, 7);
+        List<VariantEvaluation> result = instance.process(variants.stream(), chunk -> chunk.stream()
+                .filter(variant -> variant.start() % 20 == 0)
+                .toList());
+
+        assertThat(result, equalTo(expected));
+    }
+
+    @Test
+    void processEmptyStream() {
+        ChunkedVariantProcessor instance = new ChunkedVariantProcessor(4);
+        assertThat(instance.process(List.<VariantEvaluation>of().stream(), chunk -> chunk), equalTo(List.of()));
+    }
+
+    @Test
+    void chunksDoNotSpanContigs() {
+        Set<Integer> mixedContigChunks = ConcurrentHashMap.newKeySet();
+        ChunkedVariantProcessor instance = new ChunkedVariantProcessor(2, 300);
+        instance.process(makeVariants().stream(), chunk -> {
+            assertThat(chunk.size(), lessThanOrEqualTo(300));
+            int contig = chunk.get(0).contigId();
+            chunk.stream().filter(variant -> variant.contigId() != contig).forEach(variant -> mixedContigChunks.add(contig));
+            return chunk;
+        });
+        assertThat(mixedContigChunks, equalTo(Set.of()));
+    }
+
+    @Test
+    void processPropagatesExceptionsFromWorkers() {
+        ChunkedVariantProcessor instance = new ChunkedVariantProcessor(2, 10);
+        assertThrows(IllegalStateException.class, () -> instance.process(makeVariants().stream(), chunk -> {
+            throw new IllegalStateException("Boom!");
+        }));
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.core.analysis.acmg;
+
+import de.charite.compbio.jannovar.annotation.VariantEffect;
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.exomiser.core.genome.TestFactory;
+import org.monarchinitiative.exomiser.core.genome.TestVariantDataService;
+import org.monarchinitiative.exomiser.core.genome.dao.ClinVarDao;
+import org.monarchinitiative.exomiser.core.model.GeneStatistics;
+import org.monarchinitiative.exomiser.core.model.Variant;
+import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
+import org.monarchinitiative.exomiser.core.model.pathogenicity.ClinVarData;
+import org.monarchinitiative.svart.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class PrefetchedClinVarDaoTest {
+
+    private static class RecordingClinVarDao implements ClinVarDao {
+
+        private final ClinVarDao clinVarDao;
+        private final List<GenomicInterval> singleQueries = new ArrayList<>();
+        private final List<List<GenomicInterval>> batchQueries = new ArrayList<>();
+
+        private RecordingClinVarDao(ClinVarDao clinVarDao) {
+            this.clinVarDao = clinVarDao;
+        }
+
+        @Override
+        public ClinVarData getClinVarData(Variant variant) {
+            return clinVarDao.getClinVarData(variant);
+        }
+
+        @Override
+        public ClinVarData getClinVarData(GenomicVariant genomicVariant) {
+            return clinVarDao.getClinVarData(genomicVariant);
+        }
+
+        @Override
+        public Map<GenomicVariant, ClinVarData> findClinVarRecordsOverlappingInterval(GenomicInterval genomicInterval) {
+            singleQueries.add(genomicInterval);
+            return clinVarDao.findClinVarRecordsOverlappingInterval(genomicInterval);
+        }
+
+        @Override
+        public List<Map<GenomicVariant, ClinVarData>> findClinVarRecordsOverlappingIntervals(List<GenomicInterval> genomicIntervals) {
+            batchQueries.add(genomicIntervals);
+            List<Map<GenomicVariant, ClinVarData>> results = new ArrayList<>();
+            for (GenomicInterval genomicInterval : genomicIntervals) {
+                results.add(clinVarDao.findClinVarRecordsOverlappingInterval(genomicInterval));
+            }
+            return results;
+        }
+
+        @Override
+        public GeneStatistics getGeneStatistics(String geneSymbol) {
+            return clinVarDao.getGeneStatistics(geneSymbol);
+        }
+    }
+
+    private static VariantEvaluation variant(int chr, int pos, String ref, String alt, VariantEffect variantEffect) {
+        return TestFactory.variantBuilder(chr, pos, ref, alt).variantEffect(variantEffect).build();
+    }
+
+    @Test
+    void clinVarNeighbourhood() {
+        VariantEvaluation variant = variant(10, 123247517, "T", "G", VariantEffect.MISSENSE_VARIANT);
+        GenomicInterval expected = GenomicInterval.of(variant.contig(), Strand.POSITIVE, Coordinates.oneBased(123247492, 123247542));
+        assertThat(PrefetchedClinVarDao.clinVarNeighbourhood(variant), equalTo(expected));
+    }
+
+    @Test
+    void clinVarNeighbourhoodIsWithinContigBounds() {
+        VariantEvaluation variant = variant(1, 10, "T", "G", VariantEffect.MISSENSE_VARIANT);
+        GenomicInterval expected = GenomicInterval.of(variant.contig(), Strand.POSITIVE, Coordinates.oneBased(1, 35));
+        assertThat(PrefetchedClinVarDao.clinVarNeighbourhood(variant), equalTo(expected));
+    }
+
+    @Test
+    void prefetchesNeighbourhoodsOfMissenseAndSpliceVariantsInOneBatch() {
+        VariantEvaluation missense = variant(10, 123247517, "T", "G", VariantEffect.MISSENSE_VARIANT);
+        VariantEvaluation spliceDonor = variant(10, 123256000, "T", "G", VariantEffect.SPLICE_DONOR_VARIANT);
+        VariantEvaluation intergenic = variant(10, 123300000, "T", "G", VariantEffect.INTERGENIC_VARIANT);
+        VariantEvaluation mitochondrialMissense = variant(25, 1000, "T", "G", VariantEffect.MISSENSE_VARIANT);
+
+        ClinVarData clinVarData = ClinVarData.builder().variationId("12345").primaryInterpretation(ClinVarData.ClinSig.PATHOGENIC).build();
+        VariantEvaluation clinVarVariant = variant(10, 123247514, "C", "G", VariantEffect.MISSENSE_VARIANT);
+        RecordingClinVarDao recordingClinVarDao = new RecordingClinVarDao(TestVariantDataService.builder()
+                .expectedClinVarData(Map.of(clinVarVariant, clinVarData))
+                .build());
+
+        PrefetchedClinVarDao instance = PrefetchedClinVarDao.of(recordingClinVarDao, List.of(missense, spliceDonor, intergenic, mitochondrialMissense, missense));
+
+        assertThat(instance.numPrefetched(), equalTo(2));
+        assertThat(recordingClinVarDao.batchQueries, equalTo(List.of(List.of(PrefetchedClinVarDao.clinVarNeighbourhood(missense), PrefetchedClinVarDao.clinVarNeighbourhood(spliceDonor)))));
+
+        var missenseNeighbourhood = instance.findClinVarRecordsOverlappingInterval(PrefetchedClinVarDao.clinVarNeighbourhood(missense));
+        assertThat(missenseNeighbourhood, equalTo(Map.of(clinVarVariant, clinVarData)));
+        assertThat(instance.findClinVarRecordsOverlappingInterval(PrefetchedClinVarDao.clinVarNeighbourhood(spliceDonor)), equalTo(Map.of()));
+        assertThat(recordingClinVarDao.singleQueries, equalTo(List.of()));
+    }
+
+    @Test
+    void delegatesUnknownIntervals() {
+        RecordingClinVarDao recordingClinVarDao = new RecordingClinVarDao(TestVariantDataService.stub());
+        PrefetchedClinVarDao instance = PrefetchedClinVarDao.of(recordingClinVarDao, List.of());
+
+        assertThat(recordingClinVarDao.batchQueries, equalTo(List.of()));
+
+        VariantEvaluation missense = variant(10, 123247517, "T", "G", VariantEffect.MISSENSE_VARIANT);
+        GenomicInterval neighbourhood = PrefetchedClinVarDao.clinVarNeighbourhood(missense);
+        assertThat(instance.findClinVarRecordsOverlappingInterval(neighbourhood), equalTo(Map.of()));
+        assertThat(recordingClinVarDao.singleQueries, equalTo(List.of(neighbourhood)));
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.core.analysis.score;
+
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.exomiser.core.prioritisers.OmimPriority;
+import org.monarchinitiative.exomiser.core.prioritisers.Prioritiser;
+import org.monarchinitiative.exomiser.core.prioritisers.service.TestPriorityServiceFactory;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BootstrappedPopulationCacheTest {
+
+    private final Prioritiser<?> prioritiser = new OmimPriority(TestPriorityServiceFactory.testPriorityService());
+
+    @Test
+    void throwsExceptionWithNegativeSize() {
+        assertThrows(IllegalArgumentException.class, () -> new BootstrappedPopulationCache(-1, ""));
+    }
+
+    @Test
+    void returnsCachedPopulation() {
+        var instance = new BootstrappedPopulationCache(2, "2402");
+        double[] population = instance.getOrCreate(prioritiser, List.of("HP:0000001", "HP:0000002"), 10, () -> new double[]{0.1});
+        double[] cached = instance.getOrCreate(prioritiser, List.of("HP:0000002", "HP:0000001"), 10, () -> new double[]{0.2});
+        assertThat(cached, sameInstance(population));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedPopulation() {
+        var instance = new BootstrappedPopulationCache(2, "2402");
+        AtomicInteger created = new AtomicInteger();
+        for (int numGenes : new int[]{1, 2, 1, 3, 1, 2}) {
+            instance.getOrCreate(prioritiser, List.of("HP:0000001"), numGenes, () -> {
+                created.incrementAndGet();
+                return new double[]{numGenes};
+            });
+        }
+        // 1, 2, 3 and then 2 again as this was evicted by 3
+        assertThat(created.get(), equalTo(4));
+        assertThat(instance.size(), equalTo(2));
+    }
+
+    @Test
+    void disabledCacheNeverHoldsPopulations() {
+        var instance = BootstrappedPopulationCache.disabled();
+        double[] population = instance.getOrCreate(prioritiser, List.of("HP:0000001"), 10, () -> new double[]{0.1});
+        assertThat(instance.getOrCreate(prioritiser, List.of("HP:0000001"), 10, () -> new double[]{0.2}), equalTo(new double[]{0.2}));
+        assertThat(population, equalTo(new double[]{0.1}));
+        assertThat(instance.size(), equalTo(0));
+    }
+}
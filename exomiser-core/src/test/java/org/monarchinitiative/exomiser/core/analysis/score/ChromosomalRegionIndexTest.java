@@ -29,7 +29,10 @@
 import org.monarchinitiative.exomiser.core.model.TopologicalDomain;
 import org.monarchinitiative.svart.GenomicVariant;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Random;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
@@ -178,4 +181,46 @@ public void testGetTadsContainingVariantTwoOverlappingTadsVariantInOne() {
         assertThat(instance.getRegionsContainingVariant(variant), equalTo(ImmutableList.of(tad)));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void duplicateRegionsAreOnlyIndexedOnce() {
+        TopologicalDomain tad = new TopologicalDomain(1, 1, 100, ImmutableMap.of());
+        ChromosomalRegionIndex<TopologicalDomain> instance = ChromosomalRegionIndex.of(ImmutableList.of(tad, tad));
+
+        assertThat(instance.size(), equalTo(1));
+        assertThat(instance.getRegionsContainingVariant(variant), equalTo(ImmutableList.of(tad)));
+    }
+
+    @Test
+    public void overlappingRegionsMatchBruteForceSearch() {
+        Random random = new Random(1234);
+        List<RegulatoryFeature> features = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int contig = 1 + random.nextInt(3);
+            int start = 1 + random.nextInt(10_000);
+            // mostly short regions with a few very long ones
+            int length = i % 50 == 0 ? random.nextInt(5_000) : random.nextInt(100);
+            features.add(new RegulatoryFeature(contig, start, start + length, RegulatoryFeature.FeatureType.ENHANCER));
+        }
+        ChromosomalRegionIndex<RegulatoryFeature> instance = ChromosomalRegionIndex.of(features);
+
+        for (int i = 0; i < 2_000; i++) {
+            int contig = 1 + random.nextInt(4);
+            int start = 1 + random.nextInt(11_000);
+            int end = start + random.nextInt(200) - 1;
+            List<RegulatoryFeature> expected = new ArrayList<>();
+            for (RegulatoryFeature feature : features) {
+                if (feature.contigId() == contig && feature.start() - 1 < end && start - 1 < feature.end()) {
+                    expected.add(feature);
+                }
+            }
+            expected.sort((a, b) -> a.start() == b.start() ? Integer.compare(a.end(), b.end()) : Integer.compare(a.start(), b.start()));
+            List<RegulatoryFeature> actual = new ArrayList<>(instance.getRegionsOverlappingRegion(contig, start, end));
+            // the order of identical start and end positions is not defined
+            actual.sort((a, b) -> a.start() == b.start() ? Integer.compare(a.end(), b.end()) : Integer.compare(a.start(), b.start()));
+            assertThat(actual, equalTo(expected));
+            assertThat(instance.hasRegionContainingPosition(contig, start), equalTo(features.stream()
+                    .anyMatch(feature -> feature.contigId() == contig && feature.start() <= start && start <= feature.end())));
+        }
+    }
+
+}
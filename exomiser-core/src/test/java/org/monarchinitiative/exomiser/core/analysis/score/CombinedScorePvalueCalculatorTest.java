@@ -7,6 +7,7 @@
 import org.monarchinitiative.exomiser.core.prioritisers.HiPhiveOptions;
 import org.monarchinitiative.exomiser.core.prioritisers.HiPhivePriority;
 import org.monarchinitiative.exomiser.core.prioritisers.Prioritiser;
+import org.monarchinitiative.exomiser.core.prioritisers.PriorityResultCache;
 import org.monarchinitiative.exomiser.core.prioritisers.service.TestPriorityServiceFactory;
 import org.monarchinitiative.exomiser.core.prioritisers.util.DataMatrix;
 
@@ -56,4 +57,43 @@ void testZeroValueCombinedScoreHasPvalueOfOne() {
         assertThat(instance.calculatePvalueFromCombinedScore(0), closeTo(instance.calculatePvalueFromCombinedScore(0.0), 0.001));
         assertThat(instance.calculatePvalueFromCombinedScore(1d), closeTo(instance.calculatePvalueFromCombinedScore(1.0), 0.001));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testPvalueFromBootstrappedScores() {
+        var instance = CombinedScorePvalueCalculator.fromBootstrappedScores(new double[]{0.9, 0.1, 0.5, 0.5, 0.3, 0.7, 0.2, 0.8, 0.4, 0.6});
+        // (number of scores >= combined score + 1) / population size
+        assertThat(instance.calculatePvalueFromCombinedScore(0.05), equalTo(11 / 10.0));
+        assertThat(instance.calculatePvalueFromCombinedScore(0.5), equalTo(7 / 10.0));
+        assertThat(instance.calculatePvalueFromCombinedScore(0.55), equalTo(5 / 10.0));
+        assertThat(instance.calculatePvalueFromCombinedScore(0.9), equalTo(2 / 10.0));
+        assertThat(instance.calculatePvalueFromCombinedScore(0.95), equalTo(1 / 10.0));
+        assertThat(instance.calculatePvalueFromCombinedScore(0.0), equalTo(1.0));
+    }
+
+    @Test
+    void testBootstrappedPopulationIsReusedForSameHpoIdsAndPrioritiser() {
+        Prioritiser<?> prioritiser = new HiPhivePriority(HiPhiveOptions.defaults(), DataMatrix.empty(), TestPriorityServiceFactory.testPriorityService());
+        List<String> phenotypicFeatures = TestPriorityServiceFactory.pfeifferSyndromePhenotypes().stream().map(PhenotypeTerm::id).collect(Collectors.toList());
+        var populationCache = new BootstrappedPopulationCache(2, "2402");
+        var instance = CombinedScorePvalueCalculator.of(0, prioritiser, phenotypicFeatures, TestFactory.buildGenes(), 0, PriorityResultCache.disabled(), populationCache);
+        // HPO order shouldn't matter, neither should a new prioritiser instance with identical options
+        Prioritiser<?> otherPrioritiser = new HiPhivePriority(HiPhiveOptions.defaults(), DataMatrix.empty(), TestPriorityServiceFactory.testPriorityService());
+        var other = CombinedScorePvalueCalculator.of(0, otherPrioritiser, phenotypicFeatures.reversed(), TestFactory.buildGenes(), 0, PriorityResultCache.disabled(), populationCache);
+        assertThat(populationCache.size(), equalTo(1));
+        for (double score = 0.05; score < 1.0; score += 0.05) {
+            assertThat(other.calculatePvalueFromCombinedScore(score), equalTo(instance.calculatePvalueFromCombinedScore(score)));
+        }
+    }
+
+    @Test
+    void testBootstrappedPopulationIsNotSharedBetweenCaches() {
+        Prioritiser<?> prioritiser = new HiPhivePriority(HiPhiveOptions.defaults(), DataMatrix.empty(), TestPriorityServiceFactory.testPriorityService());
+        List<String> phenotypicFeatures = TestPriorityServiceFactory.pfeifferSyndromePhenotypes().stream().map(PhenotypeTerm::id).collect(Collectors.toList());
+        var populationCache = new BootstrappedPopulationCache(2, "2402");
+        CombinedScorePvalueCalculator.of(0, prioritiser, phenotypicFeatures, TestFactory.buildGenes(), 0, PriorityResultCache.disabled(), populationCache);
+        var otherPopulationCache = new BootstrappedPopulationCache(2, "2406");
+        CombinedScorePvalueCalculator.of(0, prioritiser, phenotypicFeatures, TestFactory.buildGenes(), 0, PriorityResultCache.disabled(), otherPopulationCache);
+        assertThat(populationCache.size(), equalTo(1));
+        assertThat(otherPopulationCache.size(), equalTo(1));
+    }
+}
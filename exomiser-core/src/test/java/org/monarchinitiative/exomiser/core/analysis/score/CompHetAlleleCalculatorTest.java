@@ -20,6 +20,7 @@
 
 package org.monarchinitiative.exomiser.core.analysis.score;
 
+import de.charite.compbio.jannovar.mendel.SubModeOfInheritance;
 import htsjdk.variant.variantcontext.Allele;
 import htsjdk.variant.variantcontext.Genotype;
 import htsjdk.variant.variantcontext.GenotypeType;
@@ -28,15 +29,22 @@
 import org.monarchinitiative.exomiser.core.analysis.InheritanceModeOptions;
 import org.monarchinitiative.exomiser.core.filters.FilterResult;
 import org.monarchinitiative.exomiser.core.filters.FilterType;
+import org.monarchinitiative.exomiser.core.genome.TestFactory;
 import org.monarchinitiative.exomiser.core.model.Gene;
+import org.monarchinitiative.exomiser.core.model.SampleData;
+import org.monarchinitiative.exomiser.core.model.SampleGenotype;
+import org.monarchinitiative.exomiser.core.model.SampleGenotypes;
 import org.monarchinitiative.exomiser.core.pedigree.Pedigree;
 import org.monarchinitiative.exomiser.core.pedigree.Pedigree.Individual;
 import org.monarchinitiative.exomiser.core.pedigree.Pedigree.Individual.Sex;
 import org.monarchinitiative.exomiser.core.pedigree.Pedigree.Individual.Status;
 import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -114,4 +122,158 @@ public void testFindCompHetCompatibleAllelesTwoAffectedSibsUnaffectedMotherhMiss
         assertThat(compHetAlleles.get(1), equalTo(Arrays.asList(var98518683, var97723020)));
     }
 
-}
\ No newline at end of file
+    private static final List<SampleGenotype> GENOTYPES = List.of(SampleGenotype.het(), SampleGenotype.homRef(), SampleGenotype.homAlt(), SampleGenotype.noCall());
+
+    private static VariantEvaluation variant(int chr, int pos, SampleData... sampleData) {
+        return TestFactory.variantBuilder(chr, pos, "A", "T")
+                .sampleGenotypes(SampleGenotypes.of(sampleData))
+                .build();
+    }
+
+    private static List<VariantEvaluation> randomVariants(Random random, int chr, int numVariants, List<String> sampleIds) {
+        List<VariantEvaluation> variants = new ArrayList<>();
+        for (int i = 0; i < numVariants; i++) {
+            SampleData[] sampleData = new SampleData[sampleIds.size()];
+            for (int s = 0; s < sampleIds.size(); s++) {
+                sampleData[s] = SampleData.of(sampleIds.get(s), GENOTYPES.get(random.nextInt(GENOTYPES.size())));
+            }
+            variants.add(variant(chr, 1000 + i, sampleData));
+        }
+        return variants;
+    }
+
+    /**
+     * The original all vs all search which the {@link CompHetAlleleCalculator} must always agree with.
+     */
+    private static List<List<VariantEvaluation>> findAllVsAll(InheritanceModeAnnotator inheritanceModeAnnotator, List<VariantEvaluation> variants) {
+        List<List<VariantEvaluation>> compatibleAllelePairs = new ArrayList<>();
+        for (int i = 0; i < variants.size(); i++) {
+            for (int j = i + 1; j < variants.size(); j++) {
+                List<VariantEvaluation> pair = List.of(variants.get(i), variants.get(j));
+                Map<SubModeOfInheritance, List<VariantEvaluation>> subModes = inheritanceModeAnnotator.computeCompatibleInheritanceSubModes(pair);
+                if (subModes.getOrDefault(SubModeOfInheritance.AUTOSOMAL_RECESSIVE_COMP_HET, List.of()).size() == 2
+                        || subModes.getOrDefault(SubModeOfInheritance.X_RECESSIVE_COMP_HET, List.of()).size() == 2) {
+                    compatibleAllelePairs.add(pair);
+                }
+            }
+        }
+        return compatibleAllelePairs;
+    }
+
+    private static void assertSameAsAllVsAll(Pedigree pedigree, List<VariantEvaluation> variants) {
+        InheritanceModeAnnotator inheritanceModeAnnotator = new InheritanceModeAnnotator(pedigree, InheritanceModeOptions.defaults());
+        CompHetAlleleCalculator instance = new CompHetAlleleCalculator(inheritanceModeAnnotator);
+        assertThat(instance.findCompatibleCompHetAlleles(variants), equalTo(findAllVsAll(inheritanceModeAnnotator, variants)));
+    }
+
+    @Test
+    void testTrioPairsOnlyPaternalWithMaternalAlleles() {
+        Pedigree pedigree = Pedigree.of(
+                Individual.builder().id("Cain").fatherId("Adam").motherId("Eve").sex(Sex.MALE).status(Status.AFFECTED).build(),
+                Individual.builder().id("Adam").sex(Sex.MALE).status(Status.UNAFFECTED).build(),
+                Individual.builder().id("Eve").sex(Sex.FEMALE).status(Status.UNAFFECTED).build()
+        );
+        VariantEvaluation paternal = variant(1, 1000, SampleData.of("Cain", SampleGenotype.het()), SampleData.of("Adam", SampleGenotype.het()), SampleData.of("Eve", SampleGenotype.homRef()));
+        VariantEvaluation deNovo = variant(1, 2000, SampleData.of("Cain", SampleGenotype.het()), SampleData.of("Adam", SampleGenotype.homRef()), SampleData.of("Eve", SampleGenotype.homRef()));
+        VariantEvaluation otherPaternal = variant(1, 3000, SampleData.of("Cain", SampleGenotype.het()), SampleData.of("Adam", SampleGenotype.het()), SampleData.of("Eve", SampleGenotype.homRef()));
+        VariantEvaluation maternal = variant(1, 4000, SampleData.of("Cain", SampleGenotype.het()), SampleData.of("Adam", SampleGenotype.homRef()), SampleData.of("Eve", SampleGenotype.het()));
+
+        CompHetAlleleCalculator instance = new CompHetAlleleCalculator(new InheritanceModeAnnotator(pedigree, InheritanceModeOptions.defaults()));
+        List<List<VariantEvaluation>> compHetAlleles = instance.findCompatibleCompHetAlleles(List.of(paternal, deNovo, otherPaternal, maternal));
+
+        assertThat(compHetAlleles, equalTo(List.of(List.of(paternal, maternal), List.of(otherPaternal, maternal))));
+    }
+
+    @Test
+    void testTrioWithLargeBuckets() {
+        Pedigree pedigree = Pedigree.of(
+                Individual.builder().id("Cain").fatherId("Adam").motherId("Eve").sex(Sex.MALE).status(Status.AFFECTED).build(),
+                Individual.builder().id("Adam").sex(Sex.MALE).status(Status.UNAFFECTED).build(),
+                Individual.builder().id("Eve").sex(Sex.FEMALE).status(Status.UNAFFECTED).build()
+        );
+        // large paternal and de novo buckets which can't pair with themselves, with a single maternal allele in the middle
+        int numVariants = 100_000;
+        int maternalIndex = numVariants / 2;
+        List<VariantEvaluation> variants = new ArrayList<>(numVariants);
+        List<List<VariantEvaluation>> expected = new ArrayList<>();
+        VariantEvaluation maternal = variant(1, 1000 + maternalIndex, SampleData.of("Cain", SampleGenotype.het()), SampleData.of("Adam", SampleGenotype.homRef()), SampleData.of("Eve", SampleGenotype.het()));
+        for (int i = 0; i < numVariants; i++) {
+            if (i == maternalIndex) {
+                variants.add(maternal);
+            } else if (i % 2 == 0) {
+                VariantEvaluation paternal = variant(1, 1000 + i, SampleData.of("Cain", SampleGenotype.het()), SampleData.of("Adam", SampleGenotype.het()), SampleData.of("Eve", SampleGenotype.homRef()));
+                variants.add(paternal);
+                expected.add(i < maternalIndex ? List.of(paternal, maternal) : List.of(maternal, paternal));
+            } else {
+                variants.add(variant(1, 1000 + i, SampleData.of("Cain", SampleGenotype.het()), SampleData.of("Adam", SampleGenotype.homRef()), SampleData.of("Eve", SampleGenotype.homRef())));
+            }
+        }
+
+        CompHetAlleleCalculator instance = new CompHetAlleleCalculator(new InheritanceModeAnnotator(pedigree, InheritanceModeOptions.defaults()));
+        List<List<VariantEvaluation>> compHetAlleles = instance.findCompatibleCompHetAlleles(variants);
+
+        assertThat(compHetAlleles.size(), equalTo(numVariants / 2 - 1));
+        assertThat(compHetAlleles, equalTo(expected));
+    }
+
+    @Test
+    void testTrioSameAsAllVsAll() {
+        Pedigree pedigree = Pedigree.of(
+                Individual.builder().id("Cain").fatherId("Adam").motherId("Eve").sex(Sex.MALE).status(Status.AFFECTED).build(),
+                Individual.builder().id("Adam").sex(Sex.MALE).status(Status.UNAFFECTED).build(),
+                Individual.builder().id("Eve").sex(Sex.FEMALE).status(Status.UNAFFECTED).build()
+        );
+        Random random = new Random(42);
+        for (int i = 0; i < 10; i++) {
+            assertSameAsAllVsAll(pedigree, randomVariants(random, 1, 30, List.of("Cain", "Adam", "Eve")));
+        }
+    }
+
+    @Test
+    void testTrioXChromosomeSameAsAllVsAll() {
+        Pedigree pedigree = Pedigree.of(
+                Individual.builder().id("Cain").fatherId("Adam").motherId("Eve").sex(Sex.FEMALE).status(Status.AFFECTED).build(),
+                Individual.builder().id("Adam").sex(Sex.MALE).status(Status.UNAFFECTED).build(),
+                Individual.builder().id("Eve").sex(Sex.FEMALE).status(Status.UNAFFECTED).build()
+        );
+        Random random = new Random(42);
+        for (int i = 0; i < 5; i++) {
+            assertSameAsAllVsAll(pedigree, randomVariants(random, 23, 20, List.of("Cain", "Adam", "Eve")));
+        }
+    }
+
+    @Test
+    void testSingleSampleSameAsAllVsAll() {
+        Pedigree pedigree = Pedigree.justProband("Cain");
+        Random random = new Random(42);
+        for (int i = 0; i < 10; i++) {
+            assertSameAsAllVsAll(pedigree, randomVariants(random, 1, 30, List.of("Cain")));
+        }
+    }
+
+    @Test
+    void testAffectedSibsWithoutParentsSameAsAllVsAll() {
+        Pedigree pedigree = Pedigree.of(
+                Individual.builder().id("Cain").sex(Sex.MALE).status(Status.AFFECTED).build(),
+                Individual.builder().id("Abel").sex(Sex.MALE).status(Status.AFFECTED).build(),
+                Individual.builder().id("Seth").sex(Sex.MALE).status(Status.UNAFFECTED).build()
+        );
+        Random random = new Random(42);
+        for (int i = 0; i < 10; i++) {
+            assertSameAsAllVsAll(pedigree, randomVariants(random, 1, 30, List.of("Cain", "Abel", "Seth")));
+        }
+    }
+
+    @Test
+    void testAffectedSibsMissingFatherSameAsAllVsAll() {
+        Pedigree pedigree = Pedigree.of(
+                Individual.builder().id("Cain").motherId("Eve").sex(Sex.MALE).status(Status.AFFECTED).build(),
+                Individual.builder().id("Abel").motherId("Eve").sex(Sex.MALE).status(Status.AFFECTED).build(),
+                Individual.builder().id("Eve").sex(Sex.FEMALE).status(Status.UNAFFECTED).build()
+        );
+        Random random = new Random(42);
+        for (int i = 0; i < 10; i++) {
+            assertSameAsAllVsAll(pedigree, randomVariants(random, 1, 30, List.of("Cain", "Abel", "Eve")));
+        }
+    }
+}
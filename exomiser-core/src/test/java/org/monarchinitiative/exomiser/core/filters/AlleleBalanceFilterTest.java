@@ -8,6 +8,7 @@
 import org.monarchinitiative.exomiser.core.genome.TestVcfReader;
 import org.monarchinitiative.exomiser.core.genome.VariantContextConverter;
 import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
+import org.monarchinitiative.exomiser.core.model.VcfRecordSummary;
 import org.monarchinitiative.svart.assembly.GenomicAssemblies;
 import org.monarchinitiative.svart.sequence.VariantTrimmer;
 
@@ -66,6 +67,13 @@ void runFilter(FilterResult.Status expectedStatus, String vcfRecord) {
             AlleleBalanceFilter instance = new AlleleBalanceFilter();
             FilterResult.Status status = instance.runFilter(variantEvaluation).status();
             assertThat(status, equalTo(expectedStatus));
+            // compact variants should produce the same result
+            VariantEvaluation compactVariantEvaluation = VariantEvaluation.builder()
+                    .variant(genomicVariant)
+                    .vcfRecordSummary(VcfRecordSummary.of(variantContext, 0))
+                    .altAlleleId(i)
+                    .build();
+            assertThat(instance.runFilter(compactVariantEvaluation).status(), equalTo(expectedStatus));
         }
     }
 }
\ No newline at end of file
@@ -27,6 +27,7 @@
 import org.junit.jupiter.api.Test;
 import org.monarchinitiative.exomiser.core.genome.TestFactory;
 import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
+import org.monarchinitiative.exomiser.core.model.VcfRecordSummary;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -76,4 +77,21 @@ public void testPassesVariantWithFailedFiltersInFilterField() {
         assertThat(result.failed(), is(true));
     }
 
+    @Test
+    public void testFailsCompactVariantWithFailedFiltersInFilterField() {
+        VariantContext variantContext = vcfCodec.decode("1\t123456789\t.\tG\tA\t0\twibble;hoopy;frood\t.");
+        VariantEvaluation variant = TestFactory.variantBuilder(1, 123456789, "G", "A")
+                .vcfRecordSummary(VcfRecordSummary.of(variantContext, 0))
+                .build();
+        FilterResult result = instance.runFilter(variant);
+        assertThat(result.failed(), is(true));
+    }
+
+    @Test
+    public void testPassesVariantWithNoVcfRecord() {
+        VariantEvaluation variant = TestFactory.variantBuilder(1, 123456789, "G", "A").build();
+        FilterResult result = instance.runFilter(variant);
+        assertThat(result.passed(), is(true));
+    }
+
 }
\ No newline at end of file
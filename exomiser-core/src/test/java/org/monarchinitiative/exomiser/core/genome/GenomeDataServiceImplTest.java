@@ -24,19 +24,19 @@
 import com.google.common.collect.ImmutableSet;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.monarchinitiative.exomiser.core.genome.dao.RegulatoryFeatureDao;
 import org.monarchinitiative.exomiser.core.genome.dao.TadDao;
-import org.monarchinitiative.exomiser.core.model.Gene;
-import org.monarchinitiative.exomiser.core.model.GeneIdentifier;
-import org.monarchinitiative.exomiser.core.model.RegulatoryFeature;
-import org.monarchinitiative.exomiser.core.model.TopologicalDomain;
+import org.monarchinitiative.exomiser.core.model.*;
 
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -91,4 +91,36 @@ public void serviceReturnsTopologicalDomains() {
         List<TopologicalDomain> topologicalDomains = instance.getTopologicallyAssociatedDomains();
         assertThat(topologicalDomains, equalTo(tads));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void serviceLoadsRegionIndexesOnce() {
+        RegulatoryFeature enhancer = new RegulatoryFeature(1, 10, 100, RegulatoryFeature.FeatureType.ENHANCER);
+        TopologicalDomain tad = new TopologicalDomain(1, 1, 200, Collections.emptyMap());
+        Mockito.when(mockRegulatoryFeatureDao.getRegulatoryFeatures()).thenReturn(List.of(enhancer));
+        Mockito.when(mockTadDao.getAllTads()).thenReturn(List.of(tad));
+
+        ChromosomalRegionIndex<RegulatoryFeature> regulatoryRegionIndex = instance.getRegulatoryRegionIndex();
+        ChromosomalRegionIndex<TopologicalDomain> tadIndex = instance.getTopologicallyAssociatedDomainIndex();
+
+        assertThat(regulatoryRegionIndex.getRegionsOverlappingPosition(1, 50), equalTo(List.of(enhancer)));
+        assertThat(tadIndex.getRegionsOverlappingPosition(1, 150), equalTo(List.of(tad)));
+        assertThat(instance.getRegulatoryRegionIndex() == regulatoryRegionIndex, equalTo(true));
+        assertThat(instance.getTopologicallyAssociatedDomainIndex() == tadIndex, equalTo(true));
+        Mockito.verify(mockRegulatoryFeatureDao, Mockito.times(1)).getRegulatoryFeatures();
+        Mockito.verify(mockTadDao, Mockito.times(1)).getAllTads();
+    }
+
+    @Test
+    public void serviceLoadsRegionsFromSnapshotWithoutQueryingDatabase(@TempDir Path tempDir) {
+        RegulatoryFeature enhancer = new RegulatoryFeature(1, 10, 100, RegulatoryFeature.FeatureType.ENHANCER);
+        TopologicalDomain tad = new TopologicalDomain(1, 1, 200, Map.of("GENE1", 1234));
+        Path snapshotPath = tempDir.resolve("genomic_regions.bin.gz");
+        new GenomicRegionsSnapshot(List.of(enhancer), List.of(tad)).write(snapshotPath);
+
+        GenomeDataServiceImpl snapshotInstance = new GenomeDataServiceImpl(geneFactory, mockRegulatoryFeatureDao, mockTadDao, snapshotPath);
+
+        assertThat(snapshotInstance.getRegulatoryFeatures(), equalTo(List.of(enhancer)));
+        assertThat(snapshotInstance.getTopologicallyAssociatedDomainIndex().getRegionsOverlappingPosition(1, 150), equalTo(List.of(tad)));
+        Mockito.verifyNoInteractions(mockRegulatoryFeatureDao, mockTadDao);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.genome;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.monarchinitiative.exomiser.core.model.RegulatoryFeature;
+import org.monarchinitiative.exomiser.core.model.TopologicalDomain;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GenomicRegionsSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writeAndRead() {
+        List<RegulatoryFeature> regulatoryFeatures = List.of(
+                new RegulatoryFeature(1, 10, 100, RegulatoryFeature.FeatureType.ENHANCER),
+                new RegulatoryFeature(2, 200, 300, RegulatoryFeature.FeatureType.FANTOM_PERMISSIVE),
+                new RegulatoryFeature(23, 1, 1, RegulatoryFeature.FeatureType.UNKNOWN)
+        );
+        List<TopologicalDomain> topologicalDomains = List.of(
+                new TopologicalDomain(1, 1, 2000, Map.of("GENE1", 1234, "GENE2", 5678)),
+                new TopologicalDomain(25, 1, 16000, Map.of())
+        );
+        GenomicRegionsSnapshot snapshot = new GenomicRegionsSnapshot(regulatoryFeatures, topologicalDomains);
+        Path snapshotPath = tempDir.resolve("genomic_regions.bin.gz");
+        snapshot.write(snapshotPath);
+
+        assertThat(GenomicRegionsSnapshot.read(snapshotPath), equalTo(snapshot));
+    }
+
+    @Test
+    void readThrowsExceptionForWrongFileType() throws IOException {
+        Path notASnapshot = tempDir.resolve("wibble.bin.gz");
+        try (GZIPOutputStream out = new GZIPOutputStream(Files.newOutputStream(notASnapshot))) {
+            out.write("wibble wobble".getBytes());
+        }
+        assertThrows(UncheckedIOException.class, () -> GenomicRegionsSnapshot.read(notASnapshot));
+    }
+}
@@ -40,6 +40,7 @@
 
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.hamcrest.CoreMatchers.*;
@@ -193,6 +194,23 @@ public void serviceReturnsCaddAndNonCodingScoreForKnownNonCodingVariant() {
         assertThat(result, equalTo(expectedNcdsData));
     }
 
+    @Test
+    void serviceReturnsBatchedTabixScoresInInputOrder() {
+        VariantEvaluation regulatoryVariant = TestFactory.variantBuilder(1, 2, "A", "G").variantEffect(REGULATORY_REGION).build();
+        List<VariantEvaluation> variants = List.of(variant, regulatoryVariant);
+        Mockito.when(clinVarDao.getClinVarData(regulatoryVariant)).thenReturn(ClinVarData.empty());
+        Mockito.when(defaultPathogenicityDao.getPathogenicityData(variants)).thenReturn(List.of(PATH_DATA, PathogenicityData.empty()));
+        // only the non-coding variant should be sent to REMM
+        Mockito.when(mockRemmDao.getPathogenicityData(List.of(regulatoryVariant))).thenReturn(List.of(PathogenicityData.of(RemmScore.of(1f))));
+        Mockito.when(mockCaddDao.getPathogenicityData(variants)).thenReturn(List.of(CADD_DATA, PathogenicityData.of(CaddScore.of(20f))));
+
+        List<PathogenicityData> result = instance.getVariantPathogenicityData(variants, EnumSet.of(PathogenicitySource.CADD, PathogenicitySource.REMM, PathogenicitySource.POLYPHEN));
+        assertThat(result, equalTo(List.of(
+                PathogenicityData.of(PATH_CLINVAR_DATA, CaddScore.of(15f), PolyPhenScore.of(1)),
+                PathogenicityData.of(RemmScore.of(1f), CaddScore.of(20f))
+        )));
+    }
+
     @Test
     public void serviceQueryForSynonymousVariantReturnsEmptyPathogenicityData() {
         variant = buildVariantOfType(VariantEffect.SYNONYMOUS_VARIANT);
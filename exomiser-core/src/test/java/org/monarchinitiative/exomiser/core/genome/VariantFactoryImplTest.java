@@ -491,6 +491,36 @@ void testVariantContextIdIsEmptyWhenDotInVcf() {
         assertThat(variantEvaluation.id(), equalTo(""));
     }
 
+    @Test
+    void testCompactVariantsDoNotRetainVariantContext() {
+        VcfReader vcfReader = TestVcfReader.builder().samples(sample, sample1)
+                .vcfLines(
+                        "1\t120612040\t.\tT\tTCCGCCG,TCCTCCGCCG\t258.62\tPASS\t.\tGT:AD:DP:GQ\t0/1:10,8,0:18:99\t0/2:12,0,9:21:45",
+                        "1\t120612041\t.\tT\tTCCGCCG\t258.62\tLowQual\t.\tGT:DP\t0/1:5\t0/0:30"
+                )
+                .build();
+        VariantAnnotator variantAnnotator = TestFactory.buildDefaultVariantAnnotator();
+        List<VariantEvaluation> variants = new VariantFactoryImpl(variantAnnotator, vcfReader, true).createVariantEvaluations()
+                .toList();
+        assertThat(variants.size(), equalTo(3));
+        variants.forEach(variantEvaluation -> assertThat(variantEvaluation.variantContext(), equalTo(null)));
+
+        VcfRecordSummary firstRecord = variants.get(0).vcfRecordSummary();
+        // the alleles of a multi-allelic record share the same summary
+        assertThat(variants.get(1).vcfRecordSummary(), equalTo(firstRecord));
+        assertThat(firstRecord.recordIndex(), equalTo(0));
+        assertThat(firstRecord.filterState(), equalTo(VcfRecordSummary.FilterState.PASSED));
+        assertThat(firstRecord.numSamples(), equalTo(2));
+        assertThat(firstRecord.depth(1), equalTo(21));
+        assertThat(firstRecord.genotypeQuality(1), equalTo(45));
+
+        VcfRecordSummary secondRecord = variants.get(2).vcfRecordSummary();
+        assertThat(secondRecord.recordIndex(), equalTo(1));
+        assertThat(secondRecord.filterState(), equalTo(VcfRecordSummary.FilterState.FAILED));
+        assertThat(secondRecord.genotypeQuality(0), equalTo(VcfRecordSummary.MISSING_VALUE));
+        assertThat(secondRecord.depth(0), equalTo(5));
+    }
+
     @Test
     void testRetainsCopyNumberVariantWithoutGenotype() {
         VcfReader vcfReader = TestVcfReader.builder().samples("Sample1", "Sample2")
@@ -24,11 +24,17 @@
 import htsjdk.variant.variantcontext.VariantContext;
 import htsjdk.variant.vcf.VCFHeader;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 import static java.util.stream.Collectors.toList;
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -80,6 +86,33 @@ public void testCreateVariantContextsMultipleAlleles() {
         assertThat(variants.size(), equalTo(1));
     }
 
+    @Test
+    public void testCountVariantRecords() {
+        assertThat(VcfFiles.countVariantRecords(Paths.get("src/test/resources/smallTest.vcf")), equalTo(3L));
+        assertThat(VcfFiles.countVariantRecords(Paths.get("src/test/resources/multiAlleleGenotypes.vcf")), equalTo(11L));
+        assertThat(VcfFiles.countVariantRecords(Paths.get("src/test/resources/headerOnly.vcf")), equalTo(0L));
+    }
+
+    @Test
+    public void testCountVariantRecordsMatchesReadVariantContexts(@TempDir Path tempDir) throws IOException {
+        Path vcfPath = Paths.get("src/test/resources/multiAlleleGenotypes.vcf");
+        Path gzippedVcfPath = tempDir.resolve("multiAlleleGenotypes.vcf.gz");
+        try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(gzippedVcfPath))) {
+            Files.copy(vcfPath, outputStream);
+        }
+        long expected;
+        try (Stream<VariantContext> variantStream = VcfFiles.readVariantContexts(vcfPath)) {
+            expected = variantStream.count();
+        }
+        assertThat(VcfFiles.countVariantRecords(vcfPath), equalTo(expected));
+        assertThat(VcfFiles.countVariantRecords(gzippedVcfPath), equalTo(expected));
+    }
+
+    @Test
+    public void testCountVariantRecordsNonExistentFile() {
+        assertThrows(UncheckedIOException.class, () -> VcfFiles.countVariantRecords(Paths.get("src/test/resources/wibble.vcf")));
+    }
+
     @Test
     public void testReadVcfHeader() {
         Path vcfPath = Paths.get("src/test/resources/altAllele.vcf");
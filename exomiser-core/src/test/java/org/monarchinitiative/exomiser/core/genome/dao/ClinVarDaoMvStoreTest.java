@@ -33,18 +33,23 @@
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
 import static org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicitySource.*;
 
 class ClinVarDaoMvStoreTest {
 
     private ClinVarDaoMvStore buildClinVarDaoMvStore(String... broadFormatVariants) {
+        return buildClinVarDaoMvStore(false, broadFormatVariants);
+    }
+
+    private ClinVarDaoMvStore buildClinVarDaoMvStore(boolean useNeighbourhoodIndex, String... broadFormatVariants) {
         // open an in-memory store
         MVStore mvStore = new MVStore.Builder().open();
         MVMap<AlleleProto.AlleleKey, AlleleProto.ClinVar> clinVarMap = MvStoreUtil.openClinVarMVMap(mvStore);
         for (String variant : broadFormatVariants) {
             clinVarMap.put(parseAlleleKey(variant), AlleleProto.ClinVar.newBuilder().build());
         }
-        return new ClinVarDaoMvStore(mvStore);
+        return new ClinVarDaoMvStore(mvStore, useNeighbourhoodIndex);
     }
 
     private AlleleProto.AlleleKey parseAlleleKey(String broadFormatVariant) {
@@ -108,6 +113,30 @@ void getClinVarDataNotReturningConflictingSig() {
         }
     }
 
+    @Test
+    void getGeneStatisticsUsesPersistedGeneStatistics() {
+        try (MVStore mvStore = new MVStore.Builder().open()) {
+            var clinvarMap = MvStoreUtil.openClinVarMVMap(mvStore);
+            clinvarMap.put(parseAlleleKey("1-200-A-T"), AlleleProto.ClinVar.newBuilder()
+                    .setGeneSymbol("GENE1")
+                    .setVariantEffect(AlleleProto.VariantEffect.MISSENSE_VARIANT)
+                    .setPrimaryInterpretation(AlleleProto.ClinVar.ClinSig.PATHOGENIC)
+                    .setReviewStatus(AlleleProto.ClinVar.ReviewStatus.CRITERIA_PROVIDED_MULTIPLE_SUBMITTERS_NO_CONFLICTS)
+                    .build());
+            assertThat(new ClinVarDaoMvStore(mvStore).getGeneStatistics("GENE1").missensePathCount(), equalTo(1));
+
+            // the persisted statistics are used in place of the records
+            ClinVarGeneStatistics.write(mvStore, Map.of("GENE1", GeneStatistics.builder("GENE1").put(VariantEffect.MISSENSE_VARIANT, 5, 0, 2).build()));
+            for (boolean useNeighbourhoodIndex : List.of(false, true)) {
+                ClinVarDao instance = new ClinVarDaoMvStore(mvStore, useNeighbourhoodIndex);
+                GeneStatistics geneStatistics = instance.getGeneStatistics("GENE1");
+                assertThat(geneStatistics.missensePathCount(), equalTo(5));
+                assertThat(geneStatistics.missenseBenignCount(), equalTo(2));
+                assertThat(instance.getGeneStatistics("GENE2").pathCount(), equalTo(0));
+            }
+        }
+    }
+
     @Test
     void emptyStore() {
         ClinVarDaoMvStore clinVarDao = buildClinVarDaoMvStore();
@@ -169,6 +198,107 @@ void insideAndOutsideBoundaries() {
         )));
     }
 
+    @Test
+    void supportsBatchIntervalSearchOnlyWithNeighbourhoodIndex() {
+        assertThat(buildClinVarDaoMvStore(false, "1-1228-A-G").supportsBatchIntervalSearch(), is(false));
+        assertThat(buildClinVarDaoMvStore(true, "1-1228-A-G").supportsBatchIntervalSearch(), is(true));
+    }
+
+    @Test
+    void insideAndOutsideBoundariesWithNeighbourhoodIndex() {
+        String[] clinVarVariants = {
+                "1-1-A-G",
+                "1-1226-TGTGGGAA-A",
+                "1-1228-A-G",
+                "1-1230-T-G",
+                "1-1230-T-C",
+                "1-1232-T-A",
+                "1-1232-A-ATTC",
+                "1-1233-C-T",
+                "1-7700-A-G",
+                "2-1230-T-G",
+        };
+        ClinVarDaoMvStore clinVarDao = buildClinVarDaoMvStore(clinVarVariants);
+        ClinVarDaoMvStore indexedClinVarDao = buildClinVarDaoMvStore(true, clinVarVariants);
+
+        Contig chr1 = GenomeAssembly.HG19.getContigById(1);
+        GenomicInterval genomicInterval = GenomicInterval.of(chr1, Strand.POSITIVE, Coordinates.oneBased(1228, 1232));
+
+        var result = indexedClinVarDao.findClinVarRecordsOverlappingInterval(genomicInterval);
+        assertThat(result.keySet(), equalTo(Set.of(
+                variant("1-1228-A-G"),
+                variant("1-1230-T-G"),
+                variant("1-1230-T-C"),
+                variant("1-1232-T-A"),
+                variant("1-1232-A-ATTC")
+        )));
+        assertThat(result, equalTo(clinVarDao.findClinVarRecordsOverlappingInterval(genomicInterval)));
+    }
+
+    @Test
+    void getClinVarDataWithNeighbourhoodIndex() {
+        try (MVStore mvStore = new MVStore.Builder().open()) {
+            var clinvarMap = MvStoreUtil.openClinVarMVMap(mvStore);
+            AlleleProto.ClinVar clinVar = AlleleProto.ClinVar.newBuilder()
+                    .setVariationId("12345")
+                    .setGeneSymbol("GENE1")
+                    .setPrimaryInterpretation(AlleleProto.ClinVar.ClinSig.PATHOGENIC)
+                    .setReviewStatus(AlleleProto.ClinVar.ReviewStatus.CRITERIA_PROVIDED_MULTIPLE_SUBMITTERS_NO_CONFLICTS)
+                    .setHgvsProtein("p.(Arg12Cys)")
+                    .build();
+            clinvarMap.put(parseAlleleKey("1-200-A-T"), clinVar);
+
+            ClinVarDao instance = new ClinVarDaoMvStore(mvStore, true);
+
+            GenomicVariant clinVarVariant = variant("1-200-A-T");
+            assertThat(instance.getClinVarData(clinVarVariant), equalTo(AlleleProtoAdaptor.toClinVarData(clinVar)));
+            assertThat(instance.findClinVarRecordsOverlappingInterval(clinVarVariant.withPadding(25, 25)), equalTo(Map.of(clinVarVariant, AlleleProtoAdaptor.toClinVarData(clinVar))));
+            assertThat(instance.getGeneStatistics("GENE1").pathCount(), equalTo(1));
+        }
+    }
+
+    @Test
+    void findClinVarRecordsOverlappingIntervals() {
+        String[] clinVarVariants = {
+                "1-1-A-G",
+                "1-1228-A-G",
+                "1-1230-T-G",
+                "1-1232-T-A",
+                "1-1240-C-T",
+                "2-1230-T-G",
+                "2-1300-T-G",
+                "3-1230-T-G",
+        };
+        Contig chr1 = GenomeAssembly.HG19.getContigById(1);
+        Contig chr2 = GenomeAssembly.HG19.getContigById(2);
+        Contig chr4 = GenomeAssembly.HG19.getContigById(4);
+        // deliberately unsorted, overlapping and duplicated intervals
+        List<GenomicInterval> intervals = List.of(
+                GenomicInterval.of(chr2, Strand.POSITIVE, Coordinates.oneBased(1200, 1300)),
+                GenomicInterval.of(chr1, Strand.POSITIVE, Coordinates.oneBased(1229, 1240)),
+                GenomicInterval.of(chr1, Strand.POSITIVE, Coordinates.oneBased(1, 1230)),
+                GenomicInterval.of(chr4, Strand.POSITIVE, Coordinates.oneBased(1200, 1300)),
+                GenomicInterval.of(chr1, Strand.POSITIVE, Coordinates.oneBased(1228, 1228)),
+                GenomicInterval.of(chr1, Strand.POSITIVE, Coordinates.oneBased(1229, 1240)),
+                GenomicInterval.of(chr1, Strand.POSITIVE, Coordinates.oneBased(5000, 6000))
+        );
+        List<Set<GenomicVariant>> expected = List.of(
+                Set.of(variant("2-1230-T-G"), variant("2-1300-T-G")),
+                Set.of(variant("1-1230-T-G"), variant("1-1232-T-A"), variant("1-1240-C-T")),
+                Set.of(variant("1-1-A-G"), variant("1-1228-A-G"), variant("1-1230-T-G")),
+                Set.of(),
+                Set.of(variant("1-1228-A-G")),
+                Set.of(variant("1-1230-T-G"), variant("1-1232-T-A"), variant("1-1240-C-T")),
+                Set.of()
+        );
+
+        for (boolean useNeighbourhoodIndex : List.of(false, true)) {
+            ClinVarDaoMvStore clinVarDao = buildClinVarDaoMvStore(useNeighbourhoodIndex, clinVarVariants);
+            var results = clinVarDao.findClinVarRecordsOverlappingIntervals(intervals);
+            assertThat(results.stream().map(Map::keySet).toList(), equalTo(expected));
+        }
+    }
+
     @Test
     void variantsNonOverlap() {
         ClinVarDaoMvStore clinVarDao = buildClinVarDaoMvStore("1-1227-A-G", "1-1233-C-T");
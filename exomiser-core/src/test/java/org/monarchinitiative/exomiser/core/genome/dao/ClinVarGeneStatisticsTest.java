@@ -0,0 +1,117 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.core.genome.dao;
+
+import de.charite.compbio.jannovar.annotation.VariantEffect;
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.exomiser.core.genome.dao.serialisers.MvStoreUtil;
+import org.monarchinitiative.exomiser.core.model.GeneStatistics;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+class ClinVarGeneStatisticsTest {
+
+    private static AlleleProto.ClinVar clinVar(String geneSymbol, AlleleProto.VariantEffect variantEffect, AlleleProto.ClinVar.ClinSig clinSig, AlleleProto.ClinVar.ReviewStatus reviewStatus) {
+        return AlleleProto.ClinVar.newBuilder()
+                .setGeneSymbol(geneSymbol)
+                .setVariantEffect(variantEffect)
+                .setPrimaryInterpretation(clinSig)
+                .setReviewStatus(reviewStatus)
+                .build();
+    }
+
+    private static void addClinVarRecords(MVStore mvStore) {
+        MVMap<AlleleProto.AlleleKey, AlleleProto.ClinVar> clinVarMap = MvStoreUtil.openClinVarMVMap(mvStore);
+        var oneStar = AlleleProto.ClinVar.ReviewStatus.CRITERIA_PROVIDED_SINGLE_SUBMITTER;
+        clinVarMap.put(AlleleProto.AlleleKey.newBuilder().setChr(1).setPosition(100).setRef("A").setAlt("T").build(),
+                clinVar("GENE1", AlleleProto.VariantEffect.MISSENSE_VARIANT, AlleleProto.ClinVar.ClinSig.PATHOGENIC, oneStar));
+        clinVarMap.put(AlleleProto.AlleleKey.newBuilder().setChr(1).setPosition(200).setRef("A").setAlt("T").build(),
+                clinVar("GENE1", AlleleProto.VariantEffect.MISSENSE_VARIANT, AlleleProto.ClinVar.ClinSig.BENIGN, oneStar));
+        clinVarMap.put(AlleleProto.AlleleKey.newBuilder().setChr(1).setPosition(300).setRef("A").setAlt("T").build(),
+                clinVar("GENE1", AlleleProto.VariantEffect.STOP_GAINED, AlleleProto.ClinVar.ClinSig.LIKELY_PATHOGENIC, AlleleProto.ClinVar.ReviewStatus.REVIEWED_BY_EXPERT_PANEL));
+        // not counted - no stars
+        clinVarMap.put(AlleleProto.AlleleKey.newBuilder().setChr(1).setPosition(400).setRef("A").setAlt("T").build(),
+                clinVar("GENE1", AlleleProto.VariantEffect.STOP_GAINED, AlleleProto.ClinVar.ClinSig.PATHOGENIC, AlleleProto.ClinVar.ReviewStatus.NO_ASSERTION_CRITERIA_PROVIDED));
+        // not counted - conflicting interpretations
+        clinVarMap.put(AlleleProto.AlleleKey.newBuilder().setChr(2).setPosition(100).setRef("A").setAlt("T").build(),
+                clinVar("GENE2", AlleleProto.VariantEffect.MISSENSE_VARIANT, AlleleProto.ClinVar.ClinSig.CONFLICTING_PATHOGENICITY_INTERPRETATIONS, AlleleProto.ClinVar.ReviewStatus.CRITERIA_PROVIDED_CONFLICTING_INTERPRETATIONS));
+        clinVarMap.put(AlleleProto.AlleleKey.newBuilder().setChr(2).setPosition(200).setRef("A").setAlt("T").build(),
+                clinVar("GENE2", AlleleProto.VariantEffect.SPLICE_REGION_VARIANT, AlleleProto.ClinVar.ClinSig.UNCERTAIN_SIGNIFICANCE, oneStar));
+    }
+
+    @Test
+    void calculate() {
+        try (MVStore mvStore = new MVStore.Builder().open()) {
+            addClinVarRecords(mvStore);
+            Map<String, GeneStatistics> geneStatistics = ClinVarGeneStatistics.calculate(MvStoreUtil.openClinVarMVMap(mvStore));
+
+            assertThat(geneStatistics.keySet(), equalTo(Set.of("GENE1", "GENE2")));
+            GeneStatistics gene1 = geneStatistics.get("GENE1");
+            assertThat(gene1.missensePathCount(), equalTo(1));
+            assertThat(gene1.missenseBenignCount(), equalTo(1));
+            assertThat(gene1.lofPathCount(), equalTo(1));
+            GeneStatistics gene2 = geneStatistics.get("GENE2");
+            assertThat(gene2.pathCount(), equalTo(0));
+            assertThat(gene2.vusCount(VariantEffect.SPLICE_REGION_VARIANT), equalTo(1));
+        }
+    }
+
+    @Test
+    void isNotPersistedInOlderStores() {
+        try (MVStore mvStore = new MVStore.Builder().open()) {
+            addClinVarRecords(mvStore);
+            assertThat(ClinVarGeneStatistics.isPersisted(mvStore), is(false));
+        }
+    }
+
+    @Test
+    void writeAndRead() {
+        try (MVStore mvStore = new MVStore.Builder().open()) {
+            addClinVarRecords(mvStore);
+            Map<String, GeneStatistics> geneStatistics = ClinVarGeneStatistics.calculate(MvStoreUtil.openClinVarMVMap(mvStore));
+            ClinVarGeneStatistics.write(mvStore, geneStatistics);
+
+            assertThat(ClinVarGeneStatistics.isPersisted(mvStore), is(true));
+            Map<String, GeneStatistics> persisted = ClinVarGeneStatistics.read(mvStore);
+            assertThat(persisted.keySet(), equalTo(geneStatistics.keySet()));
+            geneStatistics.forEach((geneSymbol, expected) -> assertThat(persisted.get(geneSymbol).toString(), equalTo(expected.toString())));
+        }
+    }
+
+    @Test
+    void isNotPersistedWithDifferentVersion() {
+        try (MVStore mvStore = new MVStore.Builder().open()) {
+            ClinVarGeneStatistics.write(mvStore, Map.of());
+            MVMap<String, Integer> infoMap = mvStore.openMap("clinvar_gene_stats_info");
+            infoMap.put("version", ClinVarGeneStatistics.VERSION + 1);
+            assertThat(ClinVarGeneStatistics.isPersisted(mvStore), is(false));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.core.genome.dao;
+
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
+import org.monarchinitiative.exomiser.core.model.AlleleProtoAdaptor;
+import org.monarchinitiative.exomiser.core.model.pathogenicity.ClinVarData;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto;
+import org.monarchinitiative.svart.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class ClinVarNeighbourhoodIndexTest {
+
+    private static final Contig CHR1 = GenomeAssembly.HG38.getContigById(1);
+    private static final Contig CHR2 = GenomeAssembly.HG38.getContigById(2);
+
+    private static AlleleProto.AlleleKey alleleKey(int chr, int pos, String ref, String alt) {
+        return AlleleProto.AlleleKey.newBuilder().setChr(chr).setPosition(pos).setRef(ref).setAlt(alt).build();
+    }
+
+    private static AlleleProto.ClinVar clinVar(String variationId) {
+        return AlleleProto.ClinVar.newBuilder()
+                .setVariationId(variationId)
+                .setPrimaryInterpretation(AlleleProto.ClinVar.ClinSig.PATHOGENIC)
+                .build();
+    }
+
+    private static GenomicVariant variant(Contig contig, int pos, String ref, String alt) {
+        return GenomicVariant.of(contig, Strand.POSITIVE, CoordinateSystem.ONE_BASED, pos, ref, alt);
+    }
+
+    private static GenomicInterval interval(Contig contig, int start, int end) {
+        return GenomicInterval.of(contig, Strand.POSITIVE, Coordinates.oneBased(start, end));
+    }
+
+    @Test
+    void emptyIndex() {
+        ClinVarNeighbourhoodIndex instance = ClinVarNeighbourhoodIndex.builder().build();
+        assertThat(instance.size(), equalTo(0));
+        assertThat(instance.findRecordsOverlapping(interval(CHR1, 1, 1000)), equalTo(Map.of()));
+        assertThat(instance.findRecordsOverlapping(List.of(interval(CHR1, 1, 1000))), equalTo(List.of(Map.of())));
+    }
+
+    @Test
+    void sortsRecordsAddedOutOfOrder() {
+        ClinVarNeighbourhoodIndex instance = ClinVarNeighbourhoodIndex.builder()
+                .add(alleleKey(1, 300, "A", "T"), clinVar("3"))
+                .add(alleleKey(2, 100, "C", "G"), clinVar("4"))
+                .add(alleleKey(1, 100, "A", "AT"), clinVar("1"))
+                .add(alleleKey(1, 200, "GC", "G"), clinVar("2"))
+                .build();
+
+        assertThat(instance.size(), equalTo(4));
+        assertThat(instance.findRecordsOverlapping(interval(CHR1, 100, 200)), equalTo(Map.of(
+                variant(CHR1, 100, "A", "AT"), AlleleProtoAdaptor.toClinVarData(clinVar("1")),
+                variant(CHR1, 200, "GC", "G"), AlleleProtoAdaptor.toClinVarData(clinVar("2"))
+        )));
+        assertThat(instance.findRecordsOverlapping(interval(CHR2, 1, 1000)), equalTo(Map.of(
+                variant(CHR2, 100, "C", "G"), AlleleProtoAdaptor.toClinVarData(clinVar("4"))
+        )));
+    }
+
+    @Test
+    void batchResultsMatchSingleResults() {
+        ClinVarNeighbourhoodIndex.Builder builder = ClinVarNeighbourhoodIndex.builder();
+        for (int pos = 1000; pos < 2000; pos += 7) {
+            builder.add(alleleKey(1, pos, "A", "G"), clinVar(String.valueOf(pos)));
+        }
+        ClinVarNeighbourhoodIndex instance = builder.build();
+
+        List<GenomicInterval> intervals = List.of(
+                interval(CHR1, 1500, 1550),
+                interval(CHR1, 975, 1025),
+                interval(CHR1, 1510, 1560),
+                interval(CHR2, 1500, 1550),
+                interval(CHR1, 1990, 2040),
+                interval(CHR1, 1000, 1000)
+        );
+        List<Map<GenomicVariant, ClinVarData>> results = instance.findRecordsOverlapping(intervals);
+        for (int i = 0; i < intervals.size(); i++) {
+            assertThat(results.get(i), equalTo(instance.findRecordsOverlapping(intervals.get(i))));
+        }
+        assertThat(results.get(5).keySet(), equalTo(Set.of(variant(CHR1, 1000, "A", "G"))));
+    }
+}
@@ -32,6 +32,9 @@
 import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
 import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleProperties;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -96,4 +99,40 @@ public void getFrequencyDataWithFrequencies() throws Exception {
                         Frequency.of(FrequencySource.ESP_AA, 3, 6000, 1))));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void getFrequencyDataForEmptyBatch() {
+        FrequencyDao instance = newInstanceWithData(Map.of());
+        assertThat(instance.getFrequencyData(List.of()), equalTo(List.of()));
+    }
+
+    @Test
+    public void getFrequencyDataBatchIsSameAsIndividualLookups() {
+        Map<AlleleKey, AlleleProperties> data = new HashMap<>();
+        for (int chr = 1; chr <= 2; chr++) {
+            for (int pos = 1; pos <= 2000; pos++) {
+                AlleleKey key = AlleleKey.newBuilder().setChr(chr).setPosition(pos * 10).setRef("A").setAlt("T").build();
+                data.put(key, AlleleProperties.newBuilder().setRsId("rs" + chr + pos)
+                        .addFrequencies(AlleleData.frequencyOf(AlleleProto.FrequencySource.KG, pos % 10, 1000))
+                        .build());
+            }
+        }
+        FrequencyDao instance = newInstanceWithData(data);
+
+        // unsorted, with duplicates, misses, adjacent and distant keys and keys past the end of the map
+        List<Variant> variants = new ArrayList<>();
+        variants.add(buildVariant(2, 19990, "A", "T"));
+        variants.add(buildVariant(1, 10, "A", "T"));
+        variants.add(buildVariant(1, 20, "A", "T"));
+        variants.add(buildVariant(1, 25, "A", "T"));
+        variants.add(buildVariant(1, 20, "A", "G"));
+        variants.add(buildVariant(1, 20, "A", "T"));
+        variants.add(buildVariant(1, 15000, "A", "T"));
+        variants.add(buildVariant(2, 10, "A", "T"));
+        variants.add(buildVariant(3, 10, "A", "T"));
+        variants.add(buildVariant(2, 20000, "A", "T"));
+
+        List<FrequencyData> expected = variants.stream().map(instance::getFrequencyData).toList();
+        assertThat(instance.getFrequencyData(variants), equalTo(expected));
+    }
+
+}
@@ -0,0 +1,236 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.core.genome.dao;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.monarchinitiative.exomiser.core.genome.TestFactory;
+import org.monarchinitiative.exomiser.core.model.Variant;
+import org.monarchinitiative.exomiser.core.model.frequency.Frequency;
+import org.monarchinitiative.exomiser.core.model.frequency.FrequencyData;
+import org.monarchinitiative.exomiser.core.model.frequency.FrequencySource;
+import org.monarchinitiative.exomiser.core.model.pathogenicity.ClinVarData;
+import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicityData;
+import org.monarchinitiative.exomiser.core.prioritisers.config.TestDataSourceConfig;
+import org.monarchinitiative.svart.VariantType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {TestDataSourceConfig.class})
+@Sql(scripts = {
+        "file:src/test/resources/sql/create_sv.sql",
+        "file:src/test/resources/sql/svDaoTestData.sql"
+})
+class SvIntervalIndexTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @TempDir
+    private Path tempDir;
+
+    private static SvIntervalIndex.Builder addRow(SvIntervalIndex.Builder builder, int contigId, int start, int end, String id) {
+        return builder.add(contigId, start, end, end - start, VariantType.DEL, out -> SvIntervalIndex.writeNullableUTF(out, id));
+    }
+
+    private static List<String> ids(List<SvIntervalIndex.Entry> entries) {
+        List<String> ids = new ArrayList<>();
+        for (SvIntervalIndex.Entry entry : entries) {
+            try (var in = entry.dataInput()) {
+                ids.add(SvIntervalIndex.readNullableUTF(in));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return ids;
+    }
+
+    @Test
+    void emptyIndex() {
+        SvIntervalIndex instance = SvIntervalIndex.builder().build();
+        assertThat(instance.size(), equalTo(0));
+        assertThat(instance.findEntries(1, 1, 1000, 1, 1000), equalTo(List.of()));
+    }
+
+    @Test
+    void findEntriesRequiresStartAndEndWithinBounds() {
+        SvIntervalIndex.Builder builder = SvIntervalIndex.builder();
+        addRow(builder, 1, 100, 200, "a");
+        addRow(builder, 1, 110, 300, "b");
+        addRow(builder, 1, 150, 210, "c");
+        addRow(builder, 1, 250, 260, "d");
+        addRow(builder, 2, 100, 200, "e");
+        SvIntervalIndex instance = builder.build();
+
+        assertThat(instance.size(), equalTo(5));
+        assertThat(ids(instance.findEntries(1, 100, 150, 190, 210)), equalTo(List.of("a", "c")));
+        assertThat(ids(instance.findEntries(1, 101, 150, 190, 300)), equalTo(List.of("b", "c")));
+        assertThat(ids(instance.findEntries(2, 100, 150, 190, 300)), equalTo(List.of("e")));
+        assertThat(ids(instance.findEntries(3, 100, 150, 190, 300)), equalTo(List.of()));
+        assertThat(ids(instance.findEntries(0, 100, 150, 190, 300)), equalTo(List.of()));
+    }
+
+    @Test
+    void unsortedRowsAreSortedByStartAndEnd() {
+        SvIntervalIndex.Builder builder = SvIntervalIndex.builder();
+        addRow(builder, 1, 300, 400, "d");
+        addRow(builder, 1, 100, 300, "b");
+        addRow(builder, 1, 100, 200, "a");
+        addRow(builder, 1, 100, 300, "c");
+        SvIntervalIndex instance = builder.build();
+
+        assertThat(ids(instance.findEntries(1, 1, 1000, 1, 1000)), equalTo(List.of("a", "b", "c", "d")));
+    }
+
+    @Test
+    void findEntriesMatchesExhaustiveSearch() {
+        Random random = new Random(42);
+        int[][] rows = new int[5000][];
+        SvIntervalIndex.Builder builder = SvIntervalIndex.builder();
+        for (int i = 0; i < rows.length; i++) {
+            int start = 1 + random.nextInt(100_000);
+            // mix of short and very long SVs so that the per-block end bounds vary
+            int end = start + (random.nextInt(10) == 0 ? random.nextInt(50_000) : random.nextInt(500));
+            rows[i] = new int[]{start, end};
+            addRow(builder, 1, start, end, String.valueOf(i));
+        }
+        SvIntervalIndex instance = builder.build();
+
+        for (int q = 0; q < 500; q++) {
+            int startMin = 1 + random.nextInt(100_000);
+            int startMax = startMin + random.nextInt(5_000);
+            int endMin = startMin + random.nextInt(5_000);
+            int endMax = endMin + random.nextInt(20_000);
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < rows.length; i++) {
+                if (rows[i][0] >= startMin && rows[i][0] <= startMax && rows[i][1] >= endMin && rows[i][1] <= endMax) {
+                    expected.add(i);
+                }
+            }
+            List<SvIntervalIndex.Entry> entries = instance.findEntries(1, startMin, startMax, endMin, endMax);
+            List<Integer> actual = ids(entries).stream().map(Integer::valueOf).sorted().toList();
+            assertThat(actual, equalTo(expected));
+            for (SvIntervalIndex.Entry entry : entries) {
+                assertThat(entry.start(), allOf(greaterThanOrEqualTo(startMin), lessThanOrEqualTo(startMax)));
+                assertThat(entry.end(), allOf(greaterThanOrEqualTo(endMin), lessThanOrEqualTo(endMax)));
+            }
+        }
+    }
+
+    @Test
+    void writeAndRead() {
+        SvIntervalIndex.Builder builder = SvIntervalIndex.builder();
+        addRow(builder, 1, 100, 200, "a");
+        addRow(builder, 1, 150, 210, null);
+        builder.add(23, 1000, 1000, 300, VariantType.INS_ME_ALU, out -> SvIntervalIndex.writeNullableUTF(out, "c"));
+        SvIntervalIndex instance = builder.build();
+
+        Path indexPath = tempDir.resolve("sv_freq.bin.gz");
+        instance.write(indexPath);
+        SvIntervalIndex read = SvIntervalIndex.read(indexPath);
+
+        assertThat(read.size(), equalTo(3));
+        List<SvIntervalIndex.Entry> chr1Entries = read.findEntries(1, 1, 1000, 1, 1000);
+        assertThat(ids(chr1Entries), equalTo(Arrays.asList("a", null)));
+        assertThat(chr1Entries.get(0).start(), equalTo(100));
+        assertThat(chr1Entries.get(0).end(), equalTo(200));
+        assertThat(chr1Entries.get(0).changeLength(), equalTo(100));
+        assertThat(chr1Entries.get(0).variantType(), equalTo(VariantType.DEL));
+        List<SvIntervalIndex.Entry> chrXEntries = read.findEntries(23, 1, 1000, 1, 1000);
+        assertThat(ids(chrXEntries), equalTo(List.of("c")));
+        assertThat(chrXEntries.get(0).variantType(), equalTo(VariantType.INS_ME_ALU));
+        assertThat(chrXEntries.get(0).changeLength(), equalTo(300));
+    }
+
+    @Test
+    void loadSvFrequencyIndexSkipsZeroAlleleCounts() {
+        assertThat(SvFrequencyDao.loadIntervalIndex(dataSource).size(), equalTo(10));
+    }
+
+    @Test
+    void loadSvPathogenicityIndexSkipsUnknownClinSig() {
+        assertThat(SvPathogenicityDao.loadIntervalIndex(dataSource).size(), equalTo(4));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "1,      66576,     66576,  <INS>,         2",
+            "1,      66575,     66576,  <INS>,        50",
+            "1,      66576,     66577,  <INS>,        50",
+            "1,      66575,     66576,  <INS>,        20",
+            "1,  240116000, 240116800,  <INV>,         0",
+            "7,      33300,     33700,  <DEL>,      -401",
+            "7,      33350,     33670,  <DEL>,      -321",
+            "7,      33300,     33700,  <DUP>,       401",
+            "15,  62706090,  62707793,  <DEL>,     -1703",
+            "15,  62706090,  62707793,  <CNV:GAIN>,    0",
+            "18,   2806309,   2806425,  <INV>,       117",
+            "18,   2806309,   2806425,  <DEL>,      -117",
+            "19,   2806309,   2806425,  <INV>,       117",
+    })
+    void indexedDaosReturnSameResultsAsDatabaseQueries(int chr, int start, int end, String alt, int changeLength) {
+        Variant variant = TestFactory.variantBuilder(chr, start, end, "", alt, changeLength).build();
+
+        SvFrequencyDao svFrequencyDao = new SvFrequencyDao(dataSource);
+        SvFrequencyDao indexedSvFrequencyDao = new SvFrequencyDao(SvFrequencyDao.loadIntervalIndex(dataSource));
+        assertThat(indexedSvFrequencyDao.getFrequencyData(variant), equalTo(svFrequencyDao.getFrequencyData(variant)));
+
+        SvPathogenicityDao svPathogenicityDao = new SvPathogenicityDao(dataSource);
+        SvPathogenicityDao indexedSvPathogenicityDao = new SvPathogenicityDao(SvPathogenicityDao.loadIntervalIndex(dataSource));
+        assertThat(indexedSvPathogenicityDao.getPathogenicityData(variant), equalTo(svPathogenicityDao.getPathogenicityData(variant)));
+    }
+
+    @Test
+    void indexedSvFrequencyDao() {
+        SvFrequencyDao instance = new SvFrequencyDao(SvFrequencyDao.loadIntervalIndex(dataSource));
+        Variant variant = TestFactory.variantBuilder(15, 62706090, 62707793, "", "<DEL>", -1703).build();
+        assertThat(instance.getFrequencyData(variant), equalTo(FrequencyData.of("nsv4635624", Frequency.of(FrequencySource.DBVAR, 18.815052f))));
+    }
+
+    @Test
+    void indexedSvPathogenicityDao() {
+        SvPathogenicityDao instance = new SvPathogenicityDao(SvPathogenicityDao.loadIntervalIndex(dataSource));
+        Variant variant = TestFactory.variantBuilder(7, 33300, 33700, "", "<DEL>", -401).build();
+        PathogenicityData result = instance.getPathogenicityData(variant);
+        assertThat(result.clinVarData().variationId(), equalTo("12345"));
+        assertThat(result.clinVarData().primaryInterpretation(), equalTo(ClinVarData.ClinSig.PATHOGENIC));
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.genome.dao;
+
+import de.charite.compbio.jannovar.annotation.VariantEffect;
+import htsjdk.samtools.util.BlockCompressedOutputStream;
+import htsjdk.tribble.SimpleFeature;
+import htsjdk.tribble.index.Index;
+import htsjdk.tribble.index.tabix.TabixFormat;
+import htsjdk.tribble.index.tabix.TabixIndexCreator;
+import htsjdk.tribble.readers.TabixReader;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.monarchinitiative.exomiser.core.genome.TestFactory;
+import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
+import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicityData;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TabixSweepQueryTest {
+
+    private static final int NUM_POSITIONS = 3_000;
+
+    @TempDir
+    static Path tempDir;
+
+    static Path caddFile;
+    static Path remmFile;
+
+    @BeforeAll
+    static void writeTabixFiles() throws IOException {
+        caddFile = writeTabixFile("cadd.tsv.gz", pos -> List.of(
+                "\t" + pos + "\tA\tT\t0.1\t" + (pos % 50),
+                "\t" + pos + "\tA\tG\t0.1\t" + (pos % 50 + 0.5f)
+        ));
+        remmFile = writeTabixFile("remm.tsv.gz", pos -> List.of("\t" + pos + "\t" + (pos % 97) / 100f));
+    }
+
+    private static Path writeTabixFile(String fileName, IntFunction<List<String>> positionLines) throws IOException {
+        Path tabixFile = tempDir.resolve(fileName);
+        TabixIndexCreator indexCreator = new TabixIndexCreator(new TabixFormat(TabixFormat.GENERIC_FLAGS, 1, 2, 2, '#', 0));
+        try (BlockCompressedOutputStream outputStream = new BlockCompressedOutputStream(tabixFile.toFile())) {
+            for (String chr : List.of("1", "2")) {
+                for (int pos = 1; pos <= NUM_POSITIONS; pos++) {
+                    for (String line : positionLines.apply(pos)) {
+                        long filePointer = outputStream.getFilePointer();
+                        outputStream.write((chr + line + "\n").getBytes(StandardCharsets.UTF_8));
+                        indexCreator.addFeature(new SimpleFeature(chr, pos, pos), filePointer);
+                    }
+                }
+            }
+            Index index = indexCreator.finalizeIndex(outputStream.getFilePointer());
+            index.write(Path.of(tabixFile + ".tbi"));
+        }
+        return tabixFile;
+    }
+
+    private static List<VariantEvaluation> randomVariants() {
+        Random random = new Random(42);
+        List<String> alts = List.of("T", "G", "C", "AT");
+        List<VariantEvaluation> variants = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            // mostly clustered variants, some far apart, some off the end of the data and some on a contig with no data
+            int chr = 1 + random.nextInt(3);
+            int pos = i % 10 == 0 ? 1 + random.nextInt(NUM_POSITIONS + 500) : 1000 + random.nextInt(300);
+            String ref = i % 7 == 0 ? "AAA" : "A";
+            variants.add(TestFactory.variantBuilder(chr, pos, ref, alts.get(random.nextInt(alts.size())))
+                    .variantEffect(i % 5 == 0 ? VariantEffect.MISSENSE_VARIANT : VariantEffect.REGULATORY_REGION_VARIANT)
+                    .build());
+        }
+        // include some duplicates
+        variants.addAll(variants.subList(0, 50));
+        Collections.shuffle(variants, random);
+        return variants;
+    }
+
+    @Test
+    void field() {
+        String line = "1\t12345\tA\tT\t-0.2\t3.45";
+        assertThat(TabixSweepQuery.field(line, 0), equalTo("1"));
+        assertThat(TabixSweepQuery.field(line, 2), equalTo("A"));
+        assertThat(TabixSweepQuery.field(line, 5), equalTo("3.45"));
+        assertThrows(IndexOutOfBoundsException.class, () -> TabixSweepQuery.field(line, 6));
+    }
+
+    @Test
+    void queryEmptyList() throws IOException {
+        try (TabixDataSource dataSource = new TabixReaderAdaptor(new TabixReader(caddFile.toString()))) {
+            CaddDao instance = new CaddDao(dataSource, dataSource);
+            assertThat(instance.getPathogenicityData(List.of()), equalTo(List.of()));
+        }
+    }
+
+    @Test
+    void caddBatchMatchesSingleVariantQueries() throws IOException {
+        try (TabixDataSource dataSource = new TabixReaderAdaptor(new TabixReader(caddFile.toString()))) {
+            CaddDao instance = new CaddDao(dataSource, dataSource);
+            List<VariantEvaluation> variants = randomVariants();
+            List<PathogenicityData> expected = variants.stream().map(instance::getPathogenicityData).toList();
+            assertThat(instance.getPathogenicityData(variants), equalTo(expected));
+        }
+    }
+
+    @Test
+    void remmBatchMatchesSingleVariantQueries() throws IOException {
+        try (TabixDataSource dataSource = new ThreadLocalTabixDataSource(remmFile)) {
+            RemmDao instance = new RemmDao(dataSource);
+            List<VariantEvaluation> variants = randomVariants();
+            List<PathogenicityData> expected = variants.stream().map(instance::getPathogenicityData).toList();
+            assertThat(instance.getPathogenicityData(variants), equalTo(expected));
+        }
+    }
+}
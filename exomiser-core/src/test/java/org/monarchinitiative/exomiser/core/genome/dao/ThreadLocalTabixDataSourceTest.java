@@ -0,0 +1,151 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.genome.dao;
+
+import htsjdk.samtools.util.BlockCompressedOutputStream;
+import htsjdk.tribble.SimpleFeature;
+import htsjdk.tribble.index.Index;
+import htsjdk.tribble.index.tabix.TabixFormat;
+import htsjdk.tribble.index.tabix.TabixIndexCreator;
+import htsjdk.tribble.readers.TabixReader;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ThreadLocalTabixDataSourceTest {
+
+    private static final int NUM_LINES = 5_000;
+
+    @TempDir
+    static Path tempDir;
+
+    static Path tabixFile;
+
+    @BeforeAll
+    static void writeTabixFile() throws IOException {
+        tabixFile = tempDir.resolve("test.tsv.gz");
+        TabixIndexCreator indexCreator = new TabixIndexCreator(new TabixFormat(TabixFormat.GENERIC_FLAGS, 1, 2, 2, '#', 0));
+        try (BlockCompressedOutputStream outputStream = new BlockCompressedOutputStream(tabixFile.toFile())) {
+            for (int pos = 1; pos <= NUM_LINES; pos++) {
+                long filePointer = outputStream.getFilePointer();
+                outputStream.write(line(pos).concat("\n").getBytes(StandardCharsets.UTF_8));
+                indexCreator.addFeature(new SimpleFeature("1", pos, pos), filePointer);
+            }
+            Index index = indexCreator.finalizeIndex(outputStream.getFilePointer());
+            index.write(Path.of(tabixFile + ".tbi"));
+        }
+    }
+
+    private static String line(int pos) {
+        return "1\t" + pos + "\tA\tT\t" + pos % 100;
+    }
+
+    private static List<String> readAll(TabixReader.Iterator iterator) throws IOException {
+        List<String> lines = new ArrayList<>();
+        String line;
+        while ((line = iterator.next()) != null) {
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    @Test
+    void throwsExceptionWhenFileDoesNotExist() {
+        assertThrows(IOException.class, () -> new ThreadLocalTabixDataSource(tempDir.resolve("wibble.tsv.gz")));
+    }
+
+    @Test
+    void getSource() throws IOException {
+        try (ThreadLocalTabixDataSource instance = new ThreadLocalTabixDataSource(tabixFile)) {
+            assertThat(instance.getSource(), equalTo(tabixFile.toAbsolutePath().toString()));
+            assertThat(instance.isThreadSafe(), is(true));
+        }
+    }
+
+    @Test
+    void query() throws IOException {
+        try (ThreadLocalTabixDataSource instance = new ThreadLocalTabixDataSource(tabixFile)) {
+            assertThat(readAll(instance.query("1", 2345, 2346)), equalTo(List.of(line(2345), line(2346))));
+            assertThat(readAll(instance.query("2", 2345, 2346)), equalTo(List.of()));
+        }
+    }
+
+    @Test
+    void concurrentQueriesReturnCorrectResults() throws Exception {
+        int numThreads = 8;
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads);
+        try (ThreadLocalTabixDataSource instance = new ThreadLocalTabixDataSource(tabixFile)) {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int thread = 0; thread < numThreads; thread++) {
+                int offset = thread;
+                futures.add(executorService.submit(() -> {
+                    List<String> mismatches = new ArrayList<>();
+                    for (int pos = 1 + offset; pos <= NUM_LINES; pos += 47) {
+                        List<String> lines = readAll(instance.query("1", pos, pos));
+                        if (!lines.equals(List.of(line(pos)))) {
+                            mismatches.add(pos + ": " + lines);
+                        }
+                    }
+                    return mismatches;
+                }));
+            }
+            for (Future<List<String>> future : futures) {
+                assertThat(future.get(), empty());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    void closesReadersOfFinishedThreads() throws Exception {
+        try (ThreadLocalTabixDataSource instance = new ThreadLocalTabixDataSource(tabixFile)) {
+            assertThat(instance.numOpenReaders(), equalTo(1));
+            for (int i = 0; i < 5; i++) {
+                Thread thread = new Thread(() -> {
+                    try {
+                        readAll(instance.query("1", 2345, 2345));
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+                thread.start();
+                thread.join();
+            }
+            // the reader opened by the most recent thread is only closed when another thread opens a new reader
+            assertThat(instance.numOpenReaders(), equalTo(2));
+            assertThat(readAll(instance.query("1", 2345, 2346)), equalTo(List.of(line(2345), line(2346))));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.model;
+
+import htsjdk.variant.variantcontext.VariantContext;
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.exomiser.core.genome.TestVcfReader;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class VcfRecordSummaryTest {
+
+    private final TestVcfReader testVcfReader = TestVcfReader.of(List.of("sample1", "sample2", "sample3"));
+
+    @Test
+    void empty() {
+        VcfRecordSummary instance = VcfRecordSummary.empty();
+        assertThat(instance.recordIndex(), equalTo(VcfRecordSummary.NO_RECORD_INDEX));
+        assertThat(instance.hasRecordIndex(), is(false));
+        assertThat(instance.filterState(), equalTo(VcfRecordSummary.FilterState.UNFILTERED));
+        assertThat(instance.numSamples(), equalTo(0));
+    }
+
+    @Test
+    void filterState() {
+        assertThat(VcfRecordSummary.FilterState.of(testVcfReader.readVariantContext("1 12345 . A T 100 . . GT 0/1 0/0 0/0")), equalTo(VcfRecordSummary.FilterState.UNFILTERED));
+        assertThat(VcfRecordSummary.FilterState.of(testVcfReader.readVariantContext("1 12345 . A T 100 PASS . GT 0/1 0/0 0/0")), equalTo(VcfRecordSummary.FilterState.PASSED));
+        assertThat(VcfRecordSummary.FilterState.of(testVcfReader.readVariantContext("1 12345 . A T 100 LowQual . GT 0/1 0/0 0/0")), equalTo(VcfRecordSummary.FilterState.FAILED));
+    }
+
+    @Test
+    void ofAlleleDepths() {
+        VariantContext variantContext = testVcfReader.readVariantContext("1 12345 . A T 100 PASS . GT:AD:DP:GQ 0/1:6,4:10:99 1/1:0,12:12:30 0/0:.:.:.");
+        VcfRecordSummary instance = VcfRecordSummary.of(variantContext, 23);
+        assertThat(instance.recordIndex(), equalTo(23));
+        assertThat(instance.hasRecordIndex(), is(true));
+        assertThat(instance.filterState(), equalTo(VcfRecordSummary.FilterState.PASSED));
+        assertThat(instance.numSamples(), equalTo(3));
+
+        assertThat(instance.genotypeQuality(0), equalTo(99));
+        assertThat(instance.depth(0), equalTo(10));
+        assertThat(instance.alleleBalance(0), equalTo(0.4));
+        assertThat(instance.isHeterozygous(0), is(true));
+
+        assertThat(instance.genotypeQuality(1), equalTo(30));
+        assertThat(instance.depth(1), equalTo(12));
+        assertThat(instance.alleleBalance(1), equalTo(1.0));
+        assertThat(instance.isHeterozygous(1), is(false));
+
+        assertThat(instance.genotypeQuality(2), equalTo(VcfRecordSummary.MISSING_VALUE));
+        assertThat(instance.depth(2), equalTo(VcfRecordSummary.MISSING_VALUE));
+        assertThat(instance.alleleBalance(2), equalTo((double) VcfRecordSummary.MISSING_VALUE));
+        assertThat(instance.isHeterozygous(2), is(false));
+    }
+
+    @Test
+    void ofPlatypusReadCounts() {
+        VariantContext variantContext = testVcfReader.readVariantContext("1 12345 . A T,G 100 PASS . GT:NR:NV 1/2:20:5,5 0/1:20:5 0/0:20:0,0");
+        VcfRecordSummary instance = VcfRecordSummary.of(variantContext, 0);
+        assertThat(instance.alleleBalance(0), equalTo(0.5));
+        assertThat(instance.isHeterozygous(0), is(true));
+        // NV count doesn't match the number of ALT alleles
+        assertThat(instance.alleleBalance(1), equalTo((double) VcfRecordSummary.MISSING_VALUE));
+        assertThat(instance.alleleBalance(2), equalTo(0.0));
+    }
+
+    @Test
+    void testEquals() {
+        VariantContext variantContext = testVcfReader.readVariantContext("1 12345 . A T 100 PASS . GT:AD:DP:GQ 0/1:6,4:10:99 1/1:0,12:12:30 0/0:.:.:.");
+        assertThat(VcfRecordSummary.of(variantContext, 1), equalTo(VcfRecordSummary.of(variantContext, 1)));
+        assertThat(VcfRecordSummary.of(variantContext, 1), not(equalTo(VcfRecordSummary.of(variantContext, 2))));
+    }
+}
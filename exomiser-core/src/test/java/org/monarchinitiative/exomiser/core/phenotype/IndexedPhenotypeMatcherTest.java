@@ -0,0 +1,122 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.phenotype;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+class IndexedPhenotypeMatcherTest {
+
+    private final PhenotypeTerm bigNose = PhenotypeTerm.of("HP:0000001", "Big nose");
+    private final PhenotypeTerm nose = PhenotypeTerm.of("HP:0000002", "Nose");
+    private final PhenotypeTerm littleNose = PhenotypeTerm.of("HP:0000003", "Little nose");
+
+    private final PhenotypeMatch bigNoseSelfMatch = PhenotypeMatch.builder()
+            .query(bigNose).match(bigNose).lcs(bigNose).simj(1.0).score(4.0).build();
+    private final PhenotypeMatch noseMatch = PhenotypeMatch.builder()
+            .query(bigNose).match(littleNose).lcs(nose).simj(0.5).score(1.0).build();
+
+    private final PhenotypeTerm toe = PhenotypeTerm.of("HP:0000004", "Toe");
+    private final PhenotypeTerm bigToe = PhenotypeTerm.of("HP:0000005", "Big toe");
+    private final PhenotypeTerm longToe = PhenotypeTerm.of("HP:0000007", "Long toe");
+
+    private final PhenotypeMatch bigToeSelfMatch = PhenotypeMatch.builder()
+            .query(bigToe).match(bigToe).lcs(bigToe).simj(1.0).score(4.0).build();
+    private final PhenotypeMatch bigToeLogToeMatch = PhenotypeMatch.builder()
+            .query(bigToe).match(longToe).lcs(toe).score(2.0).build();
+
+    private final IndexedPhenotypeMatcher instance = IndexedPhenotypeMatcher.of(Organism.HUMAN, Map.of(
+            bigNose, Set.of(bigNoseSelfMatch, noseMatch),
+            bigToe, Set.of(bigToeSelfMatch, bigToeLogToeMatch)
+    ));
+
+    @Test
+    void emptyInputValues() {
+        IndexedPhenotypeMatcher emptyMatcher = IndexedPhenotypeMatcher.of(Organism.HUMAN, Map.of());
+        assertThat(emptyMatcher.getOrganism(), equalTo(Organism.HUMAN));
+        assertThat(emptyMatcher.getQueryTerms(), equalTo(List.of()));
+        assertThat(emptyMatcher.matchPhenotypeIds(List.of(bigNose.id())), equalTo(new PhenodigmMatchRawScore(0, 0, List.of(), List.of())));
+    }
+
+    @Test
+    void testEquals() {
+        assertThat(IndexedPhenotypeMatcher.of(Organism.HUMAN, Map.of()), equalTo(IndexedPhenotypeMatcher.of(Organism.HUMAN, Map.of())));
+        assertThat(IndexedPhenotypeMatcher.of(Organism.HUMAN, Map.of()), not(equalTo(IndexedPhenotypeMatcher.of(Organism.MOUSE, Map.of()))));
+    }
+
+    @Test
+    void testGetPhenodigmRawScoreImperfectMatch() {
+        List<String> modelPhenotypes = List.of(littleNose.id(), longToe.id());
+        PhenodigmMatchRawScore expected = new PhenodigmMatchRawScore(2.0, 6.0, modelPhenotypes, List.of(noseMatch, bigToeLogToeMatch));
+        assertThat(instance.matchPhenotypeIds(modelPhenotypes), equalTo(expected));
+    }
+
+    @Test
+    void testGetPhenodigmRawScoreMissingTermMatch() {
+        List<String> modelPhenotypes = List.of(bigNose.id(), "HP:0000100");
+        PhenodigmMatchRawScore expected = new PhenodigmMatchRawScore(4.0, 8.0, List.of(bigNose.id()), List.of(bigNoseSelfMatch));
+        assertThat(instance.matchPhenotypeIds(modelPhenotypes), equalTo(expected));
+    }
+
+    @Test
+    void producesIdenticalResultsToCrossSpeciesPhenotypeMatcher() {
+        Random random = new Random(1234);
+        List<PhenotypeTerm> modelTerms = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            modelTerms.add(PhenotypeTerm.of(String.format("MP:%07d", i), "MP term " + i));
+        }
+        Map<PhenotypeTerm, Set<PhenotypeMatch>> queryTermPhenotypeMatches = new LinkedHashMap<>();
+        for (int i = 0; i < 15; i++) {
+            PhenotypeTerm queryTerm = PhenotypeTerm.of(String.format("HP:%07d", 100 - i), "HP term " + i);
+            Set<PhenotypeMatch> phenotypeMatches = new HashSet<>();
+            // include some terms with no matches, some zero scores and lots of tied scores
+            int numMatches = i % 5 == 0 ? 0 : random.nextInt(60);
+            for (int j = 0; j < numMatches; j++) {
+                PhenotypeTerm modelTerm = modelTerms.get(random.nextInt(modelTerms.size()));
+                double score = random.nextInt(8) / 2.0;
+                phenotypeMatches.add(PhenotypeMatch.builder().query(queryTerm).match(modelTerm).lcs(queryTerm).score(score).build());
+            }
+            // there can only be one match per query-model pair
+            Map<String, PhenotypeMatch> uniqueMatches = new LinkedHashMap<>();
+            phenotypeMatches.forEach(match -> uniqueMatches.putIfAbsent(match.matchPhenotypeId(), match));
+            queryTermPhenotypeMatches.put(queryTerm, Set.copyOf(uniqueMatches.values()));
+        }
+
+        QueryPhenotypeMatch queryPhenotypeMatch = new QueryPhenotypeMatch(Organism.MOUSE, queryTermPhenotypeMatches);
+        PhenotypeMatcher expectedMatcher = CrossSpeciesPhenotypeMatcher.of(queryPhenotypeMatch);
+        PhenotypeMatcher indexedMatcher = IndexedPhenotypeMatcher.of(queryPhenotypeMatch);
+
+        for (int i = 0; i < 2_000; i++) {
+            List<String> modelPhenotypes = new ArrayList<>();
+            int numPhenotypes = random.nextInt(30);
+            for (int j = 0; j < numPhenotypes; j++) {
+                // occasionally include ids not present in the matches
+                modelPhenotypes.add(j % 7 == 0 ? "ZP:" + j : modelTerms.get(random.nextInt(modelTerms.size())).id());
+            }
+            assertThat(indexedMatcher.matchPhenotypeIds(modelPhenotypes), equalTo(expectedMatcher.matchPhenotypeIds(modelPhenotypes)));
+        }
+    }
+}
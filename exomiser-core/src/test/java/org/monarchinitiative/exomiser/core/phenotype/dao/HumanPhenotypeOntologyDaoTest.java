@@ -166,6 +166,14 @@ public void testGetPhenotypeMatchesForHpoTerm() {
         assertThat(matches, equalTo(phenotypeMatches));
     }
 
+    @Test
+    void testGetAllPhenotypeMappings() {
+        PhenotypeMappings phenotypeMappings = instance.getAllPhenotypeMappings();
+        assertThat(phenotypeMappings.numQueryTerms(), equalTo(1));
+        assertThat(phenotypeMappings.size(), equalTo(5));
+        assertThat(phenotypeMappings.getPhenotypeMatchesForHpoTerm(multicysticKidneyDysplasia), equalTo(instance.getPhenotypeMatchesForHpoTerm(multicysticKidneyDysplasia)));
+    }
+
     @Test
     void testGetIdToPhenotypeTerms() {
         PhenotypeTerm modeOfInheritance = PhenotypeTerm.of("HP:0000005", "Mode of inheritance");
@@ -0,0 +1,80 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.core.phenotype.dao;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.monarchinitiative.exomiser.core.phenotype.PhenotypeTerm;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+class PhenotypeMappingTablesTest {
+
+    private final PhenotypeTerm cleftHelix = PhenotypeTerm.of("HP:0009902", "Cleft helix");
+    private final PhenotypeTerm thinEarHelix = PhenotypeTerm.of("HP:0009905", "Thin ear helix");
+    private final PhenotypeTerm abnormalityOfTheHelix = PhenotypeTerm.of("HP:0011039", "Abnormality of the helix");
+
+    private final HumanPhenotypeOntologyDao hpoDao = Mockito.mock(HumanPhenotypeOntologyDao.class);
+    private final MousePhenotypeOntologyDao mpoDao = Mockito.mock(MousePhenotypeOntologyDao.class);
+    private final ZebraFishPhenotypeOntologyDao zpoDao = Mockito.mock(ZebraFishPhenotypeOntologyDao.class);
+
+    private final PhenotypeMappings hpHpMappings = PhenotypeMappings.builder()
+            .add(cleftHelix.id(), thinEarHelix, abnormalityOfTheHelix, 0.5, 4.0, 1.4142135623730951)
+            .build();
+
+    private void setUpDaos() {
+        Mockito.when(hpoDao.getAllPhenotypeMappings()).thenReturn(hpHpMappings);
+        Mockito.when(mpoDao.getAllPhenotypeMappings()).thenReturn(PhenotypeMappings.empty());
+        Mockito.when(zpoDao.getAllPhenotypeMappings()).thenReturn(PhenotypeMappings.empty());
+    }
+
+    @Test
+    void loadFromDatabaseWithoutSnapshotDirectory() {
+        setUpDaos();
+        PhenotypeMappingTables instance = PhenotypeMappingTables.load(hpoDao, mpoDao, zpoDao, null);
+        assertThat(instance.hpHpMappings(), equalTo(hpHpMappings));
+        assertThat(instance.hpMpMappings(), equalTo(PhenotypeMappings.empty()));
+        assertThat(instance.hpZpMappings(), equalTo(PhenotypeMappings.empty()));
+    }
+
+    @Test
+    void loadWritesSnapshotWhichIsUsedOnNextLoad(@TempDir Path tempDir) {
+        setUpDaos();
+        PhenotypeMappingTables.load(hpoDao, mpoDao, zpoDao, tempDir);
+        assertThat(Files.exists(PhenotypeMappingTables.snapshotPath(tempDir, "hp_hp_mappings")), is(true));
+        // empty tables are not written
+        assertThat(Files.exists(PhenotypeMappingTables.snapshotPath(tempDir, "hp_mp_mappings")), is(false));
+        assertThat(Files.exists(PhenotypeMappingTables.snapshotPath(tempDir, "hp_zp_mappings")), is(false));
+
+        PhenotypeMappingTables instance = PhenotypeMappingTables.load(hpoDao, mpoDao, zpoDao, tempDir);
+        Mockito.verify(hpoDao, Mockito.times(1)).getAllPhenotypeMappings();
+        Mockito.verify(mpoDao, Mockito.times(2)).getAllPhenotypeMappings();
+        assertThat(instance.hpHpMappings().size(), equalTo(1));
+        assertThat(instance.hpHpMappings().getPhenotypeMatchesForHpoTerm(cleftHelix), equalTo(hpHpMappings.getPhenotypeMatchesForHpoTerm(cleftHelix)));
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.core.phenotype.dao;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.monarchinitiative.exomiser.core.phenotype.PhenotypeMatch;
+import org.monarchinitiative.exomiser.core.phenotype.PhenotypeTerm;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PhenotypeMappingsTest {
+
+    private final PhenotypeTerm multicysticKidneyDysplasia = PhenotypeTerm.of("HP:0000003", "Multicystic kidney dysplasia");
+    private final PhenotypeTerm renalDiverticulum = PhenotypeTerm.of("HP:0100877", "Renal diverticulum");
+    private final PhenotypeTerm renalCyst = PhenotypeTerm.of("HP:0000107", "Renal cyst");
+    private final PhenotypeTerm acuteKidneyInjury = PhenotypeTerm.of("HP:0001919", "Acute kidney injury");
+    private final PhenotypeTerm kidneyAbnormality = PhenotypeTerm.of("HP:0000077", "Abnormality of the kidney");
+    private final PhenotypeTerm abnormalityOfBodyHeight = PhenotypeTerm.of("HP:0000002", "Abnormality of body height");
+    private final PhenotypeTerm tallStature = PhenotypeTerm.of("HP:0000098", "Tall stature");
+
+    // the rows are deliberately not grouped by query term
+    private final PhenotypeMappings instance = PhenotypeMappings.builder()
+            .add("HP:0000003", renalDiverticulum, renalCyst, 0.769231, 5.347805, 2.028225214383722)
+            .add("HP:0000002", tallStature, abnormalityOfBodyHeight, 0.5, 2.0, 1.0)
+            .add("HP:0000003", acuteKidneyInjury, kidneyAbnormality, 0.533333, 3.020727, 1.269272768407093)
+            .add("HP:0000003", kidneyAbnormality, kidneyAbnormality, 0.4, 3.020727, 1.1)
+            .build();
+
+    private PhenotypeMatch match(PhenotypeTerm query, PhenotypeTerm match, PhenotypeTerm lcs, double simJ, double ic, double score) {
+        return PhenotypeMatch.builder().query(query).match(match).lcs(lcs).simj(simJ).ic(ic).score(score).build();
+    }
+
+    @Test
+    void emptyMappings() {
+        PhenotypeMappings empty = PhenotypeMappings.empty();
+        assertThat(empty.size(), equalTo(0));
+        assertThat(empty.numQueryTerms(), equalTo(0));
+        assertThat(empty.getPhenotypeMatchesForHpoTerm(multicysticKidneyDysplasia), equalTo(Set.of()));
+    }
+
+    @Test
+    void size() {
+        assertThat(instance.size(), equalTo(4));
+        assertThat(instance.numQueryTerms(), equalTo(2));
+    }
+
+    @Test
+    void getPhenotypeMatchesForHpoTermKeepsInsertionOrder() {
+        List<PhenotypeMatch> expected = List.of(
+                match(multicysticKidneyDysplasia, renalDiverticulum, renalCyst, 0.769231, 5.347805, 2.028225214383722),
+                match(multicysticKidneyDysplasia, acuteKidneyInjury, kidneyAbnormality, 0.533333, 3.020727, 1.269272768407093),
+                match(multicysticKidneyDysplasia, kidneyAbnormality, kidneyAbnormality, 0.4, 3.020727, 1.1)
+        );
+        assertThat(List.copyOf(instance.getPhenotypeMatchesForHpoTerm(multicysticKidneyDysplasia)), equalTo(expected));
+        assertThat(instance.getPhenotypeMatchesForHpoTerm(abnormalityOfBodyHeight), contains(match(abnormalityOfBodyHeight, tallStature, abnormalityOfBodyHeight, 0.5, 2.0, 1.0)));
+    }
+
+    @Test
+    void getPhenotypeMatchesForUnknownHpoTerm() {
+        assertThat(instance.getPhenotypeMatchesForHpoTerm(tallStature), is(empty()));
+    }
+
+    @Test
+    void writeAndReadSnapshot(@TempDir Path tempDir) {
+        Path snapshotPath = tempDir.resolve("hp_hp_mappings.bin.gz");
+        instance.write(snapshotPath);
+
+        PhenotypeMappings snapshot = PhenotypeMappings.read(snapshotPath);
+        assertThat(snapshot.size(), equalTo(instance.size()));
+        assertThat(snapshot.numQueryTerms(), equalTo(instance.numQueryTerms()));
+        for (PhenotypeTerm queryTerm : List.of(multicysticKidneyDysplasia, abnormalityOfBodyHeight, tallStature)) {
+            assertThat(List.copyOf(snapshot.getPhenotypeMatchesForHpoTerm(queryTerm)), equalTo(List.copyOf(instance.getPhenotypeMatchesForHpoTerm(queryTerm))));
+        }
+    }
+
+    @Test
+    void readInvalidSnapshotThrowsException(@TempDir Path tempDir) throws Exception {
+        Path snapshotPath = tempDir.resolve("hp_hp_mappings.bin.gz");
+        Files.writeString(snapshotPath, "not a snapshot");
+        assertThrows(UncheckedIOException.class, () -> PhenotypeMappings.read(snapshotPath));
+    }
+}
@@ -36,9 +36,12 @@
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.monarchinitiative.exomiser.core.phenotype.PhenotypeMatch;
 import org.monarchinitiative.exomiser.core.phenotype.PhenotypeTerm;
 import org.monarchinitiative.exomiser.core.phenotype.dao.HumanPhenotypeOntologyDao;
 import org.monarchinitiative.exomiser.core.phenotype.dao.MousePhenotypeOntologyDao;
+import org.monarchinitiative.exomiser.core.phenotype.dao.PhenotypeMappingTables;
+import org.monarchinitiative.exomiser.core.phenotype.dao.PhenotypeMappings;
 import org.monarchinitiative.exomiser.core.phenotype.dao.ZebraFishPhenotypeOntologyDao;
 
 import java.util.Collections;
@@ -117,6 +120,32 @@ public void canGetPhenotypeMatchesForZpoTerm() {
         assertThat(instance.getZpoMatchesForHpoTerm(cleftHelix), equalTo(Collections.emptySet()));
     }
 
+    @Test
+    void canGetPhenotypeMatchesFromPreloadedMappings() {
+        PhenotypeTerm abnormalityOfTheHelix = PhenotypeTerm.of("HP:0011039", "Abnormality of the helix");
+        PhenotypeTerm mouseEarMorphology = PhenotypeTerm.of("MP:0002102", "abnormal ear morphology");
+        PhenotypeMappings hpHpMappings = PhenotypeMappings.builder()
+                .add(cleftHelix.id(), thinEarHelix, abnormalityOfTheHelix, 0.5, 4.0, 1.4142135623730951)
+                .build();
+        PhenotypeMappings hpMpMappings = PhenotypeMappings.builder()
+                .add(cleftHelix.id(), mouseEarMorphology, mouseEarMorphology, 0.25, 2.0, 0.7071067811865476)
+                .build();
+        PhenotypeMappingTables phenotypeMappingTables = new PhenotypeMappingTables(hpHpMappings, hpMpMappings, PhenotypeMappings.empty());
+
+        instance = new OntologyServiceImpl(mockHpoDao, mockMpoDao, mockZpoDao, phenotypeMappingTables);
+
+        PhenotypeMatch expectedHpMatch = PhenotypeMatch.builder().query(cleftHelix).match(thinEarHelix).lcs(abnormalityOfTheHelix)
+                .simj(0.5).ic(4.0).score(1.4142135623730951).build();
+        assertThat(instance.getHpoMatchesForHpoTerm(cleftHelix), equalTo(Set.of(expectedHpMatch)));
+        PhenotypeMatch expectedMpMatch = PhenotypeMatch.builder().query(cleftHelix).match(mouseEarMorphology).lcs(mouseEarMorphology)
+                .simj(0.25).ic(2.0).score(0.7071067811865476).build();
+        assertThat(instance.getMpoMatchesForHpoTerm(cleftHelix), equalTo(Set.of(expectedMpMatch)));
+        assertThat(instance.getZpoMatchesForHpoTerm(cleftHelix), equalTo(Collections.emptySet()));
+        Mockito.verify(mockHpoDao, Mockito.never()).getPhenotypeMatchesForHpoTerm(Mockito.any());
+        Mockito.verify(mockMpoDao, Mockito.never()).getPhenotypeMatchesForHpoTerm(Mockito.any());
+        Mockito.verify(mockZpoDao, Mockito.never()).getPhenotypeMatchesForHpoTerm(Mockito.any());
+    }
+
     @Test
     public void testReturnsPhenotypeTermForGivenHpoId() {
         assertThat(instance.getPhenotypeTermForHpoId(fingerJointHyperExtensibility.id()), equalTo(fingerJointHyperExtensibility));
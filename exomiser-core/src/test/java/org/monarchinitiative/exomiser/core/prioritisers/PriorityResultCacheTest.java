@@ -0,0 +1,114 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.prioritisers;
+
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.exomiser.core.model.Gene;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+class PriorityResultCacheTest {
+
+    private static class CountingPrioritiser extends MockPrioritiser {
+
+        private final AtomicInteger timesRun = new AtomicInteger();
+
+        CountingPrioritiser(Map<String, Double> geneSymbolPrioritiserScores) {
+            super(PriorityType.HIPHIVE_PRIORITY, geneSymbolPrioritiserScores);
+        }
+
+        @Override
+        public void prioritizeGenes(List<String> hpoIds, List<Gene> genes) {
+            timesRun.incrementAndGet();
+            super.prioritizeGenes(hpoIds, genes);
+        }
+    }
+
+    private static List<Gene> genes() {
+        return List.of(new Gene("FGFR2", 2263), new Gene("RBM8A", 9939), new Gene("GNRHR2", 114814));
+    }
+
+    private final List<String> hpoIds = List.of("HP:0000001", "HP:0000002");
+
+    @Test
+    void resultsAreReusedForSameGenesAndHpoIds() {
+        CountingPrioritiser prioritiser = new CountingPrioritiser(Map.of("FGFR2", 0.9, "RBM8A", 0.5));
+        PriorityResultCache instance = new PriorityResultCache();
+
+        List<Gene> genes = genes();
+        instance.prioritizeGenes(prioritiser, hpoIds, genes);
+        // gene order isn't important
+        List<Gene> otherGenes = new ArrayList<>(genes());
+        otherGenes.add(otherGenes.removeFirst());
+        instance.prioritizeGenes(prioritiser, hpoIds, otherGenes);
+
+        assertThat(prioritiser.timesRun.get(), equalTo(1));
+        for (int i = 0; i < genes.size(); i++) {
+            Gene gene = genes.get(i);
+            Gene otherGene = otherGenes.stream().filter(g -> g.entrezGeneId() == gene.entrezGeneId()).findFirst().orElseThrow();
+            assertThat(otherGene.getPriorityResult(PriorityType.HIPHIVE_PRIORITY), equalTo(gene.getPriorityResult(PriorityType.HIPHIVE_PRIORITY)));
+        }
+    }
+
+    @Test
+    void prioritiserIsRunForDifferentGenes() {
+        CountingPrioritiser prioritiser = new CountingPrioritiser(Map.of("FGFR2", 0.9));
+        PriorityResultCache instance = new PriorityResultCache();
+
+        instance.prioritizeGenes(prioritiser, hpoIds, genes());
+        List<Gene> fewerGenes = genes().subList(0, 2);
+        instance.prioritizeGenes(prioritiser, hpoIds, fewerGenes);
+
+        assertThat(prioritiser.timesRun.get(), equalTo(2));
+    }
+
+    @Test
+    void prioritiserIsRunForDifferentHpoIds() {
+        CountingPrioritiser prioritiser = new CountingPrioritiser(Map.of("FGFR2", 0.9));
+        PriorityResultCache instance = new PriorityResultCache();
+
+        instance.prioritizeGenes(prioritiser, hpoIds, genes());
+        instance.prioritizeGenes(prioritiser, List.of("HP:0000001"), genes());
+
+        assertThat(prioritiser.timesRun.get(), equalTo(2));
+    }
+
+    @Test
+    void disabledCacheAlwaysRunsPrioritiser() {
+        CountingPrioritiser prioritiser = new CountingPrioritiser(Map.of("FGFR2", 0.9));
+        PriorityResultCache instance = PriorityResultCache.disabled();
+
+        instance.prioritizeGenes(prioritiser, hpoIds, genes());
+        List<Gene> genes = genes();
+        instance.prioritizeGenes(prioritiser, hpoIds, genes);
+
+        assertThat(prioritiser.timesRun.get(), equalTo(2));
+        assertThat(genes.get(0).getPriorityResult(PriorityType.HIPHIVE_PRIORITY), equalTo(new MockPriorityResult(PriorityType.HIPHIVE_PRIORITY, 2263, "FGFR2", 0.9)));
+        assertThat(genes.get(0).getPriorityResult(PriorityType.OMIM_PRIORITY), nullValue());
+    }
+}
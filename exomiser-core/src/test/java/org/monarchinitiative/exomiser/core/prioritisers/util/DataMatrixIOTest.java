@@ -104,6 +104,27 @@ public void testConvertToMap() throws Exception{
         testMatrixEquality(inMemoryMapMatrix.getMatrix(), fromFile.getMatrix());
     }
 
+    @Test
+    public void testConvertMapToMappedDataMatrix(@TempDir Path tempDir) {
+        String dataPath = "src/test/resources/prioritisers/";
+        String indexPath = dataPath + "test_ppi_matrix_id2index.gz";
+        String matrixPath = dataPath + "test_ppi_matrix.gz";
+
+        Path matrixMapFile = tempDir.resolve("test_ppi_matrix.mv");
+        DataMatrixIO.convertToMap(matrixPath, indexPath, matrixMapFile);
+        Path mappedMatrixFile = tempDir.resolve("test_ppi_matrix.f32");
+        DataMatrixIO.convertMapToMappedDataMatrix(matrixMapFile, mappedMatrixFile);
+
+        DataMatrix mappedMatrix = DataMatrixIO.loadMappedDataMatrix(mappedMatrixFile);
+        DataMatrix fromFile = DataMatrixIO.loadInMemoryDataMatrixFromFile(matrixPath, indexPath, true);
+
+        assertThat(mappedMatrix.getEntrezIdToRowIndex(), equalTo(fromFile.getEntrezIdToRowIndex()));
+        testMatrixEquality(mappedMatrix.getMatrix(), fromFile.getMatrix());
+        for (Integer entrezGeneId : fromFile.getEntrezIdToRowIndex().keySet()) {
+            assertThat(mappedMatrix.getColumnMatrixForGene(entrezGeneId), equalTo(fromFile.getColumnMatrixForGene(entrezGeneId)));
+        }
+    }
+
     private void testMatrixEquality(FloatMatrix mapMatrix, FloatMatrix fileMatrix) {
         int rows = mapMatrix.getRows();
         int cols = mapMatrix.getColumns();
@@ -23,16 +23,15 @@
 import com.google.common.collect.ArrayListMultimap;
 import org.jblas.FloatMatrix;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.monarchinitiative.exomiser.core.phenotype.Organism;
 import org.monarchinitiative.exomiser.core.prioritisers.model.Disease;
 import org.monarchinitiative.exomiser.core.prioritisers.model.GeneDiseaseModel;
 import org.monarchinitiative.exomiser.core.prioritisers.model.GeneMatch;
 import org.monarchinitiative.exomiser.core.prioritisers.model.GeneModelPhenotypeMatch;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.nio.file.Path;
+import java.util.*;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -167,4 +166,39 @@ void geneInNetworkClosestHitTwoNetworks() {
         assertThat(closestPhenoMatchInNetwork.bestMatchModels(), equalTo(List.of(model3)));
     }
 
-}
\ No newline at end of file
+    @Test
+    void topKNeighbourIndexGivesIdenticalResultsToLinearScan(@TempDir Path tempDir) {
+        Random random = new Random(1234);
+        int numGenes = 60;
+        FloatMatrix matrix = new FloatMatrix(numGenes, numGenes);
+        Map<Integer, Integer> geneIdToRowIndex = new HashMap<>();
+        for (int i = 0; i < numGenes; i++) {
+            geneIdToRowIndex.put(1000 + i, i);
+            for (int j = 0; j < numGenes; j++) {
+                // a sparse matrix with lots of tied values
+                matrix.put(i, j, random.nextInt(3) == 0 ? random.nextInt(6) / 10f : 0f);
+            }
+        }
+        DataMatrix inMemoryDataMatrix = new InMemoryDataMatrix(matrix, geneIdToRowIndex);
+        Path matrixFile = tempDir.resolve("matrix.f32");
+        DataMatrixIO.writeMappedDataMatrix(inMemoryDataMatrix, matrixFile);
+        // a small k means some rows will need to fall back to the linear scan
+        DataMatrixIO.writeTopKNeighbourIndex(matrixFile, 4);
+        DataMatrix indexedDataMatrix = DataMatrixIO.loadMappedDataMatrix(matrixFile);
+        assertThat(indexedDataMatrix.topKNeighbourIndex().isPresent(), equalTo(true));
+
+        for (int sample = 0; sample < 50; sample++) {
+            ArrayListMultimap<Integer, GeneModelPhenotypeMatch> bestGeneModels = ArrayListMultimap.create();
+            for (int i = 0; i < random.nextInt(20); i++) {
+                int geneId = 1000 + random.nextInt(numGenes);
+                bestGeneModels.put(geneId, geneModelMatch(geneId, random.nextInt(5) / 4d, "MONDO:" + i));
+            }
+            HiPhiveProteinInteractionScorer expected = new HiPhiveProteinInteractionScorer(inMemoryDataMatrix, bestGeneModels, HIGH_QUALITY_PHENO_SCORE_CUT_OFF);
+            HiPhiveProteinInteractionScorer instance = new HiPhiveProteinInteractionScorer(indexedDataMatrix, bestGeneModels, HIGH_QUALITY_PHENO_SCORE_CUT_OFF);
+            for (int geneId : geneIdToRowIndex.keySet()) {
+                assertThat(instance.getClosestPhenoMatchInNetwork(geneId), equalTo(expected.getClosestPhenoMatchInNetwork(geneId)));
+            }
+        }
+    }
+
+}
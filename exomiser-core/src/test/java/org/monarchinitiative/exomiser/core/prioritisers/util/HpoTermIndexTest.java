@@ -0,0 +1,199 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.prioritisers.util;
+
+import ontologizer.go.OBOParser;
+import ontologizer.go.Ontology;
+import ontologizer.go.Term;
+import ontologizer.go.TermContainer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import similarity.concepts.ResnikSimilarity;
+import similarity.objects.InformationContentObjectSimilarity;
+import sonumina.math.graph.SlimDirectedGraphView;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ */
+class HpoTermIndexTest {
+
+    // HP:0000001 -> HP:0000118 -> HP:0000707 -> HP:0012638 -> HP:0001250
+    //                          -> HP:0000478 -> HP:0000504 -> HP:0000505
+    //                          -> HP:0000152 -> HP:0000234 -> HP:0000271 -> HP:0000478 (multiple parents)
+    //                                                                    -> HP:0001250 (multiple parents)
+    private static final String OBO = """
+            format-version: 1.2
+
+            [Term]
+            id: HP:0000001
+            name: All
+
+            [Term]
+            id: HP:0000118
+            name: Phenotypic abnormality
+            is_a: HP:0000001
+
+            [Term]
+            id: HP:0000707
+            name: Abnormality of the nervous system
+            is_a: HP:0000118
+
+            [Term]
+            id: HP:0012638
+            name: Abnormal nervous system physiology
+            is_a: HP:0000707
+
+            [Term]
+            id: HP:0001250
+            name: Seizure
+            is_a: HP:0012638
+            is_a: HP:0000271
+
+            [Term]
+            id: HP:0000478
+            name: Abnormality of the eye
+            is_a: HP:0000118
+            is_a: HP:0000271
+
+            [Term]
+            id: HP:0000504
+            name: Abnormality of vision
+            is_a: HP:0000478
+
+            [Term]
+            id: HP:0000505
+            name: Visual impairment
+            is_a: HP:0000504
+
+            [Term]
+            id: HP:0000152
+            name: Abnormality of head or neck
+            is_a: HP:0000118
+
+            [Term]
+            id: HP:0000234
+            name: Abnormality of the head
+            is_a: HP:0000152
+
+            [Term]
+            id: HP:0000271
+            name: Abnormality of the face
+            is_a: HP:0000234
+            """;
+
+    private static Ontology ontology;
+    private static SlimDirectedGraphView<Term> ontologySlim;
+    private static List<Term> terms;
+    private static HashMap<Term, Double> termInformationContent;
+
+    @BeforeAll
+    static void setUp(@TempDir Path tempDir) throws Exception {
+        Path oboFile = Files.writeString(tempDir.resolve("hp.obo"), OBO);
+        OBOParser oboParser = new OBOParser(oboFile.toString(), OBOParser.PARSE_XREFS);
+        oboParser.doParse();
+        TermContainer termContainer = new TermContainer(oboParser.getTermMap(), oboParser.getFormatVersion(), oboParser.getDate());
+        ontology = new Ontology(termContainer);
+        ontologySlim = ontology.getSlimGraphView();
+        terms = new ArrayList<>();
+        ontology.forEach(terms::add);
+        // the IC increases with depth, although with some variation so that the MICA is not always the deepest
+        Random random = new Random(42);
+        termInformationContent = new HashMap<>();
+        for (Term term : terms) {
+            double ic = ontologySlim.getAncestors(term).size() + random.nextDouble() * 2;
+            termInformationContent.put(term, term.getIDAsString().equals("HP:0000001") ? 0d : ic);
+        }
+    }
+
+    private static Term term(String id) {
+        return terms.stream().filter(term -> term.getIDAsString().equals(id)).findFirst().orElseThrow();
+    }
+
+    @Test
+    void size() {
+        HpoTermIndex instance = HpoTermIndex.of(ontologySlim, termInformationContent);
+        assertThat(instance.size(), equalTo(11));
+    }
+
+    @Test
+    void indexOf() {
+        HpoTermIndex instance = HpoTermIndex.of(ontologySlim, termInformationContent);
+        Term seizure = term("HP:0001250");
+        assertThat(instance.indexOf(seizure), greaterThanOrEqualTo(0));
+        assertThat(instance.informationContent(instance.indexOf(seizure)), equalTo(termInformationContent.get(seizure)));
+        assertThat(instance.indexOf(new Term("HP:9999999", "Unknown")), equalTo(-1));
+        assertThat(instance.indicesOf(List.of(seizure, new Term("HP:9999999", "Unknown"))), equalTo(new int[]{instance.indexOf(seizure)}));
+    }
+
+    @Test
+    void micaInformationContent() {
+        HpoTermIndex instance = HpoTermIndex.of(ontologySlim, termInformationContent);
+        int seizure = instance.indexOf(term("HP:0001250"));
+        int visualImpairment = instance.indexOf(term("HP:0000505"));
+        // both are descendants of HP:0000271 Abnormality of the face
+        double faceIc = termInformationContent.get(term("HP:0000271"));
+        assertThat(instance.micaInformationContent(seizure, visualImpairment), equalTo(faceIc));
+        assertThat(instance.micaInformationContent(seizure, seizure), equalTo(termInformationContent.get(term("HP:0001250"))));
+    }
+
+    @Test
+    void matchesOntologizerResnikSimilarity() {
+        HpoTermIndex instance = HpoTermIndex.of(ontologySlim, termInformationContent);
+        ResnikSimilarity resnikSimilarity = new ResnikSimilarity(ontology, termInformationContent);
+        for (Term a : terms) {
+            for (Term b : terms) {
+                assertThat(instance.micaInformationContent(instance.indexOf(a), instance.indexOf(b)), closeTo(resnikSimilarity.computeSimilarity(a, b), 1e-12));
+            }
+        }
+    }
+
+    @Test
+    void querySimilarityMatchesOntologizerObjectSimilarity() {
+        HpoTermIndex instance = HpoTermIndex.of(ontologySlim, termInformationContent);
+        ResnikSimilarity resnikSimilarity = new ResnikSimilarity(ontology, termInformationContent);
+        InformationContentObjectSimilarity asymmetric = new InformationContentObjectSimilarity(resnikSimilarity, false, false);
+        InformationContentObjectSimilarity symmetric = new InformationContentObjectSimilarity(resnikSimilarity, true, false);
+
+        Random random = new Random(23);
+        for (int i = 0; i < 100; i++) {
+            ArrayList<Term> queryTerms = randomTerms(random);
+            ArrayList<Term> geneTerms = randomTerms(random);
+            HpoTermIndex.QuerySimilarity querySimilarity = instance.querySimilarity(instance.indicesOf(queryTerms));
+            int[] geneTermIndices = instance.indicesOf(geneTerms);
+            assertThat(querySimilarity.score(geneTermIndices, false), closeTo(asymmetric.computeObjectSimilarity(queryTerms, geneTerms), 1e-12));
+            assertThat(querySimilarity.score(geneTermIndices, true), closeTo(symmetric.computeObjectSimilarity(queryTerms, geneTerms), 1e-12));
+        }
+    }
+
+    private static ArrayList<Term> randomTerms(Random random) {
+        List<Term> shuffled = new ArrayList<>(terms);
+        Collections.shuffle(shuffled, random);
+        return new ArrayList<>(shuffled.subList(0, 1 + random.nextInt(4)));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.prioritisers.util;
+
+import org.jblas.FloatMatrix;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MappedDataMatrixTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final InMemoryDataMatrix inMemoryDataMatrix = new InMemoryDataMatrix(
+            new FloatMatrix(new float[][]{
+                    {0.0f, 0.1f, 0.2f},
+                    {1.0f, 1.1f, 1.2f},
+                    {2.0f, 2.1f, 2.2f}
+            }),
+            Map.of(1111, 0, 2222, 1, 3333, 2)
+    );
+
+    private MappedDataMatrix writeAndLoad() {
+        Path matrixFile = tempDir.resolve("matrix.f32");
+        DataMatrixIO.writeMappedDataMatrix(inMemoryDataMatrix, matrixFile);
+        return MappedDataMatrix.load(matrixFile);
+    }
+
+    @Test
+    void loadThrowsExceptionForWrongFileType() throws IOException {
+        Path notAMatrix = Files.writeString(tempDir.resolve("wibble.f32"), "wibble wobble");
+        assertThrows(DataMatrixIO.DataMatrixIoException.class, () -> MappedDataMatrix.load(notAMatrix));
+    }
+
+    @Test
+    void sizeAndIndex() {
+        MappedDataMatrix instance = writeAndLoad();
+        assertThat(instance.numRows(), equalTo(3));
+        assertThat(instance.numColumns(), equalTo(3));
+        assertThat(instance.getEntrezIdToRowIndex(), equalTo(inMemoryDataMatrix.getEntrezIdToRowIndex()));
+        assertThat(instance.containsGene(2222), is(true));
+        assertThat(instance.containsGene(4444), is(false));
+        assertThat(instance.getRowIndexForGene(3333), equalTo(2));
+    }
+
+    @Test
+    void getColumnForGene() {
+        MappedDataMatrix instance = writeAndLoad();
+        FloatBuffer column = instance.getColumnForGene(2222);
+        assertThat(column.isReadOnly(), is(true));
+        assertThat(column.remaining(), equalTo(3));
+        assertThat(column.get(0), equalTo(0.1f));
+        assertThat(column.get(1), equalTo(1.1f));
+        assertThat(column.get(2), equalTo(2.1f));
+        assertThat(instance.getColumnForGene(4444), nullValue());
+    }
+
+    @Test
+    void getColumnMatrixForGene() {
+        MappedDataMatrix instance = writeAndLoad();
+        for (int entrezGeneId : inMemoryDataMatrix.getEntrezIdToRowIndex().keySet()) {
+            assertThat(instance.getColumnMatrixForGene(entrezGeneId), equalTo(inMemoryDataMatrix.getColumnMatrixForGene(entrezGeneId)));
+        }
+        assertThat(instance.getColumnMatrixForGene(4444), nullValue());
+    }
+
+    @Test
+    void getMatrix() {
+        MappedDataMatrix instance = writeAndLoad();
+        assertThat(instance.getMatrix(), equalTo(inMemoryDataMatrix.getMatrix()));
+    }
+}
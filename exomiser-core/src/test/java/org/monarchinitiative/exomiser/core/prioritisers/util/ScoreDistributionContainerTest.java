@@ -0,0 +1,130 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.prioritisers.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ */
+class ScoreDistributionContainerTest {
+
+    @AfterEach
+    void clearCache() {
+        ScoreDistributionContainer.clearCache();
+    }
+
+    private static Path writeDistributions(Path phenixDir, String fileName, String contents) throws IOException {
+        Path outDir = Files.createDirectories(phenixDir.resolve("out"));
+        return Files.writeString(outDir.resolve(fileName), contents);
+    }
+
+    @Test
+    void getDistribution(@TempDir Path tempDir) throws IOException {
+        writeDistributions(tempDir, "3.out", ScoreDistributionIOTest.OUT_FILE_CONTENTS);
+        ScoreDistributionContainer instance = new ScoreDistributionContainer(tempDir.toString(), false, 3);
+        assertThat(instance.getDistribution("2263").getPvalue(1.2, 1000d), equalTo(0.1));
+        assertThat(instance.getDistribution("7157").getPvalue(1.2, 1000d), equalTo(0.001));
+    }
+
+    @Test
+    void getDistributionFallsBackToFewerQueryTerms(@TempDir Path tempDir) throws IOException {
+        writeDistributions(tempDir, "3.out", ">2263_1000.0\n1.0-0.5\n");
+        writeDistributions(tempDir, "2.out", ">2263_1000.0\n1.0-0.4\n>7157_1000.0\n1.0-0.3\n");
+        ScoreDistributionContainer instance = new ScoreDistributionContainer(tempDir.toString(), false, 3);
+        assertThat(instance.getDistribution("2263").getPvalue(1.0, 1000d), equalTo(0.5));
+        assertThat(instance.getDistribution("7157").getPvalue(1.0, 1000d), equalTo(0.3));
+        assertThat(instance.getDistribution("0000"), is(nullValue()));
+    }
+
+    @Test
+    void getDistributionLimitsNumberOfQueryTerms(@TempDir Path tempDir) throws IOException {
+        writeDistributions(tempDir, "20_symmetric.out", ">2263_1000.0\n1.0-0.5\n");
+        ScoreDistributionContainer instance = new ScoreDistributionContainer(tempDir.toString(), true, 25);
+        assertThat(instance.getDistribution("2263").getPvalue(1.0, 1000d), equalTo(0.5));
+    }
+
+    @Test
+    void getDistributionPrefersBinaryFile(@TempDir Path tempDir) throws IOException {
+        Path outFile = writeDistributions(tempDir, "3.out", ">2263_1000.0\n1.0-0.5\n");
+        ScoreDistributionIO.convertToBinary(outFile, outFile.resolveSibling("3.bin"));
+        // if the .out file were used, this would fail to parse
+        Files.writeString(outFile, "not a distribution");
+        Files.setLastModifiedTime(outFile, FileTime.from(Instant.now().minus(Duration.ofMinutes(1))));
+        ScoreDistributionContainer instance = new ScoreDistributionContainer(tempDir.toString(), false, 3);
+        assertThat(instance.getDistribution("2263").getPvalue(1.0, 1000d), equalTo(0.5));
+    }
+
+    @Test
+    void distributionsAreSharedBetweenContainers(@TempDir Path tempDir) throws IOException {
+        Path outFile = writeDistributions(tempDir, "3.out", ">2263_1000.0\n1.0-0.5\n");
+        ScoreDistribution first = new ScoreDistributionContainer(tempDir.toString(), false, 3).getDistribution("2263");
+        Files.delete(outFile);
+        ScoreDistribution second = new ScoreDistributionContainer(tempDir.toString(), false, 3).getDistribution("2263");
+        assertThat(second, sameInstance(first));
+    }
+
+    @Test
+    void ignoresBinaryFileOlderThanOutFile(@TempDir Path tempDir) throws IOException {
+        Path outFile = writeDistributions(tempDir, "3.out", ">2263_1000.0\n1.0-0.5\n");
+        Path binFile = outFile.resolveSibling("3.bin");
+        ScoreDistributionIO.convertToBinary(outFile, binFile);
+        Files.setLastModifiedTime(binFile, FileTime.from(Instant.now().minus(Duration.ofMinutes(1))));
+        // the .out file has been replaced since the .bin file was written
+        Files.writeString(outFile, ">2263_1000.0\n1.0-0.4\n");
+
+        ScoreDistributionContainer instance = new ScoreDistributionContainer(tempDir.toString(), false, 3);
+        assertThat(instance.getDistribution("2263").getPvalue(1.0, 1000d), equalTo(0.4));
+    }
+
+    @Test
+    void doesNotWriteToDistributionsFolder(@TempDir Path tempDir) throws IOException {
+        Path outFile = writeDistributions(tempDir, "3.out", ">2263_1000.0\n1.0-0.5\n");
+
+        ScoreDistribution fromOutFile = new ScoreDistributionContainer(tempDir.toString(), false, 3).getDistribution("2263");
+        assertThat(fromOutFile.getPvalue(1.0, 1000d), equalTo(0.5));
+        try (var files = Files.list(outFile.getParent())) {
+            assertThat(files.toList(), equalTo(List.of(outFile)));
+        }
+    }
+
+    @Test
+    void missingFileIsNotCached(@TempDir Path tempDir) throws IOException {
+        ScoreDistributionContainer instance = new ScoreDistributionContainer(tempDir.toString(), false, 3);
+        assertThat(instance.getDistribution("2263"), is(nullValue()));
+
+        writeDistributions(tempDir, "3.out", ">2263_1000.0\n1.0-0.5\n");
+        assertThat(instance.getDistribution("2263").getPvalue(1.0, 1000d), equalTo(0.5));
+    }
+}
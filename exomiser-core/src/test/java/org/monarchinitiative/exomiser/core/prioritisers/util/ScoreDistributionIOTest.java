@@ -0,0 +1,104 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.prioritisers.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ */
+class ScoreDistributionIOTest {
+
+    static final String OUT_FILE_CONTENTS = """
+            >2263_1000.0
+            0.5-0.9
+            1.0E-4-0.5
+            1.5-0.1
+            2.5-0.01
+            >7157_1000.0
+            1.0-0.5
+            3.0-0.001
+            """;
+
+    @Test
+    void readOutFile(@TempDir Path tempDir) throws IOException {
+        Path outFile = Files.writeString(tempDir.resolve("3.out"), OUT_FILE_CONTENTS);
+        Map<String, ScoreDistribution> distributions = ScoreDistributionIO.readOutFile(outFile);
+
+        assertThat(distributions.keySet(), containsInAnyOrder("2263", "7157"));
+        ScoreDistribution scoreDistribution = distributions.get("2263");
+        assertThat(scoreDistribution.getScores(), equalTo(new double[]{0.5, 1.0E-4, 1.5, 2.5}));
+        assertThat(scoreDistribution.getPvalues(), equalTo(new double[]{0.9, 0.5, 0.1, 0.01}));
+        assertThat(scoreDistribution.getNumberRandomizations(), equalTo(1000.0));
+        assertThat(scoreDistribution.getPvalue(1.2, 1000d), equalTo(0.1));
+        // higher than the maximum score
+        assertThat(scoreDistribution.getPvalue(3.0, 1000d), equalTo(0.001));
+    }
+
+    @Test
+    void binaryRoundTrip(@TempDir Path tempDir) throws IOException {
+        Path outFile = Files.writeString(tempDir.resolve("3.out"), OUT_FILE_CONTENTS);
+        Path binFile = tempDir.resolve("3.bin");
+        ScoreDistributionIO.convertToBinary(outFile, binFile);
+
+        Map<String, ScoreDistribution> expected = ScoreDistributionIO.readOutFile(outFile);
+        Map<String, ScoreDistribution> actual = ScoreDistributionIO.readBinaryFile(binFile);
+
+        assertThat(actual.keySet(), equalTo(expected.keySet()));
+        for (Map.Entry<String, ScoreDistribution> entry : expected.entrySet()) {
+            ScoreDistribution scoreDistribution = actual.get(entry.getKey());
+            assertThat(scoreDistribution.getScores(), equalTo(entry.getValue().getScores()));
+            assertThat(scoreDistribution.getPvalues(), equalTo(entry.getValue().getPvalues()));
+            assertThat(scoreDistribution.getNumberRandomizations(), equalTo(entry.getValue().getNumberRandomizations()));
+        }
+    }
+
+    @Test
+    void convertAllToBinary(@TempDir Path tempDir) throws IOException {
+        Files.writeString(tempDir.resolve("3.out"), OUT_FILE_CONTENTS);
+        Files.writeString(tempDir.resolve("3_symmetric.out"), ">2263_1000.0\n1.0-0.5\n");
+        Files.writeString(tempDir.resolve("README.txt"), "not a distributions file");
+
+        List<Path> binFiles = ScoreDistributionIO.convertAllToBinary(tempDir);
+        assertThat(binFiles, containsInAnyOrder(tempDir.resolve("3.bin"), tempDir.resolve("3_symmetric.bin")));
+        assertThat(ScoreDistributionIO.readBinaryFile(tempDir.resolve("3.bin")).keySet(), equalTo(Set.of("2263", "7157")));
+        assertThat(ScoreDistributionIO.readBinaryFile(tempDir.resolve("3_symmetric.bin")).get("2263").getPvalue(1.0, 1000d), equalTo(0.5));
+    }
+
+    @Test
+    void readBinaryFileThrowsExceptionWhenNotBinaryFormat(@TempDir Path tempDir) throws IOException {
+        Path outFile = Files.writeString(tempDir.resolve("3.bin"), OUT_FILE_CONTENTS);
+        assertThrows(UncheckedIOException.class, () -> ScoreDistributionIO.readBinaryFile(outFile));
+    }
+}
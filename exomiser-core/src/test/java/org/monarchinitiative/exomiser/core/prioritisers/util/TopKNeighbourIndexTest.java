@@ -0,0 +1,116 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.core.prioritisers.util;
+
+import org.jblas.FloatMatrix;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TopKNeighbourIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final DataMatrix dataMatrix = new InMemoryDataMatrix(
+            new FloatMatrix(new float[][]{
+                    {0.9f, 0.1f, 0.3f, 0.1f},
+                    {0.0f, 0.8f, 0.0f, 0.0f},
+                    {0.2f, 0.2f, 0.2f, 0.7f},
+                    {0.5f, 0.0f, 0.4f, 0.6f}
+            }),
+            Map.of(1111, 0, 2222, 1, 3333, 2, 4444, 3)
+    );
+
+    private void assertNeighbours(TopKNeighbourIndex instance, int row, int[] expectedColumns, float[] expectedValues) {
+        assertThat(instance.numNeighbours(row), equalTo(expectedColumns.length));
+        for (int i = 0; i < expectedColumns.length; i++) {
+            assertThat(instance.neighbourColumn(row, i), equalTo(expectedColumns[i]));
+            assertThat(instance.neighbourValue(row, i), equalTo(expectedValues[i]));
+        }
+    }
+
+    @Test
+    void buildThrowsExceptionWithZeroK() {
+        assertThrows(IllegalArgumentException.class, () -> TopKNeighbourIndex.build(dataMatrix, 0));
+    }
+
+    @Test
+    void build() {
+        TopKNeighbourIndex instance = TopKNeighbourIndex.build(dataMatrix, 3);
+        assertThat(instance.numRows(), equalTo(4));
+        assertThat(instance.k(), equalTo(3));
+        // ties are broken by lowest column index
+        assertNeighbours(instance, 0, new int[]{0, 2, 1}, new float[]{0.9f, 0.3f, 0.1f});
+        assertThat(instance.isComplete(0), is(false));
+        // zero values are not stored
+        assertNeighbours(instance, 1, new int[]{1}, new float[]{0.8f});
+        assertThat(instance.isComplete(1), is(true));
+        assertNeighbours(instance, 2, new int[]{3, 0, 1}, new float[]{0.7f, 0.2f, 0.2f});
+        assertNeighbours(instance, 3, new int[]{3, 0, 2}, new float[]{0.6f, 0.5f, 0.4f});
+    }
+
+    @Test
+    void writeAndLoad() {
+        TopKNeighbourIndex index = TopKNeighbourIndex.build(dataMatrix, 2);
+        Path indexPath = tempDir.resolve("matrix.f32.topk");
+        index.write(indexPath);
+
+        TopKNeighbourIndex instance = TopKNeighbourIndex.load(indexPath);
+        assertThat(instance.numRows(), equalTo(4));
+        assertThat(instance.k(), equalTo(2));
+        assertNeighbours(instance, 0, new int[]{0, 2}, new float[]{0.9f, 0.3f});
+        assertNeighbours(instance, 1, new int[]{1}, new float[]{0.8f});
+        assertNeighbours(instance, 2, new int[]{3, 0}, new float[]{0.7f, 0.2f});
+        assertNeighbours(instance, 3, new int[]{3, 0}, new float[]{0.6f, 0.5f});
+    }
+
+    @Test
+    void loadThrowsExceptionForWrongFileType() throws IOException {
+        Path notAnIndex = Files.writeString(tempDir.resolve("wibble.topk"), "wibble wobble");
+        assertThrows(DataMatrixIO.DataMatrixIoException.class, () -> TopKNeighbourIndex.load(notAnIndex));
+    }
+
+    @Test
+    void pathFor() {
+        assertThat(TopKNeighbourIndex.pathFor(Path.of("data/rw_string_10.f32")), equalTo(Path.of("data/rw_string_10.f32.topk")));
+    }
+
+    @Test
+    void mappedDataMatrixLoadsIndexAlongsideMatrix() {
+        Path matrixFile = tempDir.resolve("matrix.f32");
+        DataMatrixIO.writeMappedDataMatrix(dataMatrix, matrixFile);
+        assertThat(DataMatrixIO.loadMappedDataMatrix(matrixFile).topKNeighbourIndex().isPresent(), is(false));
+
+        DataMatrixIO.writeTopKNeighbourIndex(matrixFile, 2);
+        TopKNeighbourIndex instance = DataMatrixIO.loadMappedDataMatrix(matrixFile).topKNeighbourIndex().orElseThrow();
+        assertNeighbours(instance, 2, new int[]{3, 0}, new float[]{0.7f, 0.2f});
+    }
+}
@@ -23,6 +23,7 @@
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.monarchinitiative.exomiser.api.v1.OutputProto;
 import org.monarchinitiative.exomiser.core.analysis.Analysis;
 import org.monarchinitiative.exomiser.core.analysis.AnalysisResults;
@@ -44,6 +45,8 @@
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
@@ -199,4 +202,54 @@ void testWriteToFileWithOutputOptions() {
             assertThat(outputPath.toString(), outputPath.toFile().delete(), is(true));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void testWriteToFileConcurrentlyWritesSameOutputAsSequentially(@TempDir Path tempDir) throws IOException {
+        Sample sample = Sample.builder()
+                .vcfPath(Paths.get("src/test/resources/Pfeiffer.vcf"))
+                .build();
+        AnalysisResults analysisResults = newAnalysisResults(sample, Analysis.builder().build());
+        Set<OutputFormat> outputFormats = EnumSet.of(OutputFormat.TSV_GENE, OutputFormat.TSV_VARIANT, OutputFormat.JSON, OutputFormat.HTML);
+
+        OutputSettings sequentialSettings = OutputSettings.builder()
+                .outputDirectory(tempDir.resolve("sequential"))
+                .outputFormats(outputFormats)
+                .build();
+        AnalysisResultsWriter.writeToFile(analysisResults, sequentialSettings);
+
+        OutputSettings concurrentSettings = OutputSettings.builder()
+                .outputDirectory(tempDir.resolve("concurrent"))
+                .outputFormats(outputFormats)
+                .build();
+        AnalysisResultsWriter.writeToFile(analysisResults, concurrentSettings, 4);
+
+        for (OutputFormat outputFormat : EnumSet.of(OutputFormat.TSV_GENE, OutputFormat.TSV_VARIANT, OutputFormat.JSON)) {
+            Path sequentialOutput = sequentialSettings.makeOutputFilePath(sample.vcfPath(), outputFormat);
+            Path concurrentOutput = concurrentSettings.makeOutputFilePath(sample.vcfPath(), outputFormat);
+            assertThat(Files.readString(concurrentOutput), equalTo(Files.readString(sequentialOutput)));
+        }
+        assertThat(Files.exists(concurrentSettings.makeOutputFilePath(sample.vcfPath(), OutputFormat.HTML)), is(true));
+    }
+
+    @Test
+    void testWriteToFileConcurrentlyWritesRemainingFormatsWhenOneFails(@TempDir Path tempDir) throws IOException {
+        Sample sample = Sample.builder().build();
+        AnalysisResults analysisResults = newAnalysisResults(sample, Analysis.builder().build());
+        OutputSettings settings = OutputSettings.builder()
+                .outputDirectory(tempDir)
+                .outputFormats(EnumSet.of(OutputFormat.TSV_GENE, OutputFormat.JSON, OutputFormat.TSV_VARIANT))
+                .build();
+        // a directory where the JSON file should be will cause the JSON writer to fail
+        Files.createDirectory(settings.makeOutputFilePath(null, OutputFormat.JSON));
+
+        assertThrows(RuntimeException.class, () -> AnalysisResultsWriter.writeToFile(analysisResults, settings, 3));
+        assertThat(Files.exists(settings.makeOutputFilePath(null, OutputFormat.TSV_GENE)), is(true));
+        assertThat(Files.exists(settings.makeOutputFilePath(null, OutputFormat.TSV_VARIANT)), is(true));
+    }
+
+    @Test
+    void testWriteToFileThrowsExceptionWithZeroThreads() {
+        AnalysisResults analysisResults = newAnalysisResults(Sample.builder().build(), Analysis.builder().build());
+        assertThrows(IllegalArgumentException.class, () -> AnalysisResultsWriter.writeToFile(analysisResults, OutputSettings.defaults(), 0));
+    }
+}
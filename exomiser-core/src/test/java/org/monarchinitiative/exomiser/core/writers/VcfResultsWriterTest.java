@@ -40,6 +40,8 @@
 import org.monarchinitiative.exomiser.core.genome.TestFactory;
 import org.monarchinitiative.exomiser.core.genome.TestVariantFactory;
 import org.monarchinitiative.exomiser.core.genome.VariantFactory;
+import org.monarchinitiative.exomiser.core.genome.VariantFactoryImpl;
+import org.monarchinitiative.exomiser.core.genome.VcfFileReader;
 import org.monarchinitiative.exomiser.core.model.*;
 import org.monarchinitiative.exomiser.core.model.frequency.Frequency;
 import org.monarchinitiative.exomiser.core.model.frequency.FrequencyData;
@@ -63,7 +65,9 @@
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
 
 /**
  * Tests for the {@link VcfResultsWriter} class.
@@ -362,6 +366,66 @@ void testHomozygousAltAlleleOutputVcfContainsConcatenatedVariantScoresOnOneLine(
         assertThat(output, equalTo(expected));
     }
 
+    @Test
+    void testCompactVariantsAreWrittenIdenticallyToVariantsRetainingTheVariantContext() {
+        Path vcfPath = Paths.get("src/test/resources/multiAlleleGenotypes.vcf");
+        Sample multiAlleleSample = Sample.builder().vcfPath(vcfPath).build();
+
+        List<VariantEvaluation> variants = TestFactory.buildDefaultVariantFactory(vcfPath).createVariantEvaluations().toList();
+        VariantFactory compactVariantFactory = new VariantFactoryImpl(TestFactory.buildDefaultVariantAnnotator(), new VcfFileReader(vcfPath), true);
+        List<VariantEvaluation> compactVariants = compactVariantFactory.createVariantEvaluations().toList();
+        assertThat(compactVariants.size(), equalTo(variants.size()));
+        compactVariants.forEach(variantEvaluation -> assertThat(variantEvaluation.variantContext(), is(nullValue())));
+
+        String expected = instance.writeString(buildAnalysisResults(multiAlleleSample, analysis, buildGenesWithPassingVariants(variants)), settings);
+        String output = instance.writeString(buildAnalysisResults(multiAlleleSample, analysis, buildGenesWithPassingVariants(compactVariants)), settings);
+        // records with the same start position have no defined order in the output
+        assertThat(output.lines().sorted().toList(), equalTo(expected.lines().sorted().toList()));
+    }
+
+    @Test
+    void testCompactVariantsAreWrittenIdenticallyOnRepeatedWrites() {
+        Path vcfPath = Paths.get("src/test/resources/multiAlleleGenotypes.vcf");
+        Sample multiAlleleSample = Sample.builder().vcfPath(vcfPath).build();
+
+        VariantFactory compactVariantFactory = new VariantFactoryImpl(TestFactory.buildDefaultVariantAnnotator(), new VcfFileReader(vcfPath), true);
+        List<VariantEvaluation> compactVariants = compactVariantFactory.createVariantEvaluations().toList();
+        AnalysisResults compactResults = buildAnalysisResults(multiAlleleSample, analysis, buildGenesWithPassingVariants(compactVariants));
+
+        // records with the same start position have no defined order in the output
+        List<String> first = instance.writeString(compactResults, settings).lines().sorted().toList();
+        assertThat((long) first.size(), greaterThan(METADATA_HEADER.lines().count()));
+        assertThat(instance.writeString(compactResults, settings).lines().sorted().toList(), equalTo(first));
+        // the re-read records are only kept for the same results
+        List<VariantEvaluation> otherVariants = TestFactory.buildDefaultVariantFactory(vcfPath).createVariantEvaluations().toList();
+        AnalysisResults otherResults = buildAnalysisResults(multiAlleleSample, analysis, buildGenesWithPassingVariants(otherVariants));
+        assertThat(instance.writeString(otherResults, settings).lines().sorted().toList(), equalTo(first));
+        assertThat(instance.writeString(compactResults, settings).lines().sorted().toList(), equalTo(first));
+    }
+
+    private Gene[] buildGenesWithPassingVariants(List<VariantEvaluation> variantEvaluations) {
+        Map<String, Gene> genes = new LinkedHashMap<>();
+        for (VariantEvaluation variantEvaluation : variantEvaluations) {
+            variantEvaluation.addFilterResult(FilterResult.pass(FilterType.FREQUENCY_FILTER));
+            variantEvaluation.setCompatibleInheritanceModes(EnumSet.of(ModeOfInheritance.AUTOSOMAL_DOMINANT));
+            Gene gene = genes.computeIfAbsent(variantEvaluation.geneSymbol(), geneSymbol -> new Gene(GeneIdentifier.builder()
+                    .geneSymbol(geneSymbol)
+                    .geneId(variantEvaluation.geneId())
+                    .build()));
+            gene.addVariant(variantEvaluation);
+        }
+        for (Gene gene : genes.values()) {
+            gene.setCompatibleInheritanceModes(EnumSet.of(ModeOfInheritance.AUTOSOMAL_DOMINANT));
+            gene.addGeneScore(GeneScore.builder()
+                    .combinedScore(1d)
+                    .modeOfInheritance(ModeOfInheritance.AUTOSOMAL_DOMINANT)
+                    .geneIdentifier(gene.geneIdentifier())
+                    .contributingVariants(gene.variantEvaluations())
+                    .build());
+        }
+        return genes.values().toArray(Gene[]::new);
+    }
+
     @Test
     void testAnnotatedVariantAcmgDiseaseNameWhitespaceIsReplacedWithUnderscore() {
         GeneIdentifier geneIdentifier = GeneIdentifier.builder()
@@ -0,0 +1,38 @@
+DROP TABLE IF EXISTS sv_freq;
+
+CREATE TABLE sv_freq
+(
+    chromosome    SMALLINT NOT NULL,
+    start         INTEGER  NOT NULL,
+    "end"         INTEGER  NOT NULL,
+    change_length INTEGER  NOT NULL,
+    variant_type  CHARACTER VARYING(20),
+    dbvar_id      CHARACTER VARYING(20),
+    source        CHARACTER VARYING(20),
+    source_id     CHARACTER VARYING(40),
+    allele_count  INTEGER  NOT NULL,
+    allele_number INTEGER  NOT NULL
+);
+
+CREATE INDEX sv_freq
+    ON sv_freq (chromosome, start, "end");
+
+DROP TABLE IF EXISTS sv_path;
+
+CREATE TABLE sv_path
+(
+    chromosome    SMALLINT NOT NULL,
+    start         INTEGER  NOT NULL,
+    "end"         INTEGER  NOT NULL,
+    change_length INTEGER  NOT NULL,
+    variant_type  CHARACTER VARYING(20),
+    dbvar_id      CHARACTER VARYING(20),
+    source        CHARACTER VARYING(20),
+    rcv_id        CHARACTER VARYING(20),
+    variation_id  CHARACTER VARYING(20),
+    clin_sig      CHARACTER VARYING(42),
+    clin_rev_stat CHARACTER VARYING(55)
+);
+
+CREATE INDEX sv_path
+    ON sv_path (chromosome, start, "end");
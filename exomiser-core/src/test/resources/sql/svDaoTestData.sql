@@ -0,0 +1,19 @@
+INSERT INTO sv_freq (chromosome, start, "end", change_length, variant_type, dbvar_id, source, source_id, allele_count, allele_number)
+VALUES (7, 33350, 33670, 321, 'DEL', 'nsv1133641', 'GNOMAD-SV', 'gnomAD_v2_DEL_7_3', 12, 21000),
+       (1, 66576, 66576, 2, 'INS', 'nsv4534800', 'DGV', 'esv2758911', 10, 108467),
+       (1, 66575, 66576, 50, 'INS', 'nsv4534801', 'DBVAR', 'nsv4534801', 5, 21404),
+       (1, 66576, 66577, 50, 'INS', NULL, 'GNOMAD-SV', 'gnomAD_v2_INS_1_1', 5, 21404),
+       (1, 240116000, 240116800, 0, 'INV', 'esv3822662', 'DBVAR', 'esv3822662', 881, 5008),
+       (7, 33300, 33700, -401, 'DEL', 'nsv1133639', 'DBVAR', 'nsv1133639', 2, 5008),
+       (7, 33301, 33701, -400, 'DEL', 'nsv1133640', 'GNOMAD-SV', 'gnomAD_v2_DEL_7_2', 0, 21000),
+       (7, 33300, 33700, 400, 'DUP', 'nsv1133642', 'DGV', 'esv1133642', 40, 2504),
+       (15, 62706090, 62707793, -1703, 'DEL', 'nsv4635624', 'DBVAR', 'nsv4635624', 940, 4996),
+       (15, 62706000, 62707800, 0, 'CNV', 'esv29792', 'DGV', 'esv29792', 39, 40),
+       (18, 2806309, 2806425, 117, 'INV', 'nsv4316669', 'DBVAR', 'nsv4316669', 1, 5421);
+
+INSERT INTO sv_path (chromosome, start, "end", change_length, variant_type, dbvar_id, source, rcv_id, variation_id, clin_sig, clin_rev_stat)
+VALUES (7, 33310, 33690, -381, 'DEL', 'nsv2', 'CLINVAR', 'RCV000000002', '12346', 'LIKELY_PATHOGENIC', 'NO_ASSERTION_CRITERIA_PROVIDED'),
+       (7, 33300, 33700, -401, 'DEL', 'nsv1', 'CLINVAR', 'RCV000000001', '12345', 'PATHOGENIC', 'CRITERIA_PROVIDED_SINGLE_SUBMITTER'),
+       (7, 33300, 33700, -401, 'DEL', 'nsv3', 'CLINVAR', 'RCV000000003', '12347', 'UNKNOWN', 'NO_ASSERTION_PROVIDED'),
+       (7, 33300, 33700, 401, 'DUP', 'nsv4', 'CLINVAR', 'RCV000000004', '12348', 'BENIGN', 'CRITERIA_PROVIDED_SINGLE_SUBMITTER'),
+       (18, 2806309, 2806425, 117, 'INV', 'nsv5', 'CLINVAR', 'RCV000000005', '12349', 'UNCERTAIN_SIGNIFICANCE', 'CRITERIA_PROVIDED_MULTIPLE_SUBMITTERS_NO_CONFLICTS');
@@ -78,6 +78,10 @@ public class BuildCommand implements Callable<Integer> {
     private List<String> variantSources;
     @Option(names = "--genome", description = "Flag to trigger building of genome data.")
     private boolean buildGenome;
+    @Option(names = "--sort-merge", description = "Build the variant data by parsing the variant sources in parallel into sorted runs which are merged and written to the database in order. The sorted runs are written to a temporary directory in the build directory.")
+    private boolean sortMerge;
+    @Option(names = "--threads", description = "Number of threads with which to parse the variant sources (default: ${DEFAULT-VALUE}).")
+    private int threads = Runtime.getRuntime().availableProcessors();
 
     public BuildCommand(AssemblyResources hg19AssemblyResources, AssemblyResources hg38AssemblyResources, Path jannovarIniFile) {
 //        this.buildDir = buildDir;
@@ -189,7 +193,7 @@ private void buildVariantData(BuildInfo buildInfo, Path outPath, List<AlleleReso
                 .toList());
         userDefinedAlleleResources.parallelStream().forEach(ResourceDownloader::download);
         logger.info("Building variant database...");
-        VariantDatabaseBuildRunner variantDatabaseBuildRunner = new VariantDatabaseBuildRunner(buildInfo, outPath, userDefinedAlleleResources);
+        VariantDatabaseBuildRunner variantDatabaseBuildRunner = new VariantDatabaseBuildRunner(buildInfo, outPath, userDefinedAlleleResources, sortMerge, threads);
         variantDatabaseBuildRunner.run();
     }
 
@@ -7,8 +7,10 @@
 import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
 import org.monarchinitiative.exomiser.core.genome.JannovarVariantAnnotator;
 import org.monarchinitiative.exomiser.core.genome.VariantAnnotator;
+import org.monarchinitiative.exomiser.core.genome.dao.ClinVarGeneStatistics;
 import org.monarchinitiative.exomiser.core.genome.dao.serialisers.MvStoreUtil;
 import org.monarchinitiative.exomiser.core.model.ChromosomalRegionIndex;
+import org.monarchinitiative.exomiser.core.model.GeneStatistics;
 import org.monarchinitiative.exomiser.core.model.TranscriptAnnotation;
 import org.monarchinitiative.exomiser.core.model.VariantAnnotation;
 import org.monarchinitiative.exomiser.core.model.pathogenicity.ClinVarData;
@@ -28,6 +30,7 @@
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 
@@ -78,6 +81,10 @@ public void run() {
                         });
             }
             logger.info("Wrote {} ClinVar records", clinVarMap.size());
+            // pre-compute the gene statistics so that these don't need to be calculated from all the records on start-up
+            Map<String, GeneStatistics> geneStatistics = ClinVarGeneStatistics.calculate(clinVarMap);
+            ClinVarGeneStatistics.write(clinvarStore, geneStatistics);
+            logger.info("Wrote {} ClinVar gene statistics", geneStatistics.size());
             clinvarStore.commit();
         }
         logger.info("Compacting MVStore");
@@ -24,6 +24,12 @@
 import org.apache.commons.io.FileUtils;
 import org.flywaydb.core.Flyway;
 import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
+import org.monarchinitiative.exomiser.core.genome.GenomicRegionsSnapshot;
+import org.monarchinitiative.exomiser.core.genome.dao.RegulatoryFeatureDao;
+import org.monarchinitiative.exomiser.core.genome.dao.SvFrequencyDao;
+import org.monarchinitiative.exomiser.core.genome.dao.SvIntervalIndex;
+import org.monarchinitiative.exomiser.core.genome.dao.SvPathogenicityDao;
+import org.monarchinitiative.exomiser.core.genome.dao.TadDao;
 import org.monarchinitiative.exomiser.data.genome.model.BuildInfo;
 import org.monarchinitiative.exomiser.data.genome.model.parsers.genome.EnsemblEnhancerParser;
 import org.monarchinitiative.exomiser.data.genome.model.parsers.genome.FantomEnhancerParser;
@@ -113,6 +119,8 @@ public void run() {
         DataSource dataSource = createDataSource(databasePath);
         logger.info("Created database: {}", databasePath);
         migrateDatabase(dataSource);
+        writeGenomicRegionsSnapshot(databasePath);
+        writeSvIntervalIndexes(databasePath);
         // try compacting the database once everything is loaded to reduce size on disk
         try {
             // The only way to compact the database is using the "SHUTDOWN COMPACT" command, and this will, as the name
@@ -177,7 +185,11 @@ private void downloadResource(URL source, Path destination) {
     }
 
     private DataSource createDataSource(Path databasePath) {
-        String initSql = "MODE=POSTGRESQL;CACHE_SIZE=65536;LOCK_MODE=0;";
+        return createDataSource(databasePath, "");
+    }
+
+    private HikariDataSource createDataSource(Path databasePath, String extraInitSql) {
+        String initSql = "MODE=POSTGRESQL;CACHE_SIZE=65536;LOCK_MODE=0;" + extraInitSql;
         String url = String.format("jdbc:h2:file:%s;%s", databasePath.toAbsolutePath(), initSql);
         return DataSourceBuilder.create()
                 .type(HikariDataSource.class)
@@ -186,6 +198,34 @@ private DataSource createDataSource(Path databasePath) {
                 .build();
     }
 
+    /**
+     * Writes the regulatory features and TADs from the newly built database to a {@link GenomicRegionsSnapshot}
+     * alongside the database so that these can be loaded at startup without querying the database.
+     */
+    private void writeGenomicRegionsSnapshot(Path databasePath) {
+        Path snapshotPath = outputPath.resolve(String.format("%s_genomic_regions.bin.gz", buildInfo.getBuildString()));
+        logger.info("Writing regulatory features and TADs snapshot to {}", snapshotPath);
+        try (HikariDataSource schemaDataSource = createDataSource(databasePath, "SCHEMA=EXOMISER;")) {
+            RegulatoryFeatureDao regulatoryFeatureDao = new RegulatoryFeatureDao(schemaDataSource);
+            TadDao tadDao = new TadDao(schemaDataSource);
+            new GenomicRegionsSnapshot(regulatoryFeatureDao.getRegulatoryFeatures(), tadDao.getAllTads()).write(snapshotPath);
+        }
+    }
+
+    /**
+     * Writes the SV_FREQ and SV_PATH tables from the newly built database to {@link SvIntervalIndex} files alongside the
+     * database so that these can be loaded at startup without querying the database.
+     */
+    private void writeSvIntervalIndexes(Path databasePath) {
+        Path svFreqIndexPath = outputPath.resolve(String.format("%s_sv_freq.bin.gz", buildInfo.getBuildString()));
+        Path svPathIndexPath = outputPath.resolve(String.format("%s_sv_path.bin.gz", buildInfo.getBuildString()));
+        logger.info("Writing SV frequency and pathogenicity indexes to {} and {}", svFreqIndexPath, svPathIndexPath);
+        try (HikariDataSource schemaDataSource = createDataSource(databasePath, "SCHEMA=EXOMISER;")) {
+            SvFrequencyDao.loadIntervalIndex(schemaDataSource).write(svFreqIndexPath);
+            SvPathogenicityDao.loadIntervalIndex(schemaDataSource).write(svPathIndexPath);
+        }
+    }
+
     private void migrateDatabase(DataSource dataSource) {
         Map<String, String> propertyPlaceHolders = new HashMap<>();
         propertyPlaceHolders.put("import.path", genomeProcessedPath.toString());
@@ -22,8 +22,9 @@
 
 import org.h2.mvstore.MVStore;
 import org.h2.mvstore.MVStoreTool;
-import org.monarchinitiative.exomiser.data.genome.indexers.Indexer;
+import org.monarchinitiative.exomiser.data.genome.indexers.AbstractIndexer;
 import org.monarchinitiative.exomiser.data.genome.indexers.MvStoreAlleleIndexer;
+import org.monarchinitiative.exomiser.data.genome.indexers.SortMergeAlleleIndexer;
 import org.monarchinitiative.exomiser.data.genome.model.Allele;
 import org.monarchinitiative.exomiser.data.genome.model.AlleleResource;
 import org.monarchinitiative.exomiser.data.genome.model.BuildInfo;
@@ -31,6 +32,7 @@
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 
@@ -43,17 +45,49 @@ public class VariantDatabaseBuildRunner {
 
     private static final Logger logger = LoggerFactory.getLogger(VariantDatabaseBuildRunner.class);
 
+    // number of alleles held in memory by each resource parsing thread before these are sorted and spilled to disk
+    private static final int SORT_MERGE_RUN_SIZE = 500_000;
+
     private final Path buildPath;
     private final BuildInfo buildInfo;
     private final List<AlleleResource> alleleResources;
+    private final boolean sortMerge;
+    private final int numThreads;
 
     public VariantDatabaseBuildRunner(BuildInfo buildInfo, Path buildPath, List<AlleleResource> alleleResources) {
+        this(buildInfo, buildPath, alleleResources, false);
+    }
+
+    /**
+     * @param sortMerge if true the resources are parsed in parallel into sorted runs which are merged and appended to
+     *                  the store in key order by the {@link SortMergeAlleleIndexer}, rather than each allele being
+     *                  merged into the store as it is parsed.
+     * @since 15.0.0
+     */
+    public VariantDatabaseBuildRunner(BuildInfo buildInfo, Path buildPath, List<AlleleResource> alleleResources, boolean sortMerge) {
+        this(buildInfo, buildPath, alleleResources, sortMerge, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param numThreads number of threads with which to parse the resources
+     * @since 15.0.0
+     */
+    public VariantDatabaseBuildRunner(BuildInfo buildInfo, Path buildPath, List<AlleleResource> alleleResources, boolean sortMerge, int numThreads) {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("numThreads must be greater than 0");
+        }
         this.buildPath = buildPath;
         this.buildInfo = buildInfo;
         this.alleleResources = alleleResources;
+        this.sortMerge = sortMerge;
+        this.numThreads = numThreads;
     }
 
     public void run() {
+        if (sortMerge) {
+            runSortMerge();
+            return;
+        }
         String fileName = variantDatabasePath().toString();
         MVStore mvStore = new MVStore.Builder()
                 .fileName(fileName)
@@ -61,11 +95,12 @@ public void run() {
                 .open();
         // this is key to keep the size of the store down when building otherwise it gets enormous
         mvStore.setVersionsToKeep(0);
-        // This is threadsafe and can be run in parallel. However, the throughput is significantly slower,
+        // Writing to the store is threadsafe and can be run in parallel. However, the throughput is significantly slower,
         // to the extent that the overall time is the same, at least on my machine (4 cores) it is.
-        // This holds true both using parallelStream and a fixed thread pool executor with only 2 threads.
-        try (Indexer<Allele> alleleIndexer = new MvStoreAlleleIndexer(mvStore)) {
-            alleleResources.forEach(alleleIndexer::index);
+        // This holds true both using parallelStream and a fixed thread pool executor with only 2 threads. Instead, each
+        // resource is parsed in parallel and the parsed alleles are written to the store, in order, on a single thread.
+        try (AbstractIndexer<Allele> alleleIndexer = new MvStoreAlleleIndexer(mvStore)) {
+            alleleResources.forEach(alleleResource -> alleleIndexer.index(alleleResource, numThreads));
         } catch (IOException e ) {
             throw new IllegalStateException("Error writing to MVStore " + fileName, e);
         }
@@ -75,6 +110,26 @@ public void run() {
         MVStoreTool.compact(fileName, true);
     }
 
+    private void runSortMerge() {
+        Path variantDatabasePath = variantDatabasePath();
+        String fileName = variantDatabasePath.toString();
+        boolean isExistingStore = Files.exists(variantDatabasePath);
+        MVStore mvStore = new MVStore.Builder()
+                .fileName(fileName)
+                .compress()
+                .open();
+        Path tempDir = buildPath.resolve(buildInfo.getBuildString() + "_variants_tmp");
+        try (SortMergeAlleleIndexer alleleIndexer = new SortMergeAlleleIndexer(mvStore, tempDir, numThreads, SORT_MERGE_RUN_SIZE)) {
+            alleleIndexer.index(alleleResources);
+        }
+        // The alleles are appended to a new map in key order, so the pages are already densely packed and only need
+        // compacting if the original map from an existing store has been replaced.
+        if (isExistingStore) {
+            logger.info("Compacting store...");
+            MVStoreTool.compact(fileName, true);
+        }
+    }
+
     /**
      * Returns the path to the variant database built as the result of calling the run() method.
      *
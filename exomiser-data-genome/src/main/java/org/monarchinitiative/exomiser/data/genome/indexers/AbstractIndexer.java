@@ -21,13 +21,22 @@
 package org.monarchinitiative.exomiser.data.genome.indexers;
 
 import org.monarchinitiative.exomiser.data.genome.model.Resource;
+import org.monarchinitiative.exomiser.data.genome.model.parsers.Parser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 /**
  * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
@@ -36,6 +45,8 @@
 
     private static final Logger logger = LoggerFactory.getLogger(AbstractIndexer.class);
 
+    static final int CHUNK_SIZE = 10_000;
+
     @Override
     public void index(Resource<T> resource) {
         logger.info("Processing '{}' resource", resource.getName());
@@ -46,6 +57,115 @@ public void index(Resource<T> resource) {
                 .map(progressLogger.logCount())
                 .forEach(this::write);
 
+        logFinished(resource, startTime, progressLogger);
+    }
+
+    /**
+     * Parses the resource on {@code numThreads} worker threads and writes the parsed objects on the calling thread, in
+     * the same order as {@link #index(Resource)}. The lines of the resource {@link org.monarchinitiative.exomiser.data.genome.model.archive.Archive}
+     * are read in chunks of {@link #CHUNK_SIZE} which are parsed concurrently, so the resource {@link Parser} must be
+     * thread-safe for all but comment lines i.e. those starting with '#'. As parsers such as the DbNsfpAlleleParser
+     * configure themselves from the header line, any chunk containing a comment line is only parsed once all the
+     * preceding chunks have been written.
+     *
+     * @param resource   the resource to index
+     * @param numThreads the number of threads to parse the resource with. Values less than 2 will index the resource
+     *                   sequentially using {@link #index(Resource)}
+     * @since 15.0.0
+     */
+    public void index(Resource<T> resource, int numThreads) {
+        index(resource, numThreads, CHUNK_SIZE);
+    }
+
+    void index(Resource<T> resource, int numThreads, int chunkSize) {
+        if (numThreads < 2) {
+            index(resource);
+            return;
+        }
+        logger.info("Processing '{}' resource using {} threads", resource.getName(), numThreads);
+        ExecutorService executorService = Executors.newFixedThreadPool(numThreads, new ParserThreadFactory(resource.getName()));
+        try {
+            index(resource, executorService, numThreads * 2, chunkSize);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Parses the resource in chunks on the supplied executor, which may be shared with other resources being indexed
+     * at the same time, and writes the parsed objects on the calling thread in the same order as {@link #index(Resource)}.
+     *
+     * @param maxPendingChunks maximum number of parsed chunks to hold in memory waiting to be written
+     */
+    void index(Resource<T> resource, ExecutorService parserExecutor, int maxPendingChunks, int chunkSize) {
+        Instant startTime = Instant.now();
+        ProgressLogger<T> progressLogger = new ProgressLogger<>(startTime);
+        UnaryOperator<T> logCount = progressLogger.logCount();
+
+        Parser<T> parser = resource.getParser();
+        Deque<Future<List<T>>> pendingChunks = new ArrayDeque<>(maxPendingChunks);
+        try (Stream<List<String>> chunks = resource.getArchive().lineChunks(chunkSize)) {
+            Iterator<List<String>> chunkIterator = chunks.iterator();
+            while (chunkIterator.hasNext()) {
+                List<String> chunk = chunkIterator.next();
+                if (containsCommentLine(chunk)) {
+                    while (!pendingChunks.isEmpty()) {
+                        writeChunk(awaitChunk(pendingChunks.poll()), logCount);
+                    }
+                    writeChunk(parseChunk(parser, chunk), logCount);
+                } else {
+                    pendingChunks.add(parserExecutor.submit(() -> parseChunk(parser, chunk)));
+                    if (pendingChunks.size() >= maxPendingChunks) {
+                        writeChunk(awaitChunk(pendingChunks.poll()), logCount);
+                    }
+                }
+            }
+            while (!pendingChunks.isEmpty()) {
+                writeChunk(awaitChunk(pendingChunks.poll()), logCount);
+            }
+        } finally {
+            // stop parsing any chunks which will never be written
+            pendingChunks.forEach(pendingChunk -> pendingChunk.cancel(true));
+        }
+
+        logFinished(resource, startTime, progressLogger);
+    }
+
+    private boolean containsCommentLine(List<String> chunk) {
+        for (String line : chunk) {
+            if (line.startsWith("#")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<T> parseChunk(Parser<T> parser, List<String> lines) {
+        List<T> parsed = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            parsed.addAll(parser.parseLine(line));
+        }
+        return parsed;
+    }
+
+    private List<T> awaitChunk(Future<List<T>> chunk) {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IndexingException("Interrupted while waiting for chunk to be parsed", e);
+        } catch (ExecutionException e) {
+            throw new IndexingException("Unable to parse chunk", e.getCause());
+        }
+    }
+
+    private void writeChunk(List<T> chunk, UnaryOperator<T> logCount) {
+        for (T object : chunk) {
+            write(logCount.apply(object));
+        }
+    }
+
+    private void logFinished(Resource<T> resource, Instant startTime, ProgressLogger<T> progressLogger) {
         long seconds = Duration.between(startTime, Instant.now()).getSeconds();
         logger.info("Finished '{}' resource - processed {} objects in {} sec. Total {} objects written.",
                 resource.getName(),
@@ -90,4 +210,21 @@ public UnaryOperator<T> logCount() {
         }
     }
 
+    static class ParserThreadFactory implements ThreadFactory {
+
+        private final String resourceName;
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        ParserThreadFactory(String resourceName) {
+            this.resourceName = resourceName;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, resourceName + "-parser-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
 }
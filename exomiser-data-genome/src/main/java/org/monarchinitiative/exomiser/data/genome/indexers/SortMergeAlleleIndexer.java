@@ -0,0 +1,578 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.data.genome.indexers;
+
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import jakarta.annotation.Nullable;
+import org.monarchinitiative.exomiser.core.genome.dao.serialisers.AlleleKeyDataType;
+import org.monarchinitiative.exomiser.core.genome.dao.serialisers.MvStoreUtil;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleProperties;
+import org.monarchinitiative.exomiser.data.genome.model.Allele;
+import org.monarchinitiative.exomiser.data.genome.model.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Bulk {@link MVStore} allele builder which avoids the random B-tree updates of merging each allele into the store as
+ * it is parsed by the {@link MvStoreAlleleIndexer}.
+ * <p>
+ * The resources are parsed concurrently into runs of up to {@code maxRunSize} alleles, which are sorted by
+ * {@link AlleleKey} and spilled to a temporary file. The lines of each resource are parsed in chunks by a pool of
+ * {@code numThreads} parser threads shared by all the resources, as with {@link AbstractIndexer#index(Resource, int)},
+ * so a single large resource is not limited to one thread. The runs of all the resources are then k-way merged, with the
+ * {@link AlleleProperties} of any alleles with the same key combined using {@link AlleleConverter#mergeProperties}, and
+ * the merged alleles appended to the 'alleles' map in key order. No more than {@code maxFanIn} runs are read at once -
+ * where there are more than this, consecutive runs are first merged into larger intermediate runs over as many passes
+ * as are required. Alleles with the same key are combined in the order of the resources and then the order in which
+ * they were parsed, so the resulting map is identical to that produced by indexing the same resources, in the same
+ * order, with the {@link MvStoreAlleleIndexer}. Any alleles already in the store are merged in before those of the
+ * resources.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+public class SortMergeAlleleIndexer implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SortMergeAlleleIndexer.class);
+
+    private static final Comparator<AlleleKey> KEY_COMPARATOR = AlleleKeyDataType.INSTANCE::compare;
+    private static final String MERGED_MAP_NAME = "alleles_merged";
+    private static final int DEFAULT_MAX_FAN_IN = 100;
+
+    private final MVStore mvStore;
+    private final Path tempDir;
+    private final int numThreads;
+    private final int maxRunSize;
+    private final int maxFanIn;
+    // every run file written, including those of any failed resources, so that all of these can be cleaned-up
+    private final Set<Path> runFiles = ConcurrentHashMap.newKeySet();
+    private Path workDir;
+
+    /**
+     * @param mvStore    the store to write the alleles to
+     * @param tempDir    directory in which to write the sorted runs. This will be created if it does not exist.
+     * @param numThreads number of threads with which to parse the resources. Up to this many resources are parsed
+     *                   concurrently.
+     * @param maxRunSize maximum number of alleles to hold in memory per resource before sorting and spilling these to
+     *                   disk
+     */
+    public SortMergeAlleleIndexer(MVStore mvStore, Path tempDir, int numThreads, int maxRunSize) {
+        this(mvStore, tempDir, numThreads, maxRunSize, DEFAULT_MAX_FAN_IN);
+    }
+
+    SortMergeAlleleIndexer(MVStore mvStore, Path tempDir, int numThreads, int maxRunSize, int maxFanIn) {
+        if (numThreads < 1) {
+            throw new IllegalArgumentException("numThreads must be greater than 0");
+        }
+        if (maxRunSize < 1) {
+            throw new IllegalArgumentException("maxRunSize must be greater than 0");
+        }
+        if (maxFanIn < 2) {
+            throw new IllegalArgumentException("maxFanIn must be greater than 1");
+        }
+        this.mvStore = Objects.requireNonNull(mvStore);
+        this.mvStore.setVersionsToKeep(0);
+        this.tempDir = Objects.requireNonNull(tempDir);
+        this.numThreads = numThreads;
+        this.maxRunSize = maxRunSize;
+        this.maxFanIn = maxFanIn;
+    }
+
+    public void index(List<? extends Resource<Allele>> resources) {
+        Instant startTime = Instant.now();
+        try {
+            Files.createDirectories(tempDir);
+            workDir = Files.createTempDirectory(tempDir, "alleles_");
+            List<Path> runs = spillSortedRuns(resources);
+            merge(runs);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error building alleles using temp dir " + tempDir, e);
+        } finally {
+            deleteRunFiles();
+        }
+        logger.info("Finished merging {} resources in {} sec. Total {} alleles written.", resources.size(), Duration.between(startTime, Instant.now()).getSeconds(), count());
+    }
+
+    public long count() {
+        return MvStoreUtil.openAlleleMVMap(mvStore).sizeAsLong();
+    }
+
+    private List<Path> spillSortedRuns(List<? extends Resource<Allele>> resources) throws IOException {
+        ExecutorService executorService = Executors.newFixedThreadPool(Math.max(1, Math.min(numThreads, resources.size())));
+        // a single thread parses each resource in turn, otherwise the chunks of all the resources share a pool of parsers
+        ExecutorService parserExecutor = numThreads < 2 ? null : Executors.newFixedThreadPool(numThreads, new AbstractIndexer.ParserThreadFactory("alleles"));
+        try {
+            List<Future<List<Path>>> futures = new ArrayList<>(resources.size());
+            for (int i = 0; i < resources.size(); i++) {
+                Resource<Allele> resource = resources.get(i);
+                String runPrefix = String.format("%03d_", i);
+                futures.add(executorService.submit(() -> spillSortedRuns(resource, runPrefix, parserExecutor)));
+            }
+            // collected in resource order so that the run order reflects the resource and parse order
+            List<Path> runs = new ArrayList<>();
+            for (Future<List<Path>> future : futures) {
+                runs.addAll(future.get());
+            }
+            return runs;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while parsing resources", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof UncheckedIOException uncheckedIOException) {
+                throw uncheckedIOException.getCause();
+            }
+            throw new IllegalStateException("Error parsing resources", e.getCause());
+        } finally {
+            executorService.shutdownNow();
+            if (parserExecutor != null) {
+                parserExecutor.shutdownNow();
+            }
+            awaitTermination(executorService);
+        }
+    }
+
+    /**
+     * Waits for any still running resources to stop so that these don't write any more runs after the clean-up.
+     */
+    private static void awaitTermination(ExecutorService executorService) {
+        try {
+            while (!executorService.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.info("Waiting for resource parsing to stop...");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<Path> spillSortedRuns(Resource<Allele> resource, String runPrefix, @Nullable ExecutorService parserExecutor) {
+        RunSpiller runSpiller = new RunSpiller(runPrefix);
+        if (parserExecutor == null) {
+            runSpiller.index(resource);
+        } else {
+            logger.info("Processing '{}' resource using {} shared threads", resource.getName(), numThreads);
+            runSpiller.index(resource, parserExecutor, numThreads * 2, AbstractIndexer.CHUNK_SIZE);
+        }
+        List<Path> runs = runSpiller.finish();
+        logger.info("Spilled '{}' resource into {} sorted runs", resource.getName(), runs.size());
+        return runs;
+    }
+
+    private Path writeRun(List<KeyedProperties> buffer, String runName) throws IOException {
+        // List.sort is stable, so alleles with the same key remain in the order in which they were parsed
+        buffer.sort(Comparator.comparing(KeyedProperties::key, KEY_COMPARATOR));
+        Path runPath = createRunFile(runName);
+        try (RunWriter runWriter = new RunWriter(runPath, buffer.size())) {
+            for (KeyedProperties keyedProperties : buffer) {
+                runWriter.accept(keyedProperties.key(), keyedProperties.properties());
+            }
+        }
+        return runPath;
+    }
+
+    private Path createRunFile(String runName) throws IOException {
+        Path runPath = Files.createTempFile(workDir, runName + "_", ".run.gz");
+        runFiles.add(runPath);
+        return runPath;
+    }
+
+    private void deleteRunFile(Path runPath) {
+        runFiles.remove(runPath);
+        deleteQuietly(runPath);
+    }
+
+    private void merge(List<Path> runPaths) throws IOException {
+        List<Path> runs = runPaths;
+        int pass = 0;
+        while (runs.size() > maxFanIn) {
+            pass++;
+            logger.info("Merging {} sorted runs into intermediate runs (pass {})", runs.size(), pass);
+            runs = mergeIntermediateRuns(runs, pass);
+        }
+        mergeIntoStore(runs);
+    }
+
+    /**
+     * Merges consecutive groups of up to {@code maxFanIn} runs into single runs. The alleles are not combined here, only
+     * the final pass does this, so that these are combined in exactly the same order regardless of the number of passes.
+     */
+    private List<Path> mergeIntermediateRuns(List<Path> runPaths, int pass) throws IOException {
+        List<Path> mergedRuns = new ArrayList<>(runPaths.size() / maxFanIn + 1);
+        for (int from = 0; from < runPaths.size(); from += maxFanIn) {
+            List<Path> group = runPaths.subList(from, Math.min(from + maxFanIn, runPaths.size()));
+            if (group.size() == 1) {
+                mergedRuns.add(group.get(0));
+                continue;
+            }
+            List<SortedRun> runs = new ArrayList<>(group.size());
+            try {
+                long size = 0;
+                for (Path runPath : group) {
+                    FileRun fileRun = new FileRun(runs.size(), runPath);
+                    runs.add(fileRun);
+                    size += fileRun.size();
+                }
+                Path mergedRun = createRunFile(String.format("pass%d_%d", pass, mergedRuns.size()));
+                try (RunWriter runWriter = new RunWriter(mergedRun, size)) {
+                    mergeSorted(runs, runWriter);
+                }
+                mergedRuns.add(mergedRun);
+            } finally {
+                closeAll(runs);
+            }
+            group.forEach(this::deleteRunFile);
+        }
+        return mergedRuns;
+    }
+
+    private void mergeIntoStore(List<Path> runPaths) throws IOException {
+        MVMap<AlleleKey, AlleleProperties> alleleMap = MvStoreUtil.openAlleleMVMap(mvStore);
+        List<SortedRun> runs = new ArrayList<>(runPaths.size() + 1);
+        MVMap<AlleleKey, AlleleProperties> mergedMap = mvStore.openMap(MERGED_MAP_NAME, MvStoreUtil.alleleMapBuilder().singleWriter());
+        mergedMap.clear();
+        try {
+            // existing alleles are the first run so that these are merged in first, as they would be by the MvStoreAlleleIndexer
+            if (!alleleMap.isEmpty()) {
+                logger.info("Merging {} existing alleles", alleleMap.sizeAsLong());
+                runs.add(new MapRun(0, alleleMap));
+            }
+            for (Path runPath : runPaths) {
+                runs.add(new FileRun(runs.size(), runPath));
+            }
+            logger.info("Merging {} sorted runs", runs.size());
+            CombiningAppender combiningAppender = new CombiningAppender(mergedMap);
+            mergeSorted(runs, combiningAppender);
+            combiningAppender.finish();
+        } finally {
+            closeAll(runs);
+        }
+        // write out any alleles still held in the append buffer before replacing the original map
+        mergedMap.flushAndGetRoot();
+        String alleleMapName = alleleMap.getName();
+        mvStore.removeMap(alleleMap);
+        mvStore.renameMap(mergedMap, alleleMapName);
+        mvStore.commit();
+    }
+
+    /**
+     * K-way merges the runs, passing each allele to the consumer in key order. Ties are broken by run order so that the
+     * alleles with the same key are passed on in resource then parse order.
+     */
+    private static void mergeSorted(List<SortedRun> runs, AlleleConsumer alleleConsumer) throws IOException {
+        PriorityQueue<SortedRun> queue = new PriorityQueue<>(Math.max(1, runs.size()), Comparator.comparing(SortedRun::key, KEY_COMPARATOR).thenComparingInt(SortedRun::order));
+        for (SortedRun run : runs) {
+            if (run.advance()) {
+                queue.add(run);
+            }
+        }
+        while (!queue.isEmpty()) {
+            SortedRun run = queue.poll();
+            alleleConsumer.accept(run.key(), run.properties());
+            if (run.advance()) {
+                queue.add(run);
+            }
+        }
+    }
+
+    private static void closeAll(List<SortedRun> runs) throws IOException {
+        for (SortedRun run : runs) {
+            run.close();
+        }
+    }
+
+    private void deleteRunFiles() {
+        for (Path runFile : List.copyOf(runFiles)) {
+            deleteRunFile(runFile);
+        }
+        if (workDir != null && Files.exists(workDir)) {
+            try (Stream<Path> paths = Files.walk(workDir)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(SortMergeAlleleIndexer::deleteQuietly);
+            } catch (IOException e) {
+                logger.warn("Unable to delete {}", workDir, e);
+            }
+        }
+        try {
+            // only remove the temp dir if nothing else is using it
+            Files.deleteIfExists(tempDir);
+        } catch (DirectoryNotEmptyException e) {
+            logger.debug("Not deleting non-empty temp dir {}", tempDir);
+        } catch (IOException e) {
+            logger.warn("Unable to delete {}", tempDir, e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Unable to delete {}", path, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        mvStore.close();
+        deleteRunFiles();
+    }
+
+    private record KeyedProperties(AlleleKey key, AlleleProperties properties) {
+    }
+
+    /**
+     * Buffers the parsed alleles of a resource, in parse order, spilling these to a sorted run whenever the buffer is
+     * full.
+     */
+    private final class RunSpiller extends AbstractIndexer<Allele> {
+
+        private final String runPrefix;
+        private final List<KeyedProperties> buffer = new ArrayList<>();
+        private final List<Path> runs = new ArrayList<>();
+        private long count = 0;
+
+        private RunSpiller(String runPrefix) {
+            this.runPrefix = runPrefix;
+        }
+
+        @Override
+        public void write(Allele allele) {
+            buffer.add(new KeyedProperties(AlleleConverter.toAlleleKey(allele), AlleleConverter.toAlleleProperties(allele)));
+            count++;
+            if (buffer.size() == maxRunSize) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new IndexingException("Parsing cancelled");
+                }
+                spill();
+            }
+        }
+
+        private void spill() {
+            try {
+                runs.add(writeRun(buffer, runPrefix + runs.size()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buffer.clear();
+        }
+
+        List<Path> finish() {
+            if (!buffer.isEmpty()) {
+                spill();
+            }
+            return runs;
+        }
+
+        @Override
+        public long count() {
+            return count;
+        }
+
+        @Override
+        public void close() {
+            // nothing to close - the runs are written and closed as these are spilled
+        }
+    }
+
+    @FunctionalInterface
+    private interface AlleleConsumer {
+        void accept(AlleleKey key, AlleleProperties properties) throws IOException;
+    }
+
+    /**
+     * Combines the properties of consecutive alleles with the same key, appending each combined allele to the map.
+     */
+    private static final class CombiningAppender implements AlleleConsumer {
+
+        private final MVMap<AlleleKey, AlleleProperties> map;
+        private AlleleKey currentKey;
+        private AlleleProperties currentProperties;
+
+        CombiningAppender(MVMap<AlleleKey, AlleleProperties> map) {
+            this.map = map;
+        }
+
+        @Override
+        public void accept(AlleleKey key, AlleleProperties properties) {
+            if (currentKey != null && KEY_COMPARATOR.compare(currentKey, key) == 0) {
+                currentProperties = AlleleConverter.mergeProperties(currentProperties, properties);
+            } else {
+                finish();
+                currentKey = key;
+                currentProperties = properties;
+            }
+        }
+
+        void finish() {
+            if (currentKey != null) {
+                map.append(currentKey, currentProperties);
+                currentKey = null;
+                currentProperties = null;
+            }
+        }
+    }
+
+    private static final class RunWriter implements AlleleConsumer, Closeable {
+
+        private final DataOutputStream out;
+
+        RunWriter(Path runPath, long size) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(new FastGZIPOutputStream(Files.newOutputStream(runPath))));
+            out.writeLong(size);
+        }
+
+        @Override
+        public void accept(AlleleKey key, AlleleProperties properties) throws IOException {
+            writeBytes(key.toByteArray());
+            writeBytes(properties.toByteArray());
+        }
+
+        private void writeBytes(byte[] bytes) throws IOException {
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    private abstract static class SortedRun implements Closeable {
+
+        private final int order;
+        protected AlleleKey key;
+        protected AlleleProperties properties;
+
+        SortedRun(int order) {
+            this.order = order;
+        }
+
+        int order() {
+            return order;
+        }
+
+        AlleleKey key() {
+            return key;
+        }
+
+        AlleleProperties properties() {
+            return properties;
+        }
+
+        /**
+         * Moves to the next allele in the run, returning false if the run is exhausted.
+         */
+        abstract boolean advance() throws IOException;
+
+        @Override
+        public void close() throws IOException {
+        }
+    }
+
+    private static final class FileRun extends SortedRun {
+
+        private final DataInputStream in;
+        private final long size;
+        private long remaining;
+
+        FileRun(int order, Path runPath) throws IOException {
+            super(order);
+            this.in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(runPath), 1 << 16)));
+            this.size = in.readLong();
+            this.remaining = size;
+        }
+
+        long size() {
+            return size;
+        }
+
+        @Override
+        boolean advance() throws IOException {
+            if (remaining == 0) {
+                return false;
+            }
+            remaining--;
+            key = AlleleKey.parseFrom(readBytes());
+            properties = AlleleProperties.parseFrom(readBytes());
+            return true;
+        }
+
+        private byte[] readBytes() throws IOException {
+            byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            return bytes;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static final class MapRun extends SortedRun {
+
+        private final Iterator<Map.Entry<AlleleKey, AlleleProperties>> iterator;
+
+        MapRun(int order, MVMap<AlleleKey, AlleleProperties> map) {
+            super(order);
+            this.iterator = map.entrySet().iterator();
+        }
+
+        @Override
+        boolean advance() {
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            Map.Entry<AlleleKey, AlleleProperties> entry = iterator.next();
+            key = entry.getKey();
+            properties = entry.getValue();
+            return true;
+        }
+    }
+
+    /**
+     * The runs are only read once, so favour speed over size.
+     */
+    private static final class FastGZIPOutputStream extends GZIPOutputStream {
+
+        FastGZIPOutputStream(OutputStream out) throws IOException {
+            super(out, 1 << 16);
+            def.setLevel(Deflater.BEST_SPEED);
+        }
+    }
+}
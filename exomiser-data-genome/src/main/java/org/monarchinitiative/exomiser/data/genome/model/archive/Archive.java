@@ -21,7 +21,14 @@
 package org.monarchinitiative.exomiser.data.genome.model.archive;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
@@ -41,4 +48,40 @@ default Stream<String> lines() {
         return new SimpleArchiveFileReader(this).lines();
     }
 
+    /**
+     * Reads the {@link #lines()} of the {@link Archive} in order, in chunks of up to {@code chunkSize} lines. This is
+     * intended to allow the lines to be parsed in parallel by several workers while preserving the order of the
+     * original file. Closing the returned stream will close the underlying stream of lines.
+     *
+     * @param chunkSize maximum number of lines in each chunk. Only the final chunk can contain fewer lines.
+     * @since 15.0.0
+     */
+    default Stream<List<String>> lineChunks(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be greater than 0");
+        }
+        Stream<String> lines = lines();
+        Iterator<String> lineIterator = lines.iterator();
+        Iterator<List<String>> chunkIterator = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return lineIterator.hasNext();
+            }
+
+            @Override
+            public List<String> next() {
+                if (!lineIterator.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<String> chunk = new ArrayList<>(chunkSize);
+                while (chunk.size() < chunkSize && lineIterator.hasNext()) {
+                    chunk.add(lineIterator.next());
+                }
+                return chunk;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(chunkIterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(lines::close);
+    }
+
 }
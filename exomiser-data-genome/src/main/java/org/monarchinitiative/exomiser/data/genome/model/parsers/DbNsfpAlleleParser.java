@@ -131,16 +131,16 @@ else if (key.equals(EveScoreParser.COLUMN_HEADER)) {
     }
 
     private List<Allele> parseAlleles(String line) {
-        String[] fields = line.split("\t");
+        TabDelimitedFields fields = TabDelimitedFields.of(line);
 
-        byte chr = ChromosomeParser.parseChr(fields[chrIndex]);
+        byte chr = ChromosomeParser.parseChr(fields.get(chrIndex));
         if (chr == 0) {
             return List.of();
         }
-        int pos = Integer.parseInt(fields[posIndex]);
-        String rsId = RsIdParser.parseRsId(fields[rsIndex]);
-        String ref = fields[refIndex];
-        String alt = fields[altIndex];
+        int pos = Integer.parseInt(fields.get(posIndex));
+        String rsId = RsIdParser.parseRsId(fields.get(rsIndex));
+        String ref = fields.get(refIndex);
+        String alt = fields.get(altIndex);
 
         List<AlleleProto.PathogenicityScore> pathScores = parsePathScores(fields);
 
@@ -154,7 +154,7 @@ private List<Allele> parseAlleles(String line) {
         return List.of(allele);
     }
 
-    private List<AlleleProto.PathogenicityScore> parsePathScores(String[] fields) {
+    private List<AlleleProto.PathogenicityScore> parsePathScores(TabDelimitedFields fields) {
         var pathScores = new ArrayList<AlleleProto.PathogenicityScore>();
         for (DbNsfpScoreParser scoreParser : scoreParsers) {
             var score = scoreParser.parseScore(fields);
@@ -193,7 +193,7 @@ public AlleleProto.PathogenicitySource pathogenicitySource() {
         }
 
         @Override
-        public AlleleProto.PathogenicityScore parseScore(String[] fields) {
+        public AlleleProto.PathogenicityScore parseScore(TabDelimitedFields fields) {
             String field = getValueOrEmpty(fields, fieldPosition, EMPTY_VALUE);
             String[] transcriptPredictions = field.split(";");
             if (transcriptPredictions.length == 1) {
@@ -236,7 +236,7 @@ public AlleleProto.PathogenicitySource pathogenicitySource() {
         }
 
         @Override
-        public AlleleProto.PathogenicityScore parseScore(String[] fields) {
+        public AlleleProto.PathogenicityScore parseScore(TabDelimitedFields fields) {
             String scoreFields = getValueOrEmpty(fields, mTasterScorePos, EMPTY_VALUE);
             String predFields = getValueOrEmpty(fields, mTasterPredPos, EMPTY_VALUE);
             String[] scores = scoreFields.split(";");
@@ -348,7 +348,7 @@ private interface TranscriptValueParser extends DbNsfpScoreParser {
         public int fieldPosition();
 
         @Override
-        default AlleleProto.PathogenicityScore parseScore(String[] fields) {
+        default AlleleProto.PathogenicityScore parseScore(TabDelimitedFields fields) {
             String field = getValueOrEmpty(fields, fieldPosition(), EMPTY_VALUE);
             return parseTranscriptValues(field);
         }
@@ -384,8 +384,8 @@ private interface SingleValueParser extends DbNsfpScoreParser {
         int fieldPosition();
 
         @Override
-        default AlleleProto.PathogenicityScore parseScore(String[] fields) {
-            String value = fields[fieldPosition()];
+        default AlleleProto.PathogenicityScore parseScore(TabDelimitedFields fields) {
+            String value = fields.get(fieldPosition());
             return parseScore(value);
         }
     }
@@ -397,10 +397,10 @@ private interface DbNsfpScoreParser {
         AlleleProto.PathogenicitySource pathogenicitySource();
 
         @Nullable
-        AlleleProto.PathogenicityScore parseScore(String[] fields);
+        AlleleProto.PathogenicityScore parseScore(TabDelimitedFields fields);
 
-        public default String getValueOrEmpty(String[] fields, int position, String empty) {
-            String field = fields[position];
+        public default String getValueOrEmpty(TabDelimitedFields fields, int position, String empty) {
+            String field = fields.get(position);
             if (field == null) {
                 return empty;
             }
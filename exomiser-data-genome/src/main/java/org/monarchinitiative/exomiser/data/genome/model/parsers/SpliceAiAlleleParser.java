@@ -18,15 +18,15 @@ public List<Allele> parseLine(String line) {
     }
 
     private Allele parseAllele(String line) {
-        String[] fields = line.split("\t");
-        if (fields.length != 5) {
-            throw new IllegalStateException("Expected 5 fields but found " + fields.length + " in line " + line);
+        TabDelimitedFields fields = TabDelimitedFields.of(line);
+        if (fields.size() != 5) {
+            throw new IllegalStateException("Expected 5 fields but found " + fields.size() + " in line " + line);
         }
-        int chr = Contigs.parseId(fields[0]); // 1..22,X,Y,MT
-        int start = Integer.parseInt(fields[1]);
-        String ref = fields[2];
-        String alt = fields[3];
-        float score = Float.parseFloat(fields[4]);
+        int chr = Contigs.parseId(fields.get(0)); // 1..22,X,Y,MT
+        int start = Integer.parseInt(fields.get(1));
+        String ref = fields.get(2);
+        String alt = fields.get(3);
+        float score = Float.parseFloat(fields.get(4));
         Allele allele = new Allele(chr, start, ref, alt);
         allele.addPathogenicityScore(AlleleProto.PathogenicityScore.newBuilder().setPathogenicitySource(AlleleProto.PathogenicitySource.SPLICE_AI).setScore(score).build());
         return allele;
@@ -0,0 +1,106 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.data.genome.model.parsers;
+
+import java.util.Arrays;
+
+/**
+ * Index-based view of the fields of a tab-delimited line. Unlike {@link String#split(String)} this only scans the
+ * line as far as the highest field requested and only creates a {@link String} for the fields actually read, which
+ * makes a considerable difference for files such as dbNSFP where only a handful of the several hundred columns are
+ * used.
+ * <p>
+ * Instances are not thread-safe and are intended to be created for a single line, on the thread parsing that line.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+final class TabDelimitedFields {
+
+    private static final char DELIMITER = '\t';
+
+    private final String line;
+    // fieldStarts[i] is the offset of the first character of field i in the line
+    private int[] fieldStarts = new int[16];
+    private int numFieldsFound = 1;
+    private boolean fullyScanned = false;
+
+    private TabDelimitedFields(String line) {
+        this.line = line;
+    }
+
+    static TabDelimitedFields of(String line) {
+        return new TabDelimitedFields(line);
+    }
+
+    /**
+     * @return true if the line has a field at the given zero-based index, which may be empty.
+     */
+    boolean hasField(int index) {
+        return index >= 0 && scanTo(index);
+    }
+
+    /**
+     * @return the value of the field at the given zero-based index.
+     * @throws IndexOutOfBoundsException if the line does not contain the field.
+     */
+    String get(int index) {
+        if (!hasField(index)) {
+            throw new IndexOutOfBoundsException("Field " + index + " out of bounds for line with " + size() + " fields");
+        }
+        return line.substring(fieldStarts[index], fieldEnd(index));
+    }
+
+    /**
+     * @return the number of fields in the line. Note that, unlike {@link String#split(String)}, trailing empty fields are
+     * counted.
+     */
+    int size() {
+        scanTo(Integer.MAX_VALUE);
+        return numFieldsFound;
+    }
+
+    private int fieldEnd(int index) {
+        // the end of the last field is the end of the line, otherwise it is the position of the following delimiter
+        return index + 1 < numFieldsFound ? fieldStarts[index + 1] - 1 : endOfField(fieldStarts[index]);
+    }
+
+    private int endOfField(int fieldStart) {
+        int delimiter = line.indexOf(DELIMITER, fieldStart);
+        return delimiter == -1 ? line.length() : delimiter;
+    }
+
+    private boolean scanTo(int index) {
+        while (numFieldsFound <= index && !fullyScanned) {
+            int delimiter = line.indexOf(DELIMITER, fieldStarts[numFieldsFound - 1]);
+            if (delimiter == -1) {
+                fullyScanned = true;
+            } else {
+                if (numFieldsFound == fieldStarts.length) {
+                    fieldStarts = Arrays.copyOf(fieldStarts, fieldStarts.length * 2);
+                }
+                fieldStarts[numFieldsFound++] = delimiter + 1;
+            }
+        }
+        return index < numFieldsFound;
+    }
+}
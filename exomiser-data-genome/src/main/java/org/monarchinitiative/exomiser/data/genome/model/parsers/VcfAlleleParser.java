@@ -46,13 +46,17 @@ public List<Allele> parseLine(String line) {
             // comment line.
             return List.of();
         }
-        String[] fields = line.split("\t");
+        TabDelimitedFields fields = TabDelimitedFields.of(line);
         List<Allele> alleles = parseAlleles(fields);
 
-        if (hasNoInfoField(fields) || alleles.isEmpty()) {
+        if (alleles.isEmpty() || hasNoInfoField(fields)) {
+            return alleles;
+        }
+        String info = fields.get(7);
+        if (info.isEmpty()) {
+            // treat an empty trailing INFO field as missing
             return alleles;
         }
-        String info = fields[7];
 
         try {
             return parseInfoField(alleles, info);
@@ -63,26 +67,27 @@ public List<Allele> parseLine(String line) {
         return alleles;
     }
 
-    private boolean hasNoInfoField(String[] fields) {
-        return fields.length <= 7;
+    private boolean hasNoInfoField(TabDelimitedFields fields) {
+        // only the fields up to and including the INFO field are read, any sample genotypes are skipped
+        return !fields.hasField(7);
     }
 
     abstract List<Allele> parseInfoField(List<Allele> alleles, String info);
 
-    private List<Allele> parseAlleles(String[] fields) {
+    private List<Allele> parseAlleles(TabDelimitedFields fields) {
 
-        int chr = Contigs.parseId(fields[0]);
-        if (chr == 0 || !unfilteredOrPassed(fields[6])) {
+        int chr = Contigs.parseId(fields.get(0));
+        if (chr == 0 || !unfilteredOrPassed(fields.get(6))) {
             return List.of();
         }
 
-        int pos = Integer.parseInt(fields[1]);
+        int pos = Integer.parseInt(fields.get(1));
         //A dbSNP rsID such as rs101432848. In rare cases may be multiple e.g., rs200118651;rs202059104
-        String rsId = RsIdParser.parseRsId(fields[2]);
+        String rsId = RsIdParser.parseRsId(fields.get(2));
         //Uppercasing shouldn't be necessary acccording to the VCF standard,
         //but occasionally one sees VCF files with lower case for part of the
         //sequences, e.g., to show indels.
-        String ref = fields[3].toUpperCase();
+        String ref = fields.get(3).toUpperCase();
 
         //dbSNP has introduced the concept of multiple minor alleles on the
         //same VCF line with their frequencies reported in same order in the
@@ -90,7 +95,7 @@ private List<Allele> parseAlleles(String[] fields) {
         //and move the dbSNP freq parsing to here. Not ideal as ESP processing
         //also goes through this method but does not use the CAF field so
         //should be skipped
-        String[] alts = fields[4].toUpperCase().split(",");
+        String[] alts = fields.get(4).toUpperCase().split(",");
 
         List<Allele> alleles = new ArrayList<>(alts.length);
         for (int i = 0; i < alts.length; i++) {
@@ -6,9 +6,11 @@
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
+import org.monarchinitiative.exomiser.core.genome.dao.ClinVarGeneStatistics;
 import org.monarchinitiative.exomiser.core.genome.dao.ClinVarWhiteListReader;
 import org.monarchinitiative.exomiser.core.genome.dao.serialisers.MvStoreUtil;
 import org.monarchinitiative.exomiser.core.genome.jannovar.JannovarDataSourceLoader;
+import org.monarchinitiative.exomiser.core.model.GeneStatistics;
 import org.monarchinitiative.exomiser.core.proto.AlleleProto;
 import org.monarchinitiative.exomiser.data.genome.model.BuildInfo;
 import org.monarchinitiative.exomiser.data.genome.model.resource.ClinVarAlleleResource;
@@ -16,6 +18,7 @@
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Map;
 import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -48,6 +51,12 @@ void run(@TempDir Path tempDir) throws Exception {
             clinvar.values().forEach(clinvarProto -> assertThat(clinvarProto.getVariantEffect() != AlleleProto.VariantEffect.SEQUENCE_VARIANT, is(true)));
             Set<AlleleProto.AlleleKey> whiteListAlleleKeys = ClinVarWhiteListReader.readVariantWhiteList(clinvarStore);
             assertThat(whiteListAlleleKeys.size(), equalTo(23));
+            // The gene statistics are pre-computed for the ClinVarDao
+            assertThat(ClinVarGeneStatistics.isPersisted(clinvarStore), is(true));
+            Map<String, GeneStatistics> expectedGeneStatistics = ClinVarGeneStatistics.calculate(clinvar);
+            Map<String, GeneStatistics> persistedGeneStatistics = ClinVarGeneStatistics.read(clinvarStore);
+            assertThat(persistedGeneStatistics.keySet(), equalTo(expectedGeneStatistics.keySet()));
+            expectedGeneStatistics.forEach((geneSymbol, geneStatistics) -> assertThat(persistedGeneStatistics.get(geneSymbol).toString(), equalTo(geneStatistics.toString())));
         }
     }
 
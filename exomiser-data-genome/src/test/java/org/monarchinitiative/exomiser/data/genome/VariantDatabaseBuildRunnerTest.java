@@ -1,20 +1,26 @@
 package org.monarchinitiative.exomiser.data.genome;
 
-
+import org.h2.mvstore.MVStore;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
+import org.monarchinitiative.exomiser.core.genome.dao.serialisers.MvStoreUtil;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleProperties;
 import org.monarchinitiative.exomiser.data.genome.model.AlleleResource;
 import org.monarchinitiative.exomiser.data.genome.model.BuildInfo;
 import org.monarchinitiative.exomiser.data.genome.model.parsers.DbNsfpColumnIndex;
 import org.monarchinitiative.exomiser.data.genome.model.resource.DbNsfp4AlleleResource;
+import org.monarchinitiative.exomiser.data.genome.model.resource.DbSnpAlleleResource;
 import org.monarchinitiative.exomiser.data.genome.model.resource.SpliceAiAlleleResource;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -32,6 +38,32 @@ void testBuild(@TempDir Path tempDir) throws IOException {
         assertThat(Files.size(variantDatabase), greaterThan(0L));
     }
 
+    @Test
+    void testSortMergeBuildMatchesDefaultBuild(@TempDir Path tempDir) throws IOException {
+        BuildInfo buildInfo = BuildInfo.of(GenomeAssembly.HG19, "2404");
+        List<AlleleResource> alleleResources = List.of(new DbSnpAlleleResource("hg19.dbsnp", null, Path.of("src/test/resources/test_first_ten_dbsnp.vcf.gz")));
+
+        VariantDatabaseBuildRunner defaultBuild = new VariantDatabaseBuildRunner(buildInfo, Files.createDirectories(tempDir.resolve("default")), alleleResources);
+        defaultBuild.run();
+        VariantDatabaseBuildRunner sortMergeBuild = new VariantDatabaseBuildRunner(buildInfo, Files.createDirectories(tempDir.resolve("sort-merge")), alleleResources, true, 2);
+        sortMergeBuild.run();
+
+        assertThat(Files.exists(sortMergeBuild.variantDatabasePath()), is(true));
+        assertThat(Files.exists(tempDir.resolve("sort-merge").resolve(buildInfo.getBuildString() + "_variants_tmp")), is(false));
+        List<Map.Entry<AlleleKey, AlleleProperties>> sortMergeAlleles = readAlleles(sortMergeBuild.variantDatabasePath());
+        assertThat(sortMergeAlleles.size(), equalTo(10));
+        assertThat(sortMergeAlleles, equalTo(readAlleles(defaultBuild.variantDatabasePath())));
+    }
+
+    private static List<Map.Entry<AlleleKey, AlleleProperties>> readAlleles(Path mvStorePath) {
+        MVStore mvStore = new MVStore.Builder().fileName(mvStorePath.toString()).readOnly().open();
+        try {
+            return new ArrayList<>(MvStoreUtil.openAlleleMVMap(mvStore).entrySet());
+        } finally {
+            mvStore.close();
+        }
+    }
+
     @Disabled("Manual testing")
     @Test
     void manualTestBuild() throws IOException {
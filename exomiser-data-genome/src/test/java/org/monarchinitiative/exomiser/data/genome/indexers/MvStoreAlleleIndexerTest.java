@@ -413,6 +413,23 @@ public void writeAndUpdateAlleles() throws Exception {
     }
 
 
+    @Test
+    public void indexInParallelMatchesSequentialIndexing() throws Exception {
+        AlleleResource dbSnpResource = new DbSnpAlleleResource("test_first_ten_dbsnp", new URL("http://"), Paths.get("src/test/resources/test_first_ten_dbsnp.vcf.gz"));
+
+        MVStore sequentialStore = newMvStore();
+        MvStoreAlleleIndexer sequential = new MvStoreAlleleIndexer(sequentialStore);
+        sequential.index(dbSnpResource);
+
+        MVStore parallelStore = newMvStore();
+        MvStoreAlleleIndexer parallel = new MvStoreAlleleIndexer(parallelStore);
+        // use a small chunk size so that the header and data lines are split across several chunks
+        parallel.index(dbSnpResource, 4, 3);
+
+        assertThat(parallel.count(), equalTo(10L));
+        assertThat(Map.copyOf(MvStoreUtil.openAlleleMVMap(parallelStore)), equalTo(Map.copyOf(MvStoreUtil.openAlleleMVMap(sequentialStore))));
+    }
+
     @Test
     public void processAndWriteToDisk(@TempDir Path tempDir) throws Exception {
         AlleleResource dbSnpResource = new DbSnpAlleleResource("test_first_ten_dbsnp", new URL("http://"), Paths.get("src/test/resources/test_first_ten_dbsnp.vcf.gz"));
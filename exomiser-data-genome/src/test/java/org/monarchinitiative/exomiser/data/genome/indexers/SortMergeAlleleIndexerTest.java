@@ -0,0 +1,314 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.data.genome.indexers;
+
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.monarchinitiative.exomiser.core.genome.dao.serialisers.MvStoreUtil;
+import org.monarchinitiative.exomiser.core.proto.AlleleData;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleKey;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.AlleleProperties;
+import org.monarchinitiative.exomiser.core.proto.AlleleProto.FrequencySource;
+import org.monarchinitiative.exomiser.data.genome.model.Allele;
+import org.monarchinitiative.exomiser.data.genome.model.AlleleResource;
+import org.monarchinitiative.exomiser.data.genome.model.archive.Archive;
+import org.monarchinitiative.exomiser.data.genome.model.parsers.Parser;
+import org.monarchinitiative.exomiser.data.genome.model.resource.DbSnpAlleleResource;
+
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.hamcrest.Matchers.*;
+import static org.monarchinitiative.exomiser.core.proto.AlleleProto.FrequencySource.*;
+import static org.monarchinitiative.exomiser.core.proto.AlleleProto.PathogenicitySource.REVEL;
+import static org.monarchinitiative.exomiser.core.proto.AlleleProto.PathogenicitySource.SIFT;
+
+/**
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ */
+class SortMergeAlleleIndexerTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private MVStore newMvStore() {
+        return new MVStore.Builder()
+                .compress()
+                .open();
+    }
+
+    /**
+     * Returns a resource whose archive lines are the indices of the alleles, so that these are parsed in chunks.
+     */
+    private static AlleleResource resource(String name, List<Allele> alleles) {
+        return resource(name, alleles, line -> List.of(alleles.get(Integer.parseInt(line))));
+    }
+
+    private static AlleleResource resource(String name, List<Allele> alleles, Parser<Allele> parser) {
+        Archive archive = new Archive() {
+            @Override
+            public Path getPath() {
+                return null;
+            }
+
+            @Override
+            public String getArchiveFileFormat() {
+                return "";
+            }
+
+            @Override
+            public String getDataFileFormat() {
+                return "";
+            }
+
+            @Override
+            public Stream<String> lines() {
+                return IntStream.range(0, alleles.size()).mapToObj(Integer::toString);
+            }
+        };
+        return new AlleleResource() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public URL getResourceUrl() {
+                return null;
+            }
+
+            @Override
+            public Archive getArchive() {
+                return archive;
+            }
+
+            @Override
+            public Parser<Allele> getParser() {
+                return parser;
+            }
+        };
+    }
+
+    private static Allele allele(int chr, int pos, String ref, String alt, String rsId) {
+        Allele allele = new Allele(chr, pos, ref, alt);
+        allele.setRsId(rsId);
+        return allele;
+    }
+
+    private static List<AlleleResource> overlappingResources() {
+        List<Allele> dbSnp = new ArrayList<>();
+        dbSnp.add(allele(2, 500, "A", "T", "rs500"));
+        dbSnp.add(allele(1, 12345, "A", "T", "rs12345"));
+        dbSnp.add(allele(1, 12345, "A", "G", "rs12346"));
+        dbSnp.add(allele(1, 100, "C", "CT", "rs100"));
+        // duplicate key within the same resource
+        dbSnp.add(allele(1, 12345, "A", "T", "rs99999"));
+        dbSnp.add(allele(23, 1, "G", "A", ""));
+
+        List<Allele> gnomad = new ArrayList<>();
+        Allele gnomad12345 = allele(1, 12345, "A", "T", "");
+        gnomad12345.addFrequency(AlleleData.frequencyOf(GNOMAD_E_AFR, 2, 1000));
+        gnomad.add(gnomad12345);
+        Allele gnomad500 = allele(2, 500, "A", "T", "rs500b");
+        gnomad500.addFrequency(AlleleData.frequencyOf(GNOMAD_G_NFE, 1, 3000));
+        gnomad.add(gnomad500);
+        Allele gnomad23 = allele(23, 1, "G", "A", "rs23");
+        gnomad23.addFrequency(AlleleData.frequencyOf(GNOMAD_G_NFE, 10, 3000));
+        gnomad.add(gnomad23);
+        Allele gnomad12345Update = allele(1, 12345, "A", "T", "");
+        gnomad12345Update.addFrequency(AlleleData.frequencyOf(GNOMAD_E_AFR, 4, 1000));
+        gnomad12345Update.addFrequency(AlleleData.frequencyOf(GNOMAD_E_NFE, 1, 1000));
+        gnomad.add(gnomad12345Update);
+
+        List<Allele> dbNsfp = new ArrayList<>();
+        Allele dbNsfp12345 = allele(1, 12345, "A", "T", "");
+        dbNsfp12345.addPathogenicityScore(AlleleData.pathogenicityScoreOf(REVEL, 0.8f));
+        dbNsfp12345.addPathogenicityScore(AlleleData.pathogenicityScoreOf(SIFT, 0.1f));
+        dbNsfp.add(dbNsfp12345);
+        Allele dbNsfp200 = allele(1, 200, "G", "C", "");
+        dbNsfp200.addPathogenicityScore(AlleleData.pathogenicityScoreOf(REVEL, 0.2f));
+        dbNsfp.add(dbNsfp200);
+
+        return List.of(resource("dbsnp", dbSnp), resource("gnomad", gnomad), resource("dbnsfp", dbNsfp));
+    }
+
+    private static Map<AlleleKey, AlleleProperties> indexSequentially(List<AlleleResource> resources) throws Exception {
+        MVStore mvStore = new MVStore.Builder().open();
+        try (MvStoreAlleleIndexer mvStoreAlleleIndexer = new MvStoreAlleleIndexer(mvStore)) {
+            resources.forEach(mvStoreAlleleIndexer::index);
+            return new LinkedHashMap<>(MvStoreUtil.openAlleleMVMap(mvStore));
+        }
+    }
+
+    @Test
+    void emptyResources() {
+        MVStore mvStore = newMvStore();
+        SortMergeAlleleIndexer instance = new SortMergeAlleleIndexer(mvStore, tempDir.resolve("runs"), 2, 10);
+        instance.index(List.of());
+        assertThat(instance.count(), equalTo(0L));
+        assertThat(mvStore.getMapNames(), equalTo(Set.of("alleles")));
+    }
+
+    @Test
+    void mergesResourcesInSameOrderAsMvStoreAlleleIndexer() throws Exception {
+        List<AlleleResource> resources = overlappingResources();
+        Map<AlleleKey, AlleleProperties> expected = indexSequentially(resources);
+
+        // a small run size so that each resource is split across several sorted runs
+        MVStore mvStore = newMvStore();
+        SortMergeAlleleIndexer instance = new SortMergeAlleleIndexer(mvStore, tempDir.resolve("runs"), 3, 2);
+        instance.index(resources);
+
+        MVMap<AlleleKey, AlleleProperties> alleleMap = MvStoreUtil.openAlleleMVMap(mvStore);
+        assertThat(instance.count(), equalTo(6L));
+        assertThat(new ArrayList<>(alleleMap.entrySet()), equalTo(new ArrayList<>(expected.entrySet())));
+        // runs are cleaned-up
+        assertThat(Files.exists(tempDir.resolve("runs")), is(false));
+    }
+
+    private static List<AlleleResource> randomOverlappingResources(int numResources, int allelesPerResource) {
+        // a small key space so that most keys occur several times, both within and between resources
+        Random random = new Random(42);
+        List<FrequencySource> frequencySources = List.of(GNOMAD_E_AFR, GNOMAD_E_NFE, GNOMAD_G_NFE, TOPMED);
+        List<AlleleResource> resources = new ArrayList<>();
+        for (int i = 0; i < numResources; i++) {
+            List<Allele> alleles = new ArrayList<>(allelesPerResource);
+            for (int j = 0; j < allelesPerResource; j++) {
+                Allele allele = allele(1 + random.nextInt(3), 1 + random.nextInt(200), "A", random.nextBoolean() ? "T" : "G", random.nextInt(4) == 0 ? "rs" + random.nextInt(1000) : "");
+                allele.addFrequency(AlleleData.frequencyOf(frequencySources.get(random.nextInt(frequencySources.size())), 1 + random.nextInt(10), 1000));
+                if (random.nextBoolean()) {
+                    allele.addPathogenicityScore(AlleleData.pathogenicityScoreOf(random.nextBoolean() ? REVEL : SIFT, random.nextFloat()));
+                }
+                alleles.add(allele);
+            }
+            resources.add(resource("resource_" + i, alleles));
+        }
+        return resources;
+    }
+
+    @Test
+    void mergesManyRunsOverSeveralPasses() throws Exception {
+        List<AlleleResource> resources = randomOverlappingResources(3, 1000);
+        Map<AlleleKey, AlleleProperties> expected = indexSequentially(resources);
+
+        // 3 x 143 = 429 runs, which with a fan-in of 4 takes 4 intermediate passes to merge
+        MVStore mvStore = newMvStore();
+        SortMergeAlleleIndexer instance = new SortMergeAlleleIndexer(mvStore, tempDir.resolve("runs"), 3, 7, 4);
+        instance.index(resources);
+
+        MVMap<AlleleKey, AlleleProperties> alleleMap = MvStoreUtil.openAlleleMVMap(mvStore);
+        // the properties of the duplicate keys have been merged
+        assertThat(instance.count(), lessThan(3000L));
+        assertThat(instance.count(), equalTo((long) expected.size()));
+        assertThat(new ArrayList<>(alleleMap.entrySet()), equalTo(new ArrayList<>(expected.entrySet())));
+        assertThat(Files.exists(tempDir.resolve("runs")), is(false));
+    }
+
+    @Test
+    void deletesRunsOfFailedResources() {
+        List<Allele> alleles = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            alleles.add(allele(1, i, "A", "T", ""));
+        }
+        AlleleResource failingResource = resource("failing", alleles, line -> {
+            if (line.equals("99")) {
+                throw new IllegalStateException("Corrupt resource");
+            }
+            return List.of(alleles.get(Integer.parseInt(line)));
+        });
+        MVStore mvStore = newMvStore();
+        Path runsDir = tempDir.resolve("runs");
+        try (SortMergeAlleleIndexer instance = new SortMergeAlleleIndexer(mvStore, runsDir, 2, 10)) {
+            // the runs of the other resource are never collected, as the failing resource is ahead of it
+            assertThrows(IllegalStateException.class, () -> instance.index(List.of(failingResource, resource("good", alleles))));
+        }
+        assertThat(Files.exists(runsDir), is(false));
+    }
+
+    @Test
+    void mergesExistingAllelesFirst() throws Exception {
+        List<AlleleResource> resources = overlappingResources();
+        Map<AlleleKey, AlleleProperties> expected = indexSequentially(resources);
+
+        MVStore mvStore = newMvStore();
+        try (MvStoreAlleleIndexer mvStoreAlleleIndexer = new MvStoreAlleleIndexer(mvStore) {
+            @Override
+            public void close() {
+                // keep the store open
+            }
+        }) {
+            mvStoreAlleleIndexer.index(resources.get(0));
+        }
+        SortMergeAlleleIndexer instance = new SortMergeAlleleIndexer(mvStore, tempDir.resolve("runs"), 2, 3);
+        instance.index(resources.subList(1, resources.size()));
+
+        MVMap<AlleleKey, AlleleProperties> alleleMap = MvStoreUtil.openAlleleMVMap(mvStore);
+        assertThat(new ArrayList<>(alleleMap.entrySet()), equalTo(new ArrayList<>(expected.entrySet())));
+        assertThat(mvStore.getMapNames(), equalTo(Set.of("alleles")));
+    }
+
+    @Test
+    void writeToDiskAndReOpen() throws Exception {
+        AlleleResource dbSnpResource = new DbSnpAlleleResource("test_first_ten_dbsnp", new URL("http://"), Path.of("src/test/resources/test_first_ten_dbsnp.vcf.gz"));
+        Map<AlleleKey, AlleleProperties> expected = indexSequentially(List.of(dbSnpResource));
+
+        Path mvStorePath = tempDir.resolve("test.mv.db");
+        MVStore mvStore = new MVStore.Builder()
+                .fileName(mvStorePath.toString())
+                .compress()
+                .open();
+        try (SortMergeAlleleIndexer instance = new SortMergeAlleleIndexer(mvStore, tempDir.resolve("runs"), 1, 4)) {
+            instance.index(List.of(dbSnpResource));
+        }
+
+        MVStore reOpened = new MVStore.Builder()
+                .fileName(mvStorePath.toString())
+                .readOnly()
+                .open();
+        MVMap<AlleleKey, AlleleProperties> alleleMap = MvStoreUtil.openAlleleMVMap(reOpened);
+        assertThat(alleleMap.size(), equalTo(10));
+        assertThat(new ArrayList<>(alleleMap.entrySet()), equalTo(new ArrayList<>(expected.entrySet())));
+        reOpened.close();
+    }
+
+    @Test
+    void throwsExceptionWithInvalidArguments() {
+        MVStore mvStore = newMvStore();
+        Path runsDir = tempDir.resolve("runs");
+        assertThrows(IllegalArgumentException.class, () -> new SortMergeAlleleIndexer(mvStore, runsDir, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new SortMergeAlleleIndexer(mvStore, runsDir, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new SortMergeAlleleIndexer(mvStore, runsDir, 1, 10, 1));
+    }
+}
@@ -23,9 +23,15 @@
 import org.junit.jupiter.api.Test;
 
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 
 /**
@@ -44,4 +50,25 @@ public void archiveFileFormat() throws Exception {
     public void dataFileFormat() throws Exception {
         assertThat(tabixArchive.getDataFileFormat(), equalTo("vcf"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void lineChunks() {
+        TabixArchive archive = new TabixArchive(Paths.get("src/test/resources/test_first_ten_dbsnp.vcf.gz"));
+        List<String> lines;
+        try (Stream<String> lineStream = archive.lines()) {
+            lines = lineStream.toList();
+        }
+        List<List<String>> chunks;
+        try (Stream<List<String>> chunkStream = archive.lineChunks(7)) {
+            chunks = chunkStream.toList();
+        }
+        assertThat(chunks, hasSize((lines.size() + 6) / 7));
+        assertThat(chunks.stream().map(List::size).toList(), everyItem(lessThanOrEqualTo(7)));
+        assertThat(chunks.stream().flatMap(List::stream).toList(), equalTo(lines));
+    }
+
+    @Test
+    public void lineChunksThrowsExceptionWithInvalidChunkSize() {
+        assertThrows(IllegalArgumentException.class, () -> tabixArchive.lineChunks(0));
+    }
+}
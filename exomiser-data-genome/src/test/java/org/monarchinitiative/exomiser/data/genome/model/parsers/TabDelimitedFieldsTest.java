@@ -0,0 +1,99 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.data.genome.model.parsers;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ */
+class TabDelimitedFieldsTest {
+
+    @Test
+    void singleField() {
+        TabDelimitedFields instance = TabDelimitedFields.of("1");
+        assertThat(instance.size(), equalTo(1));
+        assertThat(instance.get(0), equalTo("1"));
+        assertThat(instance.hasField(1), is(false));
+    }
+
+    @Test
+    void emptyLine() {
+        TabDelimitedFields instance = TabDelimitedFields.of("");
+        assertThat(instance.size(), equalTo(1));
+        assertThat(instance.get(0), equalTo(""));
+    }
+
+    @Test
+    void getFieldsOutOfOrder() {
+        TabDelimitedFields instance = TabDelimitedFields.of("1\t12345\trs123\tA\tT");
+        assertThat(instance.get(3), equalTo("A"));
+        assertThat(instance.get(0), equalTo("1"));
+        assertThat(instance.get(4), equalTo("T"));
+        assertThat(instance.get(1), equalTo("12345"));
+        assertThat(instance.size(), equalTo(5));
+    }
+
+    @Test
+    void emptyFields() {
+        TabDelimitedFields instance = TabDelimitedFields.of("\tA\t\tT\t");
+        assertThat(instance.size(), equalTo(5));
+        assertThat(instance.get(0), equalTo(""));
+        assertThat(instance.get(1), equalTo("A"));
+        assertThat(instance.get(2), equalTo(""));
+        assertThat(instance.get(3), equalTo("T"));
+        assertThat(instance.get(4), equalTo(""));
+    }
+
+    @Test
+    void manyFieldsMatchesSplit() {
+        String line = String.join("\t", IntStream.range(0, 100).mapToObj(i -> "field" + i).toList());
+        String[] expected = line.split("\t");
+        TabDelimitedFields instance = TabDelimitedFields.of(line);
+        assertThat(instance.get(99), equalTo(expected[99]));
+        for (int i = 0; i < expected.length; i++) {
+            assertThat(instance.get(i), equalTo(expected[i]));
+        }
+        assertThat(instance.size(), equalTo(expected.length));
+    }
+
+    @Test
+    void hasField() {
+        TabDelimitedFields instance = TabDelimitedFields.of("1\t12345\trs123\tA\tT\t.\tPASS");
+        assertThat(instance.hasField(-1), is(false));
+        assertThat(instance.hasField(6), is(true));
+        assertThat(instance.hasField(7), is(false));
+    }
+
+    @Test
+    void getThrowsExceptionForMissingField() {
+        TabDelimitedFields instance = TabDelimitedFields.of("1\t12345");
+        assertThrows(IndexOutOfBoundsException.class, () -> instance.get(2));
+    }
+}
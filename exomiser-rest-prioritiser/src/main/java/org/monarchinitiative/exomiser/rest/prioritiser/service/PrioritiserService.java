@@ -1,5 +1,8 @@
 package org.monarchinitiative.exomiser.rest.prioritiser.service;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.monarchinitiative.exomiser.core.model.Gene;
 import org.monarchinitiative.exomiser.core.model.GeneIdentifier;
 import org.monarchinitiative.exomiser.core.prioritisers.HiPhiveOptions;
@@ -10,21 +13,59 @@
 import org.monarchinitiative.exomiser.rest.prioritiser.api.PrioritiserResultSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+/**
+ * Runs the requested prioritiser against the requested genes, or all known genes if none were specified.
+ * <p>
+ * The results of each distinct query are held in a cache for {@code resultCacheTtl}, keyed on the sorted
+ * phenotypes and genes, the prioritiser, its parameters and the limit so that repeated queries from a UI are not
+ * recomputed. The cache is bounded by the total number of results held rather than the number of queries, as an
+ * unlimited query against all genes holds many thousands of times more results than a top 10 query. Concurrent identical queries are coalesced so that only the first runs the prioritiser and the others wait
+ * for its results. Where a limit is requested only the top results are kept using a bounded heap rather than sorting
+ * the results for every gene.
+ */
 @Component
-public record PrioritiserService(Map<Integer, GeneIdentifier> geneIdentifiers, PriorityFactory priorityFactory) {
+public class PrioritiserService {
 
     private static final Logger logger = LoggerFactory.getLogger(PrioritiserService.class);
 
-    public PrioritiserService {
-        logger.info("Started PrioritiserService with GeneIdentifier cache of {} entries", geneIdentifiers.size());
+    private final Map<Integer, GeneIdentifier> geneIdentifiers;
+    private final PriorityFactory priorityFactory;
+
+    // The prioritisers only read the Genes, so these can be shared between requests as long as they are not returned.
+    private final List<Gene> allGenes;
+    private final Set<Integer> allGeneIds;
+
+    private final AsyncCache<ResultsKey, List<PriorityResult>> resultsCache;
+
+    public PrioritiserService(Map<Integer, GeneIdentifier> geneIdentifiers, PriorityFactory priorityFactory,
+                              @Value("${exomiser.prioritiser.result-cache-max-results:500000}") long resultCacheMaxResults,
+                              @Value("${exomiser.prioritiser.result-cache-ttl-minutes:60}") long resultCacheTtlMinutes) {
+        this.geneIdentifiers = geneIdentifiers;
+        this.priorityFactory = priorityFactory;
+        this.allGenes = geneIdentifiers.values().parallelStream()
+                .map(Gene::new)
+                .toList();
+        this.allGeneIds = allGenes.stream().map(Gene::entrezGeneId).collect(Collectors.toUnmodifiableSet());
+        this.resultsCache = Caffeine.newBuilder()
+                .maximumWeight(resultCacheMaxResults)
+                // empty results still take up an entry
+                .weigher((ResultsKey key, List<PriorityResult> results) -> Math.max(1, results.size()))
+                .expireAfterWrite(Duration.ofMinutes(resultCacheTtlMinutes))
+                .buildAsync();
+        logger.info("Started PrioritiserService with GeneIdentifier cache of {} entries and result cache of up to {} results", geneIdentifiers.size(), resultCacheMaxResults);
     }
 
     public PrioritiserResultSet prioritiseGenes(PrioritiserRequest prioritiserRequest){
@@ -32,12 +73,12 @@ public PrioritiserResultSet prioritiseGenes(PrioritiserRequest prioritiserReques
 
         Instant start = Instant.now();
 
-        Prioritiser<? extends PriorityResult> prioritiser = parsePrioritiser(prioritiserRequest.prioritiser(), prioritiserRequest
-                .prioritiserParams());
-        List<Gene> genes = makeGenesFromIdentifiers(prioritiserRequest.genes());
-
-        List<PriorityResult> results = runLimitAndCollectResults(prioritiser, prioritiserRequest.phenotypes(), genes, prioritiserRequest
-                .limit());
+        ResultsKey resultsKey = ResultsKey.of(prioritiserRequest);
+        List<PriorityResult> results = getOrCompute(resultsKey, () -> {
+            Prioritiser<? extends PriorityResult> prioritiser = parsePrioritiser(resultsKey.prioritiser(), resultsKey.prioritiserParams());
+            List<Gene> genes = makeGenesFromIdentifiers(resultsKey.genes());
+            return runLimitAndCollectResults(prioritiser, resultsKey.phenotypes(), genes, resultsKey.limit());
+        });
 
         Instant end = Instant.now();
         Duration duration = Duration.between(start, end);
@@ -45,6 +86,49 @@ public PrioritiserResultSet prioritiseGenes(PrioritiserRequest prioritiserReques
         return new PrioritiserResultSet(prioritiserRequest, duration.toMillis(), results);
     }
 
+    /**
+     * Returns the cached results for the key, or computes these in the calling thread. Any other requests for the same
+     * key made while the results are being computed will wait for these rather than computing their own copy. Failed
+     * computations, including those failing with an {@link Error}, are removed from the cache so that the waiting
+     * requests fail too and later requests try again.
+     */
+    private List<PriorityResult> getOrCompute(ResultsKey resultsKey, Supplier<List<PriorityResult>> resultsSupplier) {
+        CompletableFuture<List<PriorityResult>> newResults = new CompletableFuture<>();
+        CompletableFuture<List<PriorityResult>> existingResults = resultsCache.asMap().putIfAbsent(resultsKey, newResults);
+        if (existingResults != null) {
+            logger.debug("Using cached results for {}", resultsKey);
+            try {
+                return existingResults.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (e.getCause() instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            }
+        }
+        try {
+            List<PriorityResult> results = resultsSupplier.get();
+            newResults.complete(results);
+            return results;
+        } catch (Throwable e) {
+            resultsCache.asMap().remove(resultsKey, newResults);
+            newResults.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * @return the total number of results held in the cache.
+     */
+    long numCachedResults() {
+        Cache<ResultsKey, List<PriorityResult>> cache = resultsCache.synchronous();
+        cache.cleanUp();
+        return cache.policy().eviction().orElseThrow().weightedSize().orElseThrow();
+    }
+
     private Prioritiser<? extends PriorityResult> parsePrioritiser(String prioritiserName, String prioritiserParams) {
         return switch (prioritiserName) {
             case "phenix" -> priorityFactory.makePhenixPrioritiser();
@@ -62,8 +146,7 @@ private List<Gene> makeGenesFromIdentifiers(Collection<Integer> genesIds) {
         if (genesIds.isEmpty()) {
             logger.info("Gene identifiers not specified - will compare against all known genes.");
             //If not specified, we'll assume they want to use the whole genome. Should save people a lot of typing.
-            //n.b. Gene is mutable so these can't be cached and returned.
-            return allGenes();
+            return allGenes;
         }
         // This is a hack - really the Prioritiser should only work on GeneIds, but currently this isn't possible as
         // OmimPrioritiser uses some properties of Gene
@@ -72,25 +155,74 @@ private List<Gene> makeGenesFromIdentifiers(Collection<Integer> genesIds) {
                 .toList();
     }
 
-    private List<Gene> allGenes() {
-        return geneIdentifiers.values().parallelStream()
-                .map(Gene::new)
-                .toList();
-    }
-
     private GeneIdentifier unrecognisedGeneIdentifier(Integer id) {
         return GeneIdentifier.builder().geneSymbol("GENE:" + id).build();
     }
 
     @SuppressWarnings("unchecked")
     private <T extends PriorityResult> List<PriorityResult> runLimitAndCollectResults(Prioritiser<T> prioritiser, List<String> phenotypes, List<Gene> genes, int limit) {
-        Set<Integer> wantedGeneIds = genes.stream().map(Gene::entrezGeneId).collect(Collectors.toSet());
+        Set<Integer> wantedGeneIds = genes == allGenes ? allGeneIds : genes.stream().map(Gene::entrezGeneId).collect(Collectors.toSet());
 
         Stream<T> resultsStream = prioritiser.prioritise(phenotypes, genes)
-                .filter(result -> wantedGeneIds.contains(result.geneId()))
-                .sorted(Comparator.naturalOrder());
+                .filter(result -> wantedGeneIds.contains(result.geneId()));
 
-        return limit == 0 ? (List<PriorityResult>) resultsStream.toList() : (List<PriorityResult>) resultsStream.limit(limit).toList();
+        return limit == 0 ? (List<PriorityResult>) resultsStream.sorted(Comparator.naturalOrder()).toList() : resultsStream.collect(topK(limit));
     }
 
+    /**
+     * Collects the {@code k} best results in their natural order using a bounded min-heap, so that only these need to
+     * be sorted rather than all the results.
+     */
+    static <T extends PriorityResult> Collector<T, ?, List<PriorityResult>> topK(int k) {
+        Comparator<PriorityResult> worstFirst = Comparator.<PriorityResult>naturalOrder().reversed();
+        return Collector.<T, PriorityQueue<PriorityResult>, List<PriorityResult>>of(
+                () -> new PriorityQueue<>(k + 1, worstFirst),
+                (heap, result) -> offer(heap, result, k),
+                (heap, other) -> {
+                    other.forEach(result -> offer(heap, result, k));
+                    return heap;
+                },
+                heap -> {
+                    PriorityResult[] results = heap.toArray(PriorityResult[]::new);
+                    Arrays.sort(results);
+                    return List.of(results);
+                });
+    }
+
+    private static void offer(PriorityQueue<PriorityResult> heap, PriorityResult result, int k) {
+        if (heap.size() < k) {
+            heap.add(result);
+        } else if (result.compareTo(heap.peek()) < 0) {
+            // the new result ranks higher than the current worst result
+            heap.poll();
+            heap.add(result);
+        }
+    }
+
+    /**
+     * Canonical form of a {@link PrioritiserRequest} so that requests which only differ in the order of their
+     * phenotypes, genes or hiphive prioritiser parameters share the same cached results.
+     */
+    record ResultsKey(List<String> phenotypes, List<Integer> genes, String prioritiser, String prioritiserParams, int limit) {
+
+        static ResultsKey of(PrioritiserRequest prioritiserRequest) {
+            List<String> phenotypes = prioritiserRequest.phenotypes().stream().distinct().sorted().toList();
+            List<Integer> genes = prioritiserRequest.genes().stream().distinct().sorted().toList();
+            String prioritiser = switch (prioritiserRequest.prioritiser()) {
+                case "phenix", "phive" -> prioritiserRequest.prioritiser();
+                default -> "hiphive";
+            };
+            // the params are only used by hiphive
+            String prioritiserParams = prioritiser.equals("hiphive") ? sortParams(prioritiserRequest.prioritiserParams()) : "";
+            return new ResultsKey(phenotypes, genes, prioritiser, prioritiserParams, prioritiserRequest.limit());
+        }
+
+        private static String sortParams(String prioritiserParams) {
+            return Arrays.stream(prioritiserParams.split(","))
+                    .map(String::trim)
+                    .distinct()
+                    .sorted()
+                    .collect(Collectors.joining(","));
+        }
+    }
 }
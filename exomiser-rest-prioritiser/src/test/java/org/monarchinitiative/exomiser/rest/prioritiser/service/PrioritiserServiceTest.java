@@ -0,0 +1,220 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.rest.prioritiser.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.exomiser.core.model.Gene;
+import org.monarchinitiative.exomiser.core.model.GeneIdentifier;
+import org.monarchinitiative.exomiser.core.prioritisers.PhenixPriority;
+import org.monarchinitiative.exomiser.core.prioritisers.PhenixPriorityResult;
+import org.monarchinitiative.exomiser.core.prioritisers.PriorityFactory;
+import org.monarchinitiative.exomiser.core.prioritisers.PriorityResult;
+import org.monarchinitiative.exomiser.rest.prioritiser.api.PrioritiserRequest;
+import org.monarchinitiative.exomiser.rest.prioritiser.api.PrioritiserResultSet;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PrioritiserServiceTest {
+
+    private final Map<Integer, GeneIdentifier> geneIdentifiers = IntStream.rangeClosed(1, 200).boxed()
+            .collect(Collectors.toMap(id -> id, id -> GeneIdentifier.builder()
+                    .geneSymbol("GENE" + id)
+                    .geneId(String.valueOf(id))
+                    .entrezId(String.valueOf(id))
+                    .build(), (a, b) -> a, TreeMap::new));
+
+    private final AtomicInteger numPrioritiserRuns = new AtomicInteger();
+    private final PhenixPriority phenixPriority = mock(PhenixPriority.class);
+    private final PriorityFactory priorityFactory = mock(PriorityFactory.class);
+
+    private PrioritiserService instance;
+
+    @BeforeEach
+    void setUp() {
+        when(priorityFactory.makePhenixPrioritiser()).thenReturn(phenixPriority);
+        when(phenixPriority.prioritise(anyList(), anyList())).thenAnswer(invocation -> {
+            numPrioritiserRuns.incrementAndGet();
+            List<Gene> genes = invocation.getArgument(1);
+            return genes.stream().map(gene -> new PhenixPriorityResult(gene.entrezGeneId(), gene.geneSymbol(), score(gene.entrezGeneId()), 0, 0));
+        });
+        instance = new PrioritiserService(geneIdentifiers, priorityFactory, 100, 60);
+    }
+
+    // scores with plenty of ties so that the ordering also depends on the gene symbol
+    private static double score(int geneId) {
+        return (geneId * 37 % 23) / 23.0;
+    }
+
+    private PrioritiserRequest phenixRequest(List<String> phenotypes, List<Integer> genes, int limit) {
+        return PrioritiserRequest.builder()
+                .phenotypes(phenotypes)
+                .genes(genes)
+                .prioritiser("phenix")
+                .limit(limit)
+                .build();
+    }
+
+    @Test
+    void unlimitedResultsAreSortedForAllGenes() {
+        PrioritiserResultSet resultSet = instance.prioritiseGenes(phenixRequest(List.of("HP:0001156"), List.of(), 0));
+        List<PriorityResult> results = resultSet.results();
+        assertThat(results.size(), equalTo(geneIdentifiers.size()));
+        List<PriorityResult> sorted = new ArrayList<>(results);
+        Collections.sort(sorted);
+        assertThat(results, equalTo(sorted));
+    }
+
+    @Test
+    void limitedResultsAreTheTopOfTheSortedResults() {
+        List<PriorityResult> allResults = instance.prioritiseGenes(phenixRequest(List.of("HP:0001156"), List.of(), 0)).results();
+        for (int limit : List.of(1, 10, 57, 200, 500)) {
+            List<PriorityResult> limitedResults = instance.prioritiseGenes(phenixRequest(List.of("HP:0001156"), List.of(), limit)).results();
+            assertThat(limitedResults, equalTo(allResults.subList(0, Math.min(limit, allResults.size()))));
+        }
+    }
+
+    @Test
+    void topKOfParallelStream() {
+        List<PhenixPriorityResult> results = IntStream.rangeClosed(1, 10_000)
+                .mapToObj(id -> new PhenixPriorityResult(id, "GENE" + id, score(id), 0, 0))
+                .toList();
+        List<PriorityResult> expected = results.stream().sorted().limit(25).map(PriorityResult.class::cast).toList();
+        assertThat(results.parallelStream().collect(PrioritiserService.topK(25)), equalTo(expected));
+    }
+
+    @Test
+    void onlyReturnsResultsForRequestedGenes() {
+        PrioritiserResultSet resultSet = instance.prioritiseGenes(phenixRequest(List.of("HP:0001156"), List.of(3, 1, 2), 0));
+        assertThat(resultSet.results().stream().map(PriorityResult::geneId).toList(), containsInAnyOrder(1, 2, 3));
+    }
+
+    @Test
+    void equivalentRequestsUseCachedResults() {
+        PrioritiserResultSet first = instance.prioritiseGenes(phenixRequest(List.of("HP:0001156", "HP:0001363"), List.of(1, 2, 3), 10));
+        PrioritiserResultSet second = instance.prioritiseGenes(phenixRequest(List.of("HP:0001363", "HP:0001156"), List.of(3, 2, 1), 10));
+        assertThat(numPrioritiserRuns.get(), equalTo(1));
+        assertThat(second.results(), equalTo(first.results()));
+        // the original request is returned, not the canonical form
+        assertThat(second.params().phenotypes(), equalTo(List.of("HP:0001363", "HP:0001156")));
+
+        instance.prioritiseGenes(phenixRequest(List.of("HP:0001363", "HP:0001156"), List.of(3, 2, 1), 5));
+        assertThat(numPrioritiserRuns.get(), equalTo(2));
+    }
+
+    @Test
+    void resultsKeyIgnoresOrderOfHiPhiveParams() {
+        PrioritiserRequest request = PrioritiserRequest.builder().phenotypes(List.of("HP:0001156")).prioritiserParams("ppi,human").build();
+        PrioritiserRequest reordered = PrioritiserRequest.builder().phenotypes(List.of("HP:0001156")).prioritiserParams("human, ppi").build();
+        assertThat(PrioritiserService.ResultsKey.of(request), equalTo(PrioritiserService.ResultsKey.of(reordered)));
+
+        PrioritiserRequest phenix = PrioritiserRequest.builder().phenotypes(List.of("HP:0001156")).prioritiser("phenix").prioritiserParams("human").build();
+        assertThat(PrioritiserService.ResultsKey.of(phenix).prioritiserParams(), equalTo(""));
+    }
+
+    @Test
+    void failedResultsAreNotCached() {
+        doThrow(new IllegalStateException("Failed!"))
+                .doAnswer(invocation -> {
+                    List<Gene> genes = invocation.getArgument(1);
+                    return genes.stream().map(gene -> new PhenixPriorityResult(gene.entrezGeneId(), gene.geneSymbol(), 1.0, 0, 0));
+                })
+                .when(phenixPriority).prioritise(anyList(), anyList());
+        PrioritiserRequest request = phenixRequest(List.of("HP:0001156"), List.of(1), 0);
+        assertThrows(IllegalStateException.class, () -> instance.prioritiseGenes(request));
+        assertThat(instance.prioritiseGenes(request).results().size(), equalTo(1));
+    }
+
+    @Test
+    void resultsFailingWithAnErrorAreNotCached() {
+        doThrow(new OutOfMemoryError("Java heap space"))
+                .doAnswer(invocation -> {
+                    List<Gene> genes = invocation.getArgument(1);
+                    return genes.stream().map(gene -> new PhenixPriorityResult(gene.entrezGeneId(), gene.geneSymbol(), 1.0, 0, 0));
+                })
+                .when(phenixPriority).prioritise(anyList(), anyList());
+        PrioritiserRequest request = phenixRequest(List.of("HP:0001156"), List.of(1), 0);
+        assertThrows(OutOfMemoryError.class, () -> instance.prioritiseGenes(request));
+        assertThat(instance.prioritiseGenes(request).results().size(), equalTo(1));
+    }
+
+    @Test
+    void cacheIsBoundedByNumberOfResults() {
+        instance = new PrioritiserService(geneIdentifiers, priorityFactory, 250, 60);
+        instance.prioritiseGenes(phenixRequest(List.of("HP:0001156"), List.of(), 0));
+        assertThat(instance.numCachedResults(), equalTo(200L));
+        instance.prioritiseGenes(phenixRequest(List.of("HP:0001156"), List.of(), 10));
+        assertThat(instance.numCachedResults(), equalTo(210L));
+        // another unlimited query can't fit alongside the first, so results are evicted to make room
+        instance.prioritiseGenes(phenixRequest(List.of("HP:0001363"), List.of(), 0));
+        assertThat(instance.numCachedResults(), lessThanOrEqualTo(250L));
+    }
+
+    @Test
+    void concurrentIdenticalRequestsShareOneComputation() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            numPrioritiserRuns.incrementAndGet();
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            List<Gene> genes = invocation.getArgument(1);
+            return genes.stream().map(gene -> new PhenixPriorityResult(gene.entrezGeneId(), gene.geneSymbol(), score(gene.entrezGeneId()), 0, 0));
+        }).when(phenixPriority).prioritise(anyList(), anyList());
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            PrioritiserRequest request = phenixRequest(List.of("HP:0001156"), List.of(), 20);
+            Future<PrioritiserResultSet> first = executorService.submit(() -> instance.prioritiseGenes(request));
+            assertThat(started.await(10, TimeUnit.SECONDS), is(true));
+            List<Future<PrioritiserResultSet>> others = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                others.add(executorService.submit(() -> instance.prioritiseGenes(request)));
+            }
+            Thread.sleep(100);
+            assertThat(others.stream().anyMatch(Future::isDone), is(false));
+            release.countDown();
+
+            List<PriorityResult> expected = first.get(10, TimeUnit.SECONDS).results();
+            assertThat(expected.size(), equalTo(20));
+            for (Future<PrioritiserResultSet> other : others) {
+                assertThat(other.get(10, TimeUnit.SECONDS).results(), equalTo(expected));
+            }
+            assertThat(numPrioritiserRuns.get(), equalTo(1));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+}
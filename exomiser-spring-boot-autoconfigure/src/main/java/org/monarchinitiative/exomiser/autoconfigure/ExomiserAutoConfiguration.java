@@ -24,9 +24,12 @@
 import org.monarchinitiative.exomiser.autoconfigure.phenotype.PrioritiserAutoConfiguration;
 import org.monarchinitiative.exomiser.core.Exomiser;
 import org.monarchinitiative.exomiser.core.analysis.AnalysisFactory;
+import org.monarchinitiative.exomiser.core.analysis.score.BootstrappedPopulationCache;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Import;
 
@@ -44,4 +47,14 @@
 @ComponentScan(basePackageClasses = {Exomiser.class}, basePackages = {"org.monarchinitiative.exomiser.core.analysis"})
 public class ExomiserAutoConfiguration {
 
+    /**
+     * Cache of the bootstrapped p-value populations for the {@link AnalysisFactory}, keyed on the phenotype data version.
+     * The size can be set using the exomiser.phenotype.pvalue-cache-size property, with 0 disabling the cache.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public BootstrappedPopulationCache bootstrappedPopulationCache(ExomiserProperties exomiserProperties) {
+        var phenotypeProperties = exomiserProperties.getPhenotype();
+        return new BootstrappedPopulationCache(phenotypeProperties.getPvalueCacheSize(), phenotypeProperties.getDataVersion());
+    }
 }
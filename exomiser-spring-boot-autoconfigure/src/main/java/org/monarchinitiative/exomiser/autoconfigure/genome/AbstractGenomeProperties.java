@@ -39,6 +39,12 @@ public abstract class AbstractGenomeProperties implements GenomeProperties {
 
     private String clinVarDataVersion = "";
     private boolean useClinVarWhiteList = true;
+    // Loads all the ClinVar records into a sorted in-memory index for the ACMG PS1/PM5/PM1 neighbourhood searches.
+    // Faster than searching the ClinVar MVStore for each variant, but requires a few hundred MB of additional heap.
+    private boolean useClinVarNeighbourhoodIndex = false;
+    // Loads the SV_FREQ and SV_PATH tables into an in-memory interval index for the structural variant frequency and
+    // pathogenicity look-ups, rather than querying the genome database for each structural variant.
+    private boolean useSvIntervalIndex = false;
 
     // Optional tabix data file containing whitelisted variants
     // This overrides the variant effect, frequency and pathogenicity filters
@@ -99,6 +105,24 @@ public void setUseClinVarWhiteList(boolean useClinVarWhiteList) {
         this.useClinVarWhiteList = useClinVarWhiteList;
     }
 
+    @Override
+    public boolean useClinVarNeighbourhoodIndex() {
+        return useClinVarNeighbourhoodIndex;
+    }
+
+    public void setUseClinVarNeighbourhoodIndex(boolean useClinVarNeighbourhoodIndex) {
+        this.useClinVarNeighbourhoodIndex = useClinVarNeighbourhoodIndex;
+    }
+
+    @Override
+    public boolean useSvIntervalIndex() {
+        return useSvIntervalIndex;
+    }
+
+    public void setUseSvIntervalIndex(boolean useSvIntervalIndex) {
+        this.useSvIntervalIndex = useSvIntervalIndex;
+    }
+
     public TranscriptSource getTranscriptSource() {
         return transcriptSource;
     }
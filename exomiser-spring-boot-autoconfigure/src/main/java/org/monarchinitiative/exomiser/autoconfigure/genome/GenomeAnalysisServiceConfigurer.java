@@ -30,6 +30,7 @@
 import org.slf4j.LoggerFactory;
 
 import javax.sql.DataSource;
+import java.nio.file.Files;
 import java.nio.file.Path;
 
 /**
@@ -45,6 +46,7 @@ public abstract class GenomeAnalysisServiceConfigurer implements GenomeAnalysisS
     private static final Logger logger = LoggerFactory.getLogger(GenomeAnalysisServiceConfigurer.class);
 
     protected final GenomeProperties genomeProperties;
+    protected final GenomeDataResolver genomeDataResolver;
     protected final GenomeDataSourceLoader genomeDataSourceLoader;
 
     protected final DataSource genomeDataSource;
@@ -57,7 +59,7 @@ protected GenomeAnalysisServiceConfigurer(GenomeProperties genomeProperties, Pat
         this.genomeProperties = genomeProperties;
         logger.debug("Loading data sources for {} {} {}", genomeProperties.getDataVersion(), genomeProperties.getAssembly(), genomeProperties
                 .getTranscriptSource());
-        GenomeDataResolver genomeDataResolver = new GenomeDataResolver(genomeProperties, exomiserDataDirectory);
+        this.genomeDataResolver = new GenomeDataResolver(genomeProperties, exomiserDataDirectory);
         this.genomeDataSourceLoader = new GenomeDataSourceLoader(genomeProperties, genomeDataResolver);
 
         this.genomeDataSource = genomeProperties.genomeDataSource();
@@ -75,7 +77,7 @@ protected VariantAnnotator buildVariantAnnotator() {
     //This method is calling the public interface of the concrete implementation so that the caching works on the DAOs
     protected VariantDataService buildVariantDataService() {
         AllelePropertiesDaoAdapter allelePropertiesDaoAdapter = new AllelePropertiesDaoAdapter(allelePropertiesDao());
-        ClinVarDao clinVarDao = new ClinVarDaoMvStore(clinVarMvStore);
+        ClinVarDao clinVarDao = new ClinVarDaoMvStore(clinVarMvStore, genomeProperties.useClinVarNeighbourhoodIndex());
         return VariantDataServiceImpl.builder()
                 .variantWhiteList(variantWhiteList())
                 .clinVarDao(clinVarDao)
@@ -94,7 +96,33 @@ protected GenomeDataService buildGenomeDataService() {
         RegulatoryFeatureDao regulatoryFeatureDao = new RegulatoryFeatureDao(genomeDataSource);
         TadDao tadDao = new TadDao(genomeDataSource);
         GeneFactory geneFactory = new GeneFactory(jannovarData);
-        return new GenomeDataServiceImpl(geneFactory, regulatoryFeatureDao, tadDao);
+        return new GenomeDataServiceImpl(geneFactory, regulatoryFeatureDao, tadDao, genomeDataResolver.getGenomicRegionsSnapshotPath());
+    }
+
+    protected FrequencyDao buildSvFrequencyDao() {
+        if (genomeProperties.useSvIntervalIndex()) {
+            Path indexPath = genomeDataResolver.getSvFrequencyIndexPath();
+            if (Files.exists(indexPath)) {
+                logger.debug("Loading SV frequency index from {}", indexPath);
+                return new SvFrequencyDao(SvIntervalIndex.read(indexPath));
+            }
+            logger.debug("Loading SV frequency index from database");
+            return new SvFrequencyDao(SvFrequencyDao.loadIntervalIndex(genomeDataSource));
+        }
+        return new SvFrequencyDao(genomeDataSource);
+    }
+
+    protected PathogenicityDao buildSvPathogenicityDao() {
+        if (genomeProperties.useSvIntervalIndex()) {
+            Path indexPath = genomeDataResolver.getSvPathogenicityIndexPath();
+            if (Files.exists(indexPath)) {
+                logger.debug("Loading SV pathogenicity index from {}", indexPath);
+                return new SvPathogenicityDao(SvIntervalIndex.read(indexPath));
+            }
+            logger.debug("Loading SV pathogenicity index from database");
+            return new SvPathogenicityDao(SvPathogenicityDao.loadIntervalIndex(genomeDataSource));
+        }
+        return new SvPathogenicityDao(genomeDataSource);
     }
 
     // The protected methods here are exposed so that the concrete sub-classes can call these as a bean method in order that
@@ -107,6 +107,24 @@ public Path getClinVarMvStorePath() {
         return resolveAbsoluteResourcePath(mvStoreFileName);
     }
 
+    public Path getGenomicRegionsSnapshotPath() {
+        //e.g 2402_hg38_genomic_regions.bin.gz
+        String snapshotFileName = String.format("%s_genomic_regions.bin.gz", versionAssemblyPrefix);
+        return assemblyDataDirectory.resolve(snapshotFileName);
+    }
+
+    public Path getSvFrequencyIndexPath() {
+        //e.g 2402_hg38_sv_freq.bin.gz
+        String indexFileName = String.format("%s_sv_freq.bin.gz", versionAssemblyPrefix);
+        return assemblyDataDirectory.resolve(indexFileName);
+    }
+
+    public Path getSvPathogenicityIndexPath() {
+        //e.g 2402_hg38_sv_path.bin.gz
+        String indexFileName = String.format("%s_sv_path.bin.gz", versionAssemblyPrefix);
+        return assemblyDataDirectory.resolve(indexFileName);
+    }
+
     public Path getGenomeDbPath() {
         //omit the .h2.db extensions
         String dbFileName = String.format("%s_genome", versionAssemblyPrefix);
@@ -59,6 +59,14 @@ interface GenomeProperties {
 
     void setUseClinVarWhiteList(boolean useClinVarWhiteList);
 
+    boolean useClinVarNeighbourhoodIndex();
+
+    void setUseClinVarNeighbourhoodIndex(boolean useClinVarNeighbourhoodIndex);
+
+    boolean useSvIntervalIndex();
+
+    void setUseSvIntervalIndex(boolean useSvIntervalIndex);
+
     HikariDataSource genomeDataSource();
 
     //Optional tabix variant data
@@ -146,12 +146,12 @@ public PathogenicityDao testPathScoreDao() {
     @Bean("hg19svFrequencyDao")
     @Override
     public FrequencyDao svFrequencyDao() {
-        return new SvFrequencyDao(genomeDataSource);
+        return buildSvFrequencyDao();
     }
 
     @Bean("hg19svPathogenicityDao")
     @Override
     public PathogenicityDao svPathogenicityDao() {
-        return new SvPathogenicityDao(genomeDataSource);
+        return buildSvPathogenicityDao();
     }
 }
@@ -146,12 +146,12 @@ public PathogenicityDao testPathScoreDao() {
     @Bean("hg38svFrequencyDao")
     @Override
     public FrequencyDao svFrequencyDao() {
-        return new SvFrequencyDao(genomeDataSource);
+        return buildSvFrequencyDao();
     }
 
     @Bean("hg38svPathogenicityDao")
     @Override
     public PathogenicityDao svPathogenicityDao() {
-        return new SvPathogenicityDao(genomeDataSource);
+        return buildSvPathogenicityDao();
     }
 }
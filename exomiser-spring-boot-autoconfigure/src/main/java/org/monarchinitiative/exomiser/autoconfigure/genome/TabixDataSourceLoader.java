@@ -20,10 +20,9 @@
 
 package org.monarchinitiative.exomiser.autoconfigure.genome;
 
-import htsjdk.tribble.readers.TabixReader;
 import org.monarchinitiative.exomiser.autoconfigure.ExomiserAutoConfigurationException;
 import org.monarchinitiative.exomiser.core.genome.dao.TabixDataSource;
-import org.monarchinitiative.exomiser.core.genome.dao.TabixReaderAdaptor;
+import org.monarchinitiative.exomiser.core.genome.dao.ThreadLocalTabixDataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,14 +40,16 @@ private TabixDataSourceLoader() {
         //uninstantiable - static helper class.
     }
 
+    /**
+     * Loads a thread-safe {@link TabixDataSource} for the given file. Each thread querying the data source will use its
+     * own reader so that concurrent queries against the same file do not block each other.
+     */
     public static TabixDataSource load(Path pathToTabixGzFile) {
-        TabixReader tabixReader;
         try {
             logger.debug("Loading TabixDataSource from {}", pathToTabixGzFile);
-            tabixReader = new TabixReader(pathToTabixGzFile.toAbsolutePath().toString());
+            return new ThreadLocalTabixDataSource(pathToTabixGzFile);
         } catch (IOException e) {
             throw new ExomiserAutoConfigurationException("Failed to load/find file " + pathToTabixGzFile + ". Please check exomiser properties file points to a valid tabix .gz file.", e);
         }
-        return new TabixReaderAdaptor(tabixReader);
     }
 }
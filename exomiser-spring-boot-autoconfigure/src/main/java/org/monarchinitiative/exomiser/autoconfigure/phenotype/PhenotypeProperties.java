@@ -61,6 +61,12 @@ public HikariDataSource phenotypeDataSource(DataSourceProperties phenotypeDataSo
     private String randomWalkIndexFileName = "rw_string_9_05_id2index.gz";
     private boolean randomWalkPreload = false;
 
+    //HP-HP, HP-MP and HP-ZP mappings tables
+    private boolean preloadPhenotypeMappings = false;
+
+    //number of bootstrapped combined score populations (~4MB each) used for the p-values to keep for re-use
+    private int pvalueCacheSize = 16;
+
     //Phenix data
     private String phenixDataDir = "phenix";
     private String hpoFileName = "hp.obo";
@@ -106,6 +112,22 @@ public void setRandomWalkPreload(boolean randomWalkPreload) {
         this.randomWalkPreload = randomWalkPreload;
     }
 
+    public boolean isPreloadPhenotypeMappings() {
+        return preloadPhenotypeMappings;
+    }
+
+    public void setPreloadPhenotypeMappings(boolean preloadPhenotypeMappings) {
+        this.preloadPhenotypeMappings = preloadPhenotypeMappings;
+    }
+
+    public int getPvalueCacheSize() {
+        return pvalueCacheSize;
+    }
+
+    public void setPvalueCacheSize(int pvalueCacheSize) {
+        this.pvalueCacheSize = pvalueCacheSize;
+    }
+
     public String getPhenixDataDir() {
         return phenixDataDir;
     }
@@ -136,6 +158,7 @@ public String toString() {
                 "dataVersion='" + dataVersion + '\'' +
                 ", randomWalkFileName='" + randomWalkFileName + '\'' +
                 ", randomWalkIndexFileName='" + randomWalkIndexFileName + '\'' +
+                ", pvalueCacheSize=" + pvalueCacheSize +
                 ", phenixDataDir='" + phenixDataDir + '\'' +
                 ", hpoFileName='" + hpoFileName + '\'' +
                 ", hpoAnnotationFile='" + hpoAnnotationFile + '\'' +
@@ -22,6 +22,10 @@
 
 import org.monarchinitiative.exomiser.autoconfigure.DataDirectoryAutoConfiguration;
 import org.monarchinitiative.exomiser.autoconfigure.UndefinedDataDirectoryException;
+import org.monarchinitiative.exomiser.core.phenotype.dao.HumanPhenotypeOntologyDao;
+import org.monarchinitiative.exomiser.core.phenotype.dao.MousePhenotypeOntologyDao;
+import org.monarchinitiative.exomiser.core.phenotype.dao.PhenotypeMappingTables;
+import org.monarchinitiative.exomiser.core.phenotype.dao.ZebraFishPhenotypeOntologyDao;
 import org.monarchinitiative.exomiser.core.prioritisers.PriorityFactory;
 import org.monarchinitiative.exomiser.core.prioritisers.util.DataMatrix;
 import org.monarchinitiative.exomiser.core.prioritisers.util.DataMatrixIO;
@@ -166,6 +170,10 @@ public DataMatrix randomWalkMatrix() {
             Path randomWalkIndexFilePath = phenotypeDataDirectory().resolve(randomWalkIndexFileNameValue);
             return DataMatrixIO.loadInMemoryDataMatrixFromFile(randomWalkFilePath.toString(), randomWalkIndexFilePath.toString(), true);
         }
+        if (randomWalkFileNameValue.endsWith(".f32")) {
+            logger.debug("Using memory-mapped random-walk matrix from {}", randomWalkFilePath);
+            return DataMatrixIO.loadMappedDataMatrix(randomWalkFilePath);
+        }
         if (phenotypeProperties.isRandomWalkPreload()) {
             logger.info("Pre-loading in-memory random-walk matrix from {}", randomWalkFilePath);
             return DataMatrixIO.loadInMemoryDataMatrix(randomWalkFilePath);
@@ -174,4 +182,18 @@ public DataMatrix randomWalkMatrix() {
         return DataMatrixIO.loadOffHeapDataMatrix(randomWalkFilePath);
     }
 
+    /**
+     * Loads the HP-HP, HP-MP and HP-ZP mappings tables into memory so that the phenotype matches for each query term
+     * are not queried from the database. This increases the startup time and memory use, so is only worth doing
+     * for long-running services. The tables are read from and written to snapshot files in the phenotype data
+     * directory for a faster restart.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "exomiser.phenotype.preload-phenotype-mappings", havingValue = "true")
+    public PhenotypeMappingTables phenotypeMappingTables(HumanPhenotypeOntologyDao hpoDao, MousePhenotypeOntologyDao mpoDao, ZebraFishPhenotypeOntologyDao zpoDao) {
+        logger.info("Pre-loading phenotype mappings tables");
+        return PhenotypeMappingTables.load(hpoDao, mpoDao, zpoDao, phenotypeDataDirectory());
+    }
+
 }
@@ -169,4 +169,26 @@ void testGetGenomeDbPath() {
         assertThat(instance.getGenomeDbPath(), equalTo(BUILD_DATA_PATH.resolve(BUILD_VERSION + "_genome")
                 .toAbsolutePath()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetGenomicRegionsSnapshotPath() {
+        GenomeProperties genomeProperties = new Hg19GenomeProperties();
+        genomeProperties.setDataVersion("1710");
+
+        GenomeDataResolver instance = new GenomeDataResolver(genomeProperties, exomiserDataDirectory);
+        assertThat(instance.getGenomicRegionsSnapshotPath(), equalTo(BUILD_DATA_PATH.resolve(BUILD_VERSION + "_genomic_regions.bin.gz")
+                .toAbsolutePath()));
+    }
+
+    @Test
+    void testGetSvIndexPaths() {
+        GenomeProperties genomeProperties = new Hg19GenomeProperties();
+        genomeProperties.setDataVersion("1710");
+
+        GenomeDataResolver instance = new GenomeDataResolver(genomeProperties, exomiserDataDirectory);
+        assertThat(instance.getSvFrequencyIndexPath(), equalTo(BUILD_DATA_PATH.resolve(BUILD_VERSION + "_sv_freq.bin.gz")
+                .toAbsolutePath()));
+        assertThat(instance.getSvPathogenicityIndexPath(), equalTo(BUILD_DATA_PATH.resolve(BUILD_VERSION + "_sv_path.bin.gz")
+                .toAbsolutePath()));
+    }
+}
@@ -23,6 +23,7 @@
 import org.junit.jupiter.api.Test;
 import org.monarchinitiative.exomiser.autoconfigure.AbstractAutoConfigurationTest;
 import org.monarchinitiative.exomiser.autoconfigure.DataDirectoryAutoConfiguration;
+import org.monarchinitiative.exomiser.core.phenotype.dao.PhenotypeMappingTables;
 import org.monarchinitiative.exomiser.core.prioritisers.util.DataMatrix;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
@@ -156,6 +157,22 @@ public void randomWalkMatrixCanBeOverriden() {
         assertThat(dataMatrix, not(nullValue()));
     }
 
+    @Test
+    public void phenotypeMappingTablesNotLoadedByDefault() {
+        load(EmptyConfiguration.class, TEST_DATA_ENV, DATA_VERSION);
+        assertThrows(NoSuchBeanDefinitionException.class, () -> context.getBean(PhenotypeMappingTables.class));
+    }
+
+    @Test
+    public void phenotypeMappingTablesPreload() {
+        load(EmptyConfiguration.class, TEST_DATA_ENV, DATA_VERSION, "exomiser.phenotype.preload-phenotype-mappings=true");
+        PhenotypeMappingTables phenotypeMappingTables = context.getBean(PhenotypeMappingTables.class);
+        // the test database has no mappings
+        assertThat(phenotypeMappingTables.hpHpMappings().size(), equalTo(0));
+        assertThat(phenotypeMappingTables.hpMpMappings().size(), equalTo(0));
+        assertThat(phenotypeMappingTables.hpZpMappings().size(), equalTo(0));
+    }
+
     @Configuration
     @ImportAutoConfiguration(PrioritiserAutoConfiguration.class)
     protected static class EmptyConfiguration {
@@ -0,0 +1,61 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.web.config;
+
+import org.monarchinitiative.exomiser.core.Exomiser;
+import org.monarchinitiative.exomiser.web.controller.ThymeleafResultsPageRenderer;
+import org.monarchinitiative.exomiser.web.job.AnalysisJobService;
+import org.monarchinitiative.exomiser.web.job.ResultsPageRenderer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.thymeleaf.templateresolver.ITemplateResolver;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+@Configuration
+public class JobConfig {
+
+    @Autowired
+    private Environment env;
+
+    @Bean
+    public AnalysisJobService analysisJobService(Exomiser exomiser, ResultsPageRenderer resultsPageRenderer) {
+        int maxConcurrentJobs = env.getProperty("exomiser.web.max-concurrent-jobs", Integer.class, 2);
+        int maxQueuedJobs = env.getProperty("exomiser.web.max-queued-jobs", Integer.class, 10);
+        Duration jobRetention = Duration.ofHours(env.getProperty("exomiser.web.job-retention-hours", Integer.class, 24));
+        Path resultsDirectory = Path.of(env.getProperty("exomiser.web.results-directory", Path.of(System.getProperty("java.io.tmpdir"), "exomiser-web-results").toString()));
+        return new AnalysisJobService(exomiser, maxConcurrentJobs, maxQueuedJobs, jobRetention, resultsDirectory, resultsPageRenderer);
+    }
+
+    @Bean
+    public ResultsPageRenderer resultsPageRenderer(Collection<ITemplateResolver> templateResolvers, Integer maxGenes) {
+        String contextPath = env.getProperty("server.servlet.context-path", "");
+        return new ThymeleafResultsPageRenderer(templateResolvers, contextPath, maxGenes);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.monarchinitiative.exomiser.web.controller;
+
+import org.monarchinitiative.exomiser.core.writers.OutputFormat;
+import org.monarchinitiative.exomiser.web.job.AnalysisJob;
+import org.monarchinitiative.exomiser.web.job.AnalysisJobService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Provides the status and results of the analysis jobs submitted via the {@link SubmitJobController}.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+@Controller
+public class JobController {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobController.class);
+
+    static final String JOB_PAGE = "job";
+
+    @Autowired
+    private AnalysisJobService analysisJobService;
+
+    /**
+     * Returns the results page for a completed job, otherwise a page showing the status of the job which will refresh
+     * until the job has finished.
+     */
+    @GetMapping(value = "jobs/{jobId}")
+    public String job(@PathVariable UUID jobId, Model model) {
+        AnalysisJob job = getJobOrNotFound(jobId);
+        model.addAttribute("job", job);
+        if (job.status() == AnalysisJob.Status.COMPLETED) {
+            if (analysisJobService.getResultsPage(jobId).isPresent()) {
+                return "forward:/jobs/" + jobId + "/results";
+            }
+            // the results page is missing, but any remaining results files can still be downloaded
+            model.addAttribute("resultsExpired", true);
+        }
+        return JOB_PAGE;
+    }
+
+    /**
+     * Returns the results page which was rendered when the job completed.
+     */
+    @GetMapping(value = "jobs/{jobId}/results", produces = MediaType.TEXT_HTML_VALUE)
+    public ResponseEntity<Resource> resultsPage(@PathVariable UUID jobId) {
+        Path resultsPage = analysisJobService.getResultsPage(jobId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No results page found for job " + jobId));
+        logger.info("Returning results of job {} to user", jobId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_HTML)
+                .body(new FileSystemResource(resultsPage));
+    }
+
+    @ResponseBody
+    @GetMapping(value = "jobs/{jobId}/status", produces = MediaType.APPLICATION_JSON_VALUE)
+    public AnalysisJob status(@PathVariable UUID jobId) {
+        return getJobOrNotFound(jobId);
+    }
+
+    @GetMapping(value = "jobs/{jobId}/results/{format}")
+    public ResponseEntity<Resource> resultsFile(@PathVariable UUID jobId, @PathVariable String format) {
+        OutputFormat outputFormat = parseOutputFormat(format);
+        Path resultsFile = analysisJobService.getResultsFile(jobId, outputFormat)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No " + format + " results found for job " + jobId));
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(resultsFile.getFileName().toString()).build().toString())
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(new FileSystemResource(resultsFile));
+    }
+
+    private static OutputFormat parseOutputFormat(String format) {
+        for (OutputFormat outputFormat : AnalysisJobService.RESULTS_FORMATS) {
+            if (outputFormat.name().equalsIgnoreCase(format) || outputFormat.fileExtension().equalsIgnoreCase(format)) {
+                return outputFormat;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown results format " + format);
+    }
+
+    private AnalysisJob getJobOrNotFound(UUID jobId) {
+        return analysisJobService.getJob(jobId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No job found with id " + jobId));
+    }
+}
@@ -19,27 +19,16 @@
  */
 package org.monarchinitiative.exomiser.web.controller;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
 import com.google.common.collect.ImmutableSortedSet;
 import com.google.common.collect.Sets;
-import com.google.protobuf.InvalidProtocolBufferException;
-import com.google.protobuf.util.JsonFormat;
 import de.charite.compbio.jannovar.annotation.VariantEffect;
 import de.charite.compbio.jannovar.mendel.ModeOfInheritance;
-import org.monarchinitiative.exomiser.api.v1.AnalysisProto;
-import org.monarchinitiative.exomiser.api.v1.JobProto;
-import org.monarchinitiative.exomiser.api.v1.SampleProto;
 import org.monarchinitiative.exomiser.core.Exomiser;
 import org.monarchinitiative.exomiser.core.analysis.*;
 import org.monarchinitiative.exomiser.core.analysis.sample.Sample;
-import org.monarchinitiative.exomiser.core.analysis.sample.SampleProtoConverter;
 import org.monarchinitiative.exomiser.core.analysis.InheritanceModeOptions;
 import org.monarchinitiative.exomiser.core.pedigree.PedFiles;
 import org.monarchinitiative.exomiser.core.pedigree.Pedigree;
-import org.monarchinitiative.exomiser.core.filters.FilterReport;
 import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
 import org.monarchinitiative.exomiser.core.genome.VcfFiles;
 import org.monarchinitiative.exomiser.core.model.*;
@@ -47,16 +36,20 @@
 import org.monarchinitiative.exomiser.core.model.pathogenicity.PathogenicitySource;
 import org.monarchinitiative.exomiser.core.prioritisers.PriorityType;
 import org.monarchinitiative.exomiser.core.prioritisers.service.PriorityService;
-import org.monarchinitiative.exomiser.core.writers.*;
+import org.monarchinitiative.exomiser.web.job.AnalysisJob;
+import org.monarchinitiative.exomiser.web.job.AnalysisJobService;
+import org.monarchinitiative.exomiser.web.job.JobQueueFullException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.annotation.Nullable;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -88,14 +81,14 @@ public class SubmitJobController {
     @Autowired
     private Integer maxVariants;
     @Autowired
-    private Integer maxGenes;
-    @Autowired
     private boolean clinicalInstance;
 
     @Autowired
     private Exomiser exomiser;
     @Autowired
     private PriorityService priorityService;
+    @Autowired
+    private AnalysisJobService analysisJobService;
 
     @GetMapping(value = SUBMIT_PAGE)
     public String submit() {
@@ -119,10 +112,9 @@ public String submit(
             @RequestParam(value = "genes-to-keep", required = false) List<String> genesToFilter,
             @RequestParam("prioritiser") String prioritiser,
             HttpSession session,
+            HttpServletResponse response,
             Model model) {
 
-        UUID analysisId = UUID.randomUUID();
-        logger.info("Analysis id: {}", analysisId);
         Path vcfPath = createVcfPathFromMultipartFile(vcfFile);
         Path pedPath = createPedPathFromMultipartFile(pedFile);
         //require a mimimum input of a VCF file and a set of HPO terms - these can come from the diseaseId
@@ -144,7 +136,7 @@ public String submit(
         logger.info("Using disease: {}", diseaseId);
         logger.info("Using phenotypes: {}", phenotypes);
 
-        long numVariantsInSample = VcfFiles.readVariantContexts(vcfPath).count();
+        long numVariantsInSample = VcfFiles.countVariantRecords(vcfPath);
         if (numVariantsInSample > maxVariants) {
             logger.info("{} contains {} variants - this is more than the allowed maximum of {}."
                     + "Returning user to submit page", vcfPath, numVariantsInSample, maxVariants);
@@ -157,12 +149,19 @@ public String submit(
 
         Sample sample = buildSample(vcfPath, pedPath, proband, phenotypes);
         Analysis analysis = buildAnalysis(geneticInterval, minimumQuality, removeDbSnp, keepOffTarget, keepNonPathogenic, modeOfInheritance, frequency, makeGenesToKeep(genesToFilter), prioritiser);
-        AnalysisResults analysisResults = exomiser.run(sample, analysis);
-
-        buildResultsModel(model, analysis, analysisResults);
-        logger.info("Returning {} results to user", vcfPath.getFileName());
-        cleanUpSampleFiles(vcfPath, pedPath);
-        return "results";
+        // the analysis is run asynchronously so as not to tie up the servlet thread. The user is redirected to the job
+        // page which will show the results once these are available.
+        try {
+            AnalysisJob job = analysisJobService.submit(sample, analysis, () -> cleanUpSampleFiles(vcfPath, pedPath));
+            logger.info("Submitted {} as analysis job {}", vcfPath.getFileName(), job.id());
+            return "redirect:/jobs/" + job.id();
+        } catch (JobQueueFullException e) {
+            logger.info("{} - returning user to submit page", e.getMessage());
+            cleanUpSampleFiles(vcfPath, pedPath);
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            model.addAttribute("queueFull", true);
+            return JobController.JOB_PAGE;
+        }
     }
 
     // TODO: use
@@ -258,113 +257,6 @@ else if (priorityType == PHIVE_PRIORITY) {
         }
     }
 
-    private void writeResultsToFile(UUID analysisId, AnalysisResults analysisResults) {
-        Path outputDir = Paths.get(System.getProperty("java.io.tmpdir"));
-        try {
-            Files.createDirectory(outputDir);
-        } catch (IOException e) {
-            logger.error("Unable to create directory {}", outputDir, e);
-        }
-        logger.info("Output dir: {}", outputDir);
-        OutputSettings outputSettings = OutputSettings.builder()
-                .numberOfGenesToShow(20)
-                .outputDirectory(outputDir)
-                .outputFileName(analysisId.toString())
-                //OutputFormat.HTML causes issues due to thymeleaf templating - don't use!
-                .outputFormats(EnumSet.of(OutputFormat.TSV_GENE, OutputFormat.TSV_VARIANT, OutputFormat.VCF, OutputFormat.JSON))
-                .build();
-
-        AnalysisResultsWriter.writeToFile(analysisResults, outputSettings);
-    }
-
-    private void buildResultsModel(Model model, Analysis analysis, AnalysisResults analysisResults) {
-        Sample sample = analysisResults.sample();
-        SampleProto.Sample protoSample = new SampleProtoConverter().toProto(sample);
-        AnalysisProto.Analysis protoAnalysis = new AnalysisProtoConverter().toProto(analysis);
-
-        JobProto.Job protoJob = JobProto.Job.newBuilder()
-                .setSample(protoSample)
-                .setAnalysis(protoAnalysis)
-                .build();
-
-        try {
-            String jsonString = JsonFormat.printer().print(protoJob);
-            JsonNode jsonNodeTree = new ObjectMapper().readTree(jsonString);
-            model.addAttribute("settings", new YAMLMapper().writeValueAsString(jsonNodeTree));
-        } catch (InvalidProtocolBufferException | JsonProcessingException e) {
-            logger.error("Unable to process JSON settings", e);
-        }
-
-        //make the user aware of any unanalysed variants
-        List<VariantEvaluation> unAnalysedVarEvals = analysisResults.unAnnotatedVariantEvaluations();
-        model.addAttribute("unAnalysedVarEvals", unAnalysedVarEvals);
-
-        //write out the filter reports section
-        List<FilterReport> filterReports = ResultsWriterUtils.makeFilterReports(analysis, analysisResults);
-        model.addAttribute("filterReports", filterReports);
-
-        List<String> sampleNames = analysisResults.sampleNames();
-        String sampleName = "Anonymous";
-        if (!sampleNames.isEmpty()) {
-            sampleName = sampleNames.get(0);
-        }
-        model.addAttribute("sampleName", sampleName);
-        model.addAttribute("sampleNames", sampleNames);
-
-        //write out the variant type counters
-        List<VariantEvaluation> variantEvaluations = analysisResults.variantEvaluations();
-        List<VariantEffectCount> variantEffectCounters = ResultsWriterUtils.makeVariantEffectCounters(sampleNames, variantEvaluations);
-        model.addAttribute("variantTypeCounters", variantEffectCounters);
-
-        List<Gene> sampleGenes = analysisResults.genes();
-        model.addAttribute("geneResultsTruncated", false);
-        int numCandidateGenes = numGenesPassedFilters(sampleGenes);
-        if (numCandidateGenes > maxGenes) {
-            logger.info("Truncating number of genes returned to {} ", maxGenes);
-            model.addAttribute("geneResultsTruncated", true);
-            model.addAttribute("numCandidateGenes", numCandidateGenes);
-            model.addAttribute("totalGenes", sampleGenes.size());
-        }
-
-        List<Gene> passedGenes = ResultsWriterUtils.getMaxPassedGenes(sampleGenes, maxGenes);
-        model.addAttribute("genes", passedGenes);
-//this will change the links to the relevant resource.
-        // For the time being we're going to maintain the original behaviour (UCSC)
-        // Need to wire it up through the system or it might be easiest to autodetect this from the transcripts of passed variants.
-        // One of UCSC, ENSEMBL or REFSEQ
-        var transcriptDb = analysisResults.contributingVariants().stream()
-                .flatMap(variantEvaluation -> variantEvaluation.transcriptAnnotations().stream())
-                .findFirst()
-                .map(TranscriptAnnotation::accession)
-                .map(value -> {
-                    if (value.startsWith("ENST")) {
-                        return "ENSEMBL";
-                    } else if (value.startsWith("uc")) {
-                        return "UCSC";
-                    } else if (value.startsWith("NM") || value.startsWith("NR") || value.startsWith("XM") || value.startsWith("XR")) {
-                        return "REFSEQ";
-                    }
-                    return "";
-                })
-                .orElse("ENSEMBL");
-        model.addAttribute("transcriptDb", transcriptDb);
-        model.addAttribute("ensemblAssembly", sample.genomeAssembly() == GenomeAssembly.HG19 ? "grch37" : "www");
-        model.addAttribute("ucscAssembly", sample.genomeAssembly() == GenomeAssembly.HG19 ? "hg19" : "hg38");
-        model.addAttribute("variantRankComparator", new VariantEvaluation.RankBasedComparator());
-        model.addAttribute("pValueFormatter", new HtmlResultsWriter.ScientificDecimalFormat("0.0E0"));
-        model.addAttribute("conflictingInterpretationsFormatter", new HtmlResultsWriter.ConflictingInterpretationsFormatter());
-    }
-
-    private int numGenesPassedFilters(List<Gene> genes) {
-        int numCandidateGenes = 0;
-        for (Gene gene : genes) {
-            if (gene.passedFilters()) {
-                numCandidateGenes++;
-            }
-        }
-        return numCandidateGenes;
-    }
-
     //This throws 'java.nio.file.FileSystemException: The process cannot access the file because it is being used by another process.'
     // when on Windows as it seems tha Tomcat is locking the files/not setting the correct owner permissions.
     private void cleanUpSampleFiles(Path vcfPath, Path pedPath) {
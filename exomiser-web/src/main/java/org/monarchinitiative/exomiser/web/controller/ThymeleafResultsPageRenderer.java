@@ -0,0 +1,200 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.web.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.util.JsonFormat;
+import org.monarchinitiative.exomiser.api.v1.AnalysisProto;
+import org.monarchinitiative.exomiser.api.v1.JobProto;
+import org.monarchinitiative.exomiser.api.v1.SampleProto;
+import org.monarchinitiative.exomiser.core.analysis.Analysis;
+import org.monarchinitiative.exomiser.core.analysis.AnalysisProtoConverter;
+import org.monarchinitiative.exomiser.core.analysis.AnalysisResults;
+import org.monarchinitiative.exomiser.core.analysis.sample.Sample;
+import org.monarchinitiative.exomiser.core.analysis.sample.SampleProtoConverter;
+import org.monarchinitiative.exomiser.core.filters.FilterReport;
+import org.monarchinitiative.exomiser.core.genome.GenomeAssembly;
+import org.monarchinitiative.exomiser.core.model.Gene;
+import org.monarchinitiative.exomiser.core.model.TranscriptAnnotation;
+import org.monarchinitiative.exomiser.core.model.VariantEvaluation;
+import org.monarchinitiative.exomiser.core.writers.HtmlResultsWriter;
+import org.monarchinitiative.exomiser.core.writers.ResultsWriterUtils;
+import org.monarchinitiative.exomiser.core.writers.VariantEffectCount;
+import org.monarchinitiative.exomiser.web.job.ResultsPageRenderer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.context.IExpressionContext;
+import org.thymeleaf.linkbuilder.StandardLinkBuilder;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templateresolver.ITemplateResolver;
+
+import java.io.Writer;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders the results page of a completed analysis outside of a web request, using the application's templates.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+public class ThymeleafResultsPageRenderer implements ResultsPageRenderer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThymeleafResultsPageRenderer.class);
+
+    static final String RESULTS_PAGE = "results";
+
+    private final SpringTemplateEngine templateEngine;
+    private final int maxGenes;
+
+    /**
+     * @param templateResolvers the resolvers for the application's templates
+     * @param contextPath       the servlet context path of the application, used to build the context-relative links
+     *                          of the page
+     * @param maxGenes          the maximum number of genes to display on the page
+     */
+    public ThymeleafResultsPageRenderer(Collection<ITemplateResolver> templateResolvers, String contextPath, int maxGenes) {
+        this.templateEngine = new SpringTemplateEngine();
+        this.templateEngine.setTemplateResolvers(new LinkedHashSet<>(templateResolvers));
+        // context-relative links (e.g. @{/favicon.ico}) can't be built without a web request unless told the context path
+        this.templateEngine.setLinkBuilder(new ContextPathLinkBuilder(contextPath));
+        this.maxGenes = maxGenes;
+    }
+
+    @Override
+    public void render(AnalysisResults analysisResults, Writer writer) {
+        templateEngine.process(RESULTS_PAGE, buildResultsContext(analysisResults), writer);
+    }
+
+    private Context buildResultsContext(AnalysisResults analysisResults) {
+        Context context = new Context();
+        Analysis analysis = analysisResults.analysis();
+        Sample sample = analysisResults.sample();
+        SampleProto.Sample protoSample = new SampleProtoConverter().toProto(sample);
+        AnalysisProto.Analysis protoAnalysis = new AnalysisProtoConverter().toProto(analysis);
+
+        JobProto.Job protoJob = JobProto.Job.newBuilder()
+                .setSample(protoSample)
+                .setAnalysis(protoAnalysis)
+                .build();
+
+        try {
+            String jsonString = JsonFormat.printer().print(protoJob);
+            JsonNode jsonNodeTree = new ObjectMapper().readTree(jsonString);
+            context.setVariable("settings", new YAMLMapper().writeValueAsString(jsonNodeTree));
+        } catch (InvalidProtocolBufferException | JsonProcessingException e) {
+            logger.error("Unable to process JSON settings", e);
+        }
+
+        //make the user aware of any unanalysed variants
+        List<VariantEvaluation> unAnalysedVarEvals = analysisResults.unAnnotatedVariantEvaluations();
+        context.setVariable("unAnalysedVarEvals", unAnalysedVarEvals);
+
+        //write out the filter reports section
+        List<FilterReport> filterReports = ResultsWriterUtils.makeFilterReports(analysis, analysisResults);
+        context.setVariable("filterReports", filterReports);
+
+        List<String> sampleNames = analysisResults.sampleNames();
+        String sampleName = "Anonymous";
+        if (!sampleNames.isEmpty()) {
+            sampleName = sampleNames.get(0);
+        }
+        context.setVariable("sampleName", sampleName);
+        context.setVariable("sampleNames", sampleNames);
+
+        //write out the variant type counters
+        List<VariantEvaluation> variantEvaluations = analysisResults.variantEvaluations();
+        List<VariantEffectCount> variantEffectCounters = ResultsWriterUtils.makeVariantEffectCounters(sampleNames, variantEvaluations);
+        context.setVariable("variantTypeCounters", variantEffectCounters);
+
+        List<Gene> sampleGenes = analysisResults.genes();
+        context.setVariable("geneResultsTruncated", false);
+        int numCandidateGenes = numGenesPassedFilters(sampleGenes);
+        if (numCandidateGenes > maxGenes) {
+            logger.info("Truncating number of genes returned to {} ", maxGenes);
+            context.setVariable("geneResultsTruncated", true);
+            context.setVariable("numCandidateGenes", numCandidateGenes);
+            context.setVariable("totalGenes", sampleGenes.size());
+        }
+
+        List<Gene> passedGenes = ResultsWriterUtils.getMaxPassedGenes(sampleGenes, maxGenes);
+        context.setVariable("genes", passedGenes);
+//this will change the links to the relevant resource.
+        // For the time being we're going to maintain the original behaviour (UCSC)
+        // Need to wire it up through the system or it might be easiest to autodetect this from the transcripts of passed variants.
+        // One of UCSC, ENSEMBL or REFSEQ
+        var transcriptDb = analysisResults.contributingVariants().stream()
+                .flatMap(variantEvaluation -> variantEvaluation.transcriptAnnotations().stream())
+                .findFirst()
+                .map(TranscriptAnnotation::accession)
+                .map(value -> {
+                    if (value.startsWith("ENST")) {
+                        return "ENSEMBL";
+                    } else if (value.startsWith("uc")) {
+                        return "UCSC";
+                    } else if (value.startsWith("NM") || value.startsWith("NR") || value.startsWith("XM") || value.startsWith("XR")) {
+                        return "REFSEQ";
+                    }
+                    return "";
+                })
+                .orElse("ENSEMBL");
+        context.setVariable("transcriptDb", transcriptDb);
+        context.setVariable("ensemblAssembly", sample.genomeAssembly() == GenomeAssembly.HG19 ? "grch37" : "www");
+        context.setVariable("ucscAssembly", sample.genomeAssembly() == GenomeAssembly.HG19 ? "hg19" : "hg38");
+        context.setVariable("variantRankComparator", new VariantEvaluation.RankBasedComparator());
+        context.setVariable("pValueFormatter", new HtmlResultsWriter.ScientificDecimalFormat("0.0E0"));
+        context.setVariable("conflictingInterpretationsFormatter", new HtmlResultsWriter.ConflictingInterpretationsFormatter());
+        return context;
+    }
+
+    private int numGenesPassedFilters(List<Gene> genes) {
+        int numCandidateGenes = 0;
+        for (Gene gene : genes) {
+            if (gene.passedFilters()) {
+                numCandidateGenes++;
+            }
+        }
+        return numCandidateGenes;
+    }
+
+    private static class ContextPathLinkBuilder extends StandardLinkBuilder {
+
+        private final String contextPath;
+
+        private ContextPathLinkBuilder(String contextPath) {
+            // the servlet context path can be configured with a trailing slash, but links are appended to this
+            this.contextPath = contextPath.endsWith("/") ? contextPath.substring(0, contextPath.length() - 1) : contextPath;
+        }
+
+        @Override
+        protected String computeContextPath(IExpressionContext context, String base, Map<String, Object> parameters) {
+            return contextPath;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.web.job;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import jakarta.annotation.Nullable;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Status of an analysis submitted to the {@link AnalysisJobService}. Instances are updated by the thread running the
+ * analysis and read by the request threads polling for the status.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"id", "status", "submitted", "started", "finished", "message"})
+public class AnalysisJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED;
+
+        public boolean isFinished() {
+            return this == COMPLETED || this == FAILED;
+        }
+    }
+
+    private final UUID id;
+    private final Instant submitted;
+
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant started;
+    private volatile Instant finished;
+    private volatile String message;
+
+    AnalysisJob(UUID id) {
+        this.id = Objects.requireNonNull(id);
+        this.submitted = Instant.now();
+    }
+
+    void markStarted() {
+        this.started = Instant.now();
+        this.status = Status.RUNNING;
+    }
+
+    void markCompleted() {
+        this.finished = Instant.now();
+        this.status = Status.COMPLETED;
+    }
+
+    void markFailed(String message) {
+        this.finished = Instant.now();
+        this.message = message;
+        this.status = Status.FAILED;
+    }
+
+    @JsonProperty
+    public UUID id() {
+        return id;
+    }
+
+    @JsonProperty
+    public Status status() {
+        return status;
+    }
+
+    @JsonProperty
+    public Instant submitted() {
+        return submitted;
+    }
+
+    @Nullable
+    @JsonProperty
+    public Instant started() {
+        return started;
+    }
+
+    @Nullable
+    @JsonProperty
+    public Instant finished() {
+        return finished;
+    }
+
+    /**
+     * @return the reason the job failed, or null if it has not failed.
+     */
+    @Nullable
+    @JsonProperty
+    public String message() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return "AnalysisJob{" +
+                "id=" + id +
+                ", status=" + status +
+                ", submitted=" + submitted +
+                ", started=" + started +
+                ", finished=" + finished +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
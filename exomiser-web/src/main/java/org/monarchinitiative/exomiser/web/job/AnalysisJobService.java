@@ -0,0 +1,309 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.web.job;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import org.monarchinitiative.exomiser.core.Exomiser;
+import org.monarchinitiative.exomiser.core.analysis.Analysis;
+import org.monarchinitiative.exomiser.core.analysis.AnalysisResults;
+import org.monarchinitiative.exomiser.core.analysis.sample.Sample;
+import org.monarchinitiative.exomiser.core.writers.AnalysisResultsWriter;
+import org.monarchinitiative.exomiser.core.writers.OutputFormat;
+import org.monarchinitiative.exomiser.core.writers.OutputSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs analyses submitted from the web front-end on a bounded pool of worker threads, so that the servlet threads are
+ * not tied up for the duration of an analysis.
+ * <p>
+ * At most {@code maxConcurrentJobs} analyses are run at once with up to {@code maxQueuedJobs} waiting to run. Any
+ * further submissions are rejected with a {@link JobQueueFullException} rather than being allowed to exhaust the
+ * memory of the JVM. The results of each completed job are written to the results directory in the
+ * {@link #RESULTS_FORMATS} along with the results page rendered by the {@link ResultsPageRenderer}, so only the status
+ * of each job is held in memory. Once a job has finished, it and its results files are deleted when the job has not
+ * been requested for the {@code jobRetention} period, as are any results files left in the results directory for longer
+ * than this. Jobs which are still queued or running are never expired.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+public class AnalysisJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalysisJobService.class);
+
+    //OutputFormat.HTML causes issues due to thymeleaf templating - don't use!
+    public static final Set<OutputFormat> RESULTS_FORMATS = EnumSet.of(OutputFormat.TSV_GENE, OutputFormat.TSV_VARIANT, OutputFormat.VCF, OutputFormat.JSON);
+
+    private final Exomiser exomiser;
+    private final Path resultsDirectory;
+    private final ResultsPageRenderer resultsPageRenderer;
+    private final ThreadPoolExecutor executor;
+    private final Duration jobRetention;
+
+    private final Cache<UUID, AnalysisJob> jobs;
+
+    public AnalysisJobService(Exomiser exomiser, int maxConcurrentJobs, int maxQueuedJobs, Duration jobRetention, Path resultsDirectory, ResultsPageRenderer resultsPageRenderer) {
+        this.exomiser = Objects.requireNonNull(exomiser);
+        this.resultsDirectory = Objects.requireNonNull(resultsDirectory);
+        this.resultsPageRenderer = Objects.requireNonNull(resultsPageRenderer);
+        this.jobRetention = Objects.requireNonNull(jobRetention);
+        if (maxConcurrentJobs < 1) {
+            throw new IllegalArgumentException("maxConcurrentJobs must be greater than 0");
+        }
+        this.executor = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 0L, TimeUnit.MILLISECONDS,
+                // a SynchronousQueue hands jobs directly to a worker, so no jobs can wait if the queue size is 0
+                maxQueuedJobs > 0 ? new ArrayBlockingQueue<>(maxQueuedJobs) : new SynchronousQueue<>(),
+                new AnalysisJobThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.jobs = Caffeine.newBuilder()
+                .expireAfter(new FinishedJobExpiry(jobRetention))
+                // expire jobs promptly rather than waiting for the next access of the cache, so the files are removed
+                .scheduler(Scheduler.systemScheduler())
+                .removalListener((UUID jobId, AnalysisJob job, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        deleteResultsFiles(jobId);
+                    }
+                })
+                .build();
+        // the status of any jobs run before a restart has been lost, so their results can no longer be requested
+        deleteResultsFilesOlderThan(Instant.now().minus(jobRetention));
+        logger.info("Running up to {} concurrent analyses with up to {} queued. Writing results to {}", maxConcurrentJobs, maxQueuedJobs, resultsDirectory);
+    }
+
+    /**
+     * Submits the analysis to be run asynchronously.
+     *
+     * @param sample     the sample to analyse
+     * @param analysis   the analysis to run on the sample
+     * @param onFinished called once the analysis has finished or failed, for example to delete the input files
+     * @return the newly queued job
+     * @throws JobQueueFullException if the maximum number of jobs are already running or waiting to run. The
+     *                               onFinished callback will not be called in this case.
+     */
+    public AnalysisJob submit(Sample sample, Analysis analysis, Runnable onFinished) {
+        AnalysisJob job = new AnalysisJob(UUID.randomUUID());
+        jobs.put(job.id(), job);
+        try {
+            executor.execute(() -> run(job, sample, analysis, onFinished));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.id());
+            throw new JobQueueFullException("Unable to accept analysis - " + executor.getActiveCount() + " running and " + executor.getQueue().size() + " waiting", e);
+        }
+        logger.info("Queued analysis job {}", job.id());
+        return job;
+    }
+
+    private void run(AnalysisJob job, Sample sample, Analysis analysis, Runnable onFinished) {
+        UUID jobId = job.id();
+        job.markStarted();
+        logger.info("Running analysis job {}", jobId);
+        try {
+            AnalysisResults analysisResults = exomiser.run(sample, analysis);
+            // n.b. the VCF output requires the input VCF, so this needs to happen before the onFinished callback
+            AnalysisResultsWriter.writeToFile(analysisResults, outputSettings(jobId), RESULTS_FORMATS.size());
+            writeResultsPage(jobId, analysisResults);
+            job.markCompleted();
+            logger.info("Completed analysis job {}", jobId);
+        } catch (Exception e) {
+            logger.error("Analysis job {} failed", jobId, e);
+            job.markFailed(e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+        } finally {
+            // the retention period of the job starts once it has finished. The clean-up schedules the expiry of the job,
+            // as otherwise this would wait until the next write to the cache.
+            jobs.policy().expireVariably().ifPresent(expiry -> expiry.setExpiresAfter(jobId, jobRetention));
+            jobs.cleanUp();
+            onFinished.run();
+        }
+    }
+
+    private void writeResultsPage(UUID jobId, AnalysisResults analysisResults) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(resultsPagePath(jobId), StandardCharsets.UTF_8)) {
+            resultsPageRenderer.render(analysisResults, writer);
+        }
+    }
+
+    private Path resultsPagePath(UUID jobId) {
+        return resultsDirectory.resolve(jobId + ".results.html");
+    }
+
+    private OutputSettings outputSettings(UUID jobId) {
+        return OutputSettings.builder()
+                .numberOfGenesToShow(20)
+                .outputDirectory(resultsDirectory)
+                .outputFileName(jobId.toString())
+                .outputFormats(RESULTS_FORMATS)
+                .build();
+    }
+
+    public Optional<AnalysisJob> getJob(UUID jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId));
+    }
+
+    /**
+     * @return the path of the results page rendered for the completed job, if this exists.
+     */
+    public Optional<Path> getResultsPage(UUID jobId) {
+        Path resultsPage = resultsPagePath(jobId);
+        return Files.exists(resultsPage) ? Optional.of(resultsPage) : Optional.empty();
+    }
+
+    /**
+     * @return the path of the results file written for the job in the given format, if this exists.
+     */
+    public Optional<Path> getResultsFile(UUID jobId, OutputFormat outputFormat) {
+        if (!RESULTS_FORMATS.contains(outputFormat)) {
+            return Optional.empty();
+        }
+        Path resultsFile = outputSettings(jobId).makeOutputFilePath(null, outputFormat);
+        if (outputFormat == OutputFormat.VCF) {
+            // the VcfResultsWriter always writes bgzipped output
+            resultsFile = Path.of(resultsFile + ".gz");
+        }
+        return Files.exists(resultsFile) ? Optional.of(resultsFile) : Optional.empty();
+    }
+
+    public int numRunningJobs() {
+        return executor.getActiveCount();
+    }
+
+    public int numQueuedJobs() {
+        return executor.getQueue().size();
+    }
+
+    private void deleteResultsFiles(UUID jobId) {
+        if (!Files.isDirectory(resultsDirectory)) {
+            return;
+        }
+        logger.info("Deleting results files of expired analysis job {}", jobId);
+        try (DirectoryStream<Path> resultsFiles = Files.newDirectoryStream(resultsDirectory, jobId + "*")) {
+            for (Path resultsFile : resultsFiles) {
+                Files.deleteIfExists(resultsFile);
+            }
+        } catch (IOException e) {
+            logger.error("Unable to delete results files of analysis job {}", jobId, e);
+        }
+    }
+
+    private void deleteResultsFilesOlderThan(Instant cutoff) {
+        if (!Files.isDirectory(resultsDirectory)) {
+            return;
+        }
+        FileTime cutoffTime = FileTime.from(cutoff);
+        try (DirectoryStream<Path> resultsFiles = Files.newDirectoryStream(resultsDirectory, AnalysisJobService::isJobResultsFile)) {
+            for (Path resultsFile : resultsFiles) {
+                if (Files.getLastModifiedTime(resultsFile).compareTo(cutoffTime) < 0) {
+                    logger.debug("Deleting expired results file {}", resultsFile);
+                    Files.deleteIfExists(resultsFile);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to delete expired results files from " + resultsDirectory, e);
+        }
+    }
+
+    private static boolean isJobResultsFile(Path path) {
+        // results files are all named after the id of the job, so don't touch anything else in the directory
+        String fileName = path.getFileName().toString();
+        if (fileName.length() < 36 || !Files.isRegularFile(path)) {
+            return false;
+        }
+        try {
+            UUID.fromString(fileName.substring(0, 36));
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        logger.info("Shutting down analysis job executor");
+        executor.shutdownNow();
+    }
+
+    /**
+     * Expires jobs once they have not been accessed for the retention period after finishing. Jobs which are still
+     * queued or running never expire, otherwise their results files would be deleted while they are being written.
+     */
+    private static class FinishedJobExpiry implements Expiry<UUID, AnalysisJob> {
+
+        private final long retentionNanos;
+
+        private FinishedJobExpiry(Duration jobRetention) {
+            this.retentionNanos = jobRetention.toNanos();
+        }
+
+        private long expiry(AnalysisJob job) {
+            return job.status().isFinished() ? retentionNanos : Long.MAX_VALUE;
+        }
+
+        @Override
+        public long expireAfterCreate(UUID jobId, AnalysisJob job, long currentTime) {
+            return expiry(job);
+        }
+
+        @Override
+        public long expireAfterUpdate(UUID jobId, AnalysisJob job, long currentTime, long currentDuration) {
+            return expiry(job);
+        }
+
+        @Override
+        public long expireAfterRead(UUID jobId, AnalysisJob job, long currentTime, long currentDuration) {
+            return expiry(job);
+        }
+    }
+
+    private static class AnalysisJobThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "analysis-job-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.web.job;
+
+import org.monarchinitiative.exomiser.core.analysis.AnalysisResults;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Renders the results page of a completed analysis. The {@link AnalysisJobService} writes this page alongside the other
+ * results files when a job completes so that the {@link AnalysisResults} do not need to be held in memory for the page
+ * to be served.
+ *
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ * @since 15.0.0
+ */
+@FunctionalInterface
+public interface ResultsPageRenderer {
+
+    void render(AnalysisResults analysisResults, Writer writer) throws IOException;
+
+}
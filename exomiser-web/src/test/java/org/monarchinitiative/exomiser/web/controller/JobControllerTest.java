@@ -0,0 +1,66 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.monarchinitiative.exomiser.web.controller;
+
+import config.TestConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.monarchinitiative.exomiser.test.ExomiserStubDataConfig;
+import org.monarchinitiative.exomiser.web.ExomiserWebApp;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * @author Jules Jacobsen <j.jacobsen@qmul.ac.uk>
+ */
+@ExtendWith(SpringExtension.class)
+@AutoConfigureMockMvc
+@SpringBootTest(classes = {ExomiserWebApp.class, ExomiserStubDataConfig.class, TestConfig.class})
+public class JobControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void unknownJobReturnsNotFound() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/jobs/" + UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void unknownJobStatusReturnsNotFound() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/jobs/" + UUID.randomUUID() + "/status"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void unknownJobResultsReturnsNotFound() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/jobs/" + UUID.randomUUID() + "/results/tsv_gene"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.monarchinitiative.exomiser.web.controller;
+
+import org.junit.jupiter.api.Test;
+import org.monarchinitiative.exomiser.core.analysis.Analysis;
+import org.monarchinitiative.exomiser.core.analysis.AnalysisResults;
+import org.monarchinitiative.exomiser.core.analysis.sample.Sample;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+
+class ThymeleafResultsPageRendererTest {
+
+    private static ClassLoaderTemplateResolver templateResolver() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        return templateResolver;
+    }
+
+    @Test
+    void rendersResultsPageWithoutWebRequest() throws Exception {
+        ThymeleafResultsPageRenderer instance = new ThymeleafResultsPageRenderer(List.of(templateResolver()), "/exomiser/", 20);
+        AnalysisResults analysisResults = AnalysisResults.builder()
+                .sample(Sample.builder().build())
+                .analysis(Analysis.builder().build())
+                .build();
+
+        StringWriter writer = new StringWriter();
+        instance.render(analysisResults, writer);
+
+        String page = writer.toString();
+        assertThat(page, containsString("<html"));
+        // context-relative links are built using the context path
+        assertThat(page, containsString("href=\"/exomiser/favicon.ico\""));
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * The Exomiser - A tool to annotate and prioritize genomic variants
+ *
+ * Copyright (c) 2016-2026 Queen Mary University of London.
+ * Copyright (c) 2012-2016 Charité Universitätsmedizin Berlin and Genome Research Ltd.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.monarchinitiative.exomiser.web.job;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.monarchinitiative.exomiser.core.Exomiser;
+import org.monarchinitiative.exomiser.core.analysis.Analysis;
+import org.monarchinitiative.exomiser.core.analysis.AnalysisResults;
+import org.monarchinitiative.exomiser.core.analysis.sample.Sample;
+import org.monarchinitiative.exomiser.core.writers.OutputFormat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AnalysisJobServiceTest {
+
+    @TempDir
+    private Path resultsDirectory;
+
+    private final Exomiser exomiser = mock(Exomiser.class);
+    private final Sample sample = Sample.builder().build();
+    private final Analysis analysis = Analysis.builder().build();
+
+    private AnalysisJobService instance;
+
+    @AfterEach
+    void tearDown() {
+        if (instance != null) {
+            instance.shutdown();
+        }
+    }
+
+    private final ResultsPageRenderer resultsPageRenderer = (analysisResults, writer) -> writer.write("<html>results</html>");
+
+    @Test
+    void throwsExceptionWithZeroConcurrentJobs() {
+        assertThrows(IllegalArgumentException.class, () -> new AnalysisJobService(exomiser, 0, 1, Duration.ofHours(1), resultsDirectory, resultsPageRenderer));
+    }
+
+    @Test
+    void submittedJobCompletesAndWritesResults() throws Exception {
+        AnalysisResults analysisResults = AnalysisResults.builder().sample(sample).analysis(analysis).build();
+        when(exomiser.run(any(Sample.class), any(Analysis.class))).thenReturn(analysisResults);
+        instance = new AnalysisJobService(exomiser, 1, 1, Duration.ofHours(1), resultsDirectory, resultsPageRenderer);
+
+        CountDownLatch finished = new CountDownLatch(1);
+        AnalysisJob job = instance.submit(sample, analysis, finished::countDown);
+        assertThat(instance.getJob(job.id()).orElseThrow(), sameInstance(job));
+
+        // the onFinished callback is the last thing to be run by the job
+        assertThat(finished.await(10, TimeUnit.SECONDS), is(true));
+        assertThat(job.status(), equalTo(AnalysisJob.Status.COMPLETED));
+        assertThat(job.started(), notNullValue());
+        assertThat(job.finished(), notNullValue());
+        assertThat(job.message(), nullValue());
+        assertThat(Files.readString(instance.getResultsPage(job.id()).orElseThrow()), equalTo("<html>results</html>"));
+        assertThat(instance.getResultsFile(job.id(), OutputFormat.TSV_GENE).isPresent(), is(true));
+        assertThat(instance.getResultsFile(job.id(), OutputFormat.JSON).isPresent(), is(true));
+        assertThat(instance.getResultsFile(job.id(), OutputFormat.HTML).isPresent(), is(false));
+    }
+
+    @Test
+    void failedJobReportsFailure() throws Exception {
+        when(exomiser.run(any(Sample.class), any(Analysis.class))).thenThrow(new IllegalStateException("Bad VCF"));
+        instance = new AnalysisJobService(exomiser, 1, 1, Duration.ofHours(1), resultsDirectory, resultsPageRenderer);
+
+        CountDownLatch finished = new CountDownLatch(1);
+        AnalysisJob job = instance.submit(sample, analysis, finished::countDown);
+
+        assertThat(finished.await(10, TimeUnit.SECONDS), is(true));
+        assertThat(job.status(), equalTo(AnalysisJob.Status.FAILED));
+        assertThat(job.message(), equalTo("Bad VCF"));
+        assertThat(instance.getResultsPage(job.id()).isPresent(), is(false));
+    }
+
+    @Test
+    void rejectsJobsWhenQueueIsFull() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(exomiser.run(any(Sample.class), any(Analysis.class))).thenAnswer(invocation -> {
+            running.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return AnalysisResults.builder().sample(sample).analysis(analysis).build();
+        });
+        instance = new AnalysisJobService(exomiser, 1, 1, Duration.ofHours(1), resultsDirectory, resultsPageRenderer);
+
+        CountDownLatch finished = new CountDownLatch(2);
+        AnalysisJob runningJob = instance.submit(sample, analysis, finished::countDown);
+        assertThat(running.await(10, TimeUnit.SECONDS), is(true));
+        AnalysisJob queuedJob = instance.submit(sample, analysis, finished::countDown);
+        assertThat(queuedJob.status(), equalTo(AnalysisJob.Status.QUEUED));
+        assertThat(instance.numRunningJobs(), equalTo(1));
+        assertThat(instance.numQueuedJobs(), equalTo(1));
+
+        AtomicInteger finishedCount = new AtomicInteger();
+        assertThrows(JobQueueFullException.class, () -> instance.submit(sample, analysis, finishedCount::incrementAndGet));
+        assertThat(finishedCount.get(), equalTo(0));
+
+        release.countDown();
+        // the onFinished callback is run after the status is set, so wait for this rather than polling the status
+        assertThat(finished.await(10, TimeUnit.SECONDS), is(true));
+        assertThat(runningJob.status(), equalTo(AnalysisJob.Status.COMPLETED));
+        assertThat(queuedJob.status(), equalTo(AnalysisJob.Status.COMPLETED));
+    }
+
+    @Test
+    void deletesResultsFilesOfExpiredJobs() throws Exception {
+        when(exomiser.run(any(Sample.class), any(Analysis.class))).thenReturn(AnalysisResults.builder().sample(sample).analysis(analysis).build());
+        instance = new AnalysisJobService(exomiser, 1, 1, Duration.ofMillis(500), resultsDirectory, resultsPageRenderer);
+
+        CountDownLatch finished = new CountDownLatch(1);
+        AnalysisJob job = instance.submit(sample, analysis, finished::countDown);
+        assertThat(finished.await(10, TimeUnit.SECONDS), is(true));
+        assertThat(instance.getResultsPage(job.id()).isPresent(), is(true));
+
+        // n.b. don't poll the job itself as this counts as an access and would keep the job from expiring
+        long timeout = System.currentTimeMillis() + 10_000;
+        while (instance.getResultsPage(job.id()).isPresent() && System.currentTimeMillis() < timeout) {
+            Thread.sleep(50);
+        }
+        assertThat(instance.getResultsPage(job.id()).isPresent(), is(false));
+        assertThat(instance.getJob(job.id()).isPresent(), is(false));
+        assertThat(instance.getResultsFile(job.id(), OutputFormat.TSV_GENE).isPresent(), is(false));
+        assertThat(instance.getResultsFile(job.id(), OutputFormat.JSON).isPresent(), is(false));
+    }
+
+    @Test
+    void doesNotExpireJobsWhichRunLongerThanTheRetentionPeriod() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(exomiser.run(any(Sample.class), any(Analysis.class))).thenAnswer(invocation -> {
+            running.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return AnalysisResults.builder().sample(sample).analysis(analysis).build();
+        });
+        instance = new AnalysisJobService(exomiser, 1, 1, Duration.ofMillis(200), resultsDirectory, resultsPageRenderer);
+
+        CountDownLatch finished = new CountDownLatch(2);
+        AnalysisJob runningJob = instance.submit(sample, analysis, finished::countDown);
+        assertThat(running.await(10, TimeUnit.SECONDS), is(true));
+        AnalysisJob queuedJob = instance.submit(sample, analysis, finished::countDown);
+
+        // wait for several retention periods without accessing the jobs
+        Thread.sleep(1000);
+        assertThat(instance.getJob(runningJob.id()).orElseThrow().status(), equalTo(AnalysisJob.Status.RUNNING));
+        assertThat(instance.getJob(queuedJob.id()).orElseThrow().status(), equalTo(AnalysisJob.Status.QUEUED));
+
+        release.countDown();
+        assertThat(finished.await(10, TimeUnit.SECONDS), is(true));
+        assertThat(instance.getResultsPage(runningJob.id()).isPresent(), is(true));
+        assertThat(instance.getResultsPage(queuedJob.id()).isPresent(), is(true));
+
+        // once finished, the jobs and their results files expire
+        long timeout = System.currentTimeMillis() + 10_000;
+        while ((instance.getResultsPage(runningJob.id()).isPresent() || instance.getResultsPage(queuedJob.id()).isPresent()) && System.currentTimeMillis() < timeout) {
+            Thread.sleep(50);
+        }
+        assertThat(instance.getResultsPage(runningJob.id()).isPresent(), is(false));
+        assertThat(instance.getResultsPage(queuedJob.id()).isPresent(), is(false));
+        assertThat(instance.getJob(runningJob.id()).isPresent(), is(false));
+        assertThat(instance.getJob(queuedJob.id()).isPresent(), is(false));
+    }
+
+    @Test
+    void deletesExpiredResultsFilesOnStartup() throws Exception {
+        FileTime expired = FileTime.from(Instant.now().minus(Duration.ofHours(2)));
+        Path expiredResultsFile = Files.writeString(resultsDirectory.resolve(UUID.randomUUID() + ".genes.tsv"), "expired");
+        Files.setLastModifiedTime(expiredResultsFile, expired);
+        Path otherFile = Files.writeString(resultsDirectory.resolve("other.tsv"), "not a results file");
+        Files.setLastModifiedTime(otherFile, expired);
+        Path currentResultsFile = Files.writeString(resultsDirectory.resolve(UUID.randomUUID() + ".genes.tsv"), "current");
+
+        instance = new AnalysisJobService(exomiser, 1, 1, Duration.ofHours(1), resultsDirectory, resultsPageRenderer);
+
+        assertThat(Files.exists(expiredResultsFile), is(false));
+        assertThat(Files.exists(otherFile), is(true));
+        assertThat(Files.exists(currentResultsFile), is(true));
+    }
+}